@@ -0,0 +1,54 @@
+package com.test.system.component.admin;
+
+import com.test.system.enums.auth.RoleName;
+import com.test.system.model.user.User;
+import com.test.system.repository.user.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Helper component for admin access checks.
+ * Shared by the admin services so that every admin endpoint applies the same rule.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AdminAccessControl {
+
+    private static final String LOG_PREFIX = "[AdminAccessControl]";
+
+    private final UserRepository userRepository;
+
+    /**
+     * Verifies that requester is an admin.
+     *
+     * @param requesterEmail email of the requester
+     * @return User entity of the requester
+     * @throws ResponseStatusException if requester is not found or not an admin
+     */
+    public User requireAdmin(String requesterEmail) {
+        User requester = userRepository.findWithAllByEmail(requesterEmail)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not found"));
+
+        if (!isAdmin(requester)) {
+            log.warn("{} unauthorized access attempt by {}", LOG_PREFIX, requesterEmail);
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Admin access required");
+        }
+
+        return requester;
+    }
+
+    /**
+     * Checks if user has ROLE_ADMIN.
+     *
+     * @param user user to check
+     * @return true if user is admin, false otherwise
+     */
+    public boolean isAdmin(User user) {
+        return user.getRoles().stream()
+                .anyMatch(role -> role.getName() == RoleName.ROLE_ADMIN);
+    }
+}
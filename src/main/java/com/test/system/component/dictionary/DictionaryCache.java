@@ -0,0 +1,229 @@
+package com.test.system.component.dictionary;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.test.system.enums.auth.RoleName;
+import com.test.system.model.cases.CaseType;
+import com.test.system.model.cases.Priority;
+import com.test.system.model.status.Status;
+import com.test.system.model.user.UserRole;
+import com.test.system.repository.auth.UserRoleRepository;
+import com.test.system.repository.run.RunCaseStatusRepository;
+import com.test.system.repository.testcase.TestCasePriorityRepository;
+import com.test.system.repository.testcase.TestCaseTypeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static com.test.system.utils.StringNormalizer.normalizeKey;
+
+/**
+ * In-process cache of the small, rarely changing dictionary tables: statuses, priorities, case types and roles.
+ * Each table is cached as one immutable snapshot (list + lookups by ID and normalized name).
+ * Snapshots are invalidated after commit of any write through JPA (see {@link DictionaryCacheInvalidator})
+ * and expire after a TTL so that out-of-band changes (migrations, other instances) are eventually picked up.
+ */
+@Component
+@Slf4j
+public class DictionaryCache {
+
+    private static final String LOG_PREFIX = "[DictionaryCache]";
+    private static final String KEY = "all";
+
+    /**
+     * Cached dictionary tables.
+     */
+    public enum Dictionary {
+        STATUS,
+        PRIORITY,
+        CASE_TYPE,
+        ROLE
+    }
+
+    /**
+     * Immutable view of one dictionary table.
+     */
+    public record Snapshot<T>(List<T> all, Map<Long, T> byId, Map<String, T> byName) {
+
+        static <T> Snapshot<T> of(List<T> all, Function<T, Long> id, Function<T, String> name) {
+            return new Snapshot<>(
+                    List.copyOf(all),
+                    all.stream().collect(Collectors.toUnmodifiableMap(id, Function.identity())),
+                    all.stream().collect(Collectors.toUnmodifiableMap(t -> normalizeKey(name.apply(t)), Function.identity(), (a, b) -> a))
+            );
+        }
+    }
+
+    private final Map<Dictionary, LoadingCache<String, Snapshot<?>>> caches = new EnumMap<>(Dictionary.class);
+
+    public DictionaryCache(RunCaseStatusRepository statusRepository,
+                           TestCasePriorityRepository priorityRepository,
+                           TestCaseTypeRepository caseTypeRepository,
+                           UserRoleRepository roleRepository,
+                           @Value("${app.dictionaries.cache-ttl-minutes:10}") long ttlMinutes) {
+        Duration ttl = Duration.ofMinutes(ttlMinutes);
+        register(Dictionary.STATUS, ttl,
+                () -> Snapshot.of(statusRepository.findAll(), Status::getId, Status::getName));
+        register(Dictionary.PRIORITY, ttl,
+                () -> Snapshot.of(priorityRepository.findAll(), Priority::getId, Priority::getName));
+        register(Dictionary.CASE_TYPE, ttl,
+                () -> Snapshot.of(caseTypeRepository.findAll(), CaseType::getId, CaseType::getName));
+        register(Dictionary.ROLE, ttl,
+                () -> Snapshot.of(roleRepository.findAll(), UserRole::getId, r -> r.getName().name()));
+    }
+
+    /* ========== Statuses ========== */
+
+    public List<Status> statuses() {
+        return snapshot(Dictionary.STATUS, Status.class).all();
+    }
+
+    public Optional<Status> status(Long id) {
+        return Optional.ofNullable(id == null ? null : snapshot(Dictionary.STATUS, Status.class).byId().get(id));
+    }
+
+    public boolean statusExists(Long id) {
+        return status(id).isPresent();
+    }
+
+    /**
+     * Resolves status names (case-insensitive) to IDs; unknown names are ignored.
+     */
+    public List<Long> statusIdsByName(Collection<String> names) {
+        Map<String, Status> byName = snapshot(Dictionary.STATUS, Status.class).byName();
+        return names.stream()
+                .map(n -> byName.get(normalizeKey(n)))
+                .filter(Objects::nonNull)
+                .map(Status::getId)
+                .distinct()
+                .toList();
+    }
+
+    /**
+     * Same as {@link #statusIdsByName(Collection)}, for binding into an SQL IN list:
+     * -1 stands in for "no status" so the list is never empty.
+     */
+    public List<Long> statusIdsByNameForSql(Collection<String> names) {
+        return sqlInList(statusIdsByName(names));
+    }
+
+    /**
+     * IDs of the default ("untested") statuses; a run case with one of them, or with no status, is untested.
+     */
+    public List<Long> defaultStatusIds() {
+        return statuses().stream()
+                .filter(Status::isDefault)
+                .map(Status::getId)
+                .toList();
+    }
+
+    /**
+     * Same as {@link #defaultStatusIds()}, for binding into an SQL IN list:
+     * -1 stands in for "no status" so the list is never empty.
+     */
+    public List<Long> untestedStatusIdsForSql() {
+        return sqlInList(defaultStatusIds());
+    }
+
+    private static List<Long> sqlInList(List<Long> ids) {
+        return ids.isEmpty() ? List.of(-1L) : ids;
+    }
+
+    /* ========== Priorities and case types ========== */
+
+    public List<Priority> priorities() {
+        return snapshot(Dictionary.PRIORITY, Priority.class).all();
+    }
+
+    public Optional<Priority> priority(Long id) {
+        return Optional.ofNullable(id == null ? null : snapshot(Dictionary.PRIORITY, Priority.class).byId().get(id));
+    }
+
+    public boolean priorityExists(Long id) {
+        return priority(id).isPresent();
+    }
+
+    public List<CaseType> caseTypes() {
+        return snapshot(Dictionary.CASE_TYPE, CaseType.class).all();
+    }
+
+    public Optional<CaseType> caseType(Long id) {
+        return Optional.ofNullable(id == null ? null : snapshot(Dictionary.CASE_TYPE, CaseType.class).byId().get(id));
+    }
+
+    public boolean caseTypeExists(Long id) {
+        return caseType(id).isPresent();
+    }
+
+    /* ========== Roles ========== */
+
+    public Optional<UserRole> role(RoleName name) {
+        return Optional.ofNullable(snapshot(Dictionary.ROLE, UserRole.class).byName().get(normalizeKey(name.name())));
+    }
+
+    /* ========== Invalidation and statistics ========== */
+
+    /**
+     * Drops a cached dictionary, after the current transaction commits if there is one
+     * (so a concurrent reader cannot reload the pre-commit state).
+     */
+    public void invalidate(Dictionary dictionary) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    caches.get(dictionary).invalidateAll();
+                }
+            });
+        } else {
+            caches.get(dictionary).invalidateAll();
+        }
+        log.info("{} invalidated: {}", LOG_PREFIX, dictionary);
+    }
+
+    public void invalidateAll() {
+        for (Dictionary dictionary : Dictionary.values()) {
+            invalidate(dictionary);
+        }
+    }
+
+    /**
+     * Hit/miss/load statistics per dictionary since startup.
+     */
+    public Map<Dictionary, CacheStats> stats() {
+        Map<Dictionary, CacheStats> stats = new EnumMap<>(Dictionary.class);
+        caches.forEach((dictionary, cache) -> stats.put(dictionary, cache.stats()));
+        return stats;
+    }
+
+    private void register(Dictionary dictionary, Duration ttl, Supplier<Snapshot<?>> loader) {
+        caches.put(dictionary, Caffeine.newBuilder()
+                .maximumSize(1)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build(key -> {
+                    Snapshot<?> snapshot = loader.get();
+                    log.debug("{} loaded: {}, size={}", LOG_PREFIX, dictionary, snapshot.all().size());
+                    return snapshot;
+                }));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Snapshot<T> snapshot(Dictionary dictionary, Class<T> type) {
+        return (Snapshot<T>) caches.get(dictionary).get(KEY);
+    }
+}
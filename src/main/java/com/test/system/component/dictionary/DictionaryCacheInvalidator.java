@@ -0,0 +1,40 @@
+package com.test.system.component.dictionary;
+
+import com.test.system.component.dictionary.DictionaryCache.Dictionary;
+import com.test.system.model.cases.CaseType;
+import com.test.system.model.cases.Priority;
+import com.test.system.model.status.Status;
+import com.test.system.model.user.UserRole;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that invalidates {@link DictionaryCache} whenever a dictionary entity is written.
+ * Instantiated by Spring through Hibernate's bean container.
+ */
+@Component
+public class DictionaryCacheInvalidator {
+
+    private final DictionaryCache dictionaryCache;
+
+    // Lazy: the cache needs repositories, which need the EntityManagerFactory that creates this listener
+    public DictionaryCacheInvalidator(@Lazy DictionaryCache dictionaryCache) {
+        this.dictionaryCache = dictionaryCache;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onWrite(Object entity) {
+        switch (entity) {
+            case Status s -> dictionaryCache.invalidate(Dictionary.STATUS);
+            case Priority p -> dictionaryCache.invalidate(Dictionary.PRIORITY);
+            case CaseType t -> dictionaryCache.invalidate(Dictionary.CASE_TYPE);
+            case UserRole r -> dictionaryCache.invalidate(Dictionary.ROLE);
+            default -> { }
+        }
+    }
+}
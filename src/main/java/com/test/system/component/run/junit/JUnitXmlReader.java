@@ -0,0 +1,151 @@
+package com.test.system.component.run.junit;
+
+import com.test.system.dto.run.junit.JUnitTestCase;
+import com.test.system.dto.run.junit.JUnitTestCase.Outcome;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+/**
+ * Streaming reader for JUnit XML reports (Surefire, Gradle, pytest, Allure's JUnit export, ...).
+ * Uses StAX so only the current testcase is held in memory regardless of report size;
+ * nested testsuites elements are transparent. DTDs and external entities are disabled.
+ */
+@Component
+@Slf4j
+public class JUnitXmlReader {
+
+    private static final String LOG_PREFIX = "[JUnitXmlReader]";
+    private static final int MAX_MESSAGE_LENGTH = 20000;
+
+    private final XMLInputFactory factory;
+
+    public JUnitXmlReader() {
+        factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, false);
+    }
+
+    /**
+     * Reads testcase elements in document order and hands each one to the consumer.
+     *
+     * @param in       the report (not closed)
+     * @param consumer receives one entry per testcase element
+     * @return number of testcases read
+     * @throws XMLStreamException if the document is not well-formed XML
+     */
+    public int read(InputStream in, Consumer<JUnitTestCase> consumer) throws XMLStreamException {
+        XMLStreamReader reader = factory.createXMLStreamReader(in);
+        int count = 0;
+        try {
+            while (reader.hasNext()) {
+                if (reader.next() == XMLStreamConstants.START_ELEMENT && "testcase".equals(reader.getLocalName())) {
+                    consumer.accept(readTestCase(reader));
+                    count++;
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        log.debug("{} testcases read: count={}", LOG_PREFIX, count);
+        return count;
+    }
+
+    /**
+     * Reads one testcase element; the reader is positioned on its start tag and left on its end tag.
+     */
+    private JUnitTestCase readTestCase(XMLStreamReader reader) throws XMLStreamException {
+        String classname = trimToNull(reader.getAttributeValue(null, "classname"));
+        String name = trimToNull(reader.getAttributeValue(null, "name"));
+        Double time = parseTime(reader.getAttributeValue(null, "time"));
+
+        Outcome outcome = Outcome.PASSED;
+        StringBuilder message = null;
+        int depth = 1;
+        boolean inMessage = false;
+        boolean newPart = false;
+
+        while (depth > 0 && reader.hasNext()) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT -> {
+                    depth++;
+                    Outcome child = outcomeOf(reader.getLocalName());
+                    // failure/error/skipped are direct children; the most severe one wins
+                    if (depth == 2 && child != null) {
+                        if (child.ordinal() > outcome.ordinal()) {
+                            outcome = child;
+                        }
+                        message = appendMessage(message, reader.getAttributeValue(null, "type"), true);
+                        message = appendMessage(message, reader.getAttributeValue(null, "message"), true);
+                        inMessage = true;
+                        newPart = true;
+                    }
+                }
+                case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA -> {
+                    // Text may arrive in several chunks; only the first one of an element starts a new line
+                    if (inMessage && !(newPart && reader.isWhiteSpace())) {
+                        message = appendMessage(message, reader.getText(), newPart);
+                        newPart = false;
+                    }
+                }
+                case XMLStreamConstants.END_ELEMENT -> {
+                    depth--;
+                    if (depth == 1) {
+                        inMessage = false;
+                    }
+                }
+                default -> {
+                    // comments, processing instructions, whitespace
+                }
+            }
+        }
+
+        return new JUnitTestCase(classname, name, outcome, time, message == null ? null : message.toString().trim());
+    }
+
+    private static Outcome outcomeOf(String element) {
+        return switch (element) {
+            case "failure" -> Outcome.FAILED;
+            case "error" -> Outcome.ERROR;
+            case "skipped" -> Outcome.SKIPPED;
+            default -> null;
+        };
+    }
+
+    private static StringBuilder appendMessage(StringBuilder message, String text, boolean newLine) {
+        if (text == null || (newLine && text.isBlank())) {
+            return message;
+        }
+        StringBuilder sb = message == null ? new StringBuilder() : message;
+        if (sb.length() >= MAX_MESSAGE_LENGTH) {
+            return sb;
+        }
+        if (newLine && !sb.isEmpty()) {
+            sb.append('\n');
+        }
+        sb.append(text, 0, Math.min(text.length(), MAX_MESSAGE_LENGTH - sb.length()));
+        return sb;
+    }
+
+    private static Double parseTime(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Double.parseDouble(value.trim().replace(",", ""));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String trimToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
@@ -1,13 +1,12 @@
 package com.test.system.component.testcase.importing;
 
+import com.test.system.component.dictionary.DictionaryCache;
 import com.test.system.dto.testcase.importexport.ImportContext;
 import com.test.system.model.cases.Priority;
 import com.test.system.model.cases.TestCase;
 import com.test.system.model.suite.Suite;
 import com.test.system.repository.suite.TestSuiteRepository;
-import com.test.system.repository.testcase.TestCasePriorityRepository;
 import com.test.system.repository.testcase.TestCaseRepository;
-import com.test.system.repository.testcase.TestCaseTypeRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -33,8 +32,7 @@ public class ImportContextLoader {
 
     private final TestCaseRepository testCaseRepository;
     private final TestSuiteRepository suiteRepository;
-    private final TestCasePriorityRepository priorityRepository;
-    private final TestCaseTypeRepository caseTypeRepository;
+    private final DictionaryCache dictionaryCache;
 
     /**
      * Load all lookup data needed for import.
@@ -92,7 +90,7 @@ public class ImportContextLoader {
      * Load priority name to ID mapping.
      */
     private Map<String, Long> loadPrioritiesByName() {
-        return priorityRepository.findAll().stream()
+        return dictionaryCache.priorities().stream()
                 .collect(Collectors.toMap(
                         p -> normalizeKey(p.getName()),
                         Priority::getId,
@@ -104,7 +102,7 @@ public class ImportContextLoader {
      * Load type name to ID mapping.
      */
     private Map<String, Long> loadTypesByName() {
-        return caseTypeRepository.findAll().stream()
+        return dictionaryCache.caseTypes().stream()
                 .collect(Collectors.toMap(
                         t -> normalizeKey(t.getName()),
                         com.test.system.model.cases.CaseType::getId,
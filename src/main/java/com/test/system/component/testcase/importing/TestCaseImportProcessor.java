@@ -1,5 +1,6 @@
 package com.test.system.component.testcase.importing;
 
+import com.test.system.component.dictionary.DictionaryCache;
 import com.test.system.component.testcase.mapper.TestCaseMapper;
 import com.test.system.dto.testcase.importexport.HierarchicalSuiteImportDto;
 import com.test.system.dto.testcase.importexport.ImportContext;
@@ -12,9 +13,7 @@ import com.test.system.model.cases.TestCase;
 import com.test.system.model.suite.Suite;
 import com.test.system.model.user.User;
 import com.test.system.repository.suite.TestSuiteRepository;
-import com.test.system.repository.testcase.TestCasePriorityRepository;
 import com.test.system.repository.testcase.TestCaseRepository;
-import com.test.system.repository.testcase.TestCaseTypeRepository;
 import com.test.system.provider.TimeProvider;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -39,8 +38,7 @@ public class TestCaseImportProcessor {
 
     private final TestCaseRepository testCaseRepository;
     private final TestSuiteRepository suiteRepository;
-    private final TestCasePriorityRepository priorityRepository;
-    private final TestCaseTypeRepository caseTypeRepository;
+    private final DictionaryCache dictionaryCache;
     private final TestCaseMapper mapper;
     private final TimeProvider timeProvider;
 
@@ -466,7 +464,7 @@ public class TestCaseImportProcessor {
         Long priorityId = dto.priorityId();
 
         // If ID is invalid, try to resolve by name
-        if ((priorityId == null || !priorityRepository.existsById(priorityId))
+        if ((priorityId == null || !dictionaryCache.priorityExists(priorityId))
                 && isNotBlank(dto.priorityName())) {
             priorityId = priorityByName.get(normalizeKey(dto.priorityName()));
         }
@@ -478,7 +476,7 @@ public class TestCaseImportProcessor {
         Long typeId = dto.typeId();
 
         // If ID is invalid, try to resolve by name
-        if ((typeId == null || !caseTypeRepository.existsById(typeId))
+        if ((typeId == null || !dictionaryCache.caseTypeExists(typeId))
                 && isNotBlank(dto.typeName())) {
             typeId = typeByName.get(normalizeKey(dto.typeName()));
         }
@@ -1,5 +1,6 @@
 package com.test.system.component.testcase.mapper;
 
+import com.test.system.component.dictionary.DictionaryCache;
 import com.test.system.dto.testcase.mapper.LookupMaps;
 import com.test.system.model.cases.CaseType;
 import com.test.system.model.cases.Priority;
@@ -7,8 +8,7 @@ import com.test.system.model.cases.TestCase;
 import com.test.system.model.suite.Suite;
 import com.test.system.model.user.User;
 import com.test.system.repository.suite.TestSuiteRepository;
-import com.test.system.repository.testcase.TestCasePriorityRepository;
-import com.test.system.repository.testcase.TestCaseTypeRepository;
+import com.test.system.repository.testcase.TestCaseRepository.TestCaseSummary;
 import com.test.system.repository.user.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -16,7 +16,9 @@ import org.springframework.stereotype.Component;
 
 import java.util.Collection;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -31,8 +33,7 @@ public class LookupDataResolver {
     private static final String LOG_PREFIX = "[LookupResolver]";
 
     private final TestSuiteRepository suiteRepository;
-    private final TestCaseTypeRepository caseTypeRepository;
-    private final TestCasePriorityRepository priorityRepository;
+    private final DictionaryCache dictionaryCache;
     private final UserRepository userRepository;
 
     /**
@@ -50,22 +51,33 @@ public class LookupDataResolver {
 
         log.debug("{} Resolving lookups for {} test cases", LOG_PREFIX, testCases.size());
 
-        // Extract unique IDs
-        Set<Long> suiteIds = extractSuiteIds(testCases);
-        Set<Long> typeIds = extractTypeIds(testCases);
-        Set<Long> priorityIds = extractPriorityIds(testCases);
-        Set<Long> authorIds = extractAuthorIds(testCases);
+        return load(
+                extractIds(testCases, TestCase::getSuiteId),
+                extractIds(testCases, TestCase::getTypeId),
+                extractIds(testCases, TestCase::getPriorityId),
+                extractIds(testCases, TestCase::getCreatedBy));
+    }
 
-        // Batch load all data
-        Map<Long, String> suiteNames = loadSuiteNames(suiteIds);
-        Map<Long, String> typeNames = loadTypeNames(typeIds);
-        Map<Long, String> priorityNames = loadPriorityNames(priorityIds);
-        Map<Long, User> authors = loadAuthors(authorIds);
+    /**
+     * Resolve all lookup data for a collection of case summaries (list views).
+     * Performs batch loading to avoid N+1 queries.
+     *
+     * @param summaries collection of case summaries
+     * @return lookup maps with all required data
+     */
+    public LookupMaps resolveSummaries(Collection<TestCaseSummary> summaries) {
+        if (summaries == null || summaries.isEmpty()) {
+            log.debug("{} No case summaries to resolve lookups for", LOG_PREFIX);
+            return LookupMaps.EMPTY;
+        }
 
-        log.debug("{} Loaded {} suites, {} types, {} priorities, {} authors",
-                LOG_PREFIX, suiteNames.size(), typeNames.size(), priorityNames.size(), authors.size());
+        log.debug("{} Resolving lookups for {} case summaries", LOG_PREFIX, summaries.size());
 
-        return new LookupMaps(suiteNames, typeNames, priorityNames, authors);
+        return load(
+                extractIds(summaries, TestCaseSummary::getSuiteId),
+                extractIds(summaries, TestCaseSummary::getTypeId),
+                extractIds(summaries, TestCaseSummary::getPriorityId),
+                extractIds(summaries, TestCaseSummary::getCreatedBy));
     }
 
     /**
@@ -103,31 +115,10 @@ public class LookupDataResolver {
        ID extraction
        ============================================================ */
 
-    private Set<Long> extractSuiteIds(Collection<TestCase> testCases) {
-        return testCases.stream()
-                .map(TestCase::getSuiteId)
-                .filter(id -> id != null)
-                .collect(Collectors.toSet());
-    }
-
-    private Set<Long> extractTypeIds(Collection<TestCase> testCases) {
-        return testCases.stream()
-                .map(TestCase::getTypeId)
-                .filter(id -> id != null)
-                .collect(Collectors.toSet());
-    }
-
-    private Set<Long> extractPriorityIds(Collection<TestCase> testCases) {
-        return testCases.stream()
-                .map(TestCase::getPriorityId)
-                .filter(id -> id != null)
-                .collect(Collectors.toSet());
-    }
-
-    private Set<Long> extractAuthorIds(Collection<TestCase> testCases) {
-        return testCases.stream()
-                .map(TestCase::getCreatedBy)
-                .filter(id -> id != null)
+    private static <T> Set<Long> extractIds(Collection<T> items, Function<T, Long> id) {
+        return items.stream()
+                .map(id)
+                .filter(v -> v != null)
                 .collect(Collectors.toSet());
     }
 
@@ -135,6 +126,18 @@ public class LookupDataResolver {
        Batch loading
        ============================================================ */
 
+    private LookupMaps load(Set<Long> suiteIds, Set<Long> typeIds, Set<Long> priorityIds, Set<Long> authorIds) {
+        Map<Long, String> suiteNames = loadSuiteNames(suiteIds);
+        Map<Long, String> typeNames = loadTypeNames(typeIds);
+        Map<Long, String> priorityNames = loadPriorityNames(priorityIds);
+        Map<Long, User> authors = loadAuthors(authorIds);
+
+        log.debug("{} Loaded {} suites, {} types, {} priorities, {} authors",
+                LOG_PREFIX, suiteNames.size(), typeNames.size(), priorityNames.size(), authors.size());
+
+        return new LookupMaps(suiteNames, typeNames, priorityNames, authors);
+    }
+
     private Map<Long, String> loadSuiteNames(Set<Long> suiteIds) {
         if (suiteIds.isEmpty()) {
             return Map.of();
@@ -148,7 +151,9 @@ public class LookupDataResolver {
         if (typeIds.isEmpty()) {
             return Map.of();
         }
-        return caseTypeRepository.findAllById(typeIds).stream()
+        return typeIds.stream()
+                .map(dictionaryCache::caseType)
+                .flatMap(Optional::stream)
                 .collect(Collectors.toMap(CaseType::getId, CaseType::getName));
     }
 
@@ -156,7 +161,9 @@ public class LookupDataResolver {
         if (priorityIds.isEmpty()) {
             return Map.of();
         }
-        return priorityRepository.findAllById(priorityIds).stream()
+        return priorityIds.stream()
+                .map(dictionaryCache::priority)
+                .flatMap(Optional::stream)
                 .collect(Collectors.toMap(Priority::getId, Priority::getName));
     }
 
@@ -6,11 +6,13 @@ import com.test.system.dto.testcase.mapper.LookupMaps;
 import com.test.system.dto.testcase.request.CreateTestCaseRequest;
 import com.test.system.dto.testcase.request.UpdateTestCaseRequest;
 import com.test.system.dto.testcase.response.TestCaseResponse;
+import com.test.system.dto.testcase.response.TestCaseSummaryResponse;
 import com.test.system.enums.testcase.TestCaseAutomationStatus;
 import com.test.system.enums.testcase.TestCaseSeverity;
 import com.test.system.enums.testcase.TestCaseStatus;
 import com.test.system.model.cases.TestCase;
 import com.test.system.model.user.User;
+import com.test.system.repository.testcase.TestCaseRepository.TestCaseSummary;
 import org.springframework.stereotype.Component;
 
 import java.time.Instant;
@@ -80,6 +82,44 @@ public class TestCaseMapper {
         );
     }
 
+    /**
+     * Convert a case summary projection to TestCaseSummaryResponse DTO for list views.
+     *
+     * @param summary the case summary
+     * @param lookupMaps pre-loaded lookup data (suites, types, priorities, authors)
+     * @return test case summary DTO
+     */
+    public TestCaseSummaryResponse toSummaryResponse(TestCaseSummary summary, LookupMaps lookupMaps) {
+        User author = lookupMaps.getAuthor(summary.getCreatedBy());
+        User assignee = lookupMaps.getAuthor(summary.getAssignedTo());
+
+        return new TestCaseSummaryResponse(
+                summary.getId(),
+                summary.getProjectId(),
+                summary.getSuiteId(),
+                lookupMaps.getSuiteName(summary.getSuiteId()),
+                summary.getTitle(),
+                summary.getTypeId(),
+                lookupMaps.getTypeName(summary.getTypeId()),
+                summary.getPriorityId(),
+                lookupMaps.getPriorityName(summary.getPriorityId()),
+                summary.getEstimateSeconds(),
+                summary.getSortIndex(),
+                mapEnum(summary.getStatus(), TestCaseStatus::valueOf),
+                mapEnum(summary.getSeverity(), TestCaseSeverity::valueOf),
+                mapEnum(summary.getAutomationStatus(), TestCaseAutomationStatus::valueOf),
+                mapTagsToDto(summary.getTags()),
+                summary.getCreatedAt(),
+                summary.getUpdatedAt(),
+                summary.getCreatedBy(),
+                author != null ? author.getFullName() : null,
+                author != null ? author.getEmail() : null,
+                summary.getAssignedTo(),
+                assignee != null ? assignee.getFullName() : null,
+                assignee != null ? assignee.getEmail() : null
+        );
+    }
+
     /* ============================================================
        DTO to Entity
        ============================================================ */
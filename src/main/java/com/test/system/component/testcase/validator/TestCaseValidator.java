@@ -1,12 +1,11 @@
 package com.test.system.component.testcase.validator;
 
+import com.test.system.component.dictionary.DictionaryCache;
 import com.test.system.exceptions.common.NotFoundException;
 import com.test.system.exceptions.testcase.TestCaseValidationException;
 import com.test.system.model.suite.Suite;
 import com.test.system.repository.suite.TestSuiteRepository;
-import com.test.system.repository.testcase.TestCasePriorityRepository;
 import com.test.system.repository.testcase.TestCaseRepository;
-import com.test.system.repository.testcase.TestCaseTypeRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
@@ -23,8 +22,7 @@ public class TestCaseValidator {
 
     private final TestCaseRepository testCaseRepository;
     private final TestSuiteRepository suiteRepository;
-    private final TestCasePriorityRepository priorityRepository;
-    private final TestCaseTypeRepository caseTypeRepository;
+    private final DictionaryCache dictionaryCache;
 
     /**
      * Resolve project ID from request.
@@ -66,10 +64,10 @@ public class TestCaseValidator {
      * Validate that priority and type exist.
      */
     public void validateDictionaries(Long priorityId, Long typeId) {
-        if (priorityId != null && !priorityRepository.existsById(priorityId)) {
+        if (priorityId != null && !dictionaryCache.priorityExists(priorityId)) {
             throw new TestCaseValidationException("Priority not found");
         }
-        if (typeId != null && !caseTypeRepository.existsById(typeId)) {
+        if (typeId != null && !dictionaryCache.caseTypeExists(typeId)) {
             throw new TestCaseValidationException("Case type not found");
         }
     }
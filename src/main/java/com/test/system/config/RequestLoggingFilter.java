@@ -13,8 +13,10 @@ import org.springframework.web.util.ContentCachingResponseWrapper;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.regex.Pattern;
 
 /**
  * Filter for logging HTTP requests and responses.
@@ -26,6 +28,12 @@ public class RequestLoggingFilter implements Filter {
     private static final Logger log = LoggerFactory.getLogger(RequestLoggingFilter.class);
     private static final String REQUEST_ID = "requestId";
     private static final String USER_ID = "userId";
+    /** Endpoints whose request or response body is streamed; matched on the URI, never on client headers. */
+    private static final List<Pattern> STREAMING_URIS = List.of(
+            Pattern.compile(".*/runs/\\d+/events"),
+            Pattern.compile(".*/runs/\\d+/diff/\\d+"),
+            Pattern.compile(".*/runs/\\d+/results/import/.*")
+    );
     private static final Set<String> SENSITIVE_QUERY_KEYS = new HashSet<>(Arrays.asList(
             "token", "password", "secret", "code", "authorization", "jwt", "api_key", "apikey"
     ));
@@ -41,32 +49,40 @@ public class RequestLoggingFilter implements Filter {
         String requestId = UUID.randomUUID().toString().substring(0, 8);
         MDC.put(REQUEST_ID, requestId);
 
-        // Wrap request and response for content caching
-        ContentCachingRequestWrapper wrappedRequest = new ContentCachingRequestWrapper(httpRequest);
-        ContentCachingResponseWrapper wrappedResponse = new ContentCachingResponseWrapper(httpResponse);
+        // Wrap request and response for content caching; streamed bodies must not be buffered, so those
+        // requests are logged unwrapped (their response line is written once the stream has started)
+        boolean streaming = isStreaming(httpRequest);
+        HttpServletRequest loggedRequest = streaming ? httpRequest : new ContentCachingRequestWrapper(httpRequest);
+        HttpServletResponse loggedResponse = streaming ? httpResponse : new ContentCachingResponseWrapper(httpResponse);
 
         long startTime = System.currentTimeMillis();
 
         try {
             // Log incoming request
-            logRequest(wrappedRequest, requestId);
+            logRequest(loggedRequest, requestId);
 
             // Process request
-            chain.doFilter(wrappedRequest, wrappedResponse);
+            chain.doFilter(loggedRequest, loggedResponse);
 
             // Log response
             long duration = System.currentTimeMillis() - startTime;
-            logResponse(wrappedRequest, wrappedResponse, duration, requestId);
+            logResponse(loggedRequest, loggedResponse, duration, requestId);
 
         } finally {
             // Copy cached response content to actual response
-            wrappedResponse.copyBodyToResponse();
+            if (loggedResponse instanceof ContentCachingResponseWrapper wrappedResponse) {
+                wrappedResponse.copyBodyToResponse();
+            }
             
             // Clear MDC
             MDC.clear();
         }
     }
 
+    private boolean isStreaming(HttpServletRequest request) {
+        return STREAMING_URIS.stream().anyMatch(p -> p.matcher(request.getRequestURI()).matches());
+    }
+
     private void logRequest(HttpServletRequest request, String requestId) {
         String method = request.getMethod();
         String uri = request.getRequestURI();
@@ -0,0 +1,88 @@
+package com.test.system.controller.admin;
+
+import com.test.system.dto.admin.DictionaryCacheStatsResponse;
+import com.test.system.exceptions.auth.UnauthorizedException;
+import com.test.system.service.admin.AdminDictionaryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+import static com.test.system.utils.auth.AuthWebUtils.currentEmail;
+
+/**
+ * Admin controller for the dictionary cache (statuses, priorities, case types, roles).
+ * All endpoints require ROLE_ADMIN.
+ */
+@RestController
+@RequestMapping("/api/admin/dictionaries/cache")
+@RequiredArgsConstructor
+@Tag(name = "Admin Dictionary Controller", description = "Admin endpoints for the dictionary cache (ROLE_ADMIN required)")
+@SecurityRequirement(name = "bearerAuth")
+public class AdminDictionaryController {
+
+    private final AdminDictionaryService adminDictionaryService;
+
+    @Operation(
+            summary = "Get dictionary cache statistics",
+            description = "Returns hit/miss/load counters per cached dictionary since startup. Only accessible by administrators (ROLE_ADMIN)."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Statistics retrieved",
+                    content = @Content(
+                            array = @ArraySchema(schema = @Schema(implementation = DictionaryCacheStatsResponse.class))
+                    )
+            ),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - not an admin")
+    })
+    @GetMapping
+    public List<DictionaryCacheStatsResponse> getCacheStats(Authentication authentication) {
+        String email = requireEmail(authentication);
+        return adminDictionaryService.getCacheStats(email);
+    }
+
+    @Operation(
+            summary = "Evict dictionary cache",
+            description = "Drops all cached dictionaries so they are reloaded on next use. " +
+                    "Writes through the API invalidate the cache automatically; use this after manual database changes."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "Cache evicted"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - not an admin")
+    })
+    @PostMapping("/evict")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void evictCache(Authentication authentication) {
+        String email = requireEmail(authentication);
+        adminDictionaryService.evictCache(email);
+    }
+
+    /**
+     * Extracts and validates email from authentication.
+     *
+     * @param auth authentication object
+     * @return user email
+     * @throws UnauthorizedException if not authenticated
+     */
+    private String requireEmail(Authentication auth) {
+        String email = currentEmail(auth);
+        if (email == null) {
+            throw new UnauthorizedException("User is not authenticated");
+        }
+        return email;
+    }
+}
@@ -6,6 +6,8 @@ import com.test.system.exceptions.auth.UnauthorizedException;
 import com.test.system.exceptions.common.NotFoundException;
 import com.test.system.exceptions.jira.JiraApiException;
 import com.test.system.exceptions.jira.JiraNotFoundException;
+import com.test.system.exceptions.results.IdempotencyKeyConflictException;
+import com.test.system.exceptions.results.ResultBufferUnavailableException;
 import com.test.system.exceptions.run.RunClosedException;
 import com.test.system.exceptions.testcase.TestCaseExportException;
 import com.test.system.exceptions.testcase.TestCaseImportException;
@@ -17,6 +19,7 @@ import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.crossstore.ChangeSetPersister;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -221,6 +224,12 @@ public class ApiExceptionHandler {
         return response(HttpStatus.CONFLICT, "conflict", msg);
     }
 
+    @ExceptionHandler(IdempotencyKeyConflictException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyConflict(IdempotencyKeyConflictException ex) {
+        logWarn(409, "Idempotency Conflict", ex.getMessage());
+        return response(HttpStatus.CONFLICT, "idempotency_conflict", ex.getMessage());
+    }
+
     // ========================================================================
     // 429 Too Many Requests
     // ========================================================================
@@ -237,6 +246,18 @@ public class ApiExceptionHandler {
         return response(HttpStatus.TOO_MANY_REQUESTS, "rate_limit_exceeded", ex.getMessage());
     }
 
+    // ========================================================================
+    // 503 Service Unavailable
+    // ========================================================================
+
+    @ExceptionHandler(ResultBufferUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleResultBufferUnavailable(ResultBufferUnavailableException ex) {
+        logWarn(503, "Result Buffer Unavailable", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ErrorResponse("result_buffer_unavailable", ex.getMessage()));
+    }
+
     // ========================================================================
     // Jira Integration (404 / 500)
     // ========================================================================
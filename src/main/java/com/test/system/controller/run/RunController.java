@@ -1,21 +1,43 @@
 package com.test.system.controller.run;
 
 import com.test.system.dto.run.request.AddCasesToRunRequest;
+import com.test.system.dto.run.request.AssignRunCasesRequest;
+import com.test.system.dto.run.request.BulkRunCaseStatusRequest;
 import com.test.system.dto.run.request.CreateRunRequest;
+import com.test.system.dto.run.request.DistributeRunCasesRequest;
+import com.test.system.dto.run.request.RunCasePageFilter;
 import com.test.system.dto.run.request.UpdateRunRequest;
 import com.test.system.dto.run.response.BulkOperationResponse;
+import com.test.system.dto.run.response.CloneRunResponse;
+import com.test.system.dto.run.response.RunAssigneeWorkload;
+import com.test.system.dto.run.response.RunCaseClaimResponse;
+import com.test.system.dto.run.response.RunCaseDistributionResponse;
+import com.test.system.dto.run.response.RunCasePageResponse;
 import com.test.system.dto.run.response.RunCaseResponse;
+import com.test.system.dto.run.response.RunDiffItem;
+import com.test.system.dto.run.response.RunEtaResponse;
 import com.test.system.dto.run.response.RunResponse;
+import com.test.system.dto.run.response.RunShardPlanResponse;
+import com.test.system.dto.run.response.RunSnapshotResponse;
 import com.test.system.dto.run.response.RunStatusCountResponse;
 import com.test.system.model.status.Status;
+import com.test.system.service.run.RunAssignmentService;
+import com.test.system.service.run.RunCaseLeaseService;
+import com.test.system.service.run.RunDiffService;
+import com.test.system.service.run.RunEtaService;
 import com.test.system.service.run.RunService;
+import com.test.system.service.run.RunShardService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -31,6 +53,11 @@ import java.util.List;
 public class RunController {
 
     private final RunService runService;
+    private final RunDiffService runDiffService;
+    private final RunCaseLeaseService leaseService;
+    private final RunShardService shardService;
+    private final RunEtaService etaService;
+    private final RunAssignmentService assignmentService;
 
     @Operation(
             summary = "Create a new test run",
@@ -106,9 +133,111 @@ public class RunController {
         return new BulkOperationResponse(affected);
     }
 
+    @Operation(
+            summary = "Clone a run",
+            description = "Creates a new open run with the cases of an existing run, optionally only those in the given " +
+                    "statuses (names or IDs, e.g. statuses=FAILED,BLOCKED). Assignees and milestones are copied on request."
+    )
+    @PostMapping("/api/runs/{runId}/clone")
+    @ResponseStatus(HttpStatus.CREATED)
+    public CloneRunResponse cloneRun(@PathVariable Long runId,
+                                     @RequestParam(required = false) List<String> statuses,
+                                     @RequestParam(defaultValue = "false") boolean carryAssignee,
+                                     @RequestParam(defaultValue = "false") boolean attachMilestones,
+                                     @RequestParam(required = false) String name) {
+        return runService.cloneRun(runId, statuses, carryAssignee, attachMilestones, name);
+    }
+
+    @Operation(
+            summary = "Claim cases to execute",
+            description = "Atomically leases up to limit (1..500) untested, unleased cases of an open run to the agent, " +
+                    "in run order. Concurrent agents get disjoint batches. Posting a result for a case completes its " +
+                    "lease; unfinished leases expire after leaseSeconds and the cases return to the queue."
+    )
+    @PostMapping("/api/runs/{runId}/claim")
+    public RunCaseClaimResponse claimRunCases(@PathVariable Long runId,
+                                              @RequestParam String agent,
+                                              @RequestParam(defaultValue = "50") int limit,
+                                              @RequestParam(required = false) Long leaseSeconds) {
+        return leaseService.claim(runId, agent, limit, leaseSeconds);
+    }
+
+    @Operation(
+            summary = "Release claimed cases",
+            description = "Returns all cases the agent still holds in the run to the queue"
+    )
+    @PostMapping("/api/runs/{runId}/claim/release")
+    public BulkOperationResponse releaseRunCases(@PathVariable Long runId,
+                                                 @RequestParam String agent) {
+        int affected = leaseService.release(runId, agent);
+        return new BulkOperationResponse(affected);
+    }
+
+    @Operation(
+            summary = "Plan shards for parallel CI",
+            description = "Splits the cases of a run into count (1..256) shards of near-equal expected duration " +
+                    "(longest-processing-time first). A case's duration is the median elapsed time of its recent runs, " +
+                    "else its estimate, else a configured default."
+    )
+    @GetMapping("/api/runs/{runId}/shards")
+    public RunShardPlanResponse planRunShards(@PathVariable Long runId,
+                                              @RequestParam int count) {
+        return shardService.planShards(runId, count);
+    }
+
+    @Operation(
+            summary = "Estimate remaining run time",
+            description = "Sums the expected durations (median and 90th percentile of recent runs, else the case estimate) " +
+                    "of untested cases and divides them by the throughput observed over the last windowMinutes " +
+                    "(default 30)."
+    )
+    @GetMapping("/api/runs/{runId}/eta")
+    public RunEtaResponse estimateRun(@PathVariable Long runId,
+                                      @RequestParam(required = false) Integer windowMinutes) {
+        return etaService.estimate(runId, windowMinutes);
+    }
+
+    @Operation(
+            summary = "Get assignee workload",
+            description = "Per assignee (null for unassigned): number of cases, untested cases and their expected duration. " +
+                    "Optional assigneeId (repeatable) restricts the result to those users."
+    )
+    @GetMapping("/api/runs/{runId}/workload")
+    public List<RunAssigneeWorkload> getRunWorkload(@PathVariable Long runId,
+                                                    @RequestParam(name = "assigneeId", required = false) List<Long> assigneeIds) {
+        return assignmentService.getWorkload(runId, assigneeIds);
+    }
+
+    @Operation(
+            summary = "Get a closed run snapshot",
+            description = "Returns the frozen contents of a closed run: per-case final status, latest elapsed time " +
+                    "and defects, plus status counts. Written when the run is closed; 400 if the run is open."
+    )
+    @GetMapping("/api/runs/{runId}/snapshot")
+    public RunSnapshotResponse getRunSnapshot(@PathVariable Long runId) {
+        return runService.getRunSnapshot(runId);
+    }
+
+    @Operation(
+            summary = "Compare two runs",
+            description = "Streams the case-by-case comparison of a base run and a target run of the same project as " +
+                    "{baseRunId, targetRunId, items, counts}. Categories: NEWLY_FAILING, NEWLY_PASSING, STILL_FAILING, " +
+                    "MISSING, ADDED, UNCHANGED; all but UNCHANGED are returned unless category is given (repeatable)."
+    )
+    @GetMapping(path = "/api/runs/{baseRunId}/diff/{targetRunId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> diffRuns(@PathVariable Long baseRunId,
+                                                          @PathVariable Long targetRunId,
+                                                          @RequestParam(name = "category", required = false)
+                                                          List<RunDiffItem.Category> categories) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(runDiffService.streamRunDiff(baseRunId, targetRunId, categories));
+    }
+
     @Operation(
             summary = "Add test cases to a run",
-            description = "Adds one or more test cases to the specified run"
+            description = "Adds test cases to the specified run by explicit caseIds and/or a server-side filter " +
+                    "(suite subtree, tags, severities, automation statuses). Cases already in the run are skipped."
     )
     @PostMapping("/api/runs/{runId}/cases")
     public List<RunCaseResponse> addCasesToRun(@PathVariable Long runId,
@@ -116,6 +245,43 @@ public class RunController {
         return runService.addCasesToRun(runId, request);
     }
 
+    @Operation(
+            summary = "Assign run cases",
+            description = "Sets the assignee of up to 10000 cases of a run in one statement; a null assigneeId unassigns. " +
+                    "Assignees must be active members of the project's group."
+    )
+    @PostMapping("/api/runs/{runId}/cases/assign")
+    public BulkOperationResponse assignRunCases(@PathVariable Long runId,
+                                                @Valid @RequestBody AssignRunCasesRequest request) {
+        int affected = assignmentService.assign(runId, request);
+        return new BulkOperationResponse(affected);
+    }
+
+    @Operation(
+            summary = "Distribute untested run cases across assignees",
+            description = "Assigns up to limit (max 10000) untested cases, in run order, to the given users so that " +
+                    "their expected untested work is balanced (longest first to the least loaded user). Only unassigned " +
+                    "cases are taken unless reassign is true."
+    )
+    @PostMapping("/api/runs/{runId}/cases/distribute")
+    public RunCaseDistributionResponse distributeRunCases(@PathVariable Long runId,
+                                                          @Valid @RequestBody DistributeRunCasesRequest request) {
+        return assignmentService.distribute(runId, request);
+    }
+
+    @Operation(
+            summary = "Set the status of run cases by filter",
+            description = "Moves every run case matching currentStatuses, assigneeId and a case filter " +
+                    "(suite subtree, tags, severities, automation statuses) to statusId, recording one result per case. " +
+                    "Run cases already in that status are skipped."
+    )
+    @PostMapping("/api/runs/{runId}/cases/bulk-status")
+    public BulkOperationResponse bulkUpdateRunCaseStatus(@PathVariable Long runId,
+                                                         @Valid @RequestBody BulkRunCaseStatusRequest request) {
+        int affected = runService.bulkUpdateRunCaseStatus(runId, request);
+        return new BulkOperationResponse(affected);
+    }
+
     @Operation(
             summary = "List all test cases in a run",
             description = "Retrieves all test cases included in the specified run"
@@ -125,6 +291,31 @@ public class RunController {
         return runService.listRunCases(runId);
     }
 
+    @Operation(
+            summary = "List run cases page",
+            description = "Keyset-paginated run cases with case title, suite, priority and autotest mapping. " +
+                    "Optional statusId (repeatable), assigneeId and suiteId filters; pass nextCursor to get the next page."
+    )
+    @GetMapping("/api/runs/{runId}/cases/page")
+    public RunCasePageResponse listRunCasesPage(@PathVariable Long runId,
+                                                @RequestParam(name = "statusId", required = false) List<Long> statusIds,
+                                                @RequestParam(required = false) Long assigneeId,
+                                                @RequestParam(required = false) Long suiteId,
+                                                @RequestParam(required = false) String cursor,
+                                                @RequestParam(defaultValue = "100") Integer size) {
+        return runService.listRunCasesPage(runId, new RunCasePageFilter(statusIds, assigneeId, suiteId), cursor, size);
+    }
+
+    @Operation(
+            summary = "Stream live run events",
+            description = "Server-Sent Events stream of committed run deltas: result-added, status-changed, " +
+                    "case-added, case-removed. A resync event means deltas were dropped and the run should be reloaded."
+    )
+    @GetMapping(path = "/api/runs/{runId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamRunEvents(@PathVariable Long runId) {
+        return runService.subscribeToRunEvents(runId);
+    }
+
     @Operation(
             summary = "Remove a test case from a run",
             description = "Removes a single test case from the specified run"
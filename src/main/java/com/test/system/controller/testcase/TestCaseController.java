@@ -1,15 +1,24 @@
 package com.test.system.controller.testcase;
 
 import com.test.system.dto.testcase.importexport.TestCasesImportRequest;
+import com.test.system.dto.testcase.request.AutotestKeysRequest;
 import com.test.system.dto.testcase.request.CreateTestCaseRequest;
 import com.test.system.dto.testcase.request.TestCaseBulkArchiveRequest;
+import com.test.system.dto.testcase.request.TestCaseFilter;
 import com.test.system.dto.testcase.request.TestCaseIdsRequest;
 import com.test.system.dto.testcase.request.UpdateTestCaseRequest;
+import com.test.system.dto.testcase.response.AutotestCaseMatch;
+import com.test.system.dto.testcase.response.AutotestLookupResponse;
+import com.test.system.dto.testcase.response.TestCaseCursorPageResponse;
 import com.test.system.dto.testcase.response.ExportFileResponse;
+import com.test.system.dto.testcase.response.FlakyCaseResponse;
 import com.test.system.dto.testcase.response.ImportTestCasesResponse;
 import com.test.system.dto.testcase.response.TestCaseBulkArchiveResponse;
 import com.test.system.dto.testcase.response.TestCasePageResponse;
 import com.test.system.dto.testcase.response.TestCaseResponse;
+import com.test.system.dto.testcase.response.TestCaseSuggestion;
+import com.test.system.dto.testcase.response.TestCaseSummaryResponse;
+import com.test.system.service.testcase.CaseFlakinessService;
 import com.test.system.service.testcase.TestCaseImportExportService;
 import com.test.system.service.testcase.TestCaseService;
 import com.test.system.service.testcase.TestRailImportService;
@@ -35,6 +44,7 @@ public class TestCaseController {
     private final TestCaseService testCaseService;
     private final TestCaseImportExportService importExportService;
     private final TestRailImportService testRailImportService;
+    private final CaseFlakinessService caseFlakinessService;
 
     @Operation(summary = "Create test case", description = "Create a new test case in the project.")
     @PostMapping("/projects/{projectId}/cases")
@@ -44,21 +54,89 @@ public class TestCaseController {
         return testCaseService.createTestCase(body);
     }
 
-    @Operation(summary = "List project cases", description = "List non-archived cases. Optional suiteId filter.")
+    @Operation(summary = "List project cases", description = "List non-archived cases without steps, attachments and long text fields " +
+            "(use GET /cases/{id} for those). Optional suiteId filter.")
     @GetMapping("/projects/{projectId}/cases")
-    public List<TestCaseResponse> listByProject(@PathVariable Long projectId,
+    public List<TestCaseSummaryResponse> listByProject(@PathVariable Long projectId,
                                                       @RequestParam(required = false) Long suiteId) {
         return testCaseService.listTestCasesByProject(projectId, suiteId);
     }
 
-    @Operation(summary = "List project cases page", description = "Paginated list of non-archived cases with optional suiteId and title filter.")
+    @Operation(summary = "List project cases page", description = "Paginated list of non-archived cases with optional suiteId and search q. " +
+            "mode=title (default) matches a title substring; mode=fulltext matches title, preconditions, expected result and steps, best matches first.")
     @GetMapping("/projects/{projectId}/cases/page")
     public TestCasePageResponse listByProjectPage(@PathVariable Long projectId,
                                                   @RequestParam(required = false) Long suiteId,
                                                   @RequestParam(required = false) String q,
+                                                  @RequestParam(required = false) String mode,
                                                   @RequestParam(defaultValue = "0") Integer page,
                                                   @RequestParam(defaultValue = "100") Integer size) {
-        return testCaseService.listTestCasesPageByProject(projectId, suiteId, q, page, size);
+        return testCaseService.listTestCasesPageByProject(projectId, suiteId, q, mode, page, size);
+    }
+
+    @Operation(summary = "List project cases by cursor", description = "Keyset-paginated list of non-archived cases ordered by sort index, creation time and id, " +
+            "with optional suiteId and title filter q; pass nextCursor to get the next page. count=none (default), estimate or exact controls the total.")
+    @GetMapping("/projects/{projectId}/cases/cursor")
+    public TestCaseCursorPageResponse listByProjectCursor(@PathVariable Long projectId,
+                                                          @RequestParam(required = false) Long suiteId,
+                                                          @RequestParam(required = false) String q,
+                                                          @RequestParam(required = false) String cursor,
+                                                          @RequestParam(defaultValue = "100") Integer size,
+                                                          @RequestParam(required = false) String count) {
+        return testCaseService.listTestCasesByProjectAfter(projectId, suiteId, q, cursor, size, count);
+    }
+
+    @Operation(summary = "Filter project cases", description = "Keyset-paginated cases matching a filter given as query parameters: suiteIds (with includeSubsuites, default true), q, " +
+            "tags (tagMatch ANY or ALL), severities, automationStatuses, statuses, priorityIds, typeIds, assigneeIds, unassigned, createdByIds. " +
+            "Repeat a parameter for several values. cursor, size and count work as on /cases/cursor.")
+    @GetMapping("/projects/{projectId}/cases/filter")
+    public TestCaseCursorPageResponse filterByQuery(@PathVariable Long projectId,
+                                                    @Valid @ModelAttribute TestCaseFilter filter,
+                                                    @RequestParam(required = false) String cursor,
+                                                    @RequestParam(defaultValue = "100") Integer size,
+                                                    @RequestParam(required = false) String count) {
+        return testCaseService.filterTestCases(projectId, filter, cursor, size, count);
+    }
+
+    @Operation(summary = "Filter project cases (body)", description = "Same as GET /cases/filter with the filter as a JSON body, for long ID and tag lists.")
+    @PostMapping("/projects/{projectId}/cases/filter")
+    public TestCaseCursorPageResponse filterByBody(@PathVariable Long projectId,
+                                                   @Valid @RequestBody TestCaseFilter filter,
+                                                   @RequestParam(required = false) String cursor,
+                                                   @RequestParam(defaultValue = "100") Integer size,
+                                                   @RequestParam(required = false) String count) {
+        return testCaseService.filterTestCases(projectId, filter, cursor, size, count);
+    }
+
+    @Operation(summary = "Suggest cases by title", description = "Typeahead: up to limit (default 10, max 50) active cases whose titles are most similar to q, tolerating typos and partial words. Returns ids and titles only.")
+    @GetMapping("/projects/{projectId}/cases/suggest")
+    public List<TestCaseSuggestion> suggest(@PathVariable Long projectId,
+                                            @RequestParam String q,
+                                            @RequestParam(defaultValue = "10") Integer limit) {
+        return testCaseService.suggestTestCases(projectId, q, limit);
+    }
+
+    @Operation(summary = "Find cases by autotest key", description = "Active cases whose autotest mapping matches the key: \"testClass#testMethod\" or scenario name.")
+    @GetMapping("/projects/{projectId}/cases/by-autotest")
+    public List<AutotestCaseMatch> findByAutotestKey(@PathVariable Long projectId,
+                                                     @RequestParam String key) {
+        return testCaseService.findByAutotestKey(projectId, key);
+    }
+
+    @Operation(summary = "Find cases by autotest keys", description = "Resolve up to 5000 autotest keys in one query; unmatched keys are listed separately.")
+    @PostMapping("/projects/{projectId}/cases/by-autotest")
+    public AutotestLookupResponse findByAutotestKeys(@PathVariable Long projectId,
+                                                     @Valid @RequestBody AutotestKeysRequest body) {
+        return testCaseService.findByAutotestKeys(projectId, body.keys());
+    }
+
+    @Operation(summary = "List flaky cases", description = "Cases whose recent executions flip between passed and failed, highest flip rate first.")
+    @GetMapping("/projects/{projectId}/flaky")
+    public List<FlakyCaseResponse> listFlaky(@PathVariable Long projectId,
+                                             @RequestParam(required = false) Integer minExecutions,
+                                             @RequestParam(required = false) Float minFlipRate,
+                                             @RequestParam(defaultValue = "100") Integer limit) {
+        return caseFlakinessService.listFlakyCases(projectId, minExecutions, minFlipRate, limit);
     }
 
     @Operation(summary = "List project cases by ids", description = "Returns non-archived project cases for provided caseIds.")
@@ -1,17 +1,31 @@
 package com.test.system.controller.testresults;
 
+import com.test.system.dto.testresult.BatchTestResultRequest;
+import com.test.system.dto.testresult.BatchTestResultResponse;
 import com.test.system.dto.testresult.CreateTestResultRequest;
+import com.test.system.dto.testresult.JUnitImportResponse;
+import com.test.system.dto.testresult.ResultWriteMode;
 import com.test.system.dto.testresult.TestResultResponse;
+import com.test.system.exceptions.run.InvalidRunRequestException;
+import com.test.system.service.run.JUnitImportService;
 import com.test.system.service.run.RunCaseResultService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 
 /**
  * REST controller for managing test execution results within test runs.
@@ -25,18 +39,75 @@ import java.util.List;
 public class TestResultController {
 
     private final RunCaseResultService runCaseResultService;
+    private final JUnitImportService junitImportService;
 
     @Operation(
             summary = "Add test execution result to a run case",
             description = "Creates a new test execution result for a specific test case within a run. " +
-                    "Updates the current status of the run case."
+                    "Updates the current status of the run case. A retry with the same Idempotency-Key header " +
+                    "returns the original result without writing again (409 if the key was used for another result). " +
+                    "mode=BUFFERED queues the result for a batched write and returns 202 at once; mode=SYNC returns " +
+                    "202 after the batch has committed. A full buffer answers 503 with Retry-After."
     )
     @PostMapping("/api/runs/{runId}/cases/{caseId}/results")
-    @ResponseStatus(HttpStatus.CREATED)
-    public TestResultResponse addRunCaseResult(@PathVariable Long runId,
-                                               @PathVariable Long caseId,
-                                               @Valid @RequestBody CreateTestResultRequest request) {
-        return runCaseResultService.addRunCaseResult(runId, caseId, request);
+    public ResponseEntity<?> addRunCaseResult(@PathVariable Long runId,
+                                              @PathVariable Long caseId,
+                                              @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey,
+                                              @RequestParam(defaultValue = "IMMEDIATE") ResultWriteMode mode,
+                                              @Valid @RequestBody CreateTestResultRequest request) {
+        if (mode == ResultWriteMode.IMMEDIATE) {
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(runCaseResultService.addRunCaseResult(runId, caseId, request, idempotencyKey));
+        }
+        return ResponseEntity.accepted()
+                .body(runCaseResultService.queueRunCaseResult(runId, caseId, request, idempotencyKey, mode));
+    }
+
+    @Operation(
+            summary = "Add test execution results in batch",
+            description = "Creates many results in one call (CI ingestion). Each item targets a case by caseId " +
+                    "or autotestKey. Returns a per-item outcome; invalid items are rejected without failing the batch. " +
+                    "Items resent with the same idempotencyKey are REPLAYED instead of written again."
+    )
+    @PostMapping("/api/runs/{runId}/results/batch")
+    public BatchTestResultResponse addRunCaseResultsBatch(@PathVariable Long runId,
+                                                          @Valid @RequestBody BatchTestResultRequest request) {
+        return runCaseResultService.addRunCaseResultsBatch(runId, request);
+    }
+
+    @Operation(
+            summary = "Import a JUnit XML report",
+            description = "Streams a JUnit XML report sent as the request body (optionally Content-Encoding: gzip) " +
+                    "into the run. Each testcase is matched to a run case by autotest mapping " +
+                    "(classname#name, then name as scenario); unmatched testcases are counted and skipped."
+    )
+    @PostMapping(path = "/api/runs/{runId}/results/import/junit",
+            consumes = {MediaType.APPLICATION_XML_VALUE, MediaType.TEXT_XML_VALUE})
+    public JUnitImportResponse importJUnit(@PathVariable Long runId, HttpServletRequest request) {
+        try (InputStream body = request.getInputStream();
+             InputStream in = "gzip".equalsIgnoreCase(request.getHeader(HttpHeaders.CONTENT_ENCODING))
+                     ? new GZIPInputStream(body)
+                     : body) {
+            return junitImportService.importJUnit(runId, in);
+        } catch (IOException e) {
+            throw new InvalidRunRequestException("Failed to read JUnit report: " + e.getMessage());
+        }
+    }
+
+    @Operation(
+            summary = "Import a JUnit XML report file",
+            description = "Same as the XML body variant, for multipart uploads (subject to the multipart size limits)."
+    )
+    @PostMapping(path = "/api/runs/{runId}/results/import/junit", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public JUnitImportResponse importJUnitFile(@PathVariable Long runId, @RequestParam("file") MultipartFile file) {
+        if (file.isEmpty()) {
+            throw new InvalidRunRequestException("File is required");
+        }
+        try (InputStream in = file.getInputStream()) {
+            return junitImportService.importJUnit(runId, in);
+        } catch (IOException e) {
+            throw new InvalidRunRequestException("Failed to read JUnit report: " + e.getMessage());
+        }
     }
 
     @Operation(
@@ -0,0 +1,34 @@
+package com.test.system.dto.admin;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Response DTO for dictionary cache statistics.
+ * Counters are cumulative since application startup.
+ */
+@Schema(description = "Hit/miss statistics of one cached dictionary table")
+public record DictionaryCacheStatsResponse(
+        @Schema(description = "Dictionary name", example = "STATUS")
+        String dictionary,
+
+        @Schema(description = "Lookups served from the cache", example = "1520")
+        long hitCount,
+
+        @Schema(description = "Lookups that had to load the table", example = "3")
+        long missCount,
+
+        @Schema(description = "hitCount / (hitCount + missCount)", example = "0.998")
+        double hitRate,
+
+        @Schema(description = "Successful table loads", example = "3")
+        long loadCount,
+
+        @Schema(description = "Failed table loads", example = "0")
+        long loadFailureCount,
+
+        @Schema(description = "Average load time in milliseconds", example = "2.4")
+        double averageLoadMillis,
+
+        @Schema(description = "Snapshots dropped by TTL expiry", example = "2")
+        long evictionCount
+) {}
@@ -0,0 +1,21 @@
+package com.test.system.dto.run.junit;
+
+/**
+ * One {@code <testcase>} element of a JUnit XML report.
+ *
+ * @param classname      the classname attribute (may be null)
+ * @param name           the name attribute (may be null)
+ * @param outcome        derived from the child elements
+ * @param elapsedSeconds the time attribute, or null if absent or malformed
+ * @param message        failure/error/skipped message and details, truncated; null when passed
+ */
+public record JUnitTestCase(
+        String classname,
+        String name,
+        Outcome outcome,
+        Double elapsedSeconds,
+        String message
+) {
+    /** Ordered by severity: when a testcase has several result children the most severe one wins. */
+    public enum Outcome { PASSED, SKIPPED, FAILED, ERROR }
+}
@@ -1,10 +1,13 @@
 package com.test.system.dto.run.request;
 
-import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.Valid;
 
 import java.util.List;
 
+/**
+ * Cases to add to a run: explicit caseIds, a server-side filter, or both (combined with AND).
+ */
 public record AddCasesToRunRequest(
-        @NotEmpty List<Long> caseIds
+        List<Long> caseIds,
+        @Valid CaseSelectionFilter filter
 ) {}
-
@@ -0,0 +1,14 @@
+package com.test.system.dto.run.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Explicit assignees for cases of a run; when a case is listed twice the last entry wins.
+ */
+public record AssignRunCasesRequest(
+        @NotEmpty @Size(max = 10000) List<@Valid RunCaseAssignment> assignments
+) {}
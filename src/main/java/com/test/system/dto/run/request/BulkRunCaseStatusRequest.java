@@ -0,0 +1,22 @@
+package com.test.system.dto.run.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Target status for every run case matching a filter.
+ * Filter criteria are combined with AND and at least one must be given; currentStatuses takes status names
+ * or IDs, and the default (untested) status also matches run cases without a status.
+ * Run cases already in the target status are left untouched.
+ */
+public record BulkRunCaseStatusRequest(
+        @NotNull Long statusId,
+        @Size(max = 20000) String comment,
+        @Size(max = 20) List<@NotBlank String> currentStatuses,
+        Long assigneeId,
+        @Valid CaseSelectionFilter filter
+) {}
@@ -0,0 +1,27 @@
+package com.test.system.dto.run.request;
+
+import com.test.system.enums.testcase.TestCaseAutomationStatus;
+import com.test.system.enums.testcase.TestCaseSeverity;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Server-side selection of project test cases.
+ * All criteria are optional and combined with AND; an empty filter selects every active case of the project.
+ * Tags match when the case has at least one of the given tags.
+ */
+public record CaseSelectionFilter(
+        Long suiteId,
+        Boolean includeSubsuites,
+        @Size(max = 50) List<@Size(min = 1, max = 50) String> tags,
+        List<TestCaseSeverity> severities,
+        List<TestCaseAutomationStatus> automationStatuses
+) {
+    /**
+     * Whether child suites of suiteId are included (defaults to true).
+     */
+    public boolean subsuitesIncluded() {
+        return includeSubsuites == null || includeSubsuites;
+    }
+}
@@ -0,0 +1,27 @@
+package com.test.system.dto.run.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Distributes up to limit untested cases of a run, in run order, across assignees by expected duration.
+ * Without reassign only unassigned cases are distributed and each assignee's untested work is taken into
+ * account; with reassign the cases are split afresh regardless of their current assignee.
+ */
+public record DistributeRunCasesRequest(
+        @NotEmpty @Size(max = 100) List<@NotNull Long> assigneeIds,
+        @Positive @Max(10000) Integer limit,
+        Boolean reassign
+) {
+    /**
+     * Whether already assigned cases are redistributed (defaults to false).
+     */
+    public boolean reassignIncluded() {
+        return Boolean.TRUE.equals(reassign);
+    }
+}
@@ -0,0 +1,11 @@
+package com.test.system.dto.run.request;
+
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Assignee of one case of a run; a null assigneeId unassigns the case.
+ */
+public record RunCaseAssignment(
+        @NotNull Long caseId,
+        Long assigneeId
+) {}
@@ -0,0 +1,13 @@
+package com.test.system.dto.run.request;
+
+import java.util.List;
+
+/**
+ * Optional filters for the paged run case listing, combined with AND.
+ * statusIds matches the run case's current status; suiteId matches the case's own suite (no subtree).
+ */
+public record RunCasePageFilter(
+        List<Long> statusIds,
+        Long assigneeId,
+        Long suiteId
+) {}
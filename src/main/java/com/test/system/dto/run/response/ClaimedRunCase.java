@@ -0,0 +1,13 @@
+package com.test.system.dto.run.response;
+
+import java.util.Map;
+
+/**
+ * Run case leased to a CI agent, with what the agent needs to execute it.
+ */
+public record ClaimedRunCase(
+        Long runCaseId,
+        Long caseId,
+        String title,
+        Map<String, String> autotestMapping
+) {}
@@ -0,0 +1,7 @@
+package com.test.system.dto.run.response;
+
+public record CloneRunResponse(
+        RunResponse run,
+        int copiedCases,
+        int attachedMilestones
+) {}
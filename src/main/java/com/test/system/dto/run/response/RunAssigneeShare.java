@@ -0,0 +1,12 @@
+package com.test.system.dto.run.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public record RunAssigneeShare(
+        Long assigneeId,
+        @Schema(description = "Cases assigned by this distribution")
+        int assignedCases,
+        long assignedSeconds,
+        @Schema(description = "Expected untested work of the assignee after the distribution")
+        long expectedLoadSeconds
+) {}
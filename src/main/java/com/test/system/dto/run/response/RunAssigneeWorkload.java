@@ -0,0 +1,12 @@
+package com.test.system.dto.run.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public record RunAssigneeWorkload(
+        @Schema(description = "Assignee user ID, null for unassigned cases")
+        Long assigneeId,
+        long totalCases,
+        long remainingCases,
+        @Schema(description = "Expected duration of the untested cases")
+        long remainingSeconds
+) {}
@@ -0,0 +1,16 @@
+package com.test.system.dto.run.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.List;
+
+@Schema(description = "Run cases leased to an agent; empty items means the queue is drained")
+public record RunCaseClaimResponse(
+        Long runId,
+        String agent,
+        @Schema(description = "The leases expire at this time unless a result is posted first")
+        Instant leaseExpiresAt,
+        @Schema(description = "Claimed cases in run order")
+        List<ClaimedRunCase> items
+) {}
@@ -0,0 +1,13 @@
+package com.test.system.dto.run.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Untested run cases distributed across assignees by expected duration")
+public record RunCaseDistributionResponse(
+        Long runId,
+        int distributedCases,
+        long distributedSeconds,
+        List<RunAssigneeShare> assignees
+) {}
@@ -0,0 +1,22 @@
+package com.test.system.dto.run.response;
+
+import java.util.Map;
+
+/**
+ * Run case row with the case fields needed to render a run, loaded in a single join.
+ */
+public record RunCasePageItem(
+        Long id,
+        Long runId,
+        Long caseId,
+        Long currentStatusId,
+        Long assigneeId,
+        String comment,
+        String title,
+        Integer sortIndex,
+        Long suiteId,
+        String suiteName,
+        Long priorityId,
+        String priorityName,
+        Map<String, String> autotestMapping
+) {}
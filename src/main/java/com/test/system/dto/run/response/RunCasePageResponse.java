@@ -0,0 +1,16 @@
+package com.test.system.dto.run.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Keyset-paginated run case response")
+public record RunCasePageResponse(
+        @Schema(description = "Current page content, ordered by case sort index and case ID")
+        List<RunCasePageItem> items,
+        @Schema(description = "Page size", example = "100")
+        int size,
+        @Schema(description = "Cursor for the next page, or null when this is the last page")
+        String nextCursor
+) {
+}
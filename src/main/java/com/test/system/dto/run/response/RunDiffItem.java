@@ -0,0 +1,30 @@
+package com.test.system.dto.run.response;
+
+/**
+ * One case of a run-to-run comparison. Base fields are null for ADDED cases, target fields for MISSING ones.
+ */
+public record RunDiffItem(
+        Long caseId,
+        String title,
+        Category category,
+        Long baseRunCaseId,
+        Long baseStatusId,
+        Long targetRunCaseId,
+        Long targetStatusId
+) {
+
+    public enum Category {
+        /** Failing in the target run, not failing in the base run. */
+        NEWLY_FAILING,
+        /** Passing in the target run, failing or unresolved in the base run. */
+        NEWLY_PASSING,
+        /** Failing in both runs. */
+        STILL_FAILING,
+        /** In the base run only. */
+        MISSING,
+        /** In the target run only. */
+        ADDED,
+        /** Any other combination. */
+        UNCHANGED
+    }
+}
@@ -0,0 +1,30 @@
+package com.test.system.dto.run.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+
+@Schema(description = "Remaining-time estimate of a run")
+public record RunEtaResponse(
+        Long runId,
+        long totalCases,
+        long remainingCases,
+        @Schema(description = "Remaining cases whose duration comes from recent runs")
+        long casesWithHistory,
+        @Schema(description = "Remaining cases whose duration comes from the case estimate")
+        long casesWithEstimate,
+        @Schema(description = "Remaining cases with neither, counted at the configured default duration")
+        long casesWithDefault,
+        @Schema(description = "Sum of median durations of remaining cases")
+        long remainingSeconds,
+        @Schema(description = "Sum of 90th-percentile durations of remaining cases")
+        long remainingP90Seconds,
+        int windowMinutes,
+        long resultsInWindow,
+        @Schema(description = "Test seconds executed per wall-clock second over the window, i.e. effective parallelism")
+        double throughput,
+        @Schema(description = "Null when nothing was executed in the window or the run is closed")
+        Long etaSeconds,
+        Long etaP90Seconds,
+        Instant estimatedFinishAt
+) {}
@@ -0,0 +1,66 @@
+package com.test.system.dto.run.response;
+
+import java.time.Instant;
+
+/**
+ * Live run delta pushed to /api/runs/{runId}/events subscribers.
+ * Fields that do not apply to a type are null; RESYNC tells the client that deltas were dropped
+ * and it should reload the run.
+ */
+public record RunEvent(
+        Type type,
+        Long runId,
+        Long runCaseId,
+        Long caseId,
+        Long statusId,
+        Instant at
+) {
+
+    public enum Type {
+        RESULT_ADDED,
+        STATUS_CHANGED,
+        CASE_ADDED,
+        CASE_REMOVED,
+        RESYNC;
+
+        /**
+         * SSE event name, e.g. "result-added".
+         */
+        public String eventName() {
+            return name().toLowerCase().replace('_', '-');
+        }
+    }
+
+    public static RunEvent resultAdded(Long runId, Long runCaseId, Long caseId, Long statusId, Instant at) {
+        return new RunEvent(Type.RESULT_ADDED, runId, runCaseId, caseId, statusId, at);
+    }
+
+    public static RunEvent statusChanged(Long runId, Long runCaseId, Long caseId, Long statusId, Instant at) {
+        return new RunEvent(Type.STATUS_CHANGED, runId, runCaseId, caseId, statusId, at);
+    }
+
+    public static RunEvent caseAdded(Long runId, Long runCaseId, Long caseId, Instant at) {
+        return new RunEvent(Type.CASE_ADDED, runId, runCaseId, caseId, null, at);
+    }
+
+    public static RunEvent caseRemoved(Long runId, Long caseId, Instant at) {
+        return new RunEvent(Type.CASE_REMOVED, runId, null, caseId, null, at);
+    }
+
+    public static RunEvent resync(Long runId, Instant at) {
+        return new RunEvent(Type.RESYNC, runId, null, null, null, at);
+    }
+
+    /**
+     * Key under which pending deltas are coalesced: only the latest result, the latest status change
+     * and the latest membership change of a case need to reach a slow client.
+     */
+    public String coalesceKey() {
+        return switch (type) {
+            case RESULT_ADDED -> "result:" + caseId;
+            case STATUS_CHANGED -> "status:" + caseId;
+            case CASE_ADDED, CASE_REMOVED -> "case:" + caseId;
+            case RESYNC -> "resync";
+        };
+    }
+}
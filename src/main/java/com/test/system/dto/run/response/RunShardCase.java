@@ -0,0 +1,21 @@
+package com.test.system.dto.run.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Run case assigned to a shard, with the duration the plan assumed for it.
+ */
+public record RunShardCase(
+        Long runCaseId,
+        Long caseId,
+        int expectedSeconds,
+        DurationSource source
+) {
+
+    @Schema(description = "Where expectedSeconds comes from: median of recent runs, the case estimate, or the configured default")
+    public enum DurationSource {
+        HISTORY,
+        ESTIMATE,
+        DEFAULT
+    }
+}
@@ -0,0 +1,16 @@
+package com.test.system.dto.run.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Run cases split into shards of near-equal expected duration")
+public record RunShardPlanResponse(
+        Long runId,
+        int shardCount,
+        int totalCases,
+        long totalExpectedSeconds,
+        @Schema(description = "Expected duration of the longest shard, i.e. of the whole parallel run")
+        long makespanSeconds,
+        List<RunShardResponse> shards
+) {}
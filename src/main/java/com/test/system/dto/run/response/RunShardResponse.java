@@ -0,0 +1,14 @@
+package com.test.system.dto.run.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+public record RunShardResponse(
+        @Schema(description = "Zero-based shard index")
+        int index,
+        int caseCount,
+        long expectedSeconds,
+        @Schema(description = "Cases of the shard, longest first")
+        List<RunShardCase> cases
+) {}
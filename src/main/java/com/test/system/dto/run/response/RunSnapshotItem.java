@@ -0,0 +1,31 @@
+package com.test.system.dto.run.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Final state of one case in a closed run, as frozen in the run snapshot.
+ */
+public record RunSnapshotItem(
+        Long id,
+        Long caseId,
+        Long statusId,
+        Long assigneeId,
+        String comment,
+        String title,
+        Integer sortIndex,
+        Long suiteId,
+        String suiteName,
+        Long priorityId,
+        String priorityName,
+        Map<String, String> autotestMapping,
+        @Schema(description = "Elapsed seconds of the latest result")
+        Integer elapsedSeconds,
+        @Schema(description = "Defects of the latest result")
+        String defectsJson,
+        @Schema(description = "Number of results recorded for the case in this run")
+        int resultCount,
+        Instant lastResultAt
+) {}
@@ -0,0 +1,20 @@
+package com.test.system.dto.run.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.List;
+
+@Schema(description = "Frozen contents of a closed run")
+public record RunSnapshotResponse(
+        Long runId,
+        @Schema(description = "When the snapshot was taken (normally when the run was closed)")
+        Instant createdAt,
+        int totalCases,
+        @Schema(description = "Sum of the latest result's elapsed seconds over all cases")
+        long totalElapsedSeconds,
+        @Schema(description = "Case counts per final status; statusId is null for untested cases")
+        List<RunStatusCountResponse> statusCounts,
+        @Schema(description = "Cases ordered by case sort index and case ID")
+        List<RunSnapshotItem> items
+) {}
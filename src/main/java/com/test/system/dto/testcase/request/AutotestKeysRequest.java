@@ -0,0 +1,14 @@
+package com.test.system.dto.testcase.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Autotest keys to resolve in one call ("testClass#testMethod" or scenario name).
+ */
+public record AutotestKeysRequest(
+        @NotEmpty @Size(max = 5000) List<@NotBlank @Size(max = 1024) String> keys
+) {}
@@ -0,0 +1,51 @@
+package com.test.system.dto.testcase.request;
+
+import com.test.system.enums.testcase.TestCaseAutomationStatus;
+import com.test.system.enums.testcase.TestCaseSeverity;
+import com.test.system.enums.testcase.TestCaseStatus;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Server-side filter for the project case list, bound from query parameters or a JSON body.
+ * All criteria are optional and combined with AND; a list matches any of its values.
+ * Tags match when the case has any (default) or all of the given tags; assignees match assigneeIds,
+ * plus cases without an assignee when unassigned is true.
+ */
+public record TestCaseFilter(
+        @Size(max = 100) List<Long> suiteIds,
+        Boolean includeSubsuites,
+        @Size(max = 255) String q,
+        @Size(max = 50) List<@Size(min = 1, max = 50) String> tags,
+        TagMatch tagMatch,
+        List<TestCaseSeverity> severities,
+        List<TestCaseAutomationStatus> automationStatuses,
+        List<TestCaseStatus> statuses,
+        @Size(max = 100) List<Long> priorityIds,
+        @Size(max = 100) List<Long> typeIds,
+        @Size(max = 100) List<Long> assigneeIds,
+        Boolean unassigned,
+        @Size(max = 100) List<Long> createdByIds
+) {
+
+    public enum TagMatch {
+        ANY,
+        ALL
+    }
+
+    /**
+     * Filter of the plain case list: one optional suite (without children) and a title substring.
+     */
+    public static TestCaseFilter bySuiteAndTitle(Long suiteId, String q) {
+        return new TestCaseFilter(suiteId == null ? null : List.of(suiteId), false, q,
+                null, null, null, null, null, null, null, null, null, null);
+    }
+
+    /**
+     * Whether child suites of suiteIds are included (defaults to true).
+     */
+    public boolean subsuitesIncluded() {
+        return includeSubsuites == null || includeSubsuites;
+    }
+}
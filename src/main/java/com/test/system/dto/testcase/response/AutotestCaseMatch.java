@@ -0,0 +1,16 @@
+package com.test.system.dto.testcase.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Test case addressed by an autotest key")
+public record AutotestCaseMatch(
+        @Schema(description = "The requested key", example = "com.example.LoginTest#validLogin")
+        String key,
+        Long caseId,
+        Long suiteId,
+        String title,
+        @Schema(description = "Whether the key matched the case's method key or its scenario")
+        MatchedBy matchedBy
+) {
+    public enum MatchedBy { METHOD, SCENARIO }
+}
@@ -0,0 +1,13 @@
+package com.test.system.dto.testcase.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Result of resolving many autotest keys")
+public record AutotestLookupResponse(
+        @Schema(description = "Matches in request key order; a key shared by several cases appears once per case")
+        List<AutotestCaseMatch> matches,
+        @Schema(description = "Requested keys that match no active case")
+        List<String> unmatchedKeys
+) {}
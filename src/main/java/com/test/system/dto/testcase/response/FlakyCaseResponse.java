@@ -0,0 +1,26 @@
+package com.test.system.dto.testcase.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+
+@Schema(description = "Flakiness summary of a test case over its most recent executions")
+public record FlakyCaseResponse(
+        Long caseId,
+        String title,
+        Long suiteId,
+        @Schema(description = "Recent outcomes, oldest first: P = passed, F = failed", example = "PPFPFP")
+        String recentOutcomes,
+        @Schema(description = "Number of executions in the window", example = "6")
+        int windowExecutions,
+        @Schema(description = "Pass/fail changes between consecutive executions in the window", example = "4")
+        int windowFlips,
+        @Schema(description = "Failures in the window", example = "2")
+        int windowFailures,
+        @Schema(description = "windowFlips / (windowExecutions - 1)", example = "0.8")
+        float flipRate,
+        @Schema(description = "Pass/fail executions seen since tracking started")
+        long totalExecutions,
+        Instant lastExecutedAt
+) {
+}
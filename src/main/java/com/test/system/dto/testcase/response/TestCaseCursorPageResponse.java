@@ -0,0 +1,20 @@
+package com.test.system.dto.testcase.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Keyset-paginated test case response")
+public record TestCaseCursorPageResponse(
+        @Schema(description = "Current page content, ordered by sort index, creation time and ID")
+        List<TestCaseSummaryResponse> items,
+        @Schema(description = "Page size", example = "100")
+        int size,
+        @Schema(description = "Cursor for the next page, or null when this is the last page")
+        String nextCursor,
+        @Schema(description = "Total number of matching items, or null when not requested", example = "1250")
+        Long total,
+        @Schema(description = "Whether total is a planner estimate rather than an exact count")
+        boolean totalEstimated
+) {
+}
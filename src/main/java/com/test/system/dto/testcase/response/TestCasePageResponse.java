@@ -7,7 +7,7 @@ import java.util.List;
 @Schema(description = "Paginated test case response")
 public record TestCasePageResponse(
         @Schema(description = "Current page content")
-        List<TestCaseResponse> items,
+        List<TestCaseSummaryResponse> items,
         @Schema(description = "Zero-based page index", example = "0")
         int page,
         @Schema(description = "Page size", example = "100")
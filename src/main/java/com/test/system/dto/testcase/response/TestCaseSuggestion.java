@@ -0,0 +1,12 @@
+package com.test.system.dto.testcase.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Case title suggestion")
+public record TestCaseSuggestion(
+        Long id,
+        Long suiteId,
+        String title,
+        @Schema(description = "Word similarity of the query to the title, 0..1", example = "0.8")
+        float score
+) {}
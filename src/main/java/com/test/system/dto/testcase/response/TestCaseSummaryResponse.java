@@ -0,0 +1,39 @@
+package com.test.system.dto.testcase.response;
+
+import com.test.system.enums.testcase.TestCaseAutomationStatus;
+import com.test.system.enums.testcase.TestCaseSeverity;
+import com.test.system.enums.testcase.TestCaseStatus;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Test case as shown in lists and grids.
+ * Steps, attachments, autotest mapping and long text fields are only returned by the detail endpoint.
+ */
+public record TestCaseSummaryResponse(
+        Long id,
+        Long projectId,
+        Long suiteId,
+        String suiteName,
+        String title,
+        Long typeId,
+        String typeName,
+        Long priorityId,
+        String priorityName,
+        Integer estimateSeconds,
+        Integer sortIndex,
+        TestCaseStatus status,
+        TestCaseSeverity severity,
+        TestCaseAutomationStatus automationStatus,
+        List<String> tags,
+        Instant createdAt,
+        Instant updatedAt,
+        Long createdBy,
+        String createdByName,
+        String createdByEmail,
+        Long assignedTo,
+        String assignedToName,
+        String assignedToEmail
+) {
+}
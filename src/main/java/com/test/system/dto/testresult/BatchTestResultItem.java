@@ -0,0 +1,20 @@
+package com.test.system.dto.testresult;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Single result inside a batch submission.
+ * The run case is identified either by caseId or by autotestKey (caseId wins when both are set).
+ * An item resent with the same idempotencyKey is replayed instead of written again.
+ */
+public record BatchTestResultItem(
+        Long caseId,
+        @Size(max = 1024) String autotestKey,
+        @NotNull Long statusId,
+        @PositiveOrZero Integer elapsedSeconds,
+        @Size(max = 20000) String comment,
+        String defectsJson,
+        @Size(max = 255) String idempotencyKey
+) {}
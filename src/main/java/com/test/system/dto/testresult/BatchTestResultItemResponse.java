@@ -0,0 +1,29 @@
+package com.test.system.dto.testresult;
+
+/**
+ * Outcome of a single item in a batch result submission.
+ * Index refers to the position of the item in the request.
+ * REPLAYED items repeat an idempotency key already written; they describe the original result and write nothing.
+ */
+public record BatchTestResultItemResponse(
+        int index,
+        Long caseId,
+        Long runCaseId,
+        Long statusId,
+        Outcome outcome,
+        String error
+) {
+    public enum Outcome { CREATED, REPLAYED, REJECTED }
+
+    public static BatchTestResultItemResponse created(int index, Long caseId, Long runCaseId, Long statusId) {
+        return new BatchTestResultItemResponse(index, caseId, runCaseId, statusId, Outcome.CREATED, null);
+    }
+
+    public static BatchTestResultItemResponse replayed(int index, Long caseId, Long runCaseId, Long statusId) {
+        return new BatchTestResultItemResponse(index, caseId, runCaseId, statusId, Outcome.REPLAYED, null);
+    }
+
+    public static BatchTestResultItemResponse rejected(int index, Long caseId, Long statusId, String error) {
+        return new BatchTestResultItemResponse(index, caseId, null, statusId, Outcome.REJECTED, error);
+    }
+}
@@ -0,0 +1,11 @@
+package com.test.system.dto.testresult;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BatchTestResultRequest(
+        @NotEmpty @Size(max = 5000) List<@Valid BatchTestResultItem> results
+) {}
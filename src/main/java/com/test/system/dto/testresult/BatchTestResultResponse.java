@@ -0,0 +1,10 @@
+package com.test.system.dto.testresult;
+
+import java.util.List;
+
+public record BatchTestResultResponse(
+        int created,
+        int replayed,
+        int rejected,
+        List<BatchTestResultItemResponse> items
+) {}
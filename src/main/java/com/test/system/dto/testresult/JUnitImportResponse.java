@@ -0,0 +1,19 @@
+package com.test.system.dto.testresult;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Outcome of a JUnit XML report import")
+public record JUnitImportResponse(
+        @Schema(description = "Testcase elements read from the report", example = "1200")
+        int total,
+        @Schema(description = "Results created", example = "1180")
+        int created,
+        @Schema(description = "Testcases that match no case of the run", example = "15")
+        int unmatched,
+        @Schema(description = "Testcases that match several cases of the run", example = "5")
+        int ambiguous,
+        @Schema(description = "First unmatched or ambiguous keys (capped)")
+        List<String> unresolvedKeys
+) {}
@@ -0,0 +1,22 @@
+package com.test.system.dto.testresult;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Acknowledgement of a result submitted in BUFFERED or SYNC mode")
+public record QueuedResultResponse(
+        Long runId,
+        Long caseId,
+        Long runCaseId,
+        Long statusId,
+        ResultWriteMode mode,
+        State state
+) {
+
+    @Schema(description = "QUEUED: accepted, not yet committed (BUFFERED); WRITTEN: committed (SYNC); " +
+            "REPLAYED: the idempotency key was already written, nothing new was stored (SYNC)")
+    public enum State {
+        QUEUED,
+        WRITTEN,
+        REPLAYED
+    }
+}
@@ -0,0 +1,13 @@
+package com.test.system.dto.testresult;
+
+/**
+ * How a single result submission is written.
+ */
+public enum ResultWriteMode {
+    /** Written in the request transaction; 201 with the stored result. */
+    IMMEDIATE,
+    /** Queued and acknowledged at once with 202; written within milliseconds, lost if the process dies first. */
+    BUFFERED,
+    /** Queued and acknowledged with 202 once the batch containing it has committed. */
+    SYNC
+}
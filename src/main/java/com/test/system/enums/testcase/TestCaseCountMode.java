@@ -0,0 +1,27 @@
+package com.test.system.enums.testcase;
+
+import java.util.Locale;
+
+/**
+ * How the keyset case list reports the total number of matching cases.
+ */
+public enum TestCaseCountMode {
+    /** No total; pages cost the same at any depth. */
+    NONE,
+    /** Planner estimate, without scanning the cases. */
+    ESTIMATE,
+    /** Exact COUNT over the filter. */
+    EXACT;
+
+    /**
+     * Parses a mode name case-insensitively; null or blank means NONE.
+     *
+     * @throws IllegalArgumentException if the name is unknown
+     */
+    public static TestCaseCountMode parse(String value) {
+        if (value == null || value.isBlank()) {
+            return NONE;
+        }
+        return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+}
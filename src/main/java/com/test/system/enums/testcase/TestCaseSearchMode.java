@@ -0,0 +1,25 @@
+package com.test.system.enums.testcase;
+
+import java.util.Locale;
+
+/**
+ * How the q parameter of the case list matches cases.
+ */
+public enum TestCaseSearchMode {
+    /** Case-insensitive substring of the title. */
+    TITLE,
+    /** Ranked full-text match on title, preconditions, expected result and steps. */
+    FULLTEXT;
+
+    /**
+     * Parses a mode name case-insensitively; null or blank means TITLE.
+     *
+     * @throws IllegalArgumentException if the name is unknown
+     */
+    public static TestCaseSearchMode parse(String value) {
+        if (value == null || value.isBlank()) {
+            return TITLE;
+        }
+        return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,7 @@
+package com.test.system.exceptions.results;
+
+public class IdempotencyKeyConflictException extends IllegalStateException {
+    public IdempotencyKeyConflictException(String key) {
+        super("Idempotency key already used for a different result: " + key);
+    }
+}
@@ -0,0 +1,10 @@
+package com.test.system.exceptions.results;
+
+/**
+ * Thrown when buffered result ingestion cannot take or confirm a result; the client should retry later.
+ */
+public class ResultBufferUnavailableException extends RuntimeException {
+    public ResultBufferUnavailableException(String message) {
+        super(message);
+    }
+}
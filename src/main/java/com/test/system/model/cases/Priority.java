@@ -1,9 +1,11 @@
 package com.test.system.model.cases;
 
+import com.test.system.component.dictionary.DictionaryCacheInvalidator;
 import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
+@EntityListeners(DictionaryCacheInvalidator.class)
 @Table(name = "priorities")
 @Getter
 @Setter
@@ -32,6 +32,16 @@ public class RunCase {
     @Column(columnDefinition = "text")
     private String comment;
 
+    /** Work-queue lease; written only by RunCaseLeaseRepository and the current-status UPDATE. */
+    @Column(name="lease_owner", insertable = false, updatable = false)
+    private String leaseOwner;
+
+    @Column(name="lease_expires_at", insertable = false, updatable = false)
+    private Instant leaseExpiresAt;
+
+    @Column(name="created_at", insertable = false, updatable = false)
+    private Instant createdAt;
+
     @Column(name="updated_at", nullable = false)
     @Builder.Default
     private Instant updatedAt = Instant.now();
@@ -1,10 +1,12 @@
 package com.test.system.model.user;
 
+import com.test.system.component.dictionary.DictionaryCacheInvalidator;
 import com.test.system.enums.auth.RoleName;
 import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
+@EntityListeners(DictionaryCacheInvalidator.class)
 @Table(name="roles")
 @Getter
 @Setter
@@ -0,0 +1,83 @@
+package com.test.system.repository.run;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Progress markers of incremental background jobs over the results stream (job_watermarks, see V16 and V26 migrations).
+ * <p>
+ * Jobs read results in (txid, id) order, strictly after their watermark and only from transactions below the
+ * xmin of the reading statement's snapshot ({@link #NEW_RESULTS_CONDITION}). Every transaction below xmin has
+ * committed or aborted, so no result can later appear behind the watermark: each committed result is read exactly
+ * once, however long its transaction ran. A long-running transaction anywhere in the cluster holds xmin back and
+ * delays the jobs until it ends; it never makes them skip rows.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JobWatermarkRepository {
+
+    /**
+     * Predicate on results aliased "r" selecting the rows after a watermark that are safe to consume;
+     * binds :afterTxid and :afterId (see {@link Watermark#toParams()}). Pair it with {@link #NEW_RESULTS_ORDER}.
+     */
+    public static final String NEW_RESULTS_CONDITION = """
+            (r.txid, r.id) > (:afterTxid, :afterId)
+            AND r.txid < pg_snapshot_xmin(pg_current_snapshot())::text::BIGINT""";
+
+    /**
+     * Order in which results are consumed; served by idx_results_txid.
+     */
+    public static final String NEW_RESULTS_ORDER = "r.txid, r.id";
+
+    private static final String INIT_WATERMARK_SQL = """
+            INSERT INTO job_watermarks (name) VALUES (:name)
+            ON CONFLICT (name) DO NOTHING
+            """;
+
+    private static final String LOCK_WATERMARK_SQL = """
+            SELECT last_txid, last_id FROM job_watermarks WHERE name = :name FOR UPDATE
+            """;
+
+    private static final String SAVE_WATERMARK_SQL = """
+            UPDATE job_watermarks
+               SET last_txid = :lastTxid, last_id = :lastId, updated_at = NOW()
+             WHERE name = :name
+            """;
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    /**
+     * Position of an incremental job in the results stream: the (txid, id) of the last result it consumed.
+     */
+    public record Watermark(long lastTxid, long lastId) {
+
+        /**
+         * Parameters for {@link #NEW_RESULTS_CONDITION}.
+         */
+        public MapSqlParameterSource toParams() {
+            return new MapSqlParameterSource()
+                    .addValue("afterTxid", lastTxid)
+                    .addValue("afterId", lastId);
+        }
+    }
+
+    /**
+     * Reads a job watermark and locks it until the end of the transaction,
+     * so concurrent instances never process the same results twice.
+     */
+    public Watermark lock(String name) {
+        MapSqlParameterSource params = new MapSqlParameterSource("name", name);
+        jdbc.update(INIT_WATERMARK_SQL, params);
+        return jdbc.queryForObject(LOCK_WATERMARK_SQL, params,
+                (rs, n) -> new Watermark(rs.getLong("last_txid"), rs.getLong("last_id")));
+    }
+
+    public void save(String name, Watermark watermark) {
+        jdbc.update(SAVE_WATERMARK_SQL, new MapSqlParameterSource()
+                .addValue("name", name)
+                .addValue("lastTxid", watermark.lastTxid())
+                .addValue("lastId", watermark.lastId()));
+    }
+}
@@ -0,0 +1,141 @@
+package com.test.system.repository.run;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * JDBC access to result_idempotency_keys (see V22 migration).
+ * Keys are reserved with INSERT ... ON CONFLICT DO NOTHING in the transaction that writes the result:
+ * a concurrent request with the same key waits on the primary key until the first one commits or rolls back,
+ * so exactly one of them writes.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ResultIdempotencyRepository {
+
+    private static final String RESERVE_SQL = """
+            INSERT INTO result_idempotency_keys (run_id, idempotency_key, run_case_id, case_id, status_id, created_at)
+            SELECT :runId, v.idempotency_key, v.run_case_id, v.case_id, v.status_id, :now
+            FROM (VALUES :rows) AS v(idempotency_key, run_case_id, case_id, status_id)
+            ON CONFLICT (run_id, idempotency_key) DO NOTHING
+            RETURNING idempotency_key
+            """;
+
+    private static final String ATTACH_RESULT_SQL = """
+            UPDATE result_idempotency_keys
+               SET result_id = :resultId, result_created_at = :resultCreatedAt
+             WHERE run_id = :runId AND idempotency_key = :key
+            """;
+
+    private static final String FIND_BY_KEYS_SQL = """
+            SELECT idempotency_key, run_case_id, case_id, status_id, result_id, result_created_at
+            FROM result_idempotency_keys
+            WHERE run_id = :runId
+              AND idempotency_key IN (:keys)
+            """;
+
+    private static final String DELETE_EXPIRED_SQL = """
+            DELETE FROM result_idempotency_keys
+             WHERE (run_id, idempotency_key) IN (
+                   SELECT run_id, idempotency_key
+                   FROM result_idempotency_keys
+                   WHERE created_at < :cutoff
+                   LIMIT :limit)
+            """;
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    /**
+     * Key to reserve for a result about to be written.
+     */
+    public record KeyRequest(String key, long runCaseId, long caseId, long statusId) {}
+
+    /**
+     * Stored key and the outcome it replays; resultId is null for keys of batch items.
+     */
+    public record StoredKey(String key, long runCaseId, long caseId, long statusId, Long resultId, Instant resultCreatedAt) {
+
+        public boolean matches(long otherRunCaseId, long otherStatusId) {
+            return runCaseId == otherRunCaseId && statusId == otherStatusId;
+        }
+    }
+
+    /**
+     * Reserves keys of a run in one statement.
+     *
+     * @param requests keys to reserve (distinct keys)
+     * @return the keys reserved now; the others were already used
+     */
+    public Set<String> reserve(Long runId, Collection<KeyRequest> requests, Instant now) {
+        if (requests.isEmpty()) {
+            return Set.of();
+        }
+
+        List<Object[]> rows = requests.stream()
+                .map(r -> new Object[]{r.key(), r.runCaseId(), r.caseId(), r.statusId()})
+                .toList();
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("runId", runId)
+                .addValue("rows", rows)
+                .addValue("now", Timestamp.from(now));
+        return new HashSet<>(jdbc.queryForList(RESERVE_SQL, params, String.class));
+    }
+
+    /**
+     * Records the result written under a reserved key so a replay can return it.
+     */
+    public void attachResult(Long runId, String key, Long resultId, Instant resultCreatedAt) {
+        jdbc.update(ATTACH_RESULT_SQL, new MapSqlParameterSource()
+                .addValue("runId", runId)
+                .addValue("key", key)
+                .addValue("resultId", resultId)
+                .addValue("resultCreatedAt", Timestamp.from(resultCreatedAt)));
+    }
+
+    public Map<String, StoredKey> findByKeys(Long runId, Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return Map.of();
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("runId", runId)
+                .addValue("keys", keys);
+
+        return jdbc.query(FIND_BY_KEYS_SQL, params, (rs, n) -> {
+                    Timestamp resultCreatedAt = rs.getTimestamp("result_created_at");
+                    return new StoredKey(
+                            rs.getString("idempotency_key"),
+                            rs.getLong("run_case_id"),
+                            rs.getLong("case_id"),
+                            rs.getLong("status_id"),
+                            rs.getObject("result_id", Long.class),
+                            resultCreatedAt == null ? null : resultCreatedAt.toInstant()
+                    );
+                })
+                .stream()
+                .collect(Collectors.toMap(StoredKey::key, Function.identity()));
+    }
+
+    /**
+     * Deletes up to limit keys created before the cutoff.
+     *
+     * @return number of keys deleted
+     */
+    public int deleteExpired(Instant cutoff, int limit) {
+        return jdbc.update(DELETE_EXPIRED_SQL, new MapSqlParameterSource()
+                .addValue("cutoff", Timestamp.from(cutoff))
+                .addValue("limit", limit));
+    }
+}
@@ -0,0 +1,104 @@
+package com.test.system.repository.run;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * JDBC access to the monthly partitions of the results table (see V15 migration).
+ * Partition names are results_yYYYYmMM; DDL statements only ever receive names that match this pattern.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ResultPartitionRepository {
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("results_y\\d{4}m\\d{2}");
+    private static final int EXPORT_FETCH_SIZE = 1000;
+
+    private static final String LIST_MONTHLY_PARTITIONS_SQL = """
+            SELECT c.relname
+            FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            WHERE i.inhparent = 'results'::regclass
+              AND c.relname ~ '^results_y[0-9]{4}m[0-9]{2}$'
+            ORDER BY c.relname
+            """;
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    /**
+     * Record of a monthly partition.
+     *
+     * @param name  the partition table name
+     * @param month first day of the partition's month
+     */
+    public record MonthlyPartition(String name, LocalDate month) {}
+
+    /**
+     * Creates the partition for the month containing the given date if it does not exist.
+     *
+     * @return the partition name
+     */
+    public String ensurePartition(LocalDate month) {
+        return jdbc.queryForObject("SELECT ensure_results_partition(:month)",
+                new MapSqlParameterSource("month", month), String.class);
+    }
+
+    /**
+     * Lists attached monthly partitions, oldest first. The default partition is not included.
+     */
+    public List<MonthlyPartition> findMonthlyPartitions() {
+        return jdbc.getJdbcTemplate().query(LIST_MONTHLY_PARTITIONS_SQL, (rs, n) -> {
+            String name = rs.getString(1);
+            int year = Integer.parseInt(name.substring(9, 13));
+            int month = Integer.parseInt(name.substring(14, 16));
+            return new MonthlyPartition(name, LocalDate.of(year, month, 1));
+        });
+    }
+
+    /**
+     * Streams all rows of a partition in id order.
+     */
+    public void exportPartition(String partition, RowCallbackHandler handler) {
+        String sql = """
+                SELECT id, run_case_id, status_id, comment, defects_json, elapsed_seconds, created_by, created_at
+                FROM %s
+                ORDER BY id
+                """.formatted(checked(partition));
+
+        // A fetch size makes the driver use a cursor (inside a transaction) instead of loading the whole month
+        jdbc.getJdbcTemplate().query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            ps.setFetchSize(EXPORT_FETCH_SIZE);
+            return ps;
+        }, handler);
+    }
+
+    /**
+     * Detaches a partition; it stays in the database as a standalone table.
+     */
+    public void detachPartition(String partition) {
+        jdbc.getJdbcTemplate().execute("ALTER TABLE results DETACH PARTITION " + checked(partition));
+    }
+
+    /**
+     * Drops a (detached) partition table.
+     */
+    public void dropPartition(String partition) {
+        jdbc.getJdbcTemplate().execute("DROP TABLE " + checked(partition));
+    }
+
+    private static String checked(String partition) {
+        if (!PARTITION_NAME.matcher(partition).matches()) {
+            throw new IllegalArgumentException("Not a results partition: " + partition);
+        }
+        return partition;
+    }
+}
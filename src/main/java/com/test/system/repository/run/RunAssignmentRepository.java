@@ -0,0 +1,155 @@
+package com.test.system.repository.run;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static com.test.system.repository.testcase.CaseDurationRepository.EXPECTED_SECONDS_SQL;
+
+/**
+ * Set-based assignment of run cases and per-assignee workload aggregates.
+ * Expected durations fall back from case_duration_stats (V20) to the case estimate to a default, as for ETA and shards.
+ */
+@Repository
+@RequiredArgsConstructor
+public class RunAssignmentRepository {
+
+    private static final String WORKLOAD_SQL = """
+            WITH w AS (
+                SELECT rc.assignee_id,
+                       (rc.current_status_id IS NULL OR rc.current_status_id IN (:untestedStatusIds)) AS untested,
+                       %s AS expected_seconds
+                FROM run_cases rc
+                JOIN cases c ON c.id = rc.case_id
+                LEFT JOIN case_duration_stats d ON d.case_id = rc.case_id
+                WHERE rc.run_id = :runId
+                  AND c.is_archived = false
+                  %s
+            )
+            SELECT assignee_id,
+                   COUNT(*) AS total_cases,
+                   COUNT(*) FILTER (WHERE untested) AS remaining_cases,
+                   COALESCE(SUM(expected_seconds) FILTER (WHERE untested), 0) AS remaining_seconds
+            FROM w
+            GROUP BY assignee_id
+            ORDER BY assignee_id NULLS FIRST
+            """;
+
+    private static final String UNTESTED_CASES_SQL = """
+            SELECT rc.case_id,
+                   %s AS expected_seconds
+            FROM run_cases rc
+            JOIN cases c ON c.id = rc.case_id
+            LEFT JOIN case_duration_stats d ON d.case_id = rc.case_id
+            WHERE rc.run_id = :runId
+              AND c.is_archived = false
+              AND (rc.current_status_id IS NULL OR rc.current_status_id IN (:untestedStatusIds))
+              %s
+            ORDER BY c.sort_index, c.id
+            LIMIT :limit
+            """;
+
+    /** An assignee ID of 0 in the VALUES list clears the assignment, so the list never carries untyped NULLs. */
+    private static final String ASSIGN_SQL = """
+            UPDATE run_cases rc
+               SET assignee_id = NULLIF(v.assignee_id, 0),
+                   updated_at = :now
+              FROM (VALUES :rows) AS v(case_id, assignee_id)
+             WHERE rc.run_id = :runId
+               AND rc.case_id = v.case_id
+               AND rc.assignee_id IS DISTINCT FROM NULLIF(v.assignee_id, 0)
+            """;
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    /**
+     * Cases of one assignee (null for unassigned cases) and their untested work.
+     */
+    public record Workload(Long assigneeId, long totalCases, long remainingCases, long remainingSeconds) {}
+
+    /**
+     * Untested case of a run with its expected duration.
+     */
+    public record UntestedCase(long caseId, int expectedSeconds) {}
+
+    /**
+     * Aggregates the non-archived cases of a run per assignee.
+     *
+     * @param untestedStatusIds statuses that count as untested besides NULL (must not be empty)
+     * @param assigneeIds       restrict to these assignees, or null/empty for all (including unassigned)
+     */
+    public List<Workload> findWorkload(Long runId,
+                                       Collection<Long> untestedStatusIds,
+                                       Collection<Long> assigneeIds,
+                                       int defaultSeconds) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("runId", runId)
+                .addValue("untestedStatusIds", untestedStatusIds)
+                .addValue("defaultSeconds", defaultSeconds);
+
+        String assigneeFilter = "";
+        if (assigneeIds != null && !assigneeIds.isEmpty()) {
+            assigneeFilter = "AND rc.assignee_id IN (:assigneeIds)";
+            params.addValue("assigneeIds", assigneeIds);
+        }
+
+        return jdbc.query(WORKLOAD_SQL.formatted(EXPECTED_SECONDS_SQL, assigneeFilter), params, (rs, n) -> new Workload(
+                rs.getObject("assignee_id", Long.class),
+                rs.getLong("total_cases"),
+                rs.getLong("remaining_cases"),
+                rs.getLong("remaining_seconds")
+        ));
+    }
+
+    /**
+     * Lists untested, non-archived cases of a run in run order.
+     *
+     * @param untestedStatusIds statuses that count as untested besides NULL (must not be empty)
+     * @param unassignedOnly    whether cases that already have an assignee are skipped
+     * @param limit             maximum number of cases
+     */
+    public List<UntestedCase> findUntestedCases(Long runId,
+                                                Collection<Long> untestedStatusIds,
+                                                boolean unassignedOnly,
+                                                int limit,
+                                                int defaultSeconds) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("runId", runId)
+                .addValue("untestedStatusIds", untestedStatusIds)
+                .addValue("limit", limit)
+                .addValue("defaultSeconds", defaultSeconds);
+
+        String sql = UNTESTED_CASES_SQL.formatted(EXPECTED_SECONDS_SQL, unassignedOnly ? "AND rc.assignee_id IS NULL" : "");
+        return jdbc.query(sql, params, (rs, n) -> new UntestedCase(rs.getLong("case_id"), rs.getInt("expected_seconds")));
+    }
+
+    /**
+     * Sets the assignee of many cases of a run in a single UPDATE ... FROM (VALUES ...).
+     * Cases not in the run, or already assigned to the same user, are not counted.
+     *
+     * @param assigneeByCaseId map of case ID to assignee ID, null to unassign
+     * @param now              the update timestamp
+     * @return number of run cases changed
+     */
+    public int assign(Long runId, Map<Long, Long> assigneeByCaseId, Instant now) {
+        if (assigneeByCaseId.isEmpty()) {
+            return 0;
+        }
+
+        List<Object[]> rows = assigneeByCaseId.entrySet().stream()
+                .map(e -> new Object[]{e.getKey(), e.getValue() == null ? 0L : e.getValue()})
+                .toList();
+
+        return jdbc.update(ASSIGN_SQL, new MapSqlParameterSource()
+                .addValue("runId", runId)
+                .addValue("rows", rows)
+                .addValue("now", Timestamp.from(now)));
+    }
+}
@@ -0,0 +1,144 @@
+package com.test.system.repository.run;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.test.system.dto.run.response.ClaimedRunCase;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Work-queue leases on run_cases (see V19 migration).
+ */
+@Repository
+@RequiredArgsConstructor
+public class RunCaseLeaseRepository {
+
+    /**
+     * Picks untested, unleased cases in run order, skipping rows another agent is claiming right now,
+     * and leases them in the same statement.
+     */
+    private static final String CLAIM_SQL = """
+            WITH picked AS (
+                SELECT rc.id, rc.case_id
+                FROM run_cases rc
+                JOIN cases c ON c.id = rc.case_id
+                WHERE rc.run_id = :runId
+                  AND c.is_archived = false
+                  AND (rc.current_status_id IS NULL OR rc.current_status_id IN (:untestedStatusIds))
+                  AND (rc.lease_expires_at IS NULL OR rc.lease_expires_at < :now)
+                ORDER BY c.sort_index, c.id
+                LIMIT :limit
+                FOR UPDATE OF rc SKIP LOCKED
+            )
+            UPDATE run_cases rc
+               SET lease_owner = :agent,
+                   lease_expires_at = :expiresAt
+              FROM picked
+              JOIN cases c ON c.id = picked.case_id
+             WHERE rc.id = picked.id
+            RETURNING rc.id, rc.case_id, c.title, c.sort_index, c.autotest_mapping::text AS autotest_mapping
+            """;
+
+    private static final String REAP_SQL = """
+            UPDATE run_cases
+               SET lease_owner = NULL, lease_expires_at = NULL
+             WHERE lease_expires_at < :now
+            """;
+
+    private static final String RELEASE_SQL = """
+            UPDATE run_cases
+               SET lease_owner = NULL, lease_expires_at = NULL
+             WHERE run_id = :runId
+               AND lease_owner = :agent
+               AND lease_expires_at IS NOT NULL
+            """;
+
+    private static final TypeReference<Map<String, String>> MAPPING_TYPE = new TypeReference<>() {};
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Leases up to limit claimable cases of a run to an agent.
+     *
+     * @param runId             the run ID
+     * @param untestedStatusIds statuses that count as untested besides NULL (must not be empty)
+     * @param agent             the lease owner
+     * @param limit             maximum number of cases
+     * @param now               current time; leases expired before it are claimable
+     * @param expiresAt         expiry of the new leases
+     * @return leased cases in run order
+     */
+    public List<ClaimedRunCase> claim(Long runId,
+                                      Collection<Long> untestedStatusIds,
+                                      String agent,
+                                      int limit,
+                                      Instant now,
+                                      Instant expiresAt) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("runId", runId)
+                .addValue("untestedStatusIds", untestedStatusIds)
+                .addValue("agent", agent)
+                .addValue("limit", limit)
+                .addValue("now", Timestamp.from(now))
+                .addValue("expiresAt", Timestamp.from(expiresAt));
+
+        record Row(int sortIndex, ClaimedRunCase item) {}
+
+        return jdbc.query(CLAIM_SQL, params, (rs, n) -> new Row(
+                        rs.getInt("sort_index"),
+                        new ClaimedRunCase(
+                                rs.getLong("id"),
+                                rs.getLong("case_id"),
+                                rs.getString("title"),
+                                readMapping(rs.getString("autotest_mapping"))
+                        )))
+                .stream()
+                // UPDATE ... RETURNING does not preserve the picking order
+                .sorted((a, b) -> a.sortIndex() != b.sortIndex()
+                        ? Integer.compare(a.sortIndex(), b.sortIndex())
+                        : Long.compare(a.item().caseId(), b.item().caseId()))
+                .map(Row::item)
+                .toList();
+    }
+
+    /**
+     * Returns expired leases to the queue.
+     *
+     * @return number of leases cleared
+     */
+    public int reapExpired(Instant now) {
+        return jdbc.update(REAP_SQL, new MapSqlParameterSource("now", Timestamp.from(now)));
+    }
+
+    /**
+     * Releases all leases an agent holds in a run.
+     *
+     * @return number of leases released
+     */
+    public int release(Long runId, String agent) {
+        return jdbc.update(RELEASE_SQL, new MapSqlParameterSource()
+                .addValue("runId", runId)
+                .addValue("agent", agent));
+    }
+
+    private Map<String, String> readMapping(String json) {
+        if (json == null || json.isBlank()) {
+            return Map.of();
+        }
+        try {
+            return objectMapper.readValue(json, MAPPING_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Malformed autotest mapping: " + e.getOriginalMessage(), e);
+        }
+    }
+}
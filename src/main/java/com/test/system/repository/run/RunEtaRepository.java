@@ -0,0 +1,106 @@
+package com.test.system.repository.run;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+
+import static com.test.system.repository.testcase.CaseDurationRepository.EXPECTED_SECONDS_SQL;
+
+/**
+ * Aggregates behind run remaining-time estimates; per-case durations come from case_duration_stats (V20, V21).
+ */
+@Repository
+@RequiredArgsConstructor
+public class RunEtaRepository {
+
+    private static final String REMAINING_SQL = """
+            WITH rc AS (
+                SELECT (rc.current_status_id IS NULL OR rc.current_status_id IN (:untestedStatusIds)) AS untested,
+                       d.median_seconds,
+                       %s AS expected_seconds,
+                       COALESCE(d.p90_seconds, NULLIF(c.estimate_seconds, 0), :defaultSeconds) AS expected_p90_seconds,
+                       NULLIF(c.estimate_seconds, 0) AS estimate_seconds
+                FROM run_cases rc
+                JOIN cases c ON c.id = rc.case_id
+                LEFT JOIN case_duration_stats d ON d.case_id = rc.case_id
+                WHERE rc.run_id = :runId
+                  AND c.is_archived = false
+            )
+            SELECT COUNT(*) AS total_cases,
+                   COUNT(*) FILTER (WHERE untested) AS remaining_cases,
+                   COUNT(*) FILTER (WHERE untested AND median_seconds IS NOT NULL) AS with_history,
+                   COUNT(*) FILTER (WHERE untested AND median_seconds IS NULL AND estimate_seconds IS NOT NULL) AS with_estimate,
+                   COALESCE(SUM(expected_seconds) FILTER (WHERE untested), 0) AS remaining_seconds,
+                   COALESCE(SUM(expected_p90_seconds) FILTER (WHERE untested), 0) AS remaining_p90_seconds
+            FROM rc
+            """.formatted(EXPECTED_SECONDS_SQL);
+
+    /**
+     * Work done in the window, measured in the same unit as the remaining work: a result counts its elapsed time,
+     * or the case's expected duration when none was reported.
+     */
+    private static final String THROUGHPUT_SQL = """
+            SELECT COUNT(r.id) AS results,
+                   COALESCE(SUM(COALESCE(r.elapsed_seconds, %s)), 0) AS work_seconds
+            FROM run_cases rc
+            JOIN cases c ON c.id = rc.case_id
+            JOIN results r ON r.run_case_id = rc.id AND r.created_at >= :since
+            LEFT JOIN case_duration_stats d ON d.case_id = rc.case_id
+            WHERE rc.run_id = :runId
+            """.formatted(EXPECTED_SECONDS_SQL);
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    /**
+     * Untested work of a run; durations fall back from history to the case estimate to defaultSeconds.
+     */
+    public record RemainingWork(
+            long totalCases,
+            long remainingCases,
+            long withHistory,
+            long withEstimate,
+            long remainingSeconds,
+            long remainingP90Seconds
+    ) {}
+
+    /**
+     * Results of a run since a point in time and the work they represent.
+     */
+    public record RecentWork(long results, long workSeconds) {}
+
+    /**
+     * @param untestedStatusIds statuses that count as untested besides NULL (must not be empty)
+     */
+    public RemainingWork findRemainingWork(Long runId, Collection<Long> untestedStatusIds, int defaultSeconds) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("runId", runId)
+                .addValue("untestedStatusIds", untestedStatusIds)
+                .addValue("defaultSeconds", defaultSeconds);
+
+        return jdbc.queryForObject(REMAINING_SQL, params, (rs, n) -> new RemainingWork(
+                rs.getLong("total_cases"),
+                rs.getLong("remaining_cases"),
+                rs.getLong("with_history"),
+                rs.getLong("with_estimate"),
+                rs.getLong("remaining_seconds"),
+                rs.getLong("remaining_p90_seconds")
+        ));
+    }
+
+    public RecentWork findRecentWork(Long runId, Instant since, int defaultSeconds) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("runId", runId)
+                .addValue("since", Timestamp.from(since))
+                .addValue("defaultSeconds", defaultSeconds);
+
+        return jdbc.queryForObject(THROUGHPUT_SQL, params, (rs, n) -> new RecentWork(
+                rs.getLong("results"),
+                rs.getLong("work_seconds")
+        ));
+    }
+}
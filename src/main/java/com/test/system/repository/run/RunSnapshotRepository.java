@@ -0,0 +1,216 @@
+package com.test.system.repository.run;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.test.system.dto.run.response.RunSnapshotItem;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * JDBC access to run_snapshots (see V17 migration) and to the live rows a snapshot is built from.
+ */
+@Repository
+@RequiredArgsConstructor
+public class RunSnapshotRepository {
+
+    /**
+     * Every non-archived case of the run with its latest result and result totals.
+     * Results are bounded by created_at so that only partitions since the run was created are scanned.
+     */
+    private static final String SNAPSHOT_ROWS_SQL = """
+            SELECT rc.id, rc.case_id, rc.current_status_id, rc.assignee_id, rc.comment,
+                   c.title, c.sort_index, c.suite_id, s.name AS suite_name,
+                   c.priority_id, p.name AS priority_name,
+                   c.autotest_mapping::text AS autotest_mapping,
+                   lr.elapsed_seconds, lr.defects_json, lr.created_at AS last_result_at,
+                   COALESCE(rs.result_count, 0) AS result_count
+            FROM run_cases rc
+            JOIN cases c ON c.id = rc.case_id
+            LEFT JOIN suites s ON s.id = c.suite_id
+            LEFT JOIN priorities p ON p.id = c.priority_id
+            LEFT JOIN LATERAL (
+                SELECT r.elapsed_seconds, r.defects_json, r.created_at
+                FROM results r
+                WHERE r.run_case_id = rc.id AND r.created_at >= :since
+                ORDER BY r.created_at DESC, r.id DESC
+                LIMIT 1
+            ) lr ON true
+            LEFT JOIN LATERAL (
+                SELECT COUNT(*) AS result_count
+                FROM results r
+                WHERE r.run_case_id = rc.id AND r.created_at >= :since
+            ) rs ON true
+            WHERE rc.run_id = :runId
+              AND c.is_archived = false
+            ORDER BY c.sort_index, c.id
+            """;
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO run_snapshots (run_id, format_version, total_cases, total_elapsed_seconds, payload, created_at)
+            VALUES (:runId, :formatVersion, :totalCases, :totalElapsedSeconds, :payload, :createdAt)
+            ON CONFLICT (run_id) DO UPDATE
+               SET format_version = EXCLUDED.format_version,
+                   total_cases = EXCLUDED.total_cases,
+                   total_elapsed_seconds = EXCLUDED.total_elapsed_seconds,
+                   payload = EXCLUDED.payload,
+                   created_at = EXCLUDED.created_at
+            """;
+
+    private static final String FIND_SQL = """
+            SELECT run_id, format_version, total_cases, total_elapsed_seconds, payload, created_at
+            FROM run_snapshots
+            WHERE run_id = :runId
+            """;
+
+    private static final String FIND_CREATED_AT_SQL = """
+            SELECT created_at FROM run_snapshots WHERE run_id = :runId
+            """;
+
+    private static final String FIND_MISSING_SQL = """
+            SELECT r.id
+            FROM runs r
+            WHERE r.is_closed = true
+              AND r.is_archived = false
+              AND NOT EXISTS (SELECT 1 FROM run_snapshots s WHERE s.run_id = r.id)
+            ORDER BY r.id
+            LIMIT :limit
+            """;
+
+    private static final String LOCK_CLOSED_RUN_SQL = """
+            SELECT r.created_at
+            FROM runs r
+            WHERE r.id = :runId
+              AND r.is_closed = true
+              AND r.is_archived = false
+            FOR UPDATE
+            """;
+
+    private static final TypeReference<Map<String, String>> MAPPING_TYPE = new TypeReference<>() {};
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * A stored snapshot; payload is the compressed per-case data.
+     */
+    public record StoredSnapshot(
+            Long runId,
+            int formatVersion,
+            int totalCases,
+            long totalElapsedSeconds,
+            byte[] payload,
+            Instant createdAt
+    ) {}
+
+    /**
+     * Reads the live contents of a run in case sort order.
+     *
+     * @param runId the run ID
+     * @param since lower bound on results.created_at (see {@code ResultPartitionService#earliestResultTime})
+     * @return one item per non-archived run case
+     */
+    public List<RunSnapshotItem> findSnapshotItems(Long runId, Instant since) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("runId", runId)
+                .addValue("since", Timestamp.from(since));
+
+        return jdbc.query(SNAPSHOT_ROWS_SQL, params, (rs, n) -> {
+            Timestamp lastResultAt = rs.getTimestamp("last_result_at");
+            return new RunSnapshotItem(
+                    rs.getLong("id"),
+                    rs.getLong("case_id"),
+                    rs.getObject("current_status_id", Long.class),
+                    rs.getObject("assignee_id", Long.class),
+                    rs.getString("comment"),
+                    rs.getString("title"),
+                    rs.getInt("sort_index"),
+                    rs.getObject("suite_id", Long.class),
+                    rs.getString("suite_name"),
+                    rs.getObject("priority_id", Long.class),
+                    rs.getString("priority_name"),
+                    readMapping(rs.getString("autotest_mapping")),
+                    rs.getObject("elapsed_seconds", Integer.class),
+                    rs.getString("defects_json"),
+                    rs.getInt("result_count"),
+                    lastResultAt == null ? null : lastResultAt.toInstant()
+            );
+        });
+    }
+
+    public void save(StoredSnapshot snapshot) {
+        jdbc.update(UPSERT_SQL, new MapSqlParameterSource()
+                .addValue("runId", snapshot.runId())
+                .addValue("formatVersion", snapshot.formatVersion())
+                .addValue("totalCases", snapshot.totalCases())
+                .addValue("totalElapsedSeconds", snapshot.totalElapsedSeconds())
+                .addValue("payload", snapshot.payload())
+                .addValue("createdAt", Timestamp.from(snapshot.createdAt())));
+    }
+
+    public Optional<StoredSnapshot> findByRunId(Long runId) {
+        return jdbc.query(FIND_SQL, new MapSqlParameterSource("runId", runId), (rs, n) -> new StoredSnapshot(
+                        rs.getLong("run_id"),
+                        rs.getInt("format_version"),
+                        rs.getInt("total_cases"),
+                        rs.getLong("total_elapsed_seconds"),
+                        rs.getBytes("payload"),
+                        rs.getTimestamp("created_at").toInstant()
+                ))
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Reads only the creation time of a stored snapshot, which identifies its version.
+     */
+    public Optional<Instant> findCreatedAt(Long runId) {
+        return jdbc.query(FIND_CREATED_AT_SQL, new MapSqlParameterSource("runId", runId),
+                        (rs, n) -> rs.getTimestamp("created_at").toInstant())
+                .stream()
+                .findFirst();
+    }
+
+    public int deleteByRunId(Long runId) {
+        return jdbc.update("DELETE FROM run_snapshots WHERE run_id = :runId", new MapSqlParameterSource("runId", runId));
+    }
+
+    /**
+     * Lists closed, non-archived runs that have no snapshot yet (e.g. closed before snapshots existed).
+     */
+    public List<Long> findClosedRunIdsWithoutSnapshot(int limit) {
+        return jdbc.queryForList(FIND_MISSING_SQL, new MapSqlParameterSource("limit", limit), Long.class);
+    }
+
+    /**
+     * Locks a run until the end of the transaction if it is still closed and active,
+     * so it cannot be reopened while its snapshot is being written.
+     *
+     * @return the run's creation time, or empty if the run is no longer closed or active
+     */
+    public Optional<Instant> lockClosedRun(Long runId) {
+        return jdbc.query(LOCK_CLOSED_RUN_SQL, new MapSqlParameterSource("runId", runId),
+                        (rs, n) -> rs.getTimestamp("created_at").toInstant())
+                .stream()
+                .findFirst();
+    }
+
+    private Map<String, String> readMapping(String json) {
+        if (json == null || json.isBlank()) {
+            return Map.of();
+        }
+        try {
+            return objectMapper.readValue(json, MAPPING_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Malformed autotest mapping: " + e.getOriginalMessage(), e);
+        }
+    }
+}
@@ -6,8 +6,10 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository for managing test execution results.
@@ -24,6 +26,25 @@ public interface TestResultRepository extends JpaRepository<Result, Long> {
      */
     List<Result> findAllByRunCaseIdOrderByCreatedAtAsc(Long runCaseId);
 
+    /**
+     * Finds results for a run case created at or after the given instant, oldest first.
+     * The lower bound lets PostgreSQL prune monthly results partitions older than the run case.
+     *
+     * @param runCaseId the ID of the run case
+     * @param since     inclusive lower bound on created_at
+     * @return List of results sorted by creation time (oldest first)
+     */
+    List<Result> findAllByRunCaseIdAndCreatedAtGreaterThanEqualOrderByCreatedAtAsc(Long runCaseId, Instant since);
+
+    /**
+     * Finds a result by ID within its created_at partition.
+     *
+     * @param id        the result ID
+     * @param createdAt the exact creation time, so only one monthly partition is probed
+     * @return the result, if present
+     */
+    Optional<Result> findByIdAndCreatedAt(Long id, Instant createdAt);
+
     /**
      * Deletes multiple results by their IDs in a single batch operation.
      * More efficient than deleting one by one.
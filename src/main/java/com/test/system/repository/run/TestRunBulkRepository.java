@@ -0,0 +1,661 @@
+package com.test.system.repository.run;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.test.system.dto.run.request.CaseSelectionFilter;
+import com.test.system.dto.run.request.RunCasePageFilter;
+import com.test.system.dto.run.response.RunCasePageItem;
+import com.test.system.dto.run.response.RunDiffItem;
+import com.test.system.model.run.Result;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * JDBC-backed set-based operations and join reads on runs, run cases and results.
+ * Used by bulk and listing endpoints where per-entity JPA round trips would not scale.
+ * Participates in the surrounding JPA transaction.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TestRunBulkRepository {
+
+    private static final int RESULT_INSERT_BATCH_SIZE = 500;
+
+    private static final String INSERT_RESULT_SQL = """
+            INSERT INTO results (run_case_id, status_id, comment, defects_json, elapsed_seconds, created_by, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String UPDATE_CURRENT_STATUS_SQL = """
+            WITH prev AS (
+                SELECT rc.id, rc.current_status_id AS old_status_id, v.status_id
+                FROM run_cases rc
+                JOIN (VALUES :rows) AS v(id, status_id) ON v.id = rc.id
+                ORDER BY rc.id
+                FOR UPDATE OF rc
+            )
+            UPDATE run_cases rc
+               SET current_status_id = p.status_id,
+                   lease_owner = NULL,
+                   lease_expires_at = NULL,
+                   updated_at = :now
+              FROM prev p
+             WHERE rc.id = p.id
+            RETURNING rc.id, p.old_status_id IS DISTINCT FROM p.status_id AS status_changed
+            """;
+
+    private static final String LOCK_ACTIVE_RUNS_SQL = """
+            SELECT id, is_closed
+            FROM runs
+            WHERE id IN (:runIds)
+              AND is_archived = false
+            ORDER BY id
+            FOR SHARE
+            """;
+
+    private static final String DELETE_RUN_CASES_SQL = """
+            DELETE FROM run_cases
+            WHERE run_id = :runId
+              AND case_id IN (:caseIds)
+            RETURNING case_id
+            """;
+
+    private static final String REBUILD_STATUS_COUNTERS_SQL = """
+            INSERT INTO run_status_counters (run_id, status_id, total)
+            SELECT rc.run_id, rc.current_status_id, COUNT(*)
+            FROM run_cases rc
+            JOIN cases c ON c.id = rc.case_id
+            WHERE rc.current_status_id IS NOT NULL
+              AND c.is_archived = false
+            GROUP BY rc.run_id, rc.current_status_id
+            """;
+
+    private static final String SELECT_ACTIVE_RUN_CASES_SQL = """
+            SELECT rc.id, rc.run_id, rc.case_id, rc.assignee_id, rc.current_status_id, rc.comment,
+                   c.autotest_mapping::text AS autotest_mapping
+            FROM run_cases rc
+            JOIN cases c ON c.id = rc.case_id
+            WHERE rc.run_id = :runId
+              AND c.is_archived = false
+            ORDER BY c.sort_index, c.id
+            """;
+
+    private static final String COPY_MILESTONES_SQL = """
+            INSERT INTO milestone_runs (milestone_id, run_id)
+            SELECT mr.milestone_id, :targetRunId
+            FROM milestone_runs mr
+            JOIN milestones m ON m.id = mr.milestone_id
+            WHERE mr.run_id = :sourceRunId
+              AND m.is_archived = false
+            ON CONFLICT DO NOTHING
+            """;
+
+    private static final int STREAM_FETCH_SIZE = 1000;
+
+    private static final String RUN_DIFF_SQL = """
+            SELECT d.* FROM (
+                SELECT c.id AS case_id, c.title, c.sort_index,
+                       a.id AS base_run_case_id, a.current_status_id AS base_status_id,
+                       b.id AS target_run_case_id, b.current_status_id AS target_status_id,
+                       CASE
+                           WHEN b.id IS NULL THEN 'MISSING'
+                           WHEN a.id IS NULL THEN 'ADDED'
+                           WHEN b.current_status_id IN (:failingStatusIds)
+                                AND a.current_status_id IN (:failingStatusIds) THEN 'STILL_FAILING'
+                           WHEN b.current_status_id IN (:failingStatusIds) THEN 'NEWLY_FAILING'
+                           WHEN b.current_status_id IN (:passingStatusIds)
+                                AND NOT COALESCE(a.current_status_id IN (:passingStatusIds), false) THEN 'NEWLY_PASSING'
+                           ELSE 'UNCHANGED'
+                       END AS category
+                FROM (SELECT id, case_id, current_status_id FROM run_cases WHERE run_id = :baseRunId) a
+                FULL JOIN (SELECT id, case_id, current_status_id FROM run_cases WHERE run_id = :targetRunId) b
+                       ON b.case_id = a.case_id
+                JOIN cases c ON c.id = COALESCE(a.case_id, b.case_id)
+                WHERE c.is_archived = false
+            ) d
+            WHERE d.category IN (:categories)
+            ORDER BY d.sort_index, d.case_id
+            """;
+
+    private static final TypeReference<Map<String, String>> MAPPING_TYPE = new TypeReference<>() {};
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Run case row returned by set-based run case operations, with the case autotest mapping embedded.
+     */
+    public record RunCaseRow(
+            Long id,
+            Long runId,
+            Long caseId,
+            Long currentStatusId,
+            Long assigneeId,
+            String comment,
+            Map<String, String> autotestMapping
+    ) {}
+
+    /**
+     * Run case moved to a new status by a bulk status transition.
+     */
+    public record StatusChange(Long runCaseId, Long caseId) {}
+
+    /**
+     * Adds project cases to a run with a single INSERT ... SELECT ... ON CONFLICT DO NOTHING.
+     * Cases are selected by explicit IDs and/or a filter; archived cases and cases already in the run are skipped.
+     *
+     * @param runId     the run ID
+     * @param projectId the run's project ID (cases of other projects are never selected)
+     * @param caseIds   explicit case IDs, or null/empty for no ID restriction
+     * @param filter    case filter, or null for no filter restriction
+     * @param now       the creation timestamp
+     * @return newly inserted run cases, in case sort order
+     */
+    public List<RunCaseRow> insertRunCases(Long runId,
+                                           Long projectId,
+                                           Collection<Long> caseIds,
+                                           CaseSelectionFilter filter,
+                                           Instant now) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("runId", runId)
+                .addValue("projectId", projectId)
+                .addValue("now", Timestamp.from(now));
+
+        StringBuilder sql = new StringBuilder();
+        String suiteTree = appendSuiteTree(sql, filter, params);
+        sql.append(suiteTree == null ? "WITH " : ", ");
+        sql.append("""
+                inserted AS (
+                    INSERT INTO run_cases (run_id, case_id, created_at, updated_at)
+                    SELECT :runId, c.id, :now, :now
+                    FROM cases c
+                    WHERE c.project_id = :projectId
+                      AND c.is_archived = false
+                """);
+        if (caseIds != null && !caseIds.isEmpty()) {
+            sql.append(" AND c.id IN (:caseIds)\n");
+            params.addValue("caseIds", caseIds);
+        }
+        appendCaseFilter(sql, filter, suiteTree, params);
+        sql.append("""
+                    ORDER BY c.sort_index, c.id
+                    ON CONFLICT (run_id, case_id) DO NOTHING
+                    RETURNING id, run_id, case_id, assignee_id, current_status_id, comment
+                )
+                SELECT i.id, i.run_id, i.case_id, i.assignee_id, i.current_status_id, i.comment,
+                       c.autotest_mapping::text AS autotest_mapping
+                FROM inserted i
+                JOIN cases c ON c.id = i.case_id
+                ORDER BY c.sort_index, i.id
+                """);
+
+        return jdbc.query(sql.toString(), params, (rs, n) -> mapRunCaseRow(rs));
+    }
+
+    /**
+     * Copies run cases of one run into another with a single INSERT ... SELECT.
+     * Only cases that are not archived are copied; statuses, comments and results are not carried over.
+     *
+     * @param sourceRunId     the run to copy from
+     * @param targetRunId     the run to copy into
+     * @param statusIds       copy only run cases with one of these current statuses, or null/empty for any status
+     * @param includeUntested with a status restriction, also copy run cases that have no status yet
+     * @param carryAssignee   whether assignees are copied
+     * @param now             the creation timestamp
+     * @return number of run cases copied
+     */
+    public int copyRunCases(Long sourceRunId,
+                            Long targetRunId,
+                            Collection<Long> statusIds,
+                            boolean includeUntested,
+                            boolean carryAssignee,
+                            Instant now) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("sourceRunId", sourceRunId)
+                .addValue("targetRunId", targetRunId)
+                .addValue("now", Timestamp.from(now));
+
+        StringBuilder sql = new StringBuilder("""
+                INSERT INTO run_cases (run_id, case_id, assignee_id, created_at, updated_at)
+                SELECT :targetRunId, rc.case_id, %s, :now, :now
+                FROM run_cases rc
+                JOIN cases c ON c.id = rc.case_id
+                WHERE rc.run_id = :sourceRunId
+                  AND c.is_archived = false
+                """.formatted(carryAssignee ? "rc.assignee_id" : "NULL"));
+        if (statusIds != null && !statusIds.isEmpty()) {
+            sql.append(includeUntested
+                    ? " AND (rc.current_status_id IN (:statusIds) OR rc.current_status_id IS NULL)\n"
+                    : " AND rc.current_status_id IN (:statusIds)\n");
+            params.addValue("statusIds", statusIds);
+        }
+        sql.append("""
+                ORDER BY c.sort_index, c.id
+                ON CONFLICT (run_id, case_id) DO NOTHING
+                """);
+
+        return jdbc.update(sql.toString(), params);
+    }
+
+    /**
+     * Attaches a run to every non-archived milestone the source run belongs to.
+     *
+     * @return number of milestones attached
+     */
+    public int copyMilestones(Long sourceRunId, Long targetRunId) {
+        return jdbc.update(COPY_MILESTONES_SQL, new MapSqlParameterSource()
+                .addValue("sourceRunId", sourceRunId)
+                .addValue("targetRunId", targetRunId));
+    }
+
+    /**
+     * Lists run cases of a run whose test case is not archived, with the autotest mapping joined in.
+     *
+     * @param runId the run ID
+     * @return run cases in case sort order
+     */
+    public List<RunCaseRow> findActiveRunCases(Long runId) {
+        return jdbc.query(SELECT_ACTIVE_RUN_CASES_SQL, new MapSqlParameterSource("runId", runId),
+                (rs, n) -> mapRunCaseRow(rs));
+    }
+
+    /**
+     * Reads one keyset page of run cases with case title, suite, priority and autotest mapping.
+     * Rows are ordered by (cases.sort_index, cases.id); the page starts strictly after the given key.
+     *
+     * @param runId          the run ID
+     * @param filter         optional filters, or null
+     * @param afterSortIndex sort index of the last row of the previous page, or null for the first page
+     * @param afterCaseId    case ID of the last row of the previous page, or null for the first page
+     * @param limit          maximum number of rows
+     * @return run case rows, at most limit
+     */
+    public List<RunCasePageItem> findRunCasePage(Long runId,
+                                                 RunCasePageFilter filter,
+                                                 Integer afterSortIndex,
+                                                 Long afterCaseId,
+                                                 int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("runId", runId)
+                .addValue("limit", limit);
+
+        StringBuilder sql = new StringBuilder("""
+                SELECT rc.id, rc.run_id, rc.case_id, rc.assignee_id, rc.current_status_id, rc.comment,
+                       c.title, c.sort_index, c.suite_id, s.name AS suite_name,
+                       c.priority_id, p.name AS priority_name,
+                       c.autotest_mapping::text AS autotest_mapping
+                FROM run_cases rc
+                JOIN cases c ON c.id = rc.case_id
+                LEFT JOIN suites s ON s.id = c.suite_id
+                LEFT JOIN priorities p ON p.id = c.priority_id
+                WHERE rc.run_id = :runId
+                  AND c.is_archived = false
+                """);
+        if (afterSortIndex != null && afterCaseId != null) {
+            sql.append(" AND (c.sort_index, c.id) > (:afterSortIndex, :afterCaseId)\n");
+            params.addValue("afterSortIndex", afterSortIndex).addValue("afterCaseId", afterCaseId);
+        }
+        appendRunCaseFilter(sql, filter, params);
+        sql.append(" ORDER BY c.sort_index, c.id\n LIMIT :limit");
+
+        return jdbc.query(sql.toString(), params, (rs, n) -> mapRunCasePageItem(rs));
+    }
+
+    /**
+     * Streams the case-by-case comparison of two runs, joined on case_id in a single query.
+     * Rows are fetched with a cursor and handed to the consumer one by one; must run inside a transaction.
+     *
+     * @param baseRunId        the base (older) run
+     * @param targetRunId      the target (newer) run
+     * @param failingStatusIds statuses counted as failing (must not be empty)
+     * @param passingStatusIds statuses counted as passing (must not be empty)
+     * @param categories       categories to return (must not be empty)
+     * @param consumer         receives rows in case sort order
+     */
+    public void streamRunDiff(Long baseRunId,
+                              Long targetRunId,
+                              Collection<Long> failingStatusIds,
+                              Collection<Long> passingStatusIds,
+                              Collection<RunDiffItem.Category> categories,
+                              Consumer<RunDiffItem> consumer) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("baseRunId", baseRunId)
+                .addValue("targetRunId", targetRunId)
+                .addValue("failingStatusIds", failingStatusIds)
+                .addValue("passingStatusIds", passingStatusIds)
+                .addValue("categories", categories.stream().map(Enum::name).toList());
+
+        NamedParameterJdbcTemplate streaming = new NamedParameterJdbcTemplate(streamingTemplate());
+        streaming.query(RUN_DIFF_SQL, params, (RowCallbackHandler) rs -> consumer.accept(new RunDiffItem(
+                rs.getLong("case_id"),
+                rs.getString("title"),
+                RunDiffItem.Category.valueOf(rs.getString("category")),
+                rs.getObject("base_run_case_id", Long.class),
+                rs.getObject("base_status_id", Long.class),
+                rs.getObject("target_run_case_id", Long.class),
+                rs.getObject("target_status_id", Long.class)
+        )));
+    }
+
+    /**
+     * Inserts results using JDBC batching.
+     * Generated IDs are not read back.
+     *
+     * @param results results to insert (id is ignored)
+     */
+    public void insertResults(List<Result> results) {
+        if (results.isEmpty()) {
+            return;
+        }
+
+        jdbc.getJdbcTemplate().batchUpdate(INSERT_RESULT_SQL, results, RESULT_INSERT_BATCH_SIZE, (ps, r) -> {
+            ps.setLong(1, r.getRunCaseId());
+            ps.setLong(2, r.getStatusId());
+            ps.setString(3, r.getComment());
+            ps.setString(4, r.getDefectsJson());
+            ps.setObject(5, r.getElapsedSeconds(), Types.INTEGER);
+            ps.setObject(6, r.getCreatedBy(), Types.BIGINT);
+            ps.setTimestamp(7, Timestamp.from(r.getCreatedAt()));
+        });
+    }
+
+    /**
+     * Sets current_status_id of many run cases in a single UPDATE and completes their work-queue leases.
+     * The rows are locked first, so the previous status compared against is the latest committed one.
+     *
+     * @param statusByRunCaseId map of run case ID to new status ID
+     * @param now               the update timestamp
+     * @return IDs of the run cases whose current status actually changed
+     */
+    public Set<Long> updateCurrentStatuses(Map<Long, Long> statusByRunCaseId, Instant now) {
+        if (statusByRunCaseId.isEmpty()) {
+            return Set.of();
+        }
+
+        List<Object[]> rows = statusByRunCaseId.entrySet().stream()
+                .map(e -> new Object[]{e.getKey(), e.getValue()})
+                .toList();
+
+        Set<Long> changed = new HashSet<>();
+        jdbc.query(UPDATE_CURRENT_STATUS_SQL, new MapSqlParameterSource()
+                .addValue("rows", rows)
+                .addValue("now", Timestamp.from(now)), (RowCallbackHandler) rs -> {
+            if (rs.getBoolean("status_changed")) {
+                changed.add(rs.getLong("id"));
+            }
+        });
+        return changed;
+    }
+
+    /**
+     * Locks active runs FOR SHARE until the end of the transaction, like result writes through
+     * {@link TestRunRepository#findActiveByIdForShare}, so none of them can be closed before the write commits.
+     *
+     * @param runIds the run IDs
+     * @return closed flag by run ID; archived and missing runs are absent
+     */
+    public Map<Long, Boolean> lockActiveRuns(Collection<Long> runIds) {
+        if (runIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, Boolean> closedByRunId = new HashMap<>();
+        jdbc.query(LOCK_ACTIVE_RUNS_SQL, new MapSqlParameterSource("runIds", runIds),
+                (RowCallbackHandler) rs -> closedByRunId.put(rs.getLong("id"), rs.getBoolean("is_closed")));
+        return closedByRunId;
+    }
+
+    /**
+     * Removes cases from a run in a single DELETE.
+     *
+     * @param runId   the run ID
+     * @param caseIds case IDs to remove
+     * @return IDs of the cases that were in the run and got removed
+     */
+    public List<Long> deleteRunCases(Long runId, Collection<Long> caseIds) {
+        if (caseIds.isEmpty()) {
+            return List.of();
+        }
+        return jdbc.queryForList(DELETE_RUN_CASES_SQL, new MapSqlParameterSource()
+                .addValue("runId", runId)
+                .addValue("caseIds", caseIds), Long.class);
+    }
+
+    /**
+     * Moves every matching run case of a run to a status in one statement: the matched rows are locked,
+     * one result per row is inserted and current_status_id is updated, as two set-based writes over the same
+     * match. Archived cases and run cases already in the target status are skipped; leases are completed.
+     *
+     * @param runId           the run ID
+     * @param projectId       the run's project ID (scopes the suite subtree)
+     * @param statusId        the target status
+     * @param comment         comment of the inserted results, may be null
+     * @param createdBy       author of the inserted results
+     * @param statusIds       match only run cases with one of these current statuses, or null/empty for any status
+     * @param includeUntested with a status restriction, also match run cases that have no status yet
+     * @param assigneeId      match only run cases assigned to this user, or null
+     * @param filter          case filter, or null
+     * @param now             the result and update timestamp
+     * @return the run cases that changed status
+     */
+    public List<StatusChange> transitionStatuses(Long runId,
+                                                 Long projectId,
+                                                 Long statusId,
+                                                 String comment,
+                                                 Long createdBy,
+                                                 Collection<Long> statusIds,
+                                                 boolean includeUntested,
+                                                 Long assigneeId,
+                                                 CaseSelectionFilter filter,
+                                                 Instant now) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("runId", runId)
+                .addValue("projectId", projectId)
+                .addValue("statusId", statusId)
+                .addValue("comment", comment)
+                .addValue("createdBy", createdBy)
+                .addValue("now", Timestamp.from(now));
+
+        StringBuilder sql = new StringBuilder();
+        String suiteTree = appendSuiteTree(sql, filter, params);
+        sql.append(suiteTree == null ? "WITH " : ", ");
+        sql.append("""
+                matched AS (
+                    SELECT rc.id
+                    FROM run_cases rc
+                    JOIN cases c ON c.id = rc.case_id
+                    WHERE rc.run_id = :runId
+                      AND c.is_archived = false
+                      AND rc.current_status_id IS DISTINCT FROM :statusId
+                """);
+        if (statusIds != null && !statusIds.isEmpty()) {
+            sql.append(includeUntested
+                    ? " AND (rc.current_status_id IN (:statusIds) OR rc.current_status_id IS NULL)\n"
+                    : " AND rc.current_status_id IN (:statusIds)\n");
+            params.addValue("statusIds", statusIds);
+        }
+        if (assigneeId != null) {
+            sql.append(" AND rc.assignee_id = :assigneeId\n");
+            params.addValue("assigneeId", assigneeId);
+        }
+        appendCaseFilter(sql, filter, suiteTree, params);
+        sql.append("""
+                    FOR UPDATE OF rc
+                ),
+                inserted AS (
+                    INSERT INTO results (run_case_id, status_id, comment, created_by, created_at)
+                    SELECT m.id, :statusId, :comment, :createdBy, :now
+                    FROM matched m
+                )
+                UPDATE run_cases rc
+                   SET current_status_id = :statusId,
+                       lease_owner = NULL,
+                       lease_expires_at = NULL,
+                       updated_at = :now
+                  FROM matched m
+                 WHERE rc.id = m.id
+                RETURNING rc.id, rc.case_id
+                """);
+
+        return jdbc.query(sql.toString(), params,
+                (rs, n) -> new StatusChange(rs.getLong("id"), rs.getLong("case_id")));
+    }
+
+    /**
+     * Recomputes run_status_counters from run_cases.
+     * Blocks concurrent run case writes (their triggers touch the counters) until the surrounding transaction ends.
+     *
+     * @return number of counter rows written
+     */
+    public int rebuildStatusCounters() {
+        jdbc.getJdbcTemplate().execute("LOCK TABLE run_status_counters IN EXCLUSIVE MODE");
+        jdbc.getJdbcTemplate().update("DELETE FROM run_status_counters");
+        return jdbc.getJdbcTemplate().update(REBUILD_STATUS_COUNTERS_SQL);
+    }
+
+    /**
+     * JdbcTemplate sharing the data source, with a fetch size so that large reads use a server-side cursor.
+     */
+    private JdbcTemplate streamingTemplate() {
+        JdbcTemplate template = new JdbcTemplate(jdbc.getJdbcTemplate().getDataSource());
+        template.setFetchSize(STREAM_FETCH_SIZE);
+        return template;
+    }
+
+    /* ========== SQL building ========== */
+
+    /**
+     * Opens a WITH clause with a suite subtree CTE when the filter targets a suite including its children.
+     *
+     * @return the CTE name, or null if no CTE was appended
+     */
+    private static String appendSuiteTree(StringBuilder sql, CaseSelectionFilter filter, MapSqlParameterSource params) {
+        if (filter == null || filter.suiteId() == null || !filter.subsuitesIncluded()) {
+            return null;
+        }
+
+        params.addValue("suiteId", filter.suiteId());
+        sql.append("""
+                WITH RECURSIVE suite_tree AS (
+                    SELECT s.id FROM suites s WHERE s.id = :suiteId AND s.project_id = :projectId
+                    UNION ALL
+                    SELECT s.id FROM suites s JOIN suite_tree t ON s.parent_id = t.id WHERE s.is_archived = false
+                )
+                """);
+        return "suite_tree";
+    }
+
+    /**
+     * Appends filter predicates on cases aliased as "c".
+     * Tags use the array overlap operator so idx_cases_tags (GIN) can serve it.
+     */
+    private static void appendCaseFilter(StringBuilder sql,
+                                         CaseSelectionFilter filter,
+                                         String suiteTree,
+                                         MapSqlParameterSource params) {
+        if (filter == null) {
+            return;
+        }
+
+        if (suiteTree != null) {
+            sql.append(" AND c.suite_id IN (SELECT id FROM ").append(suiteTree).append(")\n");
+        } else if (filter.suiteId() != null) {
+            sql.append(" AND c.suite_id = :suiteId\n");
+            params.addValue("suiteId", filter.suiteId());
+        }
+        if (filter.tags() != null && !filter.tags().isEmpty()) {
+            sql.append(" AND c.tags && ARRAY[:tags]::text[]\n");
+            params.addValue("tags", filter.tags());
+        }
+        if (filter.severities() != null && !filter.severities().isEmpty()) {
+            sql.append(" AND c.severity IN (:severities)\n");
+            params.addValue("severities", filter.severities().stream().map(Enum::name).toList());
+        }
+        if (filter.automationStatuses() != null && !filter.automationStatuses().isEmpty()) {
+            sql.append(" AND c.automation_status IN (:automationStatuses)\n");
+            params.addValue("automationStatuses", filter.automationStatuses().stream().map(Enum::name).toList());
+        }
+    }
+
+    /**
+     * Appends run case page filters on run cases aliased as "rc" and cases aliased as "c".
+     */
+    private static void appendRunCaseFilter(StringBuilder sql, RunCasePageFilter filter, MapSqlParameterSource params) {
+        if (filter == null) {
+            return;
+        }
+
+        if (filter.statusIds() != null && !filter.statusIds().isEmpty()) {
+            sql.append(" AND rc.current_status_id IN (:statusIds)\n");
+            params.addValue("statusIds", filter.statusIds());
+        }
+        if (filter.assigneeId() != null) {
+            sql.append(" AND rc.assignee_id = :assigneeId\n");
+            params.addValue("assigneeId", filter.assigneeId());
+        }
+        if (filter.suiteId() != null) {
+            sql.append(" AND c.suite_id = :suiteId\n");
+            params.addValue("suiteId", filter.suiteId());
+        }
+    }
+
+    /* ========== Row mapping ========== */
+
+    private RunCaseRow mapRunCaseRow(ResultSet rs) throws SQLException {
+        return new RunCaseRow(
+                rs.getLong("id"),
+                rs.getLong("run_id"),
+                rs.getLong("case_id"),
+                rs.getObject("current_status_id", Long.class),
+                rs.getObject("assignee_id", Long.class),
+                rs.getString("comment"),
+                readMapping(rs.getString("autotest_mapping"))
+        );
+    }
+
+    private RunCasePageItem mapRunCasePageItem(ResultSet rs) throws SQLException {
+        return new RunCasePageItem(
+                rs.getLong("id"),
+                rs.getLong("run_id"),
+                rs.getLong("case_id"),
+                rs.getObject("current_status_id", Long.class),
+                rs.getObject("assignee_id", Long.class),
+                rs.getString("comment"),
+                rs.getString("title"),
+                rs.getInt("sort_index"),
+                rs.getObject("suite_id", Long.class),
+                rs.getString("suite_name"),
+                rs.getObject("priority_id", Long.class),
+                rs.getString("priority_name"),
+                readMapping(rs.getString("autotest_mapping"))
+        );
+    }
+
+    private Map<String, String> readMapping(String json) {
+        if (json == null || json.isBlank()) {
+            return Map.of();
+        }
+        try {
+            return objectMapper.readValue(json, MAPPING_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Malformed autotest mapping: " + e.getOriginalMessage(), e);
+        }
+    }
+}
@@ -27,6 +27,19 @@ public interface TestRunCaseRepository extends JpaRepository<RunCase, Long> {
         Long getTotal();
     }
 
+    interface RunCaseRef {
+        Long getRunCaseId();
+        Long getCaseId();
+    }
+
+    interface RunCaseAutotestRef {
+        Long getRunCaseId();
+        Long getCaseId();
+        String getTestClass();
+        String getTestMethod();
+        String getScenario();
+    }
+
     /**
      * Checks if a specific test case is included in a run.
      *
@@ -45,6 +58,68 @@ public interface TestRunCaseRepository extends JpaRepository<RunCase, Long> {
      */
     Optional<RunCase> findByRunIdAndCaseId(Long runId, Long caseId);
 
+    /**
+     * Resolves run case IDs for many test cases of a run in a single query.
+     *
+     * @param runId the run ID
+     * @param caseIds collection of test case IDs
+     * @return rows of runCaseId + caseId for cases present in the run
+     */
+    @Query("""
+           SELECT rc.id AS runCaseId,
+                  rc.caseId AS caseId
+           FROM RunCase rc
+           WHERE rc.runId = :runId
+             AND rc.caseId IN :caseIds
+           """)
+    List<RunCaseRef> findRefsByRunIdAndCaseIdIn(@Param("runId") Long runId,
+                                               @Param("caseIds") Collection<Long> caseIds);
+
+    /**
+     * Resolves run cases of a run whose autotest mapping matches any of the given keys.
+     * Keys follow {@link com.test.system.utils.AutotestKeys}: "testClass#testMethod" or scenario.
+     *
+     * @param runId the run ID
+     * @param keys collection of autotest keys
+     * @return matching run cases with their raw mapping parts
+     */
+    @Query(value = """
+           SELECT rc.id AS "runCaseId",
+                  rc.case_id AS "caseId",
+                  c.autotest_mapping ->> 'testClass' AS "testClass",
+                  c.autotest_mapping ->> 'testMethod' AS "testMethod",
+                  c.autotest_mapping ->> 'scenario' AS "scenario"
+           FROM run_cases rc
+           JOIN cases c ON c.id = rc.case_id
+           WHERE rc.run_id = :runId
+             AND c.is_archived = false
+             AND (autotest_method_key(c.autotest_mapping) IN (:keys)
+                  OR c.autotest_mapping ->> 'scenario' IN (:keys))
+           """, nativeQuery = true)
+    List<RunCaseAutotestRef> findAutotestRefsByRunIdAndKeys(@Param("runId") Long runId,
+                                                            @Param("keys") Collection<String> keys);
+
+    /**
+     * Lists autotest mapping parts of every active run case that has a mapping,
+     * for building an in-memory key index of the run.
+     *
+     * @param runId the run ID
+     * @return run cases with their raw mapping parts
+     */
+    @Query(value = """
+           SELECT rc.id AS "runCaseId",
+                  rc.case_id AS "caseId",
+                  c.autotest_mapping ->> 'testClass' AS "testClass",
+                  c.autotest_mapping ->> 'testMethod' AS "testMethod",
+                  c.autotest_mapping ->> 'scenario' AS "scenario"
+           FROM run_cases rc
+           JOIN cases c ON c.id = rc.case_id
+           WHERE rc.run_id = :runId
+             AND c.is_archived = false
+             AND c.autotest_mapping <> '{}'::jsonb
+           """, nativeQuery = true)
+    List<RunCaseAutotestRef> findAutotestRefsByRunId(@Param("runId") Long runId);
+
     /**
      * Finds all active (non-archived) test cases in a run.
      * Excludes archived test cases even if they were added to the run before archiving.
@@ -107,43 +182,43 @@ public interface TestRunCaseRepository extends JpaRepository<RunCase, Long> {
 
     /**
      * Counts run cases grouped by milestone and status for all active milestones/runs in a project.
+     * Reads the trigger-maintained run_status_counters table (see V14 migration).
      *
      * @param projectId the project ID
      * @return aggregated rows: milestoneId + statusId + total
      */
-    @Query("""
-           SELECT m.id AS milestoneId,
-                  rc.currentStatusId AS statusId,
-                  COUNT(rc.id) AS total
-           FROM Milestone m
-           JOIN m.runs r
-           JOIN RunCase rc ON rc.runId = r.id
-           WHERE m.projectId = :projectId
-             AND m.archived = false
-             AND r.archived = false
-             AND rc.currentStatusId IS NOT NULL
-           GROUP BY m.id, rc.currentStatusId
-           """)
+    @Query(value = """
+           SELECT m.id AS "milestoneId",
+                  sc.status_id AS "statusId",
+                  SUM(sc.total)::bigint AS "total"
+           FROM milestones m
+           JOIN milestone_runs mr ON mr.milestone_id = m.id
+           JOIN runs r ON r.id = mr.run_id
+           JOIN run_status_counters sc ON sc.run_id = r.id
+           WHERE m.project_id = :projectId
+             AND m.is_archived = false
+             AND r.is_archived = false
+             AND sc.total > 0
+           GROUP BY m.id, sc.status_id
+           """, nativeQuery = true)
     List<MilestoneStatusAggregate> countMilestoneStatusCountsByProjectId(@Param("projectId") Long projectId);
 
     /**
      * Counts run cases grouped by run and status for all active runs in a project.
+     * Reads the trigger-maintained run_status_counters table (see V14 migration).
      *
      * @param projectId the project ID
      * @return aggregated rows: runId + statusId + total
      */
-    @Query("""
-           SELECT r.id AS runId,
-                  rc.currentStatusId AS statusId,
-                  COUNT(rc.id) AS total
-           FROM Run r
-           JOIN RunCase rc ON rc.runId = r.id
-           JOIN TestCase tc ON tc.id = rc.caseId
-           WHERE r.projectId = :projectId
-             AND r.archived = false
-             AND rc.currentStatusId IS NOT NULL
-             AND (tc.archived = false OR tc.archived IS NULL)
-           GROUP BY r.id, rc.currentStatusId
-           """)
+    @Query(value = """
+           SELECT r.id AS "runId",
+                  sc.status_id AS "statusId",
+                  sc.total AS "total"
+           FROM runs r
+           JOIN run_status_counters sc ON sc.run_id = r.id
+           WHERE r.project_id = :projectId
+             AND r.is_archived = false
+             AND sc.total > 0
+           """, nativeQuery = true)
     List<RunStatusAggregate> countRunStatusCountsByProjectId(@Param("projectId") Long projectId);
 }
@@ -1,7 +1,9 @@
 package com.test.system.repository.run;
 
 import com.test.system.model.run.Run;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -26,6 +28,28 @@ public interface TestRunRepository extends JpaRepository<Run, Long> {
     @Query("SELECT r FROM Run r WHERE r.id = :id AND r.archived = false")
     Optional<Run> findActiveById(@Param("id") Long id);
 
+    /**
+     * Finds a non-archived test run by ID and locks it (FOR UPDATE) until the end of the transaction.
+     * Taken when closing a run: waits for result writes in flight and keeps new ones out until commit.
+     *
+     * @param id the run ID
+     * @return Optional containing the locked run if found and not archived, empty otherwise
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Run r WHERE r.id = :id AND r.archived = false")
+    Optional<Run> findActiveByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Finds a non-archived test run by ID and locks it in share mode (FOR SHARE) until the end of the transaction.
+     * Taken by result writes so the run cannot be closed under them; writes to the same run do not block each other.
+     *
+     * @param id the run ID
+     * @return Optional containing the locked run if found and not archived, empty otherwise
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT r FROM Run r WHERE r.id = :id AND r.archived = false")
+    Optional<Run> findActiveByIdForShare(@Param("id") Long id);
+
     /**
      * Finds all non-archived test runs for a project, ordered by creation date descending.
      *
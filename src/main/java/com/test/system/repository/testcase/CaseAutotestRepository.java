@@ -0,0 +1,66 @@
+package com.test.system.repository.testcase;
+
+import com.test.system.dto.testcase.response.AutotestCaseMatch;
+import com.test.system.dto.testcase.response.AutotestCaseMatch.MatchedBy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Resolves autotest keys to test cases through the expression indexes of the V18 migration.
+ * Keys follow {@link com.test.system.utils.AutotestKeys}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CaseAutotestRepository {
+
+    /**
+     * Each key probes both indexes by md5 and rechecks the full key; the md5 and the key expression
+     * must stay identical to the index definitions for the planner to use them.
+     */
+    private static final String FIND_BY_KEYS_SQL = """
+            WITH k AS (
+                SELECT DISTINCT unnest(ARRAY[:keys]::text[]) AS key
+            )
+            SELECT k.key, c.id, c.suite_id, c.title, 'METHOD' AS matched_by
+            FROM k
+            JOIN cases c ON c.project_id = :projectId
+                        AND c.is_archived = false
+                        AND md5(autotest_method_key(c.autotest_mapping)) = md5(k.key)
+                        AND autotest_method_key(c.autotest_mapping) = k.key
+            UNION ALL
+            SELECT k.key, c.id, c.suite_id, c.title, 'SCENARIO' AS matched_by
+            FROM k
+            JOIN cases c ON c.project_id = :projectId
+                        AND c.is_archived = false
+                        AND md5(c.autotest_mapping ->> 'scenario') = md5(k.key)
+                        AND c.autotest_mapping ->> 'scenario' = k.key
+            """;
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    /**
+     * Finds active cases of a project addressed by any of the keys, in a single query.
+     *
+     * @param projectId the project ID
+     * @param keys      autotest keys (must not be empty)
+     * @return one match per (key, case, matchedBy); unordered
+     */
+    public List<AutotestCaseMatch> findByKeys(Long projectId, Collection<String> keys) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("projectId", projectId)
+                .addValue("keys", keys);
+
+        return jdbc.query(FIND_BY_KEYS_SQL, params, (rs, n) -> new AutotestCaseMatch(
+                rs.getString("key"),
+                rs.getLong("id"),
+                rs.getObject("suite_id", Long.class),
+                rs.getString("title"),
+                MatchedBy.valueOf(rs.getString("matched_by"))
+        ));
+    }
+}
@@ -0,0 +1,202 @@
+package com.test.system.repository.testcase;
+
+import com.test.system.repository.run.JobWatermarkRepository;
+import com.test.system.repository.run.JobWatermarkRepository.Watermark;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.test.system.repository.run.JobWatermarkRepository.NEW_RESULTS_CONDITION;
+import static com.test.system.repository.run.JobWatermarkRepository.NEW_RESULTS_ORDER;
+
+/**
+ * JDBC access to the case_duration_stats summaries (see V20 migration).
+ */
+@Repository
+@RequiredArgsConstructor
+public class CaseDurationRepository {
+
+    /**
+     * Expected duration of a case, for queries joining cases as "c" and case_duration_stats as "d":
+     * the historical median, else the manual estimate, else :defaultSeconds.
+     */
+    public static final String EXPECTED_SECONDS_SQL =
+            "COALESCE(d.median_seconds, NULLIF(c.estimate_seconds, 0), :defaultSeconds)";
+
+    private static final String NEW_DURATIONS_SQL = """
+            SELECT r.txid, r.id, r.run_case_id, rc.case_id, c.project_id, r.elapsed_seconds, r.created_at
+            FROM results r
+            JOIN run_cases rc ON rc.id = r.run_case_id
+            JOIN cases c ON c.id = rc.case_id
+            WHERE %s
+              AND r.elapsed_seconds IS NOT NULL
+            ORDER BY %s
+            LIMIT :limit
+            """.formatted(NEW_RESULTS_CONDITION, NEW_RESULTS_ORDER);
+
+    private static final String FIND_BY_CASE_IDS_SQL = """
+            SELECT case_id, project_id, recent_seconds, median_seconds, p90_seconds, total_executions,
+                   last_run_case_id, last_result_id, last_executed_at
+            FROM case_duration_stats
+            WHERE case_id IN (:caseIds)
+            """;
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO case_duration_stats (case_id, project_id, recent_seconds, median_seconds, p90_seconds, total_executions,
+                                             last_run_case_id, last_result_id, last_executed_at, updated_at)
+            VALUES (:caseId, :projectId, CAST(:recentSeconds AS INT[]), :medianSeconds, :p90Seconds, :totalExecutions,
+                    :lastRunCaseId, :lastResultId, :lastExecutedAt, NOW())
+            ON CONFLICT (case_id) DO UPDATE
+               SET project_id = EXCLUDED.project_id,
+                   recent_seconds = EXCLUDED.recent_seconds,
+                   median_seconds = EXCLUDED.median_seconds,
+                   p90_seconds = EXCLUDED.p90_seconds,
+                   total_executions = EXCLUDED.total_executions,
+                   last_run_case_id = EXCLUDED.last_run_case_id,
+                   last_result_id = EXCLUDED.last_result_id,
+                   last_executed_at = EXCLUDED.last_executed_at,
+                   updated_at = NOW()
+            """;
+
+    private static final String RUN_CASE_DURATIONS_SQL = """
+            SELECT rc.id, rc.case_id, d.median_seconds, c.estimate_seconds
+            FROM run_cases rc
+            JOIN cases c ON c.id = rc.case_id
+            LEFT JOIN case_duration_stats d ON d.case_id = rc.case_id
+            WHERE rc.run_id = :runId
+              AND c.is_archived = false
+            """;
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    /**
+     * A new result with a recorded elapsed time.
+     */
+    public record DurationRow(long txid, long resultId, long runCaseId, long caseId, long projectId, int elapsedSeconds, Instant createdAt) {}
+
+    /**
+     * Per-case duration summary row.
+     */
+    public record CaseDuration(
+            long caseId,
+            long projectId,
+            int[] recentSeconds,
+            int medianSeconds,
+            int p90Seconds,
+            long totalExecutions,
+            long lastRunCaseId,
+            long lastResultId,
+            Instant lastExecutedAt
+    ) {}
+
+    /**
+     * Duration inputs of one run case: historical median (null without history) and manual estimate.
+     */
+    public record RunCaseDuration(long runCaseId, long caseId, Integer medianSeconds, Integer estimateSeconds) {}
+
+    /**
+     * Reads the next results with an elapsed time after a watermark, in stream order (see {@link JobWatermarkRepository}).
+     *
+     * @param watermark position of the last result consumed
+     * @param limit     maximum number of rows
+     */
+    public List<DurationRow> findNewDurations(Watermark watermark, int limit) {
+        MapSqlParameterSource params = watermark.toParams()
+                .addValue("limit", limit);
+
+        return jdbc.query(NEW_DURATIONS_SQL, params, (rs, n) -> new DurationRow(
+                rs.getLong("txid"),
+                rs.getLong("id"),
+                rs.getLong("run_case_id"),
+                rs.getLong("case_id"),
+                rs.getLong("project_id"),
+                rs.getInt("elapsed_seconds"),
+                toInstant(rs.getTimestamp("created_at"))
+        ));
+    }
+
+    public Map<Long, CaseDuration> findByCaseIds(Collection<Long> caseIds) {
+        if (caseIds.isEmpty()) {
+            return Map.of();
+        }
+        return jdbc.query(FIND_BY_CASE_IDS_SQL, new MapSqlParameterSource("caseIds", caseIds), (rs, n) -> new CaseDuration(
+                        rs.getLong("case_id"),
+                        rs.getLong("project_id"),
+                        toIntArray(rs.getArray("recent_seconds")),
+                        rs.getInt("median_seconds"),
+                        rs.getInt("p90_seconds"),
+                        rs.getLong("total_executions"),
+                        rs.getLong("last_run_case_id"),
+                        rs.getLong("last_result_id"),
+                        toInstant(rs.getTimestamp("last_executed_at"))
+                ))
+                .stream()
+                .collect(Collectors.toMap(CaseDuration::caseId, Function.identity()));
+    }
+
+    public void upsertAll(Collection<CaseDuration> summaries) {
+        if (summaries.isEmpty()) {
+            return;
+        }
+        SqlParameterSource[] batch = summaries.stream()
+                .map(s -> new MapSqlParameterSource()
+                        .addValue("caseId", s.caseId())
+                        .addValue("projectId", s.projectId())
+                        .addValue("recentSeconds", toArrayLiteral(s.recentSeconds()))
+                        .addValue("medianSeconds", s.medianSeconds())
+                        .addValue("p90Seconds", s.p90Seconds())
+                        .addValue("totalExecutions", s.totalExecutions())
+                        .addValue("lastRunCaseId", s.lastRunCaseId())
+                        .addValue("lastResultId", s.lastResultId())
+                        .addValue("lastExecutedAt", toTimestamp(s.lastExecutedAt())))
+                .toArray(SqlParameterSource[]::new);
+        jdbc.batchUpdate(UPSERT_SQL, batch);
+    }
+
+    /**
+     * Lists the non-archived cases of a run with their duration inputs, in one index lookup per case.
+     */
+    public List<RunCaseDuration> findRunCaseDurations(Long runId) {
+        return jdbc.query(RUN_CASE_DURATIONS_SQL, new MapSqlParameterSource("runId", runId), (rs, n) -> new RunCaseDuration(
+                rs.getLong("id"),
+                rs.getLong("case_id"),
+                rs.getObject("median_seconds", Integer.class),
+                rs.getObject("estimate_seconds", Integer.class)
+        ));
+    }
+
+    private static int[] toIntArray(Array array) throws SQLException {
+        if (array == null) {
+            return new int[0];
+        }
+        Integer[] values = (Integer[]) array.getArray();
+        return Arrays.stream(values).mapToInt(Integer::intValue).toArray();
+    }
+
+    private static String toArrayLiteral(int[] values) {
+        return Arrays.stream(values)
+                .mapToObj(String::valueOf)
+                .collect(Collectors.joining(",", "{", "}"));
+    }
+
+    private static Timestamp toTimestamp(Instant instant) {
+        return instant == null ? null : Timestamp.from(instant);
+    }
+
+    private static Instant toInstant(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toInstant();
+    }
+}
@@ -0,0 +1,201 @@
+package com.test.system.repository.testcase;
+
+import com.test.system.dto.testcase.response.FlakyCaseResponse;
+import com.test.system.repository.run.JobWatermarkRepository;
+import com.test.system.repository.run.JobWatermarkRepository.Watermark;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.test.system.repository.run.JobWatermarkRepository.NEW_RESULTS_CONDITION;
+import static com.test.system.repository.run.JobWatermarkRepository.NEW_RESULTS_ORDER;
+
+/**
+ * JDBC access to the case_flakiness summaries (see V16 migration).
+ */
+@Repository
+@RequiredArgsConstructor
+public class CaseFlakinessRepository {
+
+    private static final String NEW_OUTCOMES_SQL = """
+            SELECT r.txid, r.id, rc.case_id, c.project_id, r.created_at,
+                   CASE WHEN r.status_id IN (:passingStatusIds) THEN 'P'
+                        WHEN r.status_id IN (:failingStatusIds) THEN 'F'
+                   END AS outcome
+            FROM results r
+            JOIN run_cases rc ON rc.id = r.run_case_id
+            JOIN cases c ON c.id = rc.case_id
+            WHERE %s
+            ORDER BY %s
+            LIMIT :limit
+            """.formatted(NEW_RESULTS_CONDITION, NEW_RESULTS_ORDER);
+
+    private static final String FIND_BY_CASE_IDS_SQL = """
+            SELECT case_id, project_id, recent_outcomes, window_flips, window_failures, flip_rate,
+                   total_executions, last_result_id, last_executed_at
+            FROM case_flakiness
+            WHERE case_id IN (:caseIds)
+            """;
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO case_flakiness (case_id, project_id, recent_outcomes, window_flips, window_failures, flip_rate,
+                                        total_executions, last_result_id, last_executed_at, updated_at)
+            VALUES (:caseId, :projectId, :recentOutcomes, :windowFlips, :windowFailures, :flipRate,
+                    :totalExecutions, :lastResultId, :lastExecutedAt, NOW())
+            ON CONFLICT (case_id) DO UPDATE
+               SET project_id = EXCLUDED.project_id,
+                   recent_outcomes = EXCLUDED.recent_outcomes,
+                   window_flips = EXCLUDED.window_flips,
+                   window_failures = EXCLUDED.window_failures,
+                   flip_rate = EXCLUDED.flip_rate,
+                   total_executions = EXCLUDED.total_executions,
+                   last_result_id = EXCLUDED.last_result_id,
+                   last_executed_at = EXCLUDED.last_executed_at,
+                   updated_at = NOW()
+            """;
+
+    private static final String FIND_FLAKY_SQL = """
+            SELECT f.case_id, c.title, c.suite_id, f.recent_outcomes, f.window_flips, f.window_failures,
+                   f.flip_rate, f.total_executions, f.last_executed_at
+            FROM case_flakiness f
+            JOIN cases c ON c.id = f.case_id
+            WHERE f.project_id = :projectId
+              AND c.is_archived = false
+              AND f.flip_rate >= :minFlipRate
+              AND length(f.recent_outcomes) >= :minExecutions
+            ORDER BY f.flip_rate DESC, f.window_failures DESC, f.case_id
+            LIMIT :limit
+            """;
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    /**
+     * A new result classified for flakiness: outcome is 'P', 'F' or null for statuses that are neither.
+     */
+    public record OutcomeRow(long txid, long resultId, long caseId, long projectId, Instant createdAt, Character outcome) {}
+
+    /**
+     * Per-case flakiness summary row.
+     */
+    public record CaseFlakiness(
+            long caseId,
+            long projectId,
+            String recentOutcomes,
+            int windowFlips,
+            int windowFailures,
+            float flipRate,
+            long totalExecutions,
+            long lastResultId,
+            Instant lastExecutedAt
+    ) {}
+
+    /**
+     * Reads the next results after a watermark, in stream order (see {@link JobWatermarkRepository}).
+     *
+     * @param watermark        position of the last result consumed
+     * @param passingStatusIds statuses classified as 'P' (must not be empty)
+     * @param failingStatusIds statuses classified as 'F' (must not be empty)
+     * @param limit            maximum number of rows
+     */
+    public List<OutcomeRow> findNewOutcomes(Watermark watermark,
+                                            Collection<Long> passingStatusIds,
+                                            Collection<Long> failingStatusIds,
+                                            int limit) {
+        MapSqlParameterSource params = watermark.toParams()
+                .addValue("passingStatusIds", passingStatusIds)
+                .addValue("failingStatusIds", failingStatusIds)
+                .addValue("limit", limit);
+
+        return jdbc.query(NEW_OUTCOMES_SQL, params, (rs, n) -> {
+            String outcome = rs.getString("outcome");
+            return new OutcomeRow(
+                    rs.getLong("txid"),
+                    rs.getLong("id"),
+                    rs.getLong("case_id"),
+                    rs.getLong("project_id"),
+                    toInstant(rs.getTimestamp("created_at")),
+                    outcome == null ? null : outcome.charAt(0)
+            );
+        });
+    }
+
+    public Map<Long, CaseFlakiness> findByCaseIds(Collection<Long> caseIds) {
+        if (caseIds.isEmpty()) {
+            return Map.of();
+        }
+        return jdbc.query(FIND_BY_CASE_IDS_SQL, new MapSqlParameterSource("caseIds", caseIds), (rs, n) -> new CaseFlakiness(
+                        rs.getLong("case_id"),
+                        rs.getLong("project_id"),
+                        rs.getString("recent_outcomes"),
+                        rs.getInt("window_flips"),
+                        rs.getInt("window_failures"),
+                        rs.getFloat("flip_rate"),
+                        rs.getLong("total_executions"),
+                        rs.getLong("last_result_id"),
+                        toInstant(rs.getTimestamp("last_executed_at"))
+                ))
+                .stream()
+                .collect(Collectors.toMap(CaseFlakiness::caseId, Function.identity()));
+    }
+
+    public void upsertAll(Collection<CaseFlakiness> summaries) {
+        if (summaries.isEmpty()) {
+            return;
+        }
+        SqlParameterSource[] batch = summaries.stream()
+                .map(s -> new MapSqlParameterSource()
+                        .addValue("caseId", s.caseId())
+                        .addValue("projectId", s.projectId())
+                        .addValue("recentOutcomes", s.recentOutcomes())
+                        .addValue("windowFlips", s.windowFlips())
+                        .addValue("windowFailures", s.windowFailures())
+                        .addValue("flipRate", s.flipRate())
+                        .addValue("totalExecutions", s.totalExecutions())
+                        .addValue("lastResultId", s.lastResultId())
+                        .addValue("lastExecutedAt", toTimestamp(s.lastExecutedAt())))
+                .toArray(SqlParameterSource[]::new);
+        jdbc.batchUpdate(UPSERT_SQL, batch);
+    }
+
+    /**
+     * Lists the flakiest non-archived cases of a project.
+     */
+    public List<FlakyCaseResponse> findFlakyByProject(Long projectId, int minExecutions, float minFlipRate, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("projectId", projectId)
+                .addValue("minExecutions", minExecutions)
+                .addValue("minFlipRate", minFlipRate)
+                .addValue("limit", limit);
+
+        return jdbc.query(FIND_FLAKY_SQL, params, (rs, n) -> new FlakyCaseResponse(
+                rs.getLong("case_id"),
+                rs.getString("title"),
+                rs.getObject("suite_id", Long.class),
+                rs.getString("recent_outcomes"),
+                rs.getString("recent_outcomes").length(),
+                rs.getInt("window_flips"),
+                rs.getInt("window_failures"),
+                rs.getFloat("flip_rate"),
+                rs.getLong("total_executions"),
+                toInstant(rs.getTimestamp("last_executed_at"))
+        ));
+    }
+
+    private static Timestamp toTimestamp(Instant instant) {
+        return instant == null ? null : Timestamp.from(instant);
+    }
+
+    private static Instant toInstant(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toInstant();
+    }
+}
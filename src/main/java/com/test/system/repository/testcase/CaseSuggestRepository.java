@@ -0,0 +1,62 @@
+package com.test.system.repository.testcase;
+
+import com.test.system.dto.testcase.response.TestCaseSuggestion;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Case title typeahead through the trigram index of the V24 migration.
+ * Reads only id, suite and title, never the jsonb columns.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CaseSuggestRepository {
+
+    /** Transaction-local, so pooled connections keep the server default. */
+    private static final String SET_THRESHOLD_SQL =
+            "SELECT set_config('pg_trgm.word_similarity_threshold', :threshold, true)";
+
+    /**
+     * The <% operator is what idx_cases_title_trgm serves; word similarity matches the query against
+     * the best matching part of the title, so prefixes, substrings and typos all qualify.
+     */
+    private static final String SUGGEST_SQL = """
+            SELECT id, suite_id, title, word_similarity(:query, title) AS score
+            FROM cases
+            WHERE project_id = :projectId
+              AND is_archived = false
+              AND :query <% title
+            ORDER BY score DESC, length(title), id
+            LIMIT :limit
+            """;
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    /**
+     * Finds the active cases of a project whose titles are most similar to the query.
+     * Must run inside a transaction for the threshold to apply.
+     *
+     * @param threshold minimum word similarity, 0..1
+     * @param limit     maximum number of suggestions
+     * @return suggestions, best first
+     */
+    public List<TestCaseSuggestion> suggest(Long projectId, String query, double threshold, int limit) {
+        jdbc.queryForObject(SET_THRESHOLD_SQL, new MapSqlParameterSource("threshold", String.valueOf(threshold)), String.class);
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("projectId", projectId)
+                .addValue("query", query)
+                .addValue("limit", limit);
+
+        return jdbc.query(SUGGEST_SQL, params, (rs, n) -> new TestCaseSuggestion(
+                rs.getLong("id"),
+                rs.getObject("suite_id", Long.class),
+                rs.getString("title"),
+                rs.getFloat("score")
+        ));
+    }
+}
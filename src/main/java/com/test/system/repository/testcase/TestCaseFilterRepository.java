@@ -0,0 +1,170 @@
+package com.test.system.repository.testcase;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.test.system.dto.testcase.request.TestCaseFilter;
+import com.test.system.dto.testcase.request.TestCaseFilter.TagMatch;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Compiles a {@link TestCaseFilter} into one SQL statement over cases.
+ * Only the predicates of criteria that are set are emitted, so the planner sees a plain conjunction:
+ * tags use the array operators served by idx_cases_tags (GIN), the other criteria the btree indexes on cases,
+ * and pages follow (sort_index, created_at, id) through idx_cases_project_order / idx_cases_suite_order.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TestCaseFilterRepository {
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Reads the IDs of one keyset page of matching non-archived cases of a project.
+     *
+     * @param afterSortIndex sort index of the last case of the previous page, or null for the first page
+     * @param afterCreatedAt creation time of the last case of the previous page, or null for the first page
+     * @param afterId        ID of the last case of the previous page, or null for the first page
+     * @param limit          maximum number of rows
+     * @return case IDs in (sort_index, created_at, id) order
+     */
+    public List<Long> findPageIds(Long projectId,
+                                  TestCaseFilter filter,
+                                  Integer afterSortIndex,
+                                  Instant afterCreatedAt,
+                                  Long afterId,
+                                  int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource().addValue("limit", limit);
+        StringBuilder sql = compile("tc.id", projectId, filter, params);
+        if (afterSortIndex != null && afterCreatedAt != null && afterId != null) {
+            sql.append(" AND (tc.sort_index, tc.created_at, tc.id) > (:afterSortIndex, :afterCreatedAt, :afterId)\n");
+            params.addValue("afterSortIndex", afterSortIndex)
+                    .addValue("afterCreatedAt", Timestamp.from(afterCreatedAt))
+                    .addValue("afterId", afterId);
+        }
+        sql.append(" ORDER BY tc.sort_index, tc.created_at, tc.id\n LIMIT :limit");
+
+        return jdbc.queryForList(sql.toString(), params, Long.class);
+    }
+
+    /**
+     * Counts matching non-archived cases of a project.
+     */
+    public long count(Long projectId, TestCaseFilter filter) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        Long total = jdbc.queryForObject(compile("COUNT(*)", projectId, filter, params).toString(), params, Long.class);
+        return total == null ? 0 : total;
+    }
+
+    /**
+     * Estimates the same count from the planner's row estimate (EXPLAIN, nothing is executed): one planning
+     * round trip regardless of project size, as accurate as the table statistics.
+     */
+    public long estimate(Long projectId, TestCaseFilter filter) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String sql = "EXPLAIN (FORMAT JSON) " + compile("1", projectId, filter, params);
+        String plan = jdbc.queryForObject(sql, params, String.class);
+        try {
+            JsonNode root = objectMapper.readTree(plan);
+            return root.path(0).path("Plan").path("Plan Rows").asLong(0);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable query plan", e);
+        }
+    }
+
+    /* ========== SQL building ========== */
+
+    /**
+     * Builds SELECT ... FROM cases tc WHERE ... for the filter; callers may append further predicates.
+     */
+    private static StringBuilder compile(String select, Long projectId, TestCaseFilter filter, MapSqlParameterSource params) {
+        params.addValue("projectId", projectId);
+        StringBuilder sql = new StringBuilder();
+
+        boolean suiteTree = filter != null && hasValues(filter.suiteIds()) && filter.subsuitesIncluded();
+        if (suiteTree) {
+            sql.append("""
+                    WITH RECURSIVE suite_tree AS (
+                        SELECT s.id FROM suites s WHERE s.id IN (:suiteIds) AND s.project_id = :projectId
+                        UNION
+                        SELECT s.id FROM suites s JOIN suite_tree t ON s.parent_id = t.id WHERE s.is_archived = false
+                    )
+                    """);
+        }
+        sql.append("SELECT ").append(select).append("""
+
+                FROM cases tc
+                WHERE tc.project_id = :projectId
+                  AND tc.is_archived = false
+                """);
+        if (filter == null) {
+            return sql;
+        }
+
+        if (hasValues(filter.suiteIds())) {
+            sql.append(suiteTree ? " AND tc.suite_id IN (SELECT id FROM suite_tree)\n" : " AND tc.suite_id IN (:suiteIds)\n");
+            params.addValue("suiteIds", filter.suiteIds());
+        }
+        if (filter.q() != null && !filter.q().isBlank()) {
+            sql.append(" AND LOWER(tc.title) LIKE :titlePattern ESCAPE '\\'\n");
+            params.addValue("titlePattern", "%" + escapeLike(filter.q().trim().toLowerCase(Locale.ROOT)) + "%");
+        }
+        if (hasValues(filter.tags())) {
+            sql.append(filter.tagMatch() == TagMatch.ALL
+                    ? " AND tc.tags @> ARRAY[:tags]::text[]\n"
+                    : " AND tc.tags && ARRAY[:tags]::text[]\n");
+            params.addValue("tags", filter.tags());
+        }
+        if (hasValues(filter.severities())) {
+            sql.append(" AND tc.severity IN (:severities)\n");
+            params.addValue("severities", filter.severities().stream().map(Enum::name).toList());
+        }
+        if (hasValues(filter.automationStatuses())) {
+            sql.append(" AND tc.automation_status IN (:automationStatuses)\n");
+            params.addValue("automationStatuses", filter.automationStatuses().stream().map(Enum::name).toList());
+        }
+        if (hasValues(filter.statuses())) {
+            sql.append(" AND tc.status IN (:statuses)\n");
+            params.addValue("statuses", filter.statuses().stream().map(Enum::name).toList());
+        }
+        if (hasValues(filter.priorityIds())) {
+            sql.append(" AND tc.priority_id IN (:priorityIds)\n");
+            params.addValue("priorityIds", filter.priorityIds());
+        }
+        if (hasValues(filter.typeIds())) {
+            sql.append(" AND tc.type_id IN (:typeIds)\n");
+            params.addValue("typeIds", filter.typeIds());
+        }
+        boolean unassigned = Boolean.TRUE.equals(filter.unassigned());
+        if (hasValues(filter.assigneeIds())) {
+            sql.append(unassigned
+                    ? " AND (tc.assigned_to IN (:assigneeIds) OR tc.assigned_to IS NULL)\n"
+                    : " AND tc.assigned_to IN (:assigneeIds)\n");
+            params.addValue("assigneeIds", filter.assigneeIds());
+        } else if (unassigned) {
+            sql.append(" AND tc.assigned_to IS NULL\n");
+        }
+        if (hasValues(filter.createdByIds())) {
+            sql.append(" AND tc.created_by IN (:createdByIds)\n");
+            params.addValue("createdByIds", filter.createdByIds());
+        }
+        return sql;
+    }
+
+    private static boolean hasValues(List<?> values) {
+        return values != null && !values.isEmpty();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
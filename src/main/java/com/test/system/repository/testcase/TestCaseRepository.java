@@ -1,17 +1,56 @@
 package com.test.system.repository.testcase;
 
 import com.test.system.model.cases.TestCase;
+import com.test.system.model.cases.TestCase.AutomationStatus;
+import com.test.system.model.cases.TestCase.Severity;
+import com.test.system.model.cases.TestCase.Status;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface TestCaseRepository extends JpaRepository<TestCase, Long> {
 
+    /**
+     * Scalar columns of a case for list and grid views.
+     * Leaves out the steps, attachments and autotest_mapping jsonb and the long text columns,
+     * which are only read by the detail view and exports.
+     */
+    interface TestCaseSummary {
+        Long getId();
+        Long getProjectId();
+        Long getSuiteId();
+        String getTitle();
+        Long getTypeId();
+        Long getPriorityId();
+        Integer getEstimateSeconds();
+        Integer getSortIndex();
+        Status getStatus();
+        Severity getSeverity();
+        AutomationStatus getAutomationStatus();
+        String[] getTags();
+        Instant getCreatedAt();
+        Instant getUpdatedAt();
+        Long getCreatedBy();
+        Long getAssignedTo();
+    }
+
+    String SUMMARY_SELECT = """
+            SELECT tc.id AS id, tc.projectId AS projectId, tc.suiteId AS suiteId, tc.title AS title,
+                   tc.typeId AS typeId, tc.priorityId AS priorityId, tc.estimateSeconds AS estimateSeconds,
+                   tc.sortIndex AS sortIndex, tc.status AS status, tc.severity AS severity,
+                   tc.automationStatus AS automationStatus, tc.tags AS tags,
+                   tc.createdAt AS createdAt, tc.updatedAt AS updatedAt,
+                   tc.createdBy AS createdBy, tc.assignedTo AS assignedTo
+            FROM TestCase tc
+            """;
+
     /**
      * Checks if a non-archived test case with the given title exists in the project (without suite, case-insensitive).
      *
@@ -45,21 +84,37 @@ public interface TestCaseRepository extends JpaRepository<TestCase, Long> {
     List<TestCase> findAllActiveByProjectId(@Param("projectId") Long projectId);
 
     /**
-     * Finds all non-archived test cases in a suite, ordered by sort index and creation date.
+     * Finds summaries of all non-archived test cases in a project, ordered by sort index and creation date.
+     *
+     * @param projectId the ID of the project
+     * @return List of case summaries sorted by sortIndex ASC, createdAt ASC
+     */
+    @Query(SUMMARY_SELECT + "WHERE tc.projectId = :projectId AND tc.archived = false ORDER BY tc.sortIndex ASC, tc.createdAt ASC")
+    List<TestCaseSummary> findSummariesActiveByProjectId(@Param("projectId") Long projectId);
+
+    /**
+     * Finds summaries of all non-archived test cases in a suite, ordered by sort index and creation date.
      *
      * @param projectId the ID of the project
      * @param suiteId the ID of the suite
-     * @return List of non-archived test cases in the suite, sorted by sortIndex ASC, createdAt ASC
+     * @return List of case summaries in the suite, sorted by sortIndex ASC, createdAt ASC
+     */
+    @Query(SUMMARY_SELECT + "WHERE tc.projectId = :projectId AND tc.suiteId = :suiteId AND tc.archived = false ORDER BY tc.sortIndex ASC, tc.createdAt ASC")
+    List<TestCaseSummary> findSummariesActiveBySuiteId(@Param("projectId") Long projectId, @Param("suiteId") Long suiteId);
+
+    /**
+     * Finds summaries of test cases by IDs, in no particular order.
+     *
+     * @param ids collection of case IDs
+     * @return List of case summaries
      */
-    @Query("SELECT tc FROM TestCase tc WHERE tc.projectId = :projectId AND tc.suiteId = :suiteId AND tc.archived = false ORDER BY tc.sortIndex ASC, tc.createdAt ASC")
-    List<TestCase> findAllActiveBySuiteId(@Param("projectId") Long projectId, @Param("suiteId") Long suiteId);
+    @Query(SUMMARY_SELECT + "WHERE tc.id IN :ids")
+    List<TestCaseSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
 
     /**
      * Finds non-archived test cases in a project by optional suite and title filter with pagination.
      */
-    @Query(value = """
-            SELECT tc
-            FROM TestCase tc
+    @Query(value = SUMMARY_SELECT + """
             WHERE tc.projectId = :projectId
               AND tc.archived = false
               AND (:suiteId IS NULL OR tc.suiteId = :suiteId)
@@ -74,11 +129,40 @@ public interface TestCaseRepository extends JpaRepository<TestCase, Long> {
               AND (:suiteId IS NULL OR tc.suiteId = :suiteId)
               AND (:query IS NULL OR :query = '' OR LOWER(tc.title) LIKE LOWER(CONCAT('%', :query, '%')))
             """)
-    Page<TestCase> findPageActiveByProjectWithFilters(@Param("projectId") Long projectId,
+    Page<TestCaseSummary> findPageActiveByProjectWithFilters(@Param("projectId") Long projectId,
                                                       @Param("suiteId") Long suiteId,
                                                       @Param("query") String query,
                                                       Pageable pageable);
 
+    /**
+     * Full-text search over title, preconditions, expected result and step text of non-archived project cases
+     * (search_vector, see V23 migration), best matches first.
+     * The query uses web search syntax: quoted phrases, "or" and "-" exclusions; it never fails to parse.
+     * Returns IDs only; the page is loaded through {@link #findSummariesByIdIn}.
+     */
+    @Query(value = """
+            SELECT tc.id
+            FROM cases tc, websearch_to_tsquery('english', :query) q
+            WHERE tc.project_id = :projectId
+              AND tc.is_archived = false
+              AND (CAST(:suiteId AS BIGINT) IS NULL OR tc.suite_id = :suiteId)
+              AND tc.search_vector @@ q
+            ORDER BY ts_rank_cd(tc.search_vector, q) DESC, tc.sort_index ASC, tc.id ASC
+            """,
+            countQuery = """
+            SELECT COUNT(*)
+            FROM cases tc
+            WHERE tc.project_id = :projectId
+              AND tc.is_archived = false
+              AND (CAST(:suiteId AS BIGINT) IS NULL OR tc.suite_id = :suiteId)
+              AND tc.search_vector @@ websearch_to_tsquery('english', :query)
+            """,
+            nativeQuery = true)
+    Page<Long> searchPageIdsActiveByProject(@Param("projectId") Long projectId,
+                                            @Param("suiteId") Long suiteId,
+                                            @Param("query") String query,
+                                            Pageable pageable);
+
     /**
      * Finds a non-archived test case by ID.
      *
@@ -126,20 +210,29 @@ public interface TestCaseRepository extends JpaRepository<TestCase, Long> {
     List<TestCase> findAllActiveByProjectIdAndIdIn(@Param("projectId") Long projectId, @Param("caseIds") List<Long> caseIds);
 
     /**
-     * Finds all non-archived test cases for multiple projects (for dashboard PDF export).
+     * Checks whether any of the given test cases belongs to a different project.
+     *
+     * @param ids collection of case IDs
+     * @param projectId the expected project ID
+     * @return true if at least one case belongs to another project
+     */
+    boolean existsByIdInAndProjectIdNot(Collection<Long> ids, Long projectId);
+
+    /**
+     * Finds summaries of all non-archived test cases for multiple projects (for dashboard PDF export).
      *
      * @param projectIds list of project IDs
-     * @return List of non-archived test cases from all specified projects
+     * @return List of non-archived case summaries from all specified projects
      */
-    @Query("SELECT tc FROM TestCase tc WHERE tc.projectId IN :projectIds AND tc.archived = false")
-    List<TestCase> findByProjectIdIn(@Param("projectIds") List<Long> projectIds);
+    @Query(SUMMARY_SELECT + "WHERE tc.projectId IN :projectIds AND tc.archived = false")
+    List<TestCaseSummary> findByProjectIdIn(@Param("projectIds") List<Long> projectIds);
 
     /**
-     * Finds all non-archived test cases for multiple suites.
+     * Finds summaries of all non-archived test cases for multiple suites.
      *
      * @param suiteIds list of suite IDs
-     * @return List of non-archived test cases from all specified suites
+     * @return List of non-archived case summaries from all specified suites
      */
-    @Query("SELECT tc FROM TestCase tc WHERE tc.suiteId IN :suiteIds AND tc.archived = false")
-    List<TestCase> findAllActiveBySuiteIdIn(@Param("suiteIds") List<Long> suiteIds);
+    @Query(SUMMARY_SELECT + "WHERE tc.suiteId IN :suiteIds AND tc.archived = false")
+    List<TestCaseSummary> findAllActiveBySuiteIdIn(@Param("suiteIds") List<Long> suiteIds);
 }
@@ -0,0 +1,65 @@
+package com.test.system.service.admin;
+
+import com.test.system.component.admin.AdminAccessControl;
+import com.test.system.component.dictionary.DictionaryCache;
+import com.test.system.dto.admin.DictionaryCacheStatsResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+/**
+ * Service for admin operations on the in-process dictionary cache.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AdminDictionaryService {
+
+    private static final String LOG_PREFIX = "[AdminDictionaryService]";
+    private static final double NANOS_PER_MILLI = 1_000_000d;
+
+    private final AdminAccessControl adminAccess;
+    private final DictionaryCache dictionaryCache;
+
+    /**
+     * Returns hit/miss statistics for every cached dictionary.
+     *
+     * @param requesterEmail email of the admin making the request
+     * @throws ResponseStatusException if requester is not an admin
+     */
+    @Transactional(readOnly = true)
+    public List<DictionaryCacheStatsResponse> getCacheStats(String requesterEmail) {
+        adminAccess.requireAdmin(requesterEmail);
+
+        return dictionaryCache.stats().entrySet().stream()
+                .map(e -> new DictionaryCacheStatsResponse(
+                        e.getKey().name(),
+                        e.getValue().hitCount(),
+                        e.getValue().missCount(),
+                        e.getValue().hitRate(),
+                        e.getValue().loadSuccessCount(),
+                        e.getValue().loadFailureCount(),
+                        e.getValue().averageLoadPenalty() / NANOS_PER_MILLI,
+                        e.getValue().evictionCount()
+                ))
+                .toList();
+    }
+
+    /**
+     * Drops all cached dictionaries so the next lookup reloads them from the database.
+     * Needed only after out-of-band changes (manual SQL, migrations) that should be visible before the TTL expires.
+     *
+     * @param requesterEmail email of the admin making the request
+     * @throws ResponseStatusException if requester is not an admin
+     */
+    @Transactional(readOnly = true)
+    public void evictCache(String requesterEmail) {
+        log.info("{} evictCache: requester={}", LOG_PREFIX, requesterEmail);
+        adminAccess.requireAdmin(requesterEmail);
+        dictionaryCache.invalidateAll();
+    }
+}
@@ -1,5 +1,7 @@
 package com.test.system.service.admin;
 
+import com.test.system.component.admin.AdminAccessControl;
+import com.test.system.component.dictionary.DictionaryCache;
 import com.test.system.dto.admin.UserListResponse;
 import com.test.system.enums.auth.RoleName;
 import com.test.system.enums.auth.TokenType;
@@ -8,7 +10,6 @@ import com.test.system.model.group.Group;
 import com.test.system.model.group.GroupMembership;
 import com.test.system.model.user.User;
 import com.test.system.model.user.UserRole;
-import com.test.system.repository.auth.UserRoleRepository;
 import com.test.system.repository.group.GroupMembershipRepository;
 import com.test.system.repository.group.GroupRepository;
 import com.test.system.repository.user.UserRepository;
@@ -37,7 +38,8 @@ public class AdminUserService {
     private static final String LOG_PREFIX = "[AdminUserService]";
 
     private final UserRepository userRepository;
-    private final UserRoleRepository roleRepository;
+    private final AdminAccessControl adminAccess;
+    private final DictionaryCache dictionaryCache;
     private final GroupRepository groupRepository;
     private final GroupMembershipRepository membershipRepository;
     private final EmailTokenService tokenService;
@@ -56,13 +58,7 @@ public class AdminUserService {
         log.info("{} listAllUsers: requester={}", LOG_PREFIX, requesterEmail);
 
         // Verify requester is admin
-        User requester = userRepository.findWithAllByEmail(requesterEmail)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not found"));
-
-        if (!isAdmin(requester)) {
-            log.warn("{} listAllUsers: unauthorized access attempt by {}", LOG_PREFIX, requesterEmail);
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Admin access required");
-        }
+        adminAccess.requireAdmin(requesterEmail);
 
         // Fetch all users with their relationships
         List<User> users = userRepository.findAll();
@@ -86,7 +82,7 @@ public class AdminUserService {
     public void enableUser(Long userId, String requesterEmail) {
         log.info("{} enableUser: userId={}, requester={}", LOG_PREFIX, userId, requesterEmail);
 
-        verifyAdmin(requesterEmail);
+        adminAccess.requireAdmin(requesterEmail);
 
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
@@ -115,7 +111,7 @@ public class AdminUserService {
     public void disableUser(Long userId, String requesterEmail) {
         log.info("{} disableUser: userId={}, requester={}", LOG_PREFIX, userId, requesterEmail);
 
-        User requester = verifyAdmin(requesterEmail);
+        User requester = adminAccess.requireAdmin(requesterEmail);
 
         User user = userRepository.findWithAllById(userId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
@@ -127,7 +123,7 @@ public class AdminUserService {
         }
 
         // Cannot disable admin users
-        if (isAdmin(user)) {
+        if (adminAccess.isAdmin(user)) {
             log.warn("{} disableUser: attempt to disable admin: userId={}", LOG_PREFIX, userId);
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cannot disable admin users");
         }
@@ -157,7 +153,7 @@ public class AdminUserService {
     public void deleteUser(Long userId, String requesterEmail) {
         log.warn("{} deleteUser: userId={}, requester={}", LOG_PREFIX, userId, requesterEmail);
 
-        User requester = verifyAdmin(requesterEmail);
+        User requester = adminAccess.requireAdmin(requesterEmail);
 
         User user = userRepository.findWithAllById(userId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
@@ -212,7 +208,7 @@ public class AdminUserService {
     public void updateUserRoles(Long userId, List<String> roleNames, String requesterEmail) {
         log.info("{} updateUserRoles: userId={}, roles={}, requester={}", LOG_PREFIX, userId, roleNames, requesterEmail);
 
-        User requester = verifyAdmin(requesterEmail);
+        User requester = adminAccess.requireAdmin(requesterEmail);
 
         User user = userRepository.findWithAllById(userId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
@@ -224,7 +220,7 @@ public class AdminUserService {
         }
 
         // Cannot modify admin users
-        if (isAdmin(user)) {
+        if (adminAccess.isAdmin(user)) {
             log.warn("{} updateUserRoles: attempt to modify admin: userId={}", LOG_PREFIX, userId);
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cannot modify admin user roles");
         }
@@ -234,7 +230,7 @@ public class AdminUserService {
         for (String roleName : roleNames) {
             try {
                 RoleName roleEnum = RoleName.valueOf(roleName);
-                UserRole role = roleRepository.findByName(roleEnum)
+                UserRole role = dictionaryCache.role(roleEnum)
                         .orElseThrow(() -> new IllegalStateException("Role not found: " + roleName));
                 newRoles.add(role);
             } catch (IllegalArgumentException e) {
@@ -266,36 +262,6 @@ public class AdminUserService {
 
     /* ===================== Helper Methods ===================== */
 
-    /**
-     * Verifies that requester is an admin.
-     *
-     * @param requesterEmail email of the requester
-     * @return User entity of the requester
-     * @throws ResponseStatusException if requester is not an admin
-     */
-    private User verifyAdmin(String requesterEmail) {
-        User requester = userRepository.findWithAllByEmail(requesterEmail)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not found"));
-
-        if (!isAdmin(requester)) {
-            log.warn("{} unauthorized access attempt by {}", LOG_PREFIX, requesterEmail);
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Admin access required");
-        }
-
-        return requester;
-    }
-
-    /**
-     * Checks if user has ROLE_ADMIN.
-     *
-     * @param user user to check
-     * @return true if user is admin, false otherwise
-     */
-    private boolean isAdmin(User user) {
-        return user.getRoles().stream()
-                .anyMatch(role -> role.getName() == RoleName.ROLE_ADMIN);
-    }
-
     /**
      * Converts User entity to UserListResponse DTO.
      *
@@ -1,5 +1,6 @@
 package com.test.system.service.authorization.user;
 
+import com.test.system.component.dictionary.DictionaryCache;
 import com.test.system.enums.auth.RoleName;
 import com.test.system.enums.auth.TokenType;
 import com.test.system.enums.groups.GroupRole;
@@ -8,7 +9,6 @@ import com.test.system.enums.groups.MembershipStatus;
 import com.test.system.model.group.Group;
 import com.test.system.model.group.GroupMembership;
 import com.test.system.model.user.User;
-import com.test.system.repository.auth.UserRoleRepository;
 import com.test.system.repository.group.GroupMembershipRepository;
 import com.test.system.repository.group.GroupRepository;
 import com.test.system.repository.user.UserRepository;
@@ -37,7 +37,7 @@ public class UserRegistrationService {
     private static final String LOG_PREFIX = "[UserRegistration]";
 
     private final UserRepository users;
-    private final UserRoleRepository roles;
+    private final DictionaryCache dictionaryCache;
     private final PasswordEncoder encoder;
     private final EmailTokenService tokens;
     private final MailService mail;
@@ -60,7 +60,7 @@ public class UserRegistrationService {
             throw new IllegalArgumentException("Email already in use");
         }
 
-        var roleUser = roles.findByName(RoleName.ROLE_USER)
+        var roleUser = dictionaryCache.role(RoleName.ROLE_USER)
                 .orElseThrow(() -> new IllegalStateException("ROLE_USER missing"));
 
         User user = User.builder()
@@ -143,7 +143,7 @@ public class UserRegistrationService {
     }
 
     private User createGoogleUser(String email, String fullName) {
-        var roleUser = roles.findByName(RoleName.ROLE_USER)
+        var roleUser = dictionaryCache.role(RoleName.ROLE_USER)
                 .orElseThrow(() -> new IllegalStateException("ROLE_USER missing"));
 
         String randomInternalPassword = encoder.encode(UUID.randomUUID().toString());
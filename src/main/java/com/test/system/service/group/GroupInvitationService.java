@@ -1,5 +1,6 @@
 package com.test.system.service.group;
 
+import com.test.system.component.dictionary.DictionaryCache;
 import com.test.system.component.group.GroupAccessControl;
 import com.test.system.component.group.GroupMapper;
 import com.test.system.dto.group.invitation.InviteAcceptResult;
@@ -13,7 +14,6 @@ import com.test.system.model.group.Group;
 import com.test.system.model.group.GroupMembership;
 import com.test.system.model.user.User;
 import com.test.system.model.user.UserRole;
-import com.test.system.repository.auth.UserRoleRepository;
 import com.test.system.repository.group.GroupMembershipRepository;
 import com.test.system.repository.user.UserRepository;
 import com.test.system.service.authorization.core.EmailTokenService;
@@ -56,7 +56,7 @@ public class GroupInvitationService {
     private final MailService mail;
     private final GroupMapper mapper;
     private final UserRepository users;
-    private final UserRoleRepository roles;
+    private final DictionaryCache dictionaryCache;
     private final PasswordEncoder encoder;
     private final UserRegistrationService userRegistrationService;
 
@@ -334,7 +334,7 @@ public class GroupInvitationService {
      * They will need to complete registration when accepting the invitation.
      */
     private User createPlaceholderUser(String email) {
-        var roleUser = roles.findByName(RoleName.ROLE_USER)
+        var roleUser = dictionaryCache.role(RoleName.ROLE_USER)
                 .orElseThrow(() -> new IllegalStateException("ROLE_USER missing"));
 
         // Generate random password - user will set their own during registration
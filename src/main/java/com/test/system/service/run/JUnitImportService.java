@@ -0,0 +1,258 @@
+package com.test.system.service.run;
+
+import com.test.system.component.dictionary.DictionaryCache;
+import com.test.system.component.run.junit.JUnitXmlReader;
+import com.test.system.dto.run.junit.JUnitTestCase;
+import com.test.system.dto.run.response.RunEvent;
+import com.test.system.dto.testresult.JUnitImportResponse;
+import com.test.system.exceptions.common.NotFoundException;
+import com.test.system.exceptions.results.ResultRunClosedException;
+import com.test.system.exceptions.run.InvalidRunRequestException;
+import com.test.system.model.run.Result;
+import com.test.system.model.run.Run;
+import com.test.system.repository.run.TestRunBulkRepository;
+import com.test.system.repository.run.TestRunCaseRepository;
+import com.test.system.repository.run.TestRunCaseRepository.RunCaseAutotestRef;
+import com.test.system.repository.run.TestRunRepository;
+import com.test.system.utils.AutotestKeys;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Imports JUnit XML reports into a run.
+ * The report is stream-parsed, each testcase is matched to a run case through an in-memory index of the run's
+ * autotest mappings (see {@link AutotestKeys}), and results are inserted in JDBC batches that commit one by one,
+ * so memory and transaction length are bounded by the batch size rather than the size of the report.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class JUnitImportService {
+
+    private static final String LOG_PREFIX = "[JUnitImport]";
+    private static final int MAX_UNRESOLVED_KEYS = 100;
+    /** Marks a key shared by several run cases. */
+    private static final RunCaseAutotestRef AMBIGUOUS = new AmbiguousRef();
+
+    private final TestRunRepository runRepository;
+    private final TestRunCaseRepository runCaseRepository;
+    private final TestRunBulkRepository bulkRepository;
+    private final DictionaryCache dictionaryCache;
+    private final JUnitXmlReader xmlReader;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.results.junit.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.results.junit.passed-status:passed}")
+    private String passedStatus;
+
+    @Value("${app.results.junit.failed-status:failed}")
+    private String failedStatus;
+
+    @Value("${app.results.junit.error-status:failed}")
+    private String errorStatus;
+
+    @Value("${app.results.junit.skipped-status:skipped}")
+    private String skippedStatus;
+
+    /**
+     * Imports a JUnit XML report into an open run.
+     * Each batch commits in its own transaction with its own timestamp, so a large report neither holds one long
+     * transaction nor stamps every result with the time the import started. Batches written before a failure
+     * (malformed XML further down, the run being closed) stay committed.
+     * A testcase is matched by "classname#name" first, then by name alone (scenario);
+     * unmatched and ambiguous testcases are counted and skipped.
+     *
+     * @param runId  the run ID
+     * @param report the report body (not closed)
+     * @return import counts
+     * @throws NotFoundException          if run not found
+     * @throws ResultRunClosedException   if run is closed, or gets closed during the import
+     * @throws InvalidRunRequestException if the report is not well-formed XML
+     */
+    public JUnitImportResponse importJUnit(Long runId, InputStream report) {
+        log.info("{} importing JUnit report: runId={}", LOG_PREFIX, runId);
+
+        getOpenRunOrThrow(runId, false);
+
+        Map<JUnitTestCase.Outcome, Long> statusByOutcome = resolveStatuses();
+        Map<String, RunCaseAutotestRef> index = buildIndex(runId);
+        ImportBatch batch = new ImportBatch(runId);
+
+        int total;
+        try {
+            total = xmlReader.read(report, testCase -> {
+                RunCaseAutotestRef ref = match(index, testCase);
+                if (ref == null) {
+                    batch.unresolved(keyOf(testCase), false);
+                } else if (ref == AMBIGUOUS) {
+                    batch.unresolved(keyOf(testCase), true);
+                } else {
+                    batch.add(ref, testCase, statusByOutcome.get(testCase.outcome()));
+                }
+            });
+        } catch (XMLStreamException e) {
+            throw new InvalidRunRequestException("Malformed JUnit XML: " + e.getMessage());
+        }
+        batch.flush();
+
+        log.info("{} JUnit report imported: runId={}, total={}, created={}, unmatched={}, ambiguous={}",
+                LOG_PREFIX, runId, total, batch.created, batch.unmatched, batch.ambiguous);
+        return new JUnitImportResponse(total, batch.created, batch.unmatched, batch.ambiguous, batch.unresolvedKeys);
+    }
+
+    /**
+     * Gets an active, open run by ID. Inside a batch transaction, pass {@code shareLock} so the run
+     * cannot be closed before the batch commits.
+     */
+    private Run getOpenRunOrThrow(Long runId, boolean shareLock) {
+        Run run = (shareLock ? runRepository.findActiveByIdForShare(runId) : runRepository.findActiveById(runId))
+                .orElseThrow(() -> new NotFoundException("Run not found or not active: " + runId));
+        if (run.isClosed()) {
+            throw new ResultRunClosedException(runId);
+        }
+        return run;
+    }
+
+    /**
+     * Maps JUnit outcomes to configured status names.
+     *
+     * @throws InvalidRunRequestException if a configured status does not exist
+     */
+    private Map<JUnitTestCase.Outcome, Long> resolveStatuses() {
+        Map<JUnitTestCase.Outcome, Long> result = new EnumMap<>(JUnitTestCase.Outcome.class);
+        result.put(JUnitTestCase.Outcome.PASSED, statusIdByName(passedStatus));
+        result.put(JUnitTestCase.Outcome.FAILED, statusIdByName(failedStatus));
+        result.put(JUnitTestCase.Outcome.ERROR, statusIdByName(errorStatus));
+        result.put(JUnitTestCase.Outcome.SKIPPED, statusIdByName(skippedStatus));
+        return result;
+    }
+
+    private Long statusIdByName(String name) {
+        List<Long> ids = dictionaryCache.statusIdsByName(List.of(name));
+        if (ids.isEmpty()) {
+            throw new InvalidRunRequestException("Status not found: " + name);
+        }
+        return ids.get(0);
+    }
+
+    /**
+     * Builds the key index of a run: every autotest key of every mapped run case, with shared keys marked ambiguous.
+     */
+    private Map<String, RunCaseAutotestRef> buildIndex(Long runId) {
+        Map<String, RunCaseAutotestRef> index = new HashMap<>();
+        for (RunCaseAutotestRef ref : runCaseRepository.findAutotestRefsByRunId(runId)) {
+            for (String key : AutotestKeys.keysOf(ref.getTestClass(), ref.getTestMethod(), ref.getScenario())) {
+                index.merge(key, ref, (a, b) -> a != AMBIGUOUS && a.getRunCaseId().equals(b.getRunCaseId()) ? a : AMBIGUOUS);
+            }
+        }
+        log.debug("{} autotest index built: runId={}, keys={}", LOG_PREFIX, runId, index.size());
+        return index;
+    }
+
+    private static RunCaseAutotestRef match(Map<String, RunCaseAutotestRef> index, JUnitTestCase testCase) {
+        String methodKey = AutotestKeys.methodKey(testCase.classname(), testCase.name());
+        RunCaseAutotestRef ref = methodKey == null ? null : index.get(methodKey);
+        if (ref == null && testCase.name() != null) {
+            ref = index.get(testCase.name());
+        }
+        return ref;
+    }
+
+    private static String keyOf(JUnitTestCase testCase) {
+        return AutotestKeys.methodKey(testCase.classname(), testCase.name());
+    }
+
+    /**
+     * Accumulates results and writes them every batchSize items, one transaction per batch.
+     */
+    private final class ImportBatch {
+
+        private final Long runId;
+        private final List<Result> results = new ArrayList<>();
+        private final Map<Long, Long> latestStatusByRunCaseId = new LinkedHashMap<>();
+        private final List<String> unresolvedKeys = new ArrayList<>();
+        private int created;
+        private int unmatched;
+        private int ambiguous;
+
+        private ImportBatch(Long runId) {
+            this.runId = runId;
+        }
+
+        void add(RunCaseAutotestRef ref, JUnitTestCase testCase, Long statusId) {
+            results.add(Result.builder()
+                    .runCaseId(ref.getRunCaseId())
+                    .statusId(statusId)
+                    .comment(testCase.message())
+                    .elapsedSeconds(testCase.elapsedSeconds() == null ? null : (int) Math.round(testCase.elapsedSeconds()))
+                    .build());
+            // Later testcases for the same run case win (reruns are reported after the original attempt)
+            latestStatusByRunCaseId.put(ref.getRunCaseId(), statusId);
+            if (results.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void unresolved(String key, boolean isAmbiguous) {
+            if (isAmbiguous) {
+                ambiguous++;
+            } else {
+                unmatched++;
+            }
+            if (key != null && unresolvedKeys.size() < MAX_UNRESOLVED_KEYS) {
+                unresolvedKeys.add(key);
+            }
+        }
+
+        void flush() {
+            if (results.isEmpty()) {
+                return;
+            }
+            transactionTemplate.executeWithoutResult(status -> write());
+            created += results.size();
+            log.debug("{} batch written: runId={}, results={}", LOG_PREFIX, runId, results.size());
+            results.clear();
+            latestStatusByRunCaseId.clear();
+        }
+
+        private void write() {
+            // The run row is only share-locked, never written: like the other result writes, imports leave
+            // runs.updated_at alone, so parallel imports into one run neither queue nor deadlock on it
+            getOpenRunOrThrow(runId, true);
+            Instant now = Instant.now();
+            results.forEach(r -> r.setCreatedAt(now));
+            bulkRepository.insertResults(results);
+            bulkRepository.updateCurrentStatuses(latestStatusByRunCaseId, now);
+            // One resync per batch instead of a delta per testcase: subscribers reload the run
+            eventPublisher.publishEvent(new RunChangedEvent(runId, List.of(RunEvent.resync(runId, now))));
+        }
+    }
+
+    /**
+     * Sentinel index entry for keys shared by several run cases.
+     */
+    private static final class AmbiguousRef implements RunCaseAutotestRef {
+        @Override public Long getRunCaseId() { return null; }
+        @Override public Long getCaseId() { return null; }
+        @Override public String getTestClass() { return null; }
+        @Override public String getTestMethod() { return null; }
+        @Override public String getScenario() { return null; }
+    }
+}
@@ -0,0 +1,181 @@
+package com.test.system.service.run;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.test.system.repository.run.ResultPartitionRepository;
+import com.test.system.repository.run.ResultPartitionRepository.MonthlyPartition;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.zip.GZIPOutputStream;
+
+import static com.test.system.utils.StringNormalizer.isBlank;
+
+/**
+ * Maintenance of the monthly results partitions.
+ * Creates partitions ahead of time so new results never land in the default partition, and applies retention:
+ * partitions older than the retention window are either detached (kept as standalone tables) or archived
+ * to gzip-compressed JSON Lines files and dropped.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ResultPartitionService {
+
+    private static final String LOG_PREFIX = "[ResultPartition]";
+    private static final String MODE_ARCHIVE = "archive";
+    /** Results are never older than the run or run case they belong to by more than this (app vs. database clocks). */
+    private static final Duration RESULT_CLOCK_SKEW_MARGIN = Duration.ofDays(1);
+
+    private final ResultPartitionRepository partitionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.results.partitions.months-ahead:2}")
+    private int monthsAhead;
+
+    /** Months of results to keep attached; 0 disables retention. */
+    @Value("${app.results.retention.months:0}")
+    private int retentionMonths;
+
+    /** "detach" keeps old partitions as standalone tables, "archive" dumps them to files and drops them. */
+    @Value("${app.results.retention.mode:detach}")
+    private String retentionMode;
+
+    @Value("${app.results.retention.archive-dir:}")
+    private String archiveDir;
+
+    /**
+     * Lower bound on results.created_at for the results of a run or run case: bounding a query by it lets
+     * PostgreSQL prune the monthly partitions older than their owner.
+     *
+     * @param ownerCreatedAt creation time of the run or run case
+     * @return the inclusive lower bound on created_at
+     */
+    public static Instant earliestResultTime(Instant ownerCreatedAt) {
+        return ownerCreatedAt.minus(RESULT_CLOCK_SKEW_MARGIN);
+    }
+
+    /**
+     * Creates upcoming partitions and applies retention.
+     */
+    @Scheduled(cron = "${app.results.partitions.cron:0 15 2 * * *}")
+    public void maintainPartitions() {
+        LocalDate currentMonth = LocalDate.now(ZoneOffset.UTC).withDayOfMonth(1);
+
+        ensureUpcomingPartitions(currentMonth);
+        if (retentionMonths > 0) {
+            applyRetention(currentMonth.minusMonths(retentionMonths));
+        }
+    }
+
+    /**
+     * Creates upcoming partitions on startup so a long-stopped instance does not write into the default partition.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensurePartitionsOnStartup() {
+        try {
+            ensureUpcomingPartitions(LocalDate.now(ZoneOffset.UTC).withDayOfMonth(1));
+        } catch (DataAccessException e) {
+            log.warn("{} could not create upcoming partitions: {}", LOG_PREFIX, e.getMessage());
+        }
+    }
+
+    /**
+     * Ensures partitions exist for the current month and the configured number of months ahead.
+     */
+    public void ensureUpcomingPartitions(LocalDate currentMonth) {
+        for (int i = 0; i <= monthsAhead; i++) {
+            String name = partitionRepository.ensurePartition(currentMonth.plusMonths(i));
+            log.debug("{} partition ensured: {}", LOG_PREFIX, name);
+        }
+    }
+
+    /**
+     * Detaches or archives every monthly partition whose month starts before the cutoff.
+     * Each partition is processed in its own transaction; a failure stops the run and leaves the partition attached.
+     */
+    public void applyRetention(LocalDate cutoffMonth) {
+        boolean archive = MODE_ARCHIVE.equalsIgnoreCase(retentionMode);
+        if (archive && isBlank(archiveDir)) {
+            log.warn("{} archive mode requires app.results.retention.archive-dir; retention skipped", LOG_PREFIX);
+            return;
+        }
+
+        for (MonthlyPartition partition : partitionRepository.findMonthlyPartitions()) {
+            if (!partition.month().isBefore(cutoffMonth)) {
+                break;
+            }
+
+            if (archive) {
+                Path file = transactionTemplate.execute(status -> archivePartition(partition.name()));
+                log.info("{} partition archived: partition={}, file={}", LOG_PREFIX, partition.name(), file);
+            } else {
+                transactionTemplate.executeWithoutResult(status -> partitionRepository.detachPartition(partition.name()));
+                log.info("{} partition detached: partition={}", LOG_PREFIX, partition.name());
+            }
+        }
+    }
+
+    /**
+     * Writes partition rows to a .jsonl.gz file, then detaches and drops the partition.
+     * The file is written under a temporary name and moved into place before the partition is dropped.
+     */
+    private Path archivePartition(String partition) {
+        Path dir = Path.of(archiveDir);
+        Path target = dir.resolve(partition + ".jsonl.gz");
+        Path tmp = dir.resolve(partition + ".jsonl.gz.tmp");
+
+        try {
+            Files.createDirectories(dir);
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(tmp));
+                 JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+                partitionRepository.exportPartition(partition, rs -> writeRow(json, rs));
+            }
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to archive partition " + partition, e);
+        }
+
+        partitionRepository.detachPartition(partition);
+        partitionRepository.dropPartition(partition);
+        return target;
+    }
+
+    private static void writeRow(JsonGenerator json, ResultSet rs) throws SQLException {
+        try {
+            json.writeStartObject();
+            json.writeNumberField("id", rs.getLong("id"));
+            json.writeNumberField("runCaseId", rs.getLong("run_case_id"));
+            json.writeNumberField("statusId", rs.getLong("status_id"));
+            json.writeStringField("comment", rs.getString("comment"));
+            json.writeStringField("defectsJson", rs.getString("defects_json"));
+            json.writeObjectField("elapsedSeconds", rs.getObject("elapsed_seconds", Integer.class));
+            json.writeObjectField("createdBy", rs.getObject("created_by", Long.class));
+            json.writeStringField("createdAt", rs.getTimestamp("created_at").toInstant().toString());
+            json.writeEndObject();
+            json.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
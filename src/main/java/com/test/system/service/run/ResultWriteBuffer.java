@@ -0,0 +1,326 @@
+package com.test.system.service.run;
+
+import com.test.system.dto.run.response.RunEvent;
+import com.test.system.dto.testresult.QueuedResultResponse.State;
+import com.test.system.exceptions.common.NotFoundException;
+import com.test.system.exceptions.results.IdempotencyKeyConflictException;
+import com.test.system.exceptions.results.ResultBufferUnavailableException;
+import com.test.system.exceptions.results.ResultRunClosedException;
+import com.test.system.model.run.Result;
+import com.test.system.repository.run.ResultIdempotencyRepository;
+import com.test.system.repository.run.ResultIdempotencyRepository.KeyRequest;
+import com.test.system.repository.run.ResultIdempotencyRepository.StoredKey;
+import com.test.system.repository.run.TestRunBulkRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Write-behind buffer for single results posted at high frequency.
+ * Validated results wait in a bounded queue; one flusher thread drains it every few milliseconds (or as soon as
+ * a full batch is waiting) and writes the batch in one transaction: a multi-row results insert, one run_cases
+ * UPDATE and one event per run. Producers are pushed back when the queue stays full.
+ */
+@Service
+@Slf4j
+public class ResultWriteBuffer {
+
+    private static final String LOG_PREFIX = "[ResultBuffer]";
+    private static final long IDLE_POLL_MS = 100;
+
+    private final TestRunBulkRepository bulkRepository;
+    private final ResultIdempotencyRepository idempotencyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BlockingQueue<PendingResult> queue;
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    @Value("${app.results.buffer.max-batch:500}")
+    private int maxBatch;
+
+    @Value("${app.results.buffer.flush-interval-ms:5}")
+    private long flushIntervalMs;
+
+    /** How long a producer waits for room in a full queue before it is rejected. */
+    @Value("${app.results.buffer.offer-timeout-ms:50}")
+    private long offerTimeoutMs;
+
+    public ResultWriteBuffer(TestRunBulkRepository bulkRepository,
+                             ResultIdempotencyRepository idempotencyRepository,
+                             TransactionTemplate transactionTemplate,
+                             ApplicationEventPublisher eventPublisher,
+                             @Value("${app.results.buffer.capacity:10000}") int capacity) {
+        this.bulkRepository = bulkRepository;
+        this.idempotencyRepository = idempotencyRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.flusher = Thread.ofPlatform().name("result-write-buffer").daemon().unstarted(this::flushLoop);
+    }
+
+    /**
+     * A validated result waiting to be written; done completes with WRITTEN or REPLAYED after commit, or
+     * exceptionally if the run was closed meanwhile or the idempotency key belongs to a different result.
+     */
+    public record PendingResult(
+            Long runId,
+            Long caseId,
+            Long runCaseId,
+            Long statusId,
+            String comment,
+            String defectsJson,
+            Integer elapsedSeconds,
+            String idempotencyKey,
+            Instant createdAt,
+            CompletableFuture<State> done
+    ) {}
+
+    @PostConstruct
+    void start() {
+        flusher.start();
+    }
+
+    /**
+     * Queues a result.
+     *
+     * @throws ResultBufferUnavailableException if the queue stays full for the offer timeout, or is shut down
+     */
+    public void submit(PendingResult result) {
+        boolean queued;
+        try {
+            queued = running && queue.offer(result, offerTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            queued = false;
+        }
+        if (!queued) {
+            throw new ResultBufferUnavailableException("Result buffer is full, retry later");
+        }
+    }
+
+    /**
+     * Stops accepting results and writes whatever is still queued.
+     */
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        running = false;
+        flusher.interrupt();
+        flusher.join(5000);
+
+        List<PendingResult> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        for (int from = 0; from < rest.size(); from += maxBatch) {
+            flush(rest.subList(from, Math.min(from + maxBatch, rest.size())));
+        }
+        log.info("{} stopped: flushedOnShutdown={}", LOG_PREFIX, rest.size());
+    }
+
+    private void flushLoop() {
+        List<PendingResult> batch = new ArrayList<>(maxBatch);
+        while (running) {
+            boolean interrupted = false;
+            try {
+                PendingResult first = queue.poll(IDLE_POLL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                // Collect for one flush interval after the first arrival, or until the batch is full
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < maxBatch) {
+                    queue.drainTo(batch, maxBatch - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= maxBatch || remaining <= 0) {
+                        break;
+                    }
+                    PendingResult next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next != null) {
+                        batch.add(next);
+                    }
+                }
+            } catch (InterruptedException e) {
+                // Shutdown: the collected batch is still written below, the rest of the queue by shutdown()
+                interrupted = true;
+            }
+
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+            if (interrupted) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Writes a batch; if the batch fails, retries its items one by one so a single bad row
+     * (e.g. its run case was removed meanwhile) does not drop the others.
+     */
+    private void flush(List<PendingResult> batch) {
+        try {
+            Map<PendingResult, RuntimeException> rejected = new HashMap<>();
+            Map<PendingResult, State> states = transactionTemplate.execute(status -> write(batch, rejected));
+            batch.forEach(r -> {
+                RuntimeException error = rejected.get(r);
+                if (error != null) {
+                    r.done().completeExceptionally(error);
+                } else {
+                    r.done().complete(states.get(r));
+                }
+            });
+            log.debug("{} batch flushed: size={}, rejected={}", LOG_PREFIX, batch.size(), rejected.size());
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                PendingResult r = batch.get(0);
+                log.error("{} result dropped: runId={}, runCaseId={}: {}",
+                        LOG_PREFIX, r.runId(), r.runCaseId(), e.getMessage());
+                r.done().completeExceptionally(e);
+                return;
+            }
+            log.warn("{} batch failed, retrying items individually: size={}: {}", LOG_PREFIX, batch.size(), e.getMessage());
+            batch.forEach(r -> flush(List.of(r)));
+        }
+    }
+
+    /**
+     * Writes the results of a batch whose run is still open; results that must not be written are put
+     * into rejected with the error their caller gets.
+     */
+    private Map<PendingResult, State> write(List<PendingResult> batch, Map<PendingResult, RuntimeException> rejected) {
+        rejectClosedRuns(batch, rejected);
+        List<PendingResult> writable = batch.stream().filter(r -> !rejected.containsKey(r)).toList();
+        Set<PendingResult> replayed = findReplayed(writable, rejected);
+        Instant now = Instant.now();
+
+        List<Result> results = new ArrayList<>(batch.size());
+        Map<Long, Long> latestStatusByRunCaseId = new LinkedHashMap<>();
+        Map<Long, PendingResult> latestByRunCaseId = new LinkedHashMap<>();
+        Map<Long, List<RunEvent>> eventsByRunId = new LinkedHashMap<>();
+        Map<PendingResult, State> states = new HashMap<>();
+
+        for (PendingResult r : writable) {
+            if (rejected.containsKey(r)) {
+                continue;
+            }
+            if (replayed.contains(r)) {
+                states.put(r, State.REPLAYED);
+                continue;
+            }
+            results.add(Result.builder()
+                    .runCaseId(r.runCaseId())
+                    .statusId(r.statusId())
+                    .comment(r.comment())
+                    .defectsJson(r.defectsJson())
+                    .elapsedSeconds(r.elapsedSeconds())
+                    .createdAt(r.createdAt())
+                    .build());
+            // Queue order is submission order, so later results for the same run case win
+            latestStatusByRunCaseId.put(r.runCaseId(), r.statusId());
+            latestByRunCaseId.put(r.runCaseId(), r);
+            eventsByRunId.computeIfAbsent(r.runId(), id -> new ArrayList<>())
+                    .add(RunEvent.resultAdded(r.runId(), r.runCaseId(), r.caseId(), r.statusId(), now));
+            states.put(r, State.WRITTEN);
+        }
+
+        bulkRepository.insertResults(results);
+        Set<Long> statusChanged = bulkRepository.updateCurrentStatuses(latestStatusByRunCaseId, now);
+        for (Long runCaseId : statusChanged) {
+            PendingResult r = latestByRunCaseId.get(runCaseId);
+            eventsByRunId.get(r.runId())
+                    .add(RunEvent.statusChanged(r.runId(), r.runCaseId(), r.caseId(), r.statusId(), now));
+        }
+        eventsByRunId.forEach((runId, events) -> eventPublisher.publishEvent(new RunChangedEvent(runId, events)));
+        return states;
+    }
+
+    /**
+     * Share-locks the runs of a batch, re-checking under the lock that each is still open: results of runs
+     * closed or archived since they were queued are rejected.
+     */
+    private void rejectClosedRuns(List<PendingResult> batch, Map<PendingResult, RuntimeException> rejected) {
+        Map<Long, Boolean> closedByRunId = bulkRepository.lockActiveRuns(
+                batch.stream().map(PendingResult::runId).collect(Collectors.toSet()));
+        for (PendingResult r : batch) {
+            Boolean closed = closedByRunId.get(r.runId());
+            if (closed == null) {
+                rejected.put(r, new NotFoundException("Run not found or not active: " + r.runId()));
+            } else if (closed) {
+                rejected.put(r, new ResultRunClosedException(r.runId()));
+            }
+        }
+    }
+
+    /**
+     * Reserves the idempotency keys of a batch per run; returns the results whose key was already used for the
+     * same run case and status, either before or earlier in this batch. Results reusing a key for a different
+     * result are put into rejected.
+     */
+    private Set<PendingResult> findReplayed(List<PendingResult> batch, Map<PendingResult, RuntimeException> rejected) {
+        record RunKeys(Map<String, PendingResult> firstByKey, Set<String> reserved, Map<String, StoredKey> previous) {}
+
+        Map<Long, Map<String, PendingResult>> firstByKeyByRunId = new HashMap<>();
+        for (PendingResult r : batch) {
+            if (r.idempotencyKey() != null) {
+                firstByKeyByRunId.computeIfAbsent(r.runId(), id -> new LinkedHashMap<>())
+                        .putIfAbsent(r.idempotencyKey(), r);
+            }
+        }
+
+        Instant now = Instant.now();
+        Map<Long, RunKeys> keysByRunId = new HashMap<>();
+        firstByKeyByRunId.forEach((runId, firstByKey) -> {
+            List<KeyRequest> requests = firstByKey.values().stream()
+                    .map(r -> new KeyRequest(r.idempotencyKey(), r.runCaseId(), r.caseId(), r.statusId()))
+                    .toList();
+            Set<String> reserved = idempotencyRepository.reserve(runId, requests, now);
+            Map<String, StoredKey> previous = idempotencyRepository.findByKeys(runId,
+                    firstByKey.keySet().stream().filter(k -> !reserved.contains(k)).toList());
+            keysByRunId.put(runId, new RunKeys(firstByKey, reserved, previous));
+        });
+
+        Set<PendingResult> replayed = new HashSet<>();
+        for (PendingResult r : batch) {
+            String key = r.idempotencyKey();
+            if (key == null) {
+                continue;
+            }
+            RunKeys keys = keysByRunId.get(r.runId());
+            PendingResult first = keys.firstByKey().get(key);
+            boolean reservedNow = keys.reserved().contains(key);
+            if (reservedNow && first == r) {
+                continue;
+            }
+            // The key belongs to its first occurrence in this batch if reserved now, otherwise to the stored result
+            boolean matches = reservedNow
+                    ? first.runCaseId().equals(r.runCaseId()) && first.statusId().equals(r.statusId())
+                    : keys.previous().containsKey(key) && keys.previous().get(key).matches(r.runCaseId(), r.statusId());
+            if (matches) {
+                replayed.add(r);
+            } else {
+                rejected.put(r, new IdempotencyKeyConflictException(key));
+            }
+        }
+        return replayed;
+    }
+}
@@ -0,0 +1,244 @@
+package com.test.system.service.run;
+
+import com.test.system.component.dictionary.DictionaryCache;
+import com.test.system.dto.run.request.AssignRunCasesRequest;
+import com.test.system.dto.run.request.DistributeRunCasesRequest;
+import com.test.system.dto.run.request.RunCaseAssignment;
+import com.test.system.dto.run.response.RunAssigneeShare;
+import com.test.system.dto.run.response.RunAssigneeWorkload;
+import com.test.system.dto.run.response.RunCaseDistributionResponse;
+import com.test.system.enums.groups.MembershipStatus;
+import com.test.system.exceptions.common.NotFoundException;
+import com.test.system.exceptions.run.InvalidRunRequestException;
+import com.test.system.exceptions.run.RunClosedException;
+import com.test.system.model.project.Project;
+import com.test.system.model.run.Run;
+import com.test.system.repository.group.GroupMembershipRepository;
+import com.test.system.repository.project.ProjectRepository;
+import com.test.system.repository.run.RunAssignmentRepository;
+import com.test.system.repository.run.RunAssignmentRepository.UntestedCase;
+import com.test.system.repository.run.RunAssignmentRepository.Workload;
+import com.test.system.repository.run.TestRunRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk assignment of run cases.
+ * Cases are assigned explicitly or distributed across a set of users so that their expected untested work
+ * (see {@code CaseDurationService}) is as even as possible; either way the run_cases rows are written in one
+ * statement.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RunAssignmentService {
+
+    private static final String LOG_PREFIX = "[RunAssignment]";
+    private static final int MAX_DISTRIBUTED_CASES = 10000;
+
+    private final TestRunRepository runRepository;
+    private final ProjectRepository projectRepository;
+    private final GroupMembershipRepository membershipRepository;
+    private final RunAssignmentRepository assignmentRepository;
+    private final DictionaryCache dictionaryCache;
+
+    /** Expected duration of cases with neither history nor estimate. */
+    @Value("${app.durations.default-seconds:60}")
+    private int defaultSeconds;
+
+    /**
+     * Sets the assignees of the given cases of a run.
+     *
+     * @param runId   the run ID
+     * @param request case / assignee pairs
+     * @return number of run cases whose assignee changed
+     * @throws NotFoundException          if run not found
+     * @throws RunClosedException         if run is closed
+     * @throws InvalidRunRequestException if an assignee is not an active member of the project's group
+     */
+    @Transactional
+    public int assign(Long runId, AssignRunCasesRequest request) {
+        log.info("{} assigning run cases: runId={}, count={}", LOG_PREFIX, runId, request.assignments().size());
+
+        Run run = getOpenRunOrThrow(runId);
+
+        Map<Long, Long> assigneeByCaseId = new LinkedHashMap<>();
+        for (RunCaseAssignment assignment : request.assignments()) {
+            assigneeByCaseId.put(assignment.caseId(), assignment.assigneeId());
+        }
+        ensureProjectMembers(run, assigneeByCaseId.values().stream().filter(Objects::nonNull).collect(Collectors.toSet()));
+
+        int affected = assignmentRepository.assign(runId, assigneeByCaseId, Instant.now());
+        log.info("{} run cases assigned: runId={}, requested={}, changed={}",
+                LOG_PREFIX, runId, assigneeByCaseId.size(), affected);
+        return affected;
+    }
+
+    /**
+     * Distributes untested cases of a run across users, balancing expected duration.
+     * Cases are taken longest first and each goes to the user with the smallest expected load so far
+     * (earliest in the request on ties), starting from the untested work users already hold unless
+     * cases are reassigned.
+     *
+     * @param runId   the run ID
+     * @param request the users, case limit and reassign flag
+     * @return the resulting share of each user
+     * @throws NotFoundException          if run not found
+     * @throws RunClosedException         if run is closed
+     * @throws InvalidRunRequestException if a user is not an active member of the project's group
+     */
+    @Transactional
+    public RunCaseDistributionResponse distribute(Long runId, DistributeRunCasesRequest request) {
+        log.info("{} distributing run cases: runId={}, assignees={}, limit={}, reassign={}",
+                LOG_PREFIX, runId, request.assigneeIds(), request.limit(), request.reassignIncluded());
+
+        Run run = getOpenRunOrThrow(runId);
+        Set<Long> assigneeIds = new LinkedHashSet<>(request.assigneeIds());
+        ensureProjectMembers(run, assigneeIds);
+
+        int limit = request.limit() == null ? MAX_DISTRIBUTED_CASES : request.limit();
+        List<UntestedCase> cases = new ArrayList<>(assignmentRepository.findUntestedCases(
+                runId, dictionaryCache.untestedStatusIdsForSql(), !request.reassignIncluded(), limit, defaultSeconds));
+        cases.sort(Comparator.comparingInt(UntestedCase::expectedSeconds).reversed()
+                .thenComparingLong(UntestedCase::caseId));
+
+        Map<Long, Long> initialLoad = request.reassignIncluded()
+                ? Map.of()
+                : assignmentRepository.findWorkload(runId, dictionaryCache.untestedStatusIdsForSql(), assigneeIds, defaultSeconds).stream()
+                        .collect(Collectors.toMap(Workload::assigneeId, Workload::remainingSeconds));
+
+        List<ShareBuilder> shares = new ArrayList<>(assigneeIds.size());
+        PriorityQueue<ShareBuilder> byLoad = new PriorityQueue<>(assigneeIds.size(),
+                Comparator.comparingLong(ShareBuilder::load).thenComparingInt(ShareBuilder::order));
+        for (Long assigneeId : assigneeIds) {
+            ShareBuilder share = new ShareBuilder(assigneeId, shares.size(), initialLoad.getOrDefault(assigneeId, 0L));
+            shares.add(share);
+            byLoad.add(share);
+        }
+
+        Map<Long, Long> assigneeByCaseId = new LinkedHashMap<>();
+        long total = 0;
+        for (UntestedCase item : cases) {
+            ShareBuilder share = byLoad.poll();
+            share.add(item.expectedSeconds());
+            byLoad.add(share);
+            assigneeByCaseId.put(item.caseId(), share.assigneeId());
+            total += item.expectedSeconds();
+        }
+
+        assignmentRepository.assign(runId, assigneeByCaseId, Instant.now());
+
+        log.info("{} run cases distributed: runId={}, assignees={}, cases={}, total={}s",
+                LOG_PREFIX, runId, assigneeIds.size(), cases.size(), total);
+        return new RunCaseDistributionResponse(runId, cases.size(), total,
+                shares.stream().map(ShareBuilder::build).toList());
+    }
+
+    /**
+     * Lists the cases and untested work of each assignee of a run; unassigned cases are reported with a null assignee.
+     *
+     * @param runId       the run ID
+     * @param assigneeIds restrict to these assignees, or null/empty for all
+     * @return workload per assignee
+     * @throws NotFoundException if run not found
+     */
+    @Transactional(readOnly = true)
+    public List<RunAssigneeWorkload> getWorkload(Long runId, List<Long> assigneeIds) {
+        runRepository.findActiveById(runId)
+                .orElseThrow(() -> new NotFoundException("Run not found or not active: " + runId));
+
+        return assignmentRepository.findWorkload(runId, dictionaryCache.untestedStatusIdsForSql(), assigneeIds, defaultSeconds).stream()
+                .map(w -> new RunAssigneeWorkload(w.assigneeId(), w.totalCases(), w.remainingCases(), w.remainingSeconds()))
+                .toList();
+    }
+
+    /**
+     * Gets an active, open run and locks it FOR SHARE like the other run case writes,
+     * so the run cannot be closed (and snapshotted) before the assignment commits.
+     */
+    private Run getOpenRunOrThrow(Long runId) {
+        Run run = runRepository.findActiveByIdForShare(runId)
+                .orElseThrow(() -> new NotFoundException("Run not found or not active: " + runId));
+        if (Boolean.TRUE.equals(run.isClosed())) {
+            throw new RunClosedException("Run is closed: " + runId);
+        }
+        return run;
+    }
+
+    /**
+     * Ensures every user is an active member of the group owning the run's project.
+     */
+    private void ensureProjectMembers(Run run, Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        Project project = projectRepository.findActiveById(run.getProjectId())
+                .orElseThrow(() -> new NotFoundException("Project not found or not active: " + run.getProjectId()));
+
+        Set<Long> memberIds = membershipRepository
+                .findGroupMembershipsByStatus(project.getGroup().getId(), MembershipStatus.ACTIVE).stream()
+                .map(m -> m.getUser().getId())
+                .collect(Collectors.toSet());
+        for (Long userId : userIds) {
+            if (!memberIds.contains(userId)) {
+                throw new InvalidRunRequestException("User is not an active member of the project group: " + userId);
+            }
+        }
+    }
+
+    /**
+     * Mutable share of one assignee under construction.
+     */
+    private static final class ShareBuilder {
+
+        private final Long assigneeId;
+        private final int order;
+        private long load;
+        private int assignedCases;
+        private long assignedSeconds;
+
+        private ShareBuilder(Long assigneeId, int order, long initialLoad) {
+            this.assigneeId = assigneeId;
+            this.order = order;
+            this.load = initialLoad;
+        }
+
+        Long assigneeId() {
+            return assigneeId;
+        }
+
+        int order() {
+            return order;
+        }
+
+        long load() {
+            return load;
+        }
+
+        void add(int expectedSeconds) {
+            assignedCases++;
+            assignedSeconds += expectedSeconds;
+            load += expectedSeconds;
+        }
+
+        RunAssigneeShare build() {
+            return new RunAssigneeShare(assigneeId, assignedCases, assignedSeconds, load);
+        }
+    }
+}
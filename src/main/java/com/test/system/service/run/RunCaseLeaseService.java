@@ -0,0 +1,133 @@
+package com.test.system.service.run;
+
+import com.test.system.component.dictionary.DictionaryCache;
+import com.test.system.dto.run.response.ClaimedRunCase;
+import com.test.system.dto.run.response.RunCaseClaimResponse;
+import com.test.system.exceptions.common.NotFoundException;
+import com.test.system.exceptions.run.InvalidRunRequestException;
+import com.test.system.exceptions.run.RunClosedException;
+import com.test.system.model.run.Run;
+import com.test.system.repository.run.RunCaseLeaseRepository;
+import com.test.system.repository.run.TestRunRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Work queue over the untested cases of a run.
+ * CI agents claim batches of cases; each claimed case is leased to the agent until a result is posted for it
+ * or the lease expires, so concurrent agents never receive the same case and cases of crashed agents return
+ * to the queue.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RunCaseLeaseService {
+
+    private static final String LOG_PREFIX = "[RunCaseLease]";
+    private static final int MAX_CLAIM_LIMIT = 500;
+    private static final int MAX_AGENT_LENGTH = 255;
+
+    private final TestRunRepository runRepository;
+    private final RunCaseLeaseRepository leaseRepository;
+    private final DictionaryCache dictionaryCache;
+
+    @Value("${app.runs.leases.default-seconds:900}")
+    private long defaultLeaseSeconds;
+
+    @Value("${app.runs.leases.max-seconds:86400}")
+    private long maxLeaseSeconds;
+
+    /**
+     * Leases up to limit untested, unleased cases of an open run to an agent, in run order.
+     * Concurrent claims skip each other's rows instead of waiting, so they return disjoint batches.
+     *
+     * @param runId        the run ID
+     * @param agent        the agent identifier (lease owner)
+     * @param limit        maximum number of cases, 1..500
+     * @param leaseSeconds lease duration, or null for the configured default
+     * @return the claimed cases; empty when nothing is left to claim
+     * @throws NotFoundException          if run not found
+     * @throws RunClosedException         if run is closed
+     * @throws InvalidRunRequestException if agent, limit or leaseSeconds is invalid
+     */
+    @Transactional
+    public RunCaseClaimResponse claim(Long runId, String agent, int limit, Long leaseSeconds) {
+        String owner = normalizeAgent(agent);
+        if (limit < 1 || limit > MAX_CLAIM_LIMIT) {
+            throw new InvalidRunRequestException("limit must be between 1 and " + MAX_CLAIM_LIMIT);
+        }
+        long seconds = leaseSeconds == null ? defaultLeaseSeconds : leaseSeconds;
+        if (seconds < 1 || seconds > maxLeaseSeconds) {
+            throw new InvalidRunRequestException("leaseSeconds must be between 1 and " + maxLeaseSeconds);
+        }
+
+        Run run = runRepository.findActiveById(runId)
+                .orElseThrow(() -> new NotFoundException("Run not found or not active: " + runId));
+        if (Boolean.TRUE.equals(run.isClosed())) {
+            throw new RunClosedException("Run is closed: " + runId);
+        }
+
+        Instant now = Instant.now();
+        Instant expiresAt = now.plusSeconds(seconds);
+        List<ClaimedRunCase> items = leaseRepository.claim(runId, dictionaryCache.untestedStatusIdsForSql(), owner, limit, now, expiresAt);
+
+        log.info("{} cases claimed: runId={}, agent={}, requested={}, claimed={}",
+                LOG_PREFIX, runId, owner, limit, items.size());
+        return new RunCaseClaimResponse(runId, owner, expiresAt, items);
+    }
+
+    /**
+     * Returns all cases an agent holds in a run to the queue, e.g. when the agent shuts down early.
+     *
+     * @param runId the run ID
+     * @param agent the agent identifier
+     * @return number of leases released
+     * @throws NotFoundException          if run not found
+     * @throws InvalidRunRequestException if agent is blank
+     */
+    @Transactional
+    public int release(Long runId, String agent) {
+        String owner = normalizeAgent(agent);
+        runRepository.findActiveById(runId)
+                .orElseThrow(() -> new NotFoundException("Run not found or not active: " + runId));
+
+        int released = leaseRepository.release(runId, owner);
+        log.info("{} leases released: runId={}, agent={}, count={}", LOG_PREFIX, runId, owner, released);
+        return released;
+    }
+
+    /**
+     * Clears expired leases. Claims already treat them as free; this keeps lease columns
+     * meaningful for readers and the partial index small.
+     */
+    @Scheduled(fixedDelayString = "${app.runs.leases.reaper-ms:60000}")
+    public void reapExpiredLeases() {
+        try {
+            int reaped = leaseRepository.reapExpired(Instant.now());
+            if (reaped > 0) {
+                log.info("{} expired leases returned to queue: count={}", LOG_PREFIX, reaped);
+            }
+        } catch (DataAccessException e) {
+            log.warn("{} lease reaper skipped: {}", LOG_PREFIX, e.getMessage());
+        }
+    }
+
+    private static String normalizeAgent(String agent) {
+        if (agent == null || agent.isBlank()) {
+            throw new InvalidRunRequestException("agent must be provided");
+        }
+        String trimmed = agent.trim();
+        if (trimmed.length() > MAX_AGENT_LENGTH) {
+            throw new InvalidRunRequestException("agent must be at most " + MAX_AGENT_LENGTH + " characters");
+        }
+        return trimmed;
+    }
+}
@@ -1,26 +1,64 @@
 package com.test.system.service.run;
 
+import com.test.system.component.dictionary.DictionaryCache;
+import com.test.system.dto.run.response.RunEvent;
+import com.test.system.dto.testresult.BatchTestResultItem;
+import com.test.system.dto.testresult.BatchTestResultItemResponse;
+import com.test.system.dto.testresult.BatchTestResultRequest;
+import com.test.system.dto.testresult.BatchTestResultResponse;
 import com.test.system.dto.testresult.CreateTestResultRequest;
+import com.test.system.dto.testresult.QueuedResultResponse;
+import com.test.system.dto.testresult.QueuedResultResponse.State;
+import com.test.system.dto.testresult.ResultWriteMode;
 import com.test.system.dto.testresult.TestResultResponse;
 import com.test.system.exceptions.common.NotFoundException;
+import com.test.system.exceptions.results.IdempotencyKeyConflictException;
+import com.test.system.exceptions.results.ResultBufferUnavailableException;
+import com.test.system.exceptions.run.InvalidRunRequestException;
 import com.test.system.exceptions.results.ResultOwnershipException;
 import com.test.system.exceptions.results.ResultRunClosedException;
 import com.test.system.model.run.Result;
 import com.test.system.model.run.Run;
 import com.test.system.model.run.RunCase;
+import com.test.system.repository.run.ResultIdempotencyRepository;
+import com.test.system.repository.run.ResultIdempotencyRepository.KeyRequest;
+import com.test.system.repository.run.ResultIdempotencyRepository.StoredKey;
 import com.test.system.repository.run.TestResultRepository;
+import com.test.system.repository.run.TestRunBulkRepository;
 import com.test.system.repository.run.TestRunCaseRepository;
+import com.test.system.repository.run.TestRunCaseRepository.RunCaseAutotestRef;
+import com.test.system.repository.run.TestRunCaseRepository.RunCaseRef;
 import com.test.system.repository.run.TestRunRepository;
-import com.test.system.repository.run.RunCaseStatusRepository;
+import com.test.system.service.run.ResultWriteBuffer.PendingResult;
+import com.test.system.utils.AutotestKeys;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import static com.test.system.service.run.ResultPartitionService.earliestResultTime;
+import static com.test.system.utils.StringNormalizer.isBlank;
 
 /**
  * Service for managing test execution results within test runs.
@@ -32,29 +70,55 @@ import java.util.Set;
 public class RunCaseResultService {
 
     private static final String LOG_PREFIX = "[RunCaseResult]";
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
 
     private final TestResultRepository resultRepository;
     private final TestRunCaseRepository runCaseRepository;
-    private final RunCaseStatusRepository statusRepository;
+    private final DictionaryCache dictionaryCache;
     private final TestRunRepository runRepository;
+    private final TestRunBulkRepository bulkRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ResultIdempotencyRepository idempotencyRepository;
+    private final ResultWriteBuffer writeBuffer;
+
+    /** How long a SYNC submission waits for its batch to commit. */
+    @Value("${app.results.buffer.sync-timeout-ms:5000}")
+    private long syncTimeoutMs;
+
+    @Value("${app.results.idempotency.ttl-hours:24}")
+    private long idempotencyTtlHours;
+
+    @Value("${app.results.idempotency.cleanup-batch-size:10000}")
+    private int idempotencyCleanupBatchSize;
 
     /**
      * Adds a new test execution result to a test case within a run.
      * Updates the current status of the run case.
+     * With an idempotency key, a repeated request returns the result written by the first one instead of adding another.
+     *
+     * @throws IdempotencyKeyConflictException if the key was used for a different case or status
      */
     @Transactional
-    public TestResultResponse addRunCaseResult(Long runId, Long caseId, CreateTestResultRequest request) {
+    public TestResultResponse addRunCaseResult(Long runId, Long caseId, CreateTestResultRequest request, String idempotencyKey) {
         log.info("{} adding result: runId={}, caseId={}, statusId={}", LOG_PREFIX, runId, caseId, request.statusId());
 
-        Run run = getActiveRunOrThrow(runId);
+        Run run = shareLockActiveRunOrThrow(runId);
         ensureRunIsOpen(run);
 
         RunCase runCase = getRunCaseOrThrow(runId, caseId);
 
-        if (!statusRepository.existsById(request.statusId())) {
+        if (!dictionaryCache.statusExists(request.statusId())) {
             throw new IllegalArgumentException("Status not found: " + request.statusId());
         }
 
+        String key = normalizeIdempotencyKey(idempotencyKey);
+        if (key != null) {
+            KeyRequest keyRequest = new KeyRequest(key, runCase.getId(), caseId, request.statusId());
+            if (idempotencyRepository.reserve(runId, List.of(keyRequest), Instant.now()).isEmpty()) {
+                return replayResult(runId, key, runCase.getId(), request.statusId());
+            }
+        }
+
         Result result = Result.builder()
                 .runCaseId(runCase.getId())
                 .statusId(request.statusId())
@@ -64,14 +128,202 @@ public class RunCaseResultService {
                 .build();
 
         Result saved = resultRepository.save(result);
+        if (key != null) {
+            idempotencyRepository.attachResult(runId, key, saved.getId(), saved.getCreatedAt());
+        }
+
+        // Update current status on the run case; a result completes any work-queue lease
+        Instant now = Instant.now();
+        Set<Long> statusChanged = bulkRepository.updateCurrentStatuses(Map.of(runCase.getId(), saved.getStatusId()), now);
 
-        // Update current status on the run case
-        runCase.setCurrentStatusId(saved.getStatusId());
+        List<RunEvent> events = new ArrayList<>(2);
+        events.add(RunEvent.resultAdded(runId, runCase.getId(), runCase.getCaseId(), saved.getStatusId(), now));
+        if (statusChanged.contains(runCase.getId())) {
+            events.add(RunEvent.statusChanged(runId, runCase.getId(), runCase.getCaseId(), saved.getStatusId(), now));
+        }
+        eventPublisher.publishEvent(new RunChangedEvent(runId, events));
 
         log.info("{} result added: resultId={}, runCaseId={}", LOG_PREFIX, saved.getId(), runCase.getId());
         return toDto(saved);
     }
 
+    /**
+     * Validates a result and hands it to the write-behind buffer instead of writing it in this request.
+     * In SYNC mode the call returns once the batch containing the result has committed, so an acknowledged
+     * result is durable; in BUFFERED mode it returns as soon as the result is queued.
+     * Not transactional on purpose: a SYNC caller must not hold a connection while waiting for the flush.
+     *
+     * @param mode BUFFERED or SYNC
+     * @throws ResultBufferUnavailableException if the buffer is full, or a SYNC write failed or timed out
+     * @throws IdempotencyKeyConflictException  in SYNC mode, if the key was used for a different case or status
+     * @throws ResultRunClosedException         if the run is closed (in SYNC mode also if it was closed before the flush)
+     */
+    public QueuedResultResponse queueRunCaseResult(Long runId,
+                                                   Long caseId,
+                                                   CreateTestResultRequest request,
+                                                   String idempotencyKey,
+                                                   ResultWriteMode mode) {
+        if (mode == ResultWriteMode.IMMEDIATE) {
+            throw new IllegalArgumentException("IMMEDIATE results are not queued");
+        }
+
+        Run run = getActiveRunOrThrow(runId);
+        ensureRunIsOpen(run);
+        RunCase runCase = getRunCaseOrThrow(runId, caseId);
+        if (!dictionaryCache.statusExists(request.statusId())) {
+            throw new IllegalArgumentException("Status not found: " + request.statusId());
+        }
+
+        // Idempotency keys are reserved by the flush, in the transaction that writes the result
+        PendingResult pending = new PendingResult(
+                runId,
+                caseId,
+                runCase.getId(),
+                request.statusId(),
+                request.comment(),
+                request.defectsJson(),
+                request.elapsedSeconds(),
+                normalizeIdempotencyKey(idempotencyKey),
+                Instant.now(),
+                new CompletableFuture<>()
+        );
+        writeBuffer.submit(pending);
+
+        State state = mode == ResultWriteMode.SYNC ? awaitWrite(pending) : State.QUEUED;
+        return new QueuedResultResponse(runId, caseId, runCase.getId(), request.statusId(), mode, state);
+    }
+
+    /**
+     * Adds many execution results to a run in one call (CI ingestion).
+     * The run and statuses are checked once, run cases are resolved with set-based queries,
+     * results are inserted with JDBC batching and current statuses are updated with a single UPDATE.
+     * Items that cannot be resolved are rejected individually without failing the whole batch;
+     * items whose idempotency key was already written are replayed without writing.
+     */
+    @Transactional
+    public BatchTestResultResponse addRunCaseResultsBatch(Long runId, BatchTestResultRequest request) {
+        List<BatchTestResultItem> items = request.results();
+        log.info("{} adding batch results: runId={}, count={}", LOG_PREFIX, runId, items == null ? 0 : items.size());
+
+        if (items == null || items.isEmpty()) {
+            throw new InvalidRunRequestException("results must not be empty");
+        }
+
+        Run run = shareLockActiveRunOrThrow(runId);
+        ensureRunIsOpen(run);
+
+        Set<Long> knownStatusIds = loadKnownStatusIds(items);
+        Map<Long, Long> runCaseIdByCaseId = resolveRunCasesByCaseId(runId, items);
+        Map<String, List<RunCaseAutotestRef>> runCasesByKey = resolveRunCasesByAutotestKey(runId, items);
+
+        Instant now = Instant.now();
+        BatchTestResultItemResponse[] outcomes = new BatchTestResultItemResponse[items.size()];
+        List<BatchCandidate> candidates = new ArrayList<>(items.size());
+
+        for (int i = 0; i < items.size(); i++) {
+            BatchTestResultItem item = items.get(i);
+            Long caseId = item.caseId();
+            Long runCaseId;
+
+            if (caseId != null) {
+                runCaseId = runCaseIdByCaseId.get(caseId);
+            } else if (!isBlank(item.autotestKey())) {
+                List<RunCaseAutotestRef> refs = runCasesByKey.getOrDefault(item.autotestKey().trim(), List.of());
+                if (refs.size() > 1) {
+                    outcomes[i] = BatchTestResultItemResponse.rejected(i, null, item.statusId(),
+                            "Autotest key matches several cases in run: " + item.autotestKey());
+                    continue;
+                }
+                RunCaseAutotestRef ref = refs.isEmpty() ? null : refs.get(0);
+                caseId = ref == null ? null : ref.getCaseId();
+                runCaseId = ref == null ? null : ref.getRunCaseId();
+            } else {
+                outcomes[i] = BatchTestResultItemResponse.rejected(i, null, item.statusId(),
+                        "caseId or autotestKey is required");
+                continue;
+            }
+
+            if (runCaseId == null) {
+                outcomes[i] = BatchTestResultItemResponse.rejected(i, caseId, item.statusId(),
+                        "Test case not found in run");
+                continue;
+            }
+            if (!knownStatusIds.contains(item.statusId())) {
+                outcomes[i] = BatchTestResultItemResponse.rejected(i, caseId, item.statusId(),
+                        "Status not found: " + item.statusId());
+                continue;
+            }
+
+            candidates.add(new BatchCandidate(i, item, caseId, runCaseId, normalizeIdempotencyKey(item.idempotencyKey())));
+        }
+
+        // First occurrence of each key reserves it; repeats inside the batch replay that occurrence
+        Map<String, BatchCandidate> firstByKey = new LinkedHashMap<>();
+        candidates.stream()
+                .filter(c -> c.idempotencyKey() != null)
+                .forEach(c -> firstByKey.putIfAbsent(c.idempotencyKey(), c));
+        Set<String> reserved = idempotencyRepository.reserve(runId,
+                firstByKey.values().stream().map(BatchCandidate::toKeyRequest).toList(), now);
+        Map<String, StoredKey> previous = idempotencyRepository.findByKeys(runId,
+                firstByKey.keySet().stream().filter(k -> !reserved.contains(k)).toList());
+
+        List<Result> accepted = new ArrayList<>();
+        Map<Long, Long> latestStatusByRunCaseId = new LinkedHashMap<>();
+        Map<Long, Long> caseIdByRunCaseId = new HashMap<>();
+        int replayed = 0;
+
+        for (BatchCandidate c : candidates) {
+            BatchTestResultItem item = c.item();
+            String key = c.idempotencyKey();
+
+            if (key != null && !(reserved.contains(key) && firstByKey.get(key) == c)) {
+                StoredKey original = reserved.contains(key) ? firstByKey.get(key).toStoredKey() : previous.get(key);
+                if (original == null || !original.matches(c.runCaseId(), item.statusId())) {
+                    outcomes[c.index()] = BatchTestResultItemResponse.rejected(c.index(), c.caseId(), item.statusId(),
+                            "Idempotency key already used for a different result: " + key);
+                } else {
+                    outcomes[c.index()] = BatchTestResultItemResponse.replayed(c.index(), original.caseId(),
+                            original.runCaseId(), original.statusId());
+                    replayed++;
+                }
+                continue;
+            }
+
+            accepted.add(Result.builder()
+                    .runCaseId(c.runCaseId())
+                    .statusId(item.statusId())
+                    .comment(item.comment())
+                    .defectsJson(item.defectsJson())
+                    .elapsedSeconds(item.elapsedSeconds())
+                    .createdAt(now)
+                    .build());
+            // Later items for the same run case win, matching sequential submission
+            latestStatusByRunCaseId.put(c.runCaseId(), item.statusId());
+            caseIdByRunCaseId.put(c.runCaseId(), c.caseId());
+            outcomes[c.index()] = BatchTestResultItemResponse.created(c.index(), c.caseId(), c.runCaseId(), item.statusId());
+        }
+
+        if (!accepted.isEmpty()) {
+            bulkRepository.insertResults(accepted);
+            Set<Long> statusChanged = bulkRepository.updateCurrentStatuses(latestStatusByRunCaseId, now);
+
+            List<RunEvent> events = new ArrayList<>();
+            latestStatusByRunCaseId.forEach((runCaseId, statusId) -> {
+                Long caseId = caseIdByRunCaseId.get(runCaseId);
+                events.add(RunEvent.resultAdded(runId, runCaseId, caseId, statusId, now));
+                if (statusChanged.contains(runCaseId)) {
+                    events.add(RunEvent.statusChanged(runId, runCaseId, caseId, statusId, now));
+                }
+            });
+            eventPublisher.publishEvent(new RunChangedEvent(runId, events));
+        }
+
+        int rejected = items.size() - accepted.size() - replayed;
+        log.info("{} batch results added: runId={}, created={}, replayed={}, rejected={}",
+                LOG_PREFIX, runId, accepted.size(), replayed, rejected);
+        return new BatchTestResultResponse(accepted.size(), replayed, rejected, List.of(outcomes));
+    }
+
     /**
      * Lists all execution results for a test case within a run.
      * Results are ordered by creation time (oldest first).
@@ -83,7 +335,13 @@ public class RunCaseResultService {
         getActiveRunOrThrow(runId);
         RunCase runCase = getRunCaseOrThrow(runId, caseId);
 
-        return resultRepository.findAllByRunCaseIdOrderByCreatedAtAsc(runCase.getId())
+        // Results cannot predate their run case
+        List<Result> results = runCase.getCreatedAt() == null
+                ? resultRepository.findAllByRunCaseIdOrderByCreatedAtAsc(runCase.getId())
+                : resultRepository.findAllByRunCaseIdAndCreatedAtGreaterThanEqualOrderByCreatedAtAsc(
+                        runCase.getId(), earliestResultTime(runCase.getCreatedAt()));
+
+        return results
                 .stream()
                 .map(this::toDto)
                 .toList();
@@ -149,8 +407,84 @@ public class RunCaseResultService {
         return deleted;
     }
 
+    /**
+     * Purges idempotency keys older than the TTL; retries arrive within minutes, so a day is ample.
+     */
+    @Scheduled(cron = "${app.results.idempotency.cleanup-cron:0 15 * * * *}")
+    public void purgeExpiredIdempotencyKeys() {
+        Instant cutoff = Instant.now().minus(Duration.ofHours(idempotencyTtlHours));
+        int purged = 0;
+        try {
+            int deleted;
+            do {
+                deleted = idempotencyRepository.deleteExpired(cutoff, idempotencyCleanupBatchSize);
+                purged += deleted;
+            } while (deleted >= idempotencyCleanupBatchSize);
+        } catch (DataAccessException e) {
+            log.warn("{} idempotency key cleanup stopped: {}", LOG_PREFIX, e.getMessage());
+        }
+
+        if (purged > 0) {
+            log.info("{} expired idempotency keys purged: count={}", LOG_PREFIX, purged);
+        }
+    }
+
     /* ========== Private Helper Methods ========== */
 
+    /**
+     * Returns the result stored under an idempotency key for a repeated single submission.
+     *
+     * @throws IdempotencyKeyConflictException if the key was used for a different case or status, or by a batch item
+     * @throws NotFoundException               if the original result has been deleted since
+     */
+    private TestResultResponse replayResult(Long runId, String key, Long runCaseId, Long statusId) {
+        StoredKey original = idempotencyRepository.findByKeys(runId, List.of(key)).get(key);
+        if (original == null || !original.matches(runCaseId, statusId) || original.resultId() == null) {
+            throw new IdempotencyKeyConflictException(key);
+        }
+
+        Result result = resultRepository.findByIdAndCreatedAt(original.resultId(), original.resultCreatedAt())
+                .orElseThrow(() -> new NotFoundException("Result not found: " + original.resultId()));
+        log.info("{} result replayed: resultId={}, runCaseId={}", LOG_PREFIX, result.getId(), runCaseId);
+        return toDto(result);
+    }
+
+    private State awaitWrite(PendingResult pending) {
+        try {
+            return pending.done().get(syncTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new ResultBufferUnavailableException("Result not written within " + syncTimeoutMs + " ms");
+        } catch (ExecutionException e) {
+            // Rejections found by the flush reach the caller as they would on the immediate path
+            if (e.getCause() instanceof IdempotencyKeyConflictException
+                    || e.getCause() instanceof ResultRunClosedException
+                    || e.getCause() instanceof NotFoundException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new ResultBufferUnavailableException("Result write failed: " + e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResultBufferUnavailableException("Interrupted while waiting for result write");
+        }
+    }
+
+    /**
+     * Trims an idempotency key; blank means none.
+     *
+     * @throws InvalidRunRequestException if the key is too long
+     */
+    private static String normalizeIdempotencyKey(String key) {
+        if (isBlank(key)) {
+            return null;
+        }
+        String trimmed = key.trim();
+        if (trimmed.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new InvalidRunRequestException(
+                    "Idempotency key must be at most " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters");
+        }
+        return trimmed;
+    }
+
     /**
      * Gets an active run by ID or throws NotFoundException.
      */
@@ -159,6 +493,14 @@ public class RunCaseResultService {
                 .orElseThrow(() -> new NotFoundException("Run not found or not active: " + runId));
     }
 
+    /**
+     * Gets an active run by ID and locks it FOR SHARE, so it cannot be closed before the result write commits.
+     */
+    private Run shareLockActiveRunOrThrow(Long runId) {
+        return runRepository.findActiveByIdForShare(runId)
+                .orElseThrow(() -> new NotFoundException("Run not found or not active: " + runId));
+    }
+
     /**
      * Ensures that the run is open (not closed).
      */
@@ -176,6 +518,57 @@ public class RunCaseResultService {
                 .orElseThrow(() -> new NotFoundException("Test case not found in run: caseId=" + caseId + ", runId=" + runId));
     }
 
+    /**
+     * Returns the subset of referenced status IDs that exist.
+     */
+    private Set<Long> loadKnownStatusIds(List<BatchTestResultItem> items) {
+        return items.stream()
+                .map(BatchTestResultItem::statusId)
+                .filter(dictionaryCache::statusExists)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Resolves run case IDs for all items addressed by caseId, in one query.
+     */
+    private Map<Long, Long> resolveRunCasesByCaseId(Long runId, List<BatchTestResultItem> items) {
+        Set<Long> caseIds = items.stream()
+                .map(BatchTestResultItem::caseId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        if (caseIds.isEmpty()) {
+            return Map.of();
+        }
+
+        return runCaseRepository.findRefsByRunIdAndCaseIdIn(runId, caseIds).stream()
+                .collect(Collectors.toMap(RunCaseRef::getCaseId, RunCaseRef::getRunCaseId));
+    }
+
+    /**
+     * Resolves run cases for all items addressed only by autotest key, in one query.
+     */
+    private Map<String, List<RunCaseAutotestRef>> resolveRunCasesByAutotestKey(Long runId, List<BatchTestResultItem> items) {
+        Set<String> keys = items.stream()
+                .filter(i -> i.caseId() == null && !isBlank(i.autotestKey()))
+                .map(i -> i.autotestKey().trim())
+                .collect(Collectors.toSet());
+
+        if (keys.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<String, List<RunCaseAutotestRef>> result = new HashMap<>();
+        for (RunCaseAutotestRef ref : runCaseRepository.findAutotestRefsByRunIdAndKeys(runId, keys)) {
+            for (String key : AutotestKeys.keysOf(ref.getTestClass(), ref.getTestMethod(), ref.getScenario())) {
+                if (keys.contains(key)) {
+                    result.computeIfAbsent(key, k -> new ArrayList<>()).add(ref);
+                }
+            }
+        }
+        return result;
+    }
+
     /**
      * Converts Result entity to DTO.
      */
@@ -191,5 +584,18 @@ public class RunCaseResultService {
                 result.getCreatedAt()
         );
     }
-}
 
+    /**
+     * Batch item resolved to a run case, before idempotency keys are checked.
+     */
+    private record BatchCandidate(int index, BatchTestResultItem item, Long caseId, Long runCaseId, String idempotencyKey) {
+
+        KeyRequest toKeyRequest() {
+            return new KeyRequest(idempotencyKey, runCaseId, caseId, item.statusId());
+        }
+
+        StoredKey toStoredKey() {
+            return new StoredKey(idempotencyKey, runCaseId, caseId, item.statusId(), null, null);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.test.system.service.run;
+
+import com.test.system.dto.run.response.RunEvent;
+
+import java.util.List;
+
+/**
+ * Application event carrying the run deltas produced by one transaction.
+ * Delivered to {@link RunEventHub} only after the transaction commits.
+ */
+public record RunChangedEvent(
+        Long runId,
+        List<RunEvent> events
+) {}
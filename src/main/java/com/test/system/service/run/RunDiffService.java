@@ -0,0 +1,122 @@
+package com.test.system.service.run;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.test.system.component.dictionary.DictionaryCache;
+import com.test.system.dto.run.response.RunDiffItem;
+import com.test.system.dto.run.response.RunDiffItem.Category;
+import com.test.system.exceptions.common.NotFoundException;
+import com.test.system.exceptions.run.InvalidRunRequestException;
+import com.test.system.model.run.Run;
+import com.test.system.repository.run.TestRunBulkRepository;
+import com.test.system.repository.run.TestRunRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Run-to-run comparison for release sign-off.
+ * Both runs are joined on case_id in one query whose rows are streamed straight to the response,
+ * so large runs are never materialized as entities.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RunDiffService {
+
+    private static final String LOG_PREFIX = "[RunDiff]";
+
+    private final TestRunRepository runRepository;
+    private final DictionaryCache dictionaryCache;
+    private final TestRunBulkRepository bulkRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    /** Status names counted as failing (case-insensitive). */
+    @Value("${app.runs.diff.failing-statuses:failed,blocked}")
+    private List<String> failingStatuses;
+
+    /** Status names counted as passing (case-insensitive). */
+    @Value("${app.runs.diff.passing-statuses:passed}")
+    private List<String> passingStatuses;
+
+    /**
+     * Validates both runs and returns a body that streams the comparison as
+     * {"baseRunId", "targetRunId", "items": [...], "counts": {category: n}}.
+     * Counts cover the returned categories and are written after the items.
+     *
+     * @param baseRunId   the base (older) run
+     * @param targetRunId the target (newer) run
+     * @param categories  categories to return, or null/empty for all but UNCHANGED
+     * @return the streaming response body
+     * @throws NotFoundException          if a run is not found
+     * @throws InvalidRunRequestException if the runs belong to different projects
+     */
+    @Transactional(readOnly = true)
+    public StreamingResponseBody streamRunDiff(Long baseRunId, Long targetRunId, Collection<Category> categories) {
+        log.info("{} diffing runs: baseRunId={}, targetRunId={}, categories={}", LOG_PREFIX, baseRunId, targetRunId, categories);
+
+        Run base = getActiveRunOrThrow(baseRunId);
+        Run target = getActiveRunOrThrow(targetRunId);
+        if (!base.getProjectId().equals(target.getProjectId())) {
+            throw new InvalidRunRequestException("Runs must belong to the same project");
+        }
+
+        Set<Category> selected = categories == null || categories.isEmpty()
+                ? EnumSet.complementOf(EnumSet.of(Category.UNCHANGED))
+                : EnumSet.copyOf(categories);
+
+        List<Long> failingIds = dictionaryCache.statusIdsByNameForSql(failingStatuses);
+        List<Long> passingIds = dictionaryCache.statusIdsByNameForSql(passingStatuses);
+
+        return out -> {
+            Map<Category, Long> counts = new EnumMap<>(Category.class);
+            selected.forEach(c -> counts.put(c, 0L));
+
+            try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+                json.writeStartObject();
+                json.writeNumberField("baseRunId", baseRunId);
+                json.writeNumberField("targetRunId", targetRunId);
+                json.writeArrayFieldStart("items");
+
+                transactionTemplate.executeWithoutResult(status -> bulkRepository.streamRunDiff(
+                        baseRunId, targetRunId, failingIds, passingIds, selected, item -> {
+                            counts.merge(item.category(), 1L, Long::sum);
+                            writeItem(json, item);
+                        }));
+
+                json.writeEndArray();
+                json.writeObjectField("counts", counts);
+                json.writeEndObject();
+            }
+
+            log.info("{} runs diffed: baseRunId={}, targetRunId={}, counts={}", LOG_PREFIX, baseRunId, targetRunId, counts);
+        };
+    }
+
+    private Run getActiveRunOrThrow(Long runId) {
+        return runRepository.findActiveById(runId)
+                .orElseThrow(() -> new NotFoundException("Run not found or not active: " + runId));
+    }
+
+    private void writeItem(JsonGenerator json, RunDiffItem item) {
+        try {
+            objectMapper.writeValue(json, item);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.test.system.service.run;
+
+import com.test.system.component.dictionary.DictionaryCache;
+import com.test.system.dto.run.response.RunEtaResponse;
+import com.test.system.exceptions.common.NotFoundException;
+import com.test.system.exceptions.run.InvalidRunRequestException;
+import com.test.system.model.run.Run;
+import com.test.system.repository.run.RunEtaRepository;
+import com.test.system.repository.run.RunEtaRepository.RecentWork;
+import com.test.system.repository.run.RunEtaRepository.RemainingWork;
+import com.test.system.repository.run.TestRunRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Remaining-time estimates for runs.
+ * Remaining work is the sum of expected durations of untested cases, read from the incrementally maintained
+ * case_duration_stats (see {@code CaseDurationService}); it is divided by the throughput observed over a
+ * recent window, so the estimate reflects however many executors are actually working on the run.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RunEtaService {
+
+    private static final String LOG_PREFIX = "[RunEta]";
+    private static final int MAX_WINDOW_MINUTES = 24 * 60;
+
+    private final TestRunRepository runRepository;
+    private final RunEtaRepository etaRepository;
+    private final DictionaryCache dictionaryCache;
+
+    /** Expected duration of cases with neither history nor estimate. */
+    @Value("${app.durations.default-seconds:60}")
+    private int defaultSeconds;
+
+    @Value("${app.runs.eta.window-minutes:30}")
+    private int defaultWindowMinutes;
+
+    /**
+     * Estimates when a run will finish.
+     * The window starts no earlier than the run itself, so a run started ten minutes ago is not
+     * penalised for twenty idle minutes before it existed.
+     *
+     * @param runId         the run ID
+     * @param windowMinutes throughput window, 1..1440, or null for the configured default
+     * @return the estimate; ETA fields are null if nothing was executed in the window or the run is closed
+     * @throws NotFoundException          if run not found
+     * @throws InvalidRunRequestException if windowMinutes is out of range
+     */
+    @Transactional(readOnly = true)
+    public RunEtaResponse estimate(Long runId, Integer windowMinutes) {
+        int window = windowMinutes == null ? defaultWindowMinutes : windowMinutes;
+        if (window < 1 || window > MAX_WINDOW_MINUTES) {
+            throw new InvalidRunRequestException("windowMinutes must be between 1 and " + MAX_WINDOW_MINUTES);
+        }
+
+        Run run = runRepository.findActiveById(runId)
+                .orElseThrow(() -> new NotFoundException("Run not found or not active: " + runId));
+
+        RemainingWork remaining = etaRepository.findRemainingWork(
+                runId, dictionaryCache.untestedStatusIdsForSql(), defaultSeconds);
+
+        Instant now = Instant.now();
+        Instant since = now.minus(Duration.ofMinutes(window));
+        if (run.getCreatedAt() != null && run.getCreatedAt().isAfter(since)) {
+            since = run.getCreatedAt();
+        }
+        RecentWork recent = etaRepository.findRecentWork(runId, since, defaultSeconds);
+
+        long elapsedWindowSeconds = Math.max(Duration.between(since, now).toSeconds(), 1);
+        double throughput = (double) recent.workSeconds() / elapsedWindowSeconds;
+
+        Long eta = null;
+        Long etaP90 = null;
+        Instant finishAt = null;
+        if (remaining.remainingCases() == 0) {
+            eta = 0L;
+            etaP90 = 0L;
+            finishAt = now;
+        } else if (!Boolean.TRUE.equals(run.isClosed()) && throughput > 0) {
+            eta = Math.round(remaining.remainingSeconds() / throughput);
+            etaP90 = Math.round(remaining.remainingP90Seconds() / throughput);
+            finishAt = now.plusSeconds(eta);
+        }
+
+        log.info("{} run estimated: runId={}, remaining={} cases/{}s, throughput={}, eta={}s",
+                LOG_PREFIX, runId, remaining.remainingCases(), remaining.remainingSeconds(),
+                String.format("%.2f", throughput), eta);
+        return new RunEtaResponse(
+                runId,
+                remaining.totalCases(),
+                remaining.remainingCases(),
+                remaining.withHistory(),
+                remaining.withEstimate(),
+                remaining.remainingCases() - remaining.withHistory() - remaining.withEstimate(),
+                remaining.remainingSeconds(),
+                remaining.remainingP90Seconds(),
+                window,
+                recent.results(),
+                throughput,
+                eta,
+                etaP90,
+                finishAt
+        );
+    }
+}
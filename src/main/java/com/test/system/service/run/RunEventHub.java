@@ -0,0 +1,189 @@
+package com.test.system.service.run;
+
+import com.test.system.dto.run.response.RunEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-process fan-out of committed run deltas to Server-Sent Events subscribers.
+ * Publishers never block on clients: every subscriber has a bounded pending buffer drained by its own
+ * virtual thread. Pending deltas for the same case are coalesced (latest wins); when the buffer is full
+ * it is dropped and replaced by a single RESYNC event.
+ */
+@Service
+@Slf4j
+public class RunEventHub {
+
+    private static final String LOG_PREFIX = "[RunEvents]";
+
+    private final Map<Long, Set<Subscriber>> subscribersByRunId = new ConcurrentHashMap<>();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Value("${app.runs.events.buffer-size:1000}")
+    private int bufferSize;
+
+    @Value("${app.runs.events.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    /**
+     * Registers a new subscriber for a run.
+     * The caller is responsible for checking that the run exists.
+     *
+     * @param runId the run ID
+     * @return the emitter to return from the controller
+     */
+    public SseEmitter subscribe(Long runId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(runId, emitter);
+
+        subscribersByRunId.computeIfAbsent(runId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+
+        log.debug("{} subscribed: runId={}, subscribers={}", LOG_PREFIX, runId, subscribersByRunId.get(runId).size());
+        return emitter;
+    }
+
+    /**
+     * Fans out deltas of a committed transaction to the run's subscribers.
+     */
+    @TransactionalEventListener
+    public void onRunChanged(RunChangedEvent event) {
+        Set<Subscriber> subscribers = subscribersByRunId.get(event.runId());
+        if (subscribers == null || subscribers.isEmpty() || event.events().isEmpty()) {
+            return;
+        }
+
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(event.events());
+        }
+    }
+
+    /**
+     * Sends an SSE comment to every subscriber so that proxies keep idle streams open
+     * and disconnected clients are detected.
+     */
+    @Scheduled(fixedDelayString = "${app.runs.events.heartbeat-ms:25000}")
+    public void heartbeat() {
+        subscribersByRunId.values().forEach(subscribers -> subscribers.forEach(Subscriber::heartbeat));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribersByRunId.values().forEach(subscribers -> subscribers.forEach(s -> s.emitter.complete()));
+        senders.shutdownNow();
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscribersByRunId.computeIfPresent(subscriber.runId, (id, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    /**
+     * One connected client with its bounded, coalescing buffer.
+     */
+    private final class Subscriber {
+
+        private final Long runId;
+        private final SseEmitter emitter;
+        private final LinkedHashMap<String, RunEvent> pending = new LinkedHashMap<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private boolean overflowed;
+
+        private Subscriber(Long runId, SseEmitter emitter) {
+            this.runId = runId;
+            this.emitter = emitter;
+        }
+
+        private void offer(List<RunEvent> events) {
+            synchronized (pending) {
+                for (RunEvent event : events) {
+                    if (overflowed) {
+                        break;
+                    }
+                    String key = event.coalesceKey();
+                    // Re-inserting moves the key to the end so deltas keep commit order
+                    pending.remove(key);
+                    if (pending.size() >= bufferSize) {
+                        pending.clear();
+                        overflowed = true;
+                        log.debug("{} buffer overflow, resync scheduled: runId={}", LOG_PREFIX, runId);
+                        break;
+                    }
+                    pending.put(key, event);
+                }
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                while (true) {
+                    List<RunEvent> batch;
+                    synchronized (pending) {
+                        if (overflowed) {
+                            batch = List.of(RunEvent.resync(runId, Instant.now()));
+                            overflowed = false;
+                        } else {
+                            batch = new ArrayList<>(pending.values());
+                        }
+                        pending.clear();
+                        if (batch.isEmpty()) {
+                            draining.set(false);
+                            return;
+                        }
+                    }
+                    for (RunEvent event : batch) {
+                        emitter.send(SseEmitter.event()
+                                .name(event.type().eventName())
+                                .data(event, MediaType.APPLICATION_JSON));
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                draining.set(false);
+                log.debug("{} subscriber dropped: runId={}, reason={}", LOG_PREFIX, runId, e.getMessage());
+                unsubscribe(this);
+                emitter.completeWithError(e);
+            }
+        }
+
+        private void heartbeat() {
+            if (draining.get()) {
+                return;
+            }
+            try {
+                emitter.send(SseEmitter.event().comment("ping"));
+            } catch (IOException | IllegalStateException e) {
+                unsubscribe(this);
+                emitter.completeWithError(e);
+            }
+        }
+    }
+}
@@ -1,38 +1,53 @@
 package com.test.system.service.run;
 
+import com.test.system.component.dictionary.DictionaryCache;
 import com.test.system.dto.run.request.AddCasesToRunRequest;
+import com.test.system.dto.run.request.BulkRunCaseStatusRequest;
 import com.test.system.dto.run.request.CreateRunRequest;
+import com.test.system.dto.run.request.RunCasePageFilter;
 import com.test.system.dto.run.request.UpdateRunRequest;
+import com.test.system.dto.run.response.CloneRunResponse;
+import com.test.system.dto.run.response.RunCasePageItem;
+import com.test.system.dto.run.response.RunCasePageResponse;
 import com.test.system.dto.run.response.RunCaseResponse;
+import com.test.system.dto.run.response.RunEvent;
 import com.test.system.dto.run.response.RunResponse;
+import com.test.system.dto.run.response.RunSnapshotItem;
+import com.test.system.dto.run.response.RunSnapshotResponse;
 import com.test.system.dto.run.response.RunStatusCountResponse;
 import com.test.system.exceptions.common.NotFoundException;
 import com.test.system.exceptions.run.InvalidRunRequestException;
 import com.test.system.exceptions.run.RunCaseNotInRunException;
 import com.test.system.exceptions.run.RunClosedException;
-import com.test.system.model.cases.TestCase;
 import com.test.system.model.project.Project;
 import com.test.system.model.run.Run;
-import com.test.system.model.run.RunCase;
 import com.test.system.model.status.Status;
 import com.test.system.model.user.User;
 import com.test.system.repository.project.ProjectRepository;
 import com.test.system.repository.run.TestRunCaseRepository;
-import com.test.system.repository.run.RunCaseStatusRepository;
+import com.test.system.repository.run.TestRunBulkRepository;
+import com.test.system.repository.run.TestRunBulkRepository.RunCaseRow;
+import com.test.system.repository.run.TestRunBulkRepository.StatusChange;
 import com.test.system.repository.run.TestRunRepository;
 import com.test.system.repository.testcase.TestCaseRepository;
 import com.test.system.repository.user.UserRepository;
 import com.test.system.utils.UserUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.test.system.utils.StringNormalizer.normalizeKey;
 
 /**
  * Service for managing test runs.
@@ -44,13 +59,20 @@ import java.util.stream.Collectors;
 public class RunService {
 
     private static final String LOG_PREFIX = "[Run]";
+    private static final int MAX_RUN_NAME_LENGTH = 255;
+    private static final int DEFAULT_RUN_CASE_PAGE_SIZE = 100;
+    private static final int MAX_RUN_CASE_PAGE_SIZE = 500;
 
     private final TestRunRepository runRepository;
     private final ProjectRepository projectRepository;
     private final TestCaseRepository testCaseRepository;
     private final TestRunCaseRepository runCaseRepository;
-    private final RunCaseStatusRepository statusRepository;
+    private final TestRunBulkRepository bulkRepository;
+    private final DictionaryCache dictionaryCache;
     private final UserRepository userRepository;
+    private final RunEventHub eventHub;
+    private final RunSnapshotService snapshotService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /* ========== Run CRUD Operations ========== */
 
@@ -82,6 +104,9 @@ public class RunService {
                 .build();
 
         Run saved = runRepository.save(run);
+        if (saved.isClosed()) {
+            snapshotService.createSnapshot(saved);
+        }
 
         log.info("{} run created: runId={}", LOG_PREFIX, saved.getId());
         return toRunResponse(saved, author);
@@ -130,6 +155,7 @@ public class RunService {
 
     /**
      * Updates a run.
+     * Closing a run freezes its contents into a snapshot; reopening it drops the snapshot.
      *
      * @param runId   the run ID
      * @param request the update request
@@ -140,7 +166,9 @@ public class RunService {
     public RunResponse updateRun(Long runId, UpdateRunRequest request) {
         log.info("{} updating run: runId={}", LOG_PREFIX, runId);
 
-        Run run = getActiveRunOrThrow(runId);
+        // Closing locks the run so the snapshot waits for result writes in flight and no new one slips in
+        Run run = request.closed() != null ? lockActiveRunOrThrow(runId) : getActiveRunOrThrow(runId);
+        boolean wasClosed = run.isClosed();
 
         if (request.name() != null && !request.name().isBlank()) {
             run.setName(request.name().trim());
@@ -155,6 +183,12 @@ public class RunService {
         run.setUpdatedAt(Instant.now());
         Run saved = runRepository.save(run);
 
+        if (saved.isClosed() && !wasClosed) {
+            snapshotService.createSnapshot(saved);
+        } else if (!saved.isClosed() && wasClosed) {
+            snapshotService.deleteSnapshot(runId);
+        }
+
         User author = (saved.getCreatedBy() == null)
                 ? null
                 : userRepository.findById(saved.getCreatedBy()).orElse(null);
@@ -220,62 +254,104 @@ public class RunService {
         return affected;
     }
 
+    /**
+     * Creates a new open run holding the cases of an existing run, e.g. to rerun failed cases.
+     * Run cases are copied with a single INSERT ... SELECT; statuses, comments and results start fresh.
+     *
+     * @param runId            the source run ID
+     * @param statuses         status names or IDs to copy (case-insensitive); null/empty copies every case.
+     *                         The default status also matches cases that have no status yet
+     * @param carryAssignee    whether assignees are copied
+     * @param attachMilestones whether the new run joins the source run's active milestones
+     * @param name             name of the new run, or null for "&lt;source name&gt; (rerun)"
+     * @return the new run with copy counts
+     * @throws NotFoundException          if run not found
+     * @throws InvalidRunRequestException if a status is unknown
+     */
+    @Transactional
+    public CloneRunResponse cloneRun(Long runId,
+                                     List<String> statuses,
+                                     boolean carryAssignee,
+                                     boolean attachMilestones,
+                                     String name) {
+        log.info("{} cloning run: runId={}, statuses={}, carryAssignee={}, attachMilestones={}",
+                LOG_PREFIX, runId, statuses, carryAssignee, attachMilestones);
+
+        Run source = getActiveRunOrThrow(runId);
+        User author = getCurrentUserOrThrow();
+
+        Set<Long> statusIds = new LinkedHashSet<>();
+        boolean includeUntested = resolveStatusFilter(statuses, statusIds);
+
+        Instant now = Instant.now();
+        String cloneName = emptyToNull(name) != null ? name.trim() : source.getName() + " (rerun)";
+        if (cloneName.length() > MAX_RUN_NAME_LENGTH) {
+            cloneName = cloneName.substring(0, MAX_RUN_NAME_LENGTH);
+        }
+
+        Run clone = runRepository.save(Run.builder()
+                .projectId(source.getProjectId())
+                .name(cloneName)
+                .description(source.getDescription())
+                .closed(false)
+                .archived(false)
+                .createdBy(author.getId())
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+
+        int copied = bulkRepository.copyRunCases(source.getId(), clone.getId(), statusIds, includeUntested, carryAssignee, now);
+        int milestones = attachMilestones ? bulkRepository.copyMilestones(source.getId(), clone.getId()) : 0;
+
+        log.info("{} run cloned: sourceRunId={}, runId={}, copied={}, milestones={}",
+                LOG_PREFIX, runId, clone.getId(), copied, milestones);
+        return new CloneRunResponse(toRunResponse(clone, author), copied, milestones);
+    }
+
     /* ========== Run Case Management ========== */
 
     /**
-     * Adds test cases to a run.
+     * Adds test cases to a run in a single set-based statement.
+     * Cases can be given explicitly, selected server-side by a filter, or both (AND).
+     * Archived cases and cases already in the run are skipped.
      *
      * @param runId   the run ID
-     * @param request the request containing case IDs to add
+     * @param request the request containing case IDs and/or a case filter
      * @return list of added run cases
      * @throws NotFoundException          if run not found
      * @throws RunClosedException         if run is closed
-     * @throws InvalidRunRequestException if caseIds is empty or invalid
+     * @throws InvalidRunRequestException if neither caseIds nor filter is given, or cases belong to another project
      */
     @Transactional
     public List<RunCaseResponse> addCasesToRun(Long runId, AddCasesToRunRequest request) {
-        log.info("{} adding cases to run: runId={}, count={}", LOG_PREFIX, runId,
-                request.caseIds() == null ? 0 : request.caseIds().size());
+        log.info("{} adding cases to run: runId={}, count={}, filter={}", LOG_PREFIX, runId,
+                request.caseIds() == null ? 0 : request.caseIds().size(), request.filter() != null);
 
         Run run = getActiveRunOrThrow(runId);
         ensureRunIsOpen(run);
 
-        if (request.caseIds() == null || request.caseIds().isEmpty()) {
-            throw new InvalidRunRequestException("caseIds must not be empty");
+        boolean hasCaseIds = request.caseIds() != null && !request.caseIds().isEmpty();
+        if (!hasCaseIds && request.filter() == null) {
+            throw new InvalidRunRequestException("caseIds or filter must be provided");
         }
 
-        Set<Long> uniqueCaseIds = new LinkedHashSet<>(request.caseIds());
-
-        List<TestCase> cases = testCaseRepository.findAllById(uniqueCaseIds);
-        if (cases.isEmpty()) {
-            throw new InvalidRunRequestException("No valid caseIds provided");
+        Set<Long> uniqueCaseIds = hasCaseIds ? new LinkedHashSet<>(request.caseIds()) : Set.of();
+        if (hasCaseIds && testCaseRepository.existsByIdInAndProjectIdNot(uniqueCaseIds, run.getProjectId())) {
+            throw new InvalidRunRequestException("Case project must match run project");
         }
 
-        List<RunCaseResponse> result = new ArrayList<>();
-
-        for (TestCase testCase : cases) {
-            if (Boolean.TRUE.equals(testCase.isArchived())) {
-                continue;
-            }
-
-            if (!Objects.equals(testCase.getProjectId(), run.getProjectId())) {
-                throw new InvalidRunRequestException("Case project must match run project");
-            }
-
-            boolean alreadyExists = runCaseRepository.existsByRunIdAndCaseId(runId, testCase.getId());
-            if (alreadyExists) {
-                continue;
-            }
-
-            RunCase saved = runCaseRepository.save(
-                    RunCase.builder()
-                            .runId(runId)
-                            .caseId(testCase.getId())
-                            .currentStatusId(null)
-                            .build()
-            );
+        Instant now = Instant.now();
+        List<RunCaseResponse> result = bulkRepository
+                .insertRunCases(runId, run.getProjectId(), uniqueCaseIds, request.filter(), now)
+                .stream()
+                .map(RunService::toRunCaseResponse)
+                .toList();
 
-            result.add(toRunCaseResponse(saved));
+        if (!result.isEmpty()) {
+            run.setUpdatedAt(now);
+            eventPublisher.publishEvent(new RunChangedEvent(runId, result.stream()
+                    .map(rc -> RunEvent.caseAdded(runId, rc.id(), rc.caseId(), now))
+                    .toList()));
         }
 
         log.info("{} cases added to run: runId={}, added={}", LOG_PREFIX, runId, result.size());
@@ -284,6 +360,7 @@ public class RunService {
 
     /**
      * Lists all test cases in a run.
+     * Closed runs are served from their snapshot when one exists.
      *
      * @param runId the run ID
      * @return list of run cases
@@ -295,11 +372,62 @@ public class RunService {
 
         Run run = getActiveRunOrThrow(runId);
 
-        return runCaseRepository.findActiveCasesByRunId(run.getId()).stream()
-                .map(this::toRunCaseResponse)
+        Optional<RunSnapshotResponse> snapshot = findClosedRunSnapshot(run);
+        if (snapshot.isPresent()) {
+            return snapshot.get().items().stream()
+                    .map(item -> toRunCaseResponse(runId, item))
+                    .toList();
+        }
+
+        return bulkRepository.findActiveRunCases(run.getId()).stream()
+                .map(RunService::toRunCaseResponse)
                 .toList();
     }
 
+    /**
+     * Lists one keyset page of test cases in a run, ordered by case sort index and case ID.
+     * Case title, suite, priority and autotest mapping are loaded in the same query.
+     * Closed runs are paged over their snapshot when one exists.
+     *
+     * @param runId  the run ID
+     * @param filter optional status / assignee / suite filters
+     * @param cursor the nextCursor of the previous page, or null for the first page
+     * @param size   the page size (clamped to 1..500, default 100)
+     * @return the page with a cursor for the next one
+     * @throws NotFoundException          if run not found
+     * @throws InvalidRunRequestException if cursor is malformed
+     */
+    @Transactional(readOnly = true)
+    public RunCasePageResponse listRunCasesPage(Long runId, RunCasePageFilter filter, String cursor, Integer size) {
+        int safeSize = size == null || size < 1 ? DEFAULT_RUN_CASE_PAGE_SIZE : Math.min(size, MAX_RUN_CASE_PAGE_SIZE);
+        log.info("{} listing run cases page: runId={}, size={}, cursor={}", LOG_PREFIX, runId, safeSize, cursor);
+
+        Run run = getActiveRunOrThrow(runId);
+
+        Integer afterSortIndex = null;
+        Long afterCaseId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            long[] key = decodeRunCaseCursor(cursor);
+            afterSortIndex = (int) key[0];
+            afterCaseId = key[1];
+        }
+
+        Optional<RunSnapshotResponse> snapshot = findClosedRunSnapshot(run);
+        List<RunCasePageItem> rows = snapshot.isPresent()
+                ? pageSnapshot(snapshot.get(), filter, afterSortIndex, afterCaseId, safeSize + 1)
+                : bulkRepository.findRunCasePage(run.getId(), filter, afterSortIndex, afterCaseId, safeSize + 1);
+
+        boolean hasMore = rows.size() > safeSize;
+        List<RunCasePageItem> items = hasMore ? rows.subList(0, safeSize) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            RunCasePageItem last = items.get(items.size() - 1);
+            nextCursor = encodeRunCaseCursor(last.sortIndex(), last.caseId());
+        }
+
+        return new RunCasePageResponse(items, safeSize, nextCursor);
+    }
+
     /**
      * Removes a single test case from a run.
      *
@@ -321,7 +449,9 @@ public class RunService {
             throw new RunCaseNotInRunException("Case is not present in the run");
         }
 
-        run.setUpdatedAt(Instant.now());
+        Instant now = Instant.now();
+        run.setUpdatedAt(now);
+        eventPublisher.publishEvent(new RunChangedEvent(runId, List.of(RunEvent.caseRemoved(runId, caseId, now))));
         log.info("{} case removed from run: runId={}, caseId={}", LOG_PREFIX, runId, caseId);
     }
 
@@ -349,13 +479,110 @@ public class RunService {
 
         Set<Long> uniqueIds = new LinkedHashSet<>(caseIds);
 
-        int affected = runCaseRepository.deleteByRunIdAndCaseIdIn(runId, uniqueIds);
-        if (affected > 0) {
-            run.setUpdatedAt(Instant.now());
+        List<Long> removed = bulkRepository.deleteRunCases(runId, uniqueIds);
+        if (!removed.isEmpty()) {
+            Instant now = Instant.now();
+            run.setUpdatedAt(now);
+            eventPublisher.publishEvent(new RunChangedEvent(runId, removed.stream()
+                    .map(caseId -> RunEvent.caseRemoved(runId, caseId, now))
+                    .toList()));
         }
 
-        log.info("{} cases removed from run: runId={}, removed={}", LOG_PREFIX, runId, affected);
-        return affected;
+        log.info("{} cases removed from run: runId={}, removed={}", LOG_PREFIX, runId, removed.size());
+        return removed.size();
+    }
+
+    /**
+     * Moves every run case matching a filter to one status, e.g. marking what is left untested as skipped
+     * at the end of a sprint. Each moved case gets a result row, as if the status had been posted for it.
+     *
+     * @param runId   the run ID
+     * @param request the target status and the run case filter
+     * @return number of run cases moved
+     * @throws NotFoundException          if run not found
+     * @throws RunClosedException         if run is closed
+     * @throws InvalidRunRequestException if the status is unknown or no filter criterion is given
+     */
+    @Transactional
+    public int bulkUpdateRunCaseStatus(Long runId, BulkRunCaseStatusRequest request) {
+        log.info("{} bulk status update: runId={}, statusId={}, currentStatuses={}, assigneeId={}, filter={}",
+                LOG_PREFIX, runId, request.statusId(), request.currentStatuses(), request.assigneeId(),
+                request.filter() != null);
+
+        Run run = shareLockActiveRunOrThrow(runId);
+        ensureRunIsOpen(run);
+
+        if (!dictionaryCache.statusExists(request.statusId())) {
+            throw new InvalidRunRequestException("Unknown status: " + request.statusId());
+        }
+        boolean hasStatuses = request.currentStatuses() != null && !request.currentStatuses().isEmpty();
+        if (!hasStatuses && request.assigneeId() == null && request.filter() == null) {
+            throw new InvalidRunRequestException("currentStatuses, assigneeId or filter must be provided");
+        }
+
+        Set<Long> statusIds = new LinkedHashSet<>();
+        boolean includeUntested = resolveStatusFilter(request.currentStatuses(), statusIds);
+        // Blank names resolve to nothing; an empty status set would otherwise match every run case
+        if (hasStatuses && statusIds.isEmpty()) {
+            throw new InvalidRunRequestException("currentStatuses must name at least one status");
+        }
+        User author = getCurrentUserOrThrow();
+
+        Instant now = Instant.now();
+        List<StatusChange> changed = bulkRepository.transitionStatuses(runId, run.getProjectId(),
+                request.statusId(), emptyToNull(request.comment()), author.getId(),
+                statusIds, includeUntested, request.assigneeId(), request.filter(), now);
+
+        // The run is only share-locked and its row is not written: like the other result writes, bulk transitions
+        // leave runs.updated_at alone, so they neither queue nor deadlock behind concurrent result writers
+        if (!changed.isEmpty()) {
+            // Only run cases not already in the target status are matched, so every one changed status
+            eventPublisher.publishEvent(new RunChangedEvent(runId, changed.stream()
+                    .flatMap(c -> Stream.of(
+                            RunEvent.resultAdded(runId, c.runCaseId(), c.caseId(), request.statusId(), now),
+                            RunEvent.statusChanged(runId, c.runCaseId(), c.caseId(), request.statusId(), now)))
+                    .toList()));
+        }
+
+        log.info("{} bulk status updated: runId={}, statusId={}, updated={}",
+                LOG_PREFIX, runId, request.statusId(), changed.size());
+        return changed.size();
+    }
+
+    /**
+     * Returns the frozen contents of a closed run: per-case final status, latest elapsed time and defects,
+     * with summary counts. Runs closed before snapshots existed are built from live rows until backfilled.
+     *
+     * @param runId the run ID
+     * @return the run snapshot
+     * @throws NotFoundException          if run not found
+     * @throws InvalidRunRequestException if run is not closed
+     */
+    @Transactional(readOnly = true)
+    public RunSnapshotResponse getRunSnapshot(Long runId) {
+        log.info("{} getting run snapshot: runId={}", LOG_PREFIX, runId);
+
+        Run run = getActiveRunOrThrow(runId);
+        if (!run.isClosed()) {
+            throw new InvalidRunRequestException("Run is not closed: " + runId);
+        }
+
+        return snapshotService.getSnapshot(run);
+    }
+
+    /**
+     * Subscribes to live deltas of a run (results, status changes, added/removed cases).
+     *
+     * @param runId the run ID
+     * @return the SSE emitter
+     * @throws NotFoundException if run not found
+     */
+    @Transactional(readOnly = true)
+    public SseEmitter subscribeToRunEvents(Long runId) {
+        log.info("{} subscribing to run events: runId={}", LOG_PREFIX, runId);
+
+        Run run = getActiveRunOrThrow(runId);
+        return eventHub.subscribe(run.getId());
     }
 
     /* ========== Status Management ========== */
@@ -368,7 +595,7 @@ public class RunService {
     @Transactional(readOnly = true)
     public List<Status> listStatuses() {
         log.info("{} listing statuses", LOG_PREFIX);
-        return statusRepository.findAll();
+        return dictionaryCache.statuses();
     }
 
     /**
@@ -416,6 +643,61 @@ public class RunService {
                 .orElseThrow(() -> new NotFoundException("Run not found or not active: " + runId));
     }
 
+    /**
+     * Gets an active run by ID and locks it FOR UPDATE, or throws NotFoundException.
+     *
+     * @param runId the run ID
+     * @return the locked run
+     * @throws NotFoundException if run not found or not active
+     */
+    private Run lockActiveRunOrThrow(Long runId) {
+        return runRepository.findActiveByIdForUpdate(runId)
+                .orElseThrow(() -> new NotFoundException("Run not found or not active: " + runId));
+    }
+
+    /**
+     * Gets an active run by ID and locks it FOR SHARE, or throws NotFoundException.
+     *
+     * @param runId the run ID
+     * @return the share-locked run
+     * @throws NotFoundException if run not found or not active
+     */
+    private Run shareLockActiveRunOrThrow(Long runId) {
+        return runRepository.findActiveByIdForShare(runId)
+                .orElseThrow(() -> new NotFoundException("Run not found or not active: " + runId));
+    }
+
+    /**
+     * Resolves status names or IDs into status IDs.
+     *
+     * @param statuses  status names or numeric IDs, may be null
+     * @param statusIds receives the resolved IDs
+     * @return true if the default status was requested, meaning run cases without a status match too
+     * @throws InvalidRunRequestException if a status is unknown
+     */
+    private boolean resolveStatusFilter(List<String> statuses, Set<Long> statusIds) {
+        if (statuses == null || statuses.isEmpty()) {
+            return false;
+        }
+
+        List<Status> all = dictionaryCache.statuses();
+        boolean includeUntested = false;
+
+        for (String raw : statuses) {
+            String key = normalizeKey(raw);
+            if (key.isEmpty()) {
+                continue;
+            }
+            Status status = all.stream()
+                    .filter(s -> normalizeKey(s.getName()).equals(key) || String.valueOf(s.getId()).equals(key))
+                    .findFirst()
+                    .orElseThrow(() -> new InvalidRunRequestException("Unknown status: " + raw));
+            statusIds.add(status.getId());
+            includeUntested |= status.isDefault();
+        }
+        return includeUntested;
+    }
+
     /**
      * Ensures that the run is open (not closed).
      *
@@ -445,23 +727,102 @@ public class RunService {
     /* ========== Mapping Helpers ========== */
 
     /**
-     * Converts RunCase entity to DTO.
+     * Encodes a run case keyset position as an opaque cursor.
+     */
+    private static String encodeRunCaseCursor(int sortIndex, long caseId) {
+        String raw = sortIndex + ":" + caseId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a run case cursor into {sortIndex, caseId}.
      *
-     * @param runCase the run case entity
-     * @return the run case DTO
+     * @throws InvalidRunRequestException if the cursor is malformed
      */
-    private RunCaseResponse toRunCaseResponse(RunCase runCase) {
-        TestCase testCase = testCaseRepository.findById(runCase.getCaseId())
-                .orElse(null);
+    private static long[] decodeRunCaseCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf(':');
+            return new long[]{
+                    Integer.parseInt(raw.substring(0, sep)),
+                    Long.parseLong(raw.substring(sep + 1))
+            };
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new InvalidRunRequestException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Returns the stored snapshot of a closed run, or empty for open runs and runs not yet backfilled.
+     */
+    private Optional<RunSnapshotResponse> findClosedRunSnapshot(Run run) {
+        return run.isClosed() ? snapshotService.findSnapshot(run.getId()) : Optional.empty();
+    }
 
+    /**
+     * Applies the paged listing's filters and keyset to a snapshot, which is already in (sortIndex, caseId) order.
+     */
+    private static List<RunCasePageItem> pageSnapshot(RunSnapshotResponse snapshot,
+                                                      RunCasePageFilter filter,
+                                                      Integer afterSortIndex,
+                                                      Long afterCaseId,
+                                                      int limit) {
+        return snapshot.items().stream()
+                .filter(item -> afterSortIndex == null || afterCaseId == null
+                        || item.sortIndex() > afterSortIndex
+                        || (item.sortIndex().equals(afterSortIndex) && item.caseId() > afterCaseId))
+                .filter(item -> filter == null || filter.statusIds() == null || filter.statusIds().isEmpty()
+                        || filter.statusIds().contains(item.statusId()))
+                .filter(item -> filter == null || filter.assigneeId() == null
+                        || filter.assigneeId().equals(item.assigneeId()))
+                .filter(item -> filter == null || filter.suiteId() == null
+                        || filter.suiteId().equals(item.suiteId()))
+                .limit(limit)
+                .map(item -> new RunCasePageItem(
+                        item.id(),
+                        snapshot.runId(),
+                        item.caseId(),
+                        item.statusId(),
+                        item.assigneeId(),
+                        item.comment(),
+                        item.title(),
+                        item.sortIndex(),
+                        item.suiteId(),
+                        item.suiteName(),
+                        item.priorityId(),
+                        item.priorityName(),
+                        item.autotestMapping()
+                ))
+                .toList();
+    }
+
+    private static RunCaseResponse toRunCaseResponse(Long runId, RunSnapshotItem item) {
+        return new RunCaseResponse(
+                item.id(),
+                runId,
+                item.caseId(),
+                item.statusId(),
+                item.assigneeId(),
+                item.comment(),
+                item.autotestMapping()
+        );
+    }
+
+    /**
+     * Converts a run case row (with embedded autotest mapping) to DTO.
+     *
+     * @param row the run case row
+     * @return the run case DTO
+     */
+    private static RunCaseResponse toRunCaseResponse(RunCaseRow row) {
         return new RunCaseResponse(
-                runCase.getId(),
-                runCase.getRunId(),
-                runCase.getCaseId(),
-                runCase.getCurrentStatusId(),
-                runCase.getAssigneeId(),
-                runCase.getComment(),
-                testCase != null ? testCase.getAutotestMapping() : null
+                row.id(),
+                row.runId(),
+                row.caseId(),
+                row.currentStatusId(),
+                row.assigneeId(),
+                row.comment(),
+                row.autotestMapping()
         );
     }
 
@@ -0,0 +1,134 @@
+package com.test.system.service.run;
+
+import com.test.system.dto.run.response.RunShardCase;
+import com.test.system.dto.run.response.RunShardCase.DurationSource;
+import com.test.system.dto.run.response.RunShardPlanResponse;
+import com.test.system.dto.run.response.RunShardResponse;
+import com.test.system.exceptions.common.NotFoundException;
+import com.test.system.exceptions.run.InvalidRunRequestException;
+import com.test.system.repository.run.TestRunRepository;
+import com.test.system.repository.testcase.CaseDurationRepository;
+import com.test.system.repository.testcase.CaseDurationRepository.RunCaseDuration;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Splits a run into shards of near-equal expected duration for parallel CI.
+ * Expected durations come from the precomputed case_duration_stats (see {@code CaseDurationService}),
+ * falling back to the case estimate; assignment uses the longest-processing-time-first heuristic,
+ * whose makespan is within 4/3 of optimal.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RunShardService {
+
+    private static final String LOG_PREFIX = "[RunShard]";
+    private static final int MAX_SHARD_COUNT = 256;
+
+    private final TestRunRepository runRepository;
+    private final CaseDurationRepository durationRepository;
+
+    /** Expected duration of cases with neither history nor estimate. */
+    @Value("${app.durations.default-seconds:60}")
+    private int defaultSeconds;
+
+    /**
+     * Plans shards for the cases of a run.
+     * Cases are taken longest first and each goes to the shard with the smallest expected total so far
+     * (lowest index on ties), so the plan is deterministic for the same statistics.
+     *
+     * @param runId the run ID
+     * @param count number of shards, 1..256
+     * @return the shard plan
+     * @throws NotFoundException          if run not found
+     * @throws InvalidRunRequestException if count is out of range
+     */
+    @Transactional(readOnly = true)
+    public RunShardPlanResponse planShards(Long runId, int count) {
+        if (count < 1 || count > MAX_SHARD_COUNT) {
+            throw new InvalidRunRequestException("count must be between 1 and " + MAX_SHARD_COUNT);
+        }
+        runRepository.findActiveById(runId)
+                .orElseThrow(() -> new NotFoundException("Run not found or not active: " + runId));
+
+        List<RunShardCase> cases = new ArrayList<>(durationRepository.findRunCaseDurations(runId).stream()
+                .map(this::toShardCase)
+                .toList());
+        cases.sort(Comparator.comparingInt(RunShardCase::expectedSeconds).reversed()
+                .thenComparing(RunShardCase::caseId));
+
+        List<ShardBuilder> shards = new ArrayList<>(count);
+        PriorityQueue<ShardBuilder> byLoad = new PriorityQueue<>(count,
+                Comparator.comparingLong(ShardBuilder::load).thenComparingInt(ShardBuilder::index));
+        for (int i = 0; i < count; i++) {
+            ShardBuilder shard = new ShardBuilder(i);
+            shards.add(shard);
+            byLoad.add(shard);
+        }
+
+        long total = 0;
+        for (RunShardCase item : cases) {
+            ShardBuilder shard = byLoad.poll();
+            shard.add(item);
+            byLoad.add(shard);
+            total += item.expectedSeconds();
+        }
+
+        List<RunShardResponse> result = shards.stream().map(ShardBuilder::build).toList();
+        long makespan = result.stream().mapToLong(RunShardResponse::expectedSeconds).max().orElse(0);
+
+        log.info("{} shards planned: runId={}, shards={}, cases={}, total={}s, makespan={}s",
+                LOG_PREFIX, runId, count, cases.size(), total, makespan);
+        return new RunShardPlanResponse(runId, count, cases.size(), total, makespan, result);
+    }
+
+    private RunShardCase toShardCase(RunCaseDuration d) {
+        if (d.medianSeconds() != null) {
+            return new RunShardCase(d.runCaseId(), d.caseId(), d.medianSeconds(), DurationSource.HISTORY);
+        }
+        if (d.estimateSeconds() != null && d.estimateSeconds() > 0) {
+            return new RunShardCase(d.runCaseId(), d.caseId(), d.estimateSeconds(), DurationSource.ESTIMATE);
+        }
+        return new RunShardCase(d.runCaseId(), d.caseId(), defaultSeconds, DurationSource.DEFAULT);
+    }
+
+    /**
+     * Mutable shard under construction.
+     */
+    private static final class ShardBuilder {
+
+        private final int index;
+        private final List<RunShardCase> cases = new ArrayList<>();
+        private long load;
+
+        private ShardBuilder(int index) {
+            this.index = index;
+        }
+
+        int index() {
+            return index;
+        }
+
+        long load() {
+            return load;
+        }
+
+        void add(RunShardCase item) {
+            cases.add(item);
+            load += item.expectedSeconds();
+        }
+
+        RunShardResponse build() {
+            return new RunShardResponse(index, cases.size(), load, List.copyOf(cases));
+        }
+    }
+}
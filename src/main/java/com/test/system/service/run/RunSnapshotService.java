@@ -0,0 +1,235 @@
+package com.test.system.service.run;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.test.system.dto.run.response.RunSnapshotItem;
+import com.test.system.dto.run.response.RunSnapshotResponse;
+import com.test.system.dto.run.response.RunStatusCountResponse;
+import com.test.system.model.run.Run;
+import com.test.system.repository.run.RunSnapshotRepository;
+import com.test.system.repository.run.RunSnapshotRepository.StoredSnapshot;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static com.test.system.service.run.ResultPartitionService.earliestResultTime;
+
+/**
+ * Immutable snapshots of closed runs.
+ * Closing a run freezes its cases (final status, latest elapsed time and defects, case fields) into one
+ * gzip-compressed row of run_snapshots; reads of closed runs are then served from that row instead of
+ * joining run_cases, cases and results. Reopening a run drops its snapshot.
+ */
+@Service
+@Slf4j
+public class RunSnapshotService {
+
+    private static final String LOG_PREFIX = "[RunSnapshot]";
+    private static final int FORMAT_VERSION = 1;
+    private static final TypeReference<List<RunSnapshotItem>> ITEMS_TYPE = new TypeReference<>() {};
+
+    private final RunSnapshotRepository snapshotRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache<Long, RunSnapshotResponse> cache;
+
+    @Value("${app.runs.snapshots.backfill-batch-size:50}")
+    private int backfillBatchSize;
+
+    public RunSnapshotService(RunSnapshotRepository snapshotRepository,
+                              ObjectMapper objectMapper,
+                              TransactionTemplate transactionTemplate,
+                              @Value("${app.runs.snapshots.cache-size:32}") long cacheSize) {
+        this.snapshotRepository = snapshotRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.cache = Caffeine.newBuilder().maximumSize(cacheSize).build();
+    }
+
+    /**
+     * Writes (or rewrites) the snapshot of a run from its live rows.
+     * Must be called in the transaction that closes the run, holding the run row FOR UPDATE: result writes hold it
+     * FOR SHARE, so the live rows read here are final.
+     *
+     * @param run the run being closed
+     */
+    @Transactional
+    public void createSnapshot(Run run) {
+        RunSnapshotResponse snapshot = buildFromLive(run.getId(), run.getCreatedAt());
+
+        byte[] payload = compress(snapshot.items());
+        snapshotRepository.save(new StoredSnapshot(
+                run.getId(),
+                FORMAT_VERSION,
+                snapshot.totalCases(),
+                snapshot.totalElapsedSeconds(),
+                payload,
+                snapshot.createdAt()
+        ));
+        evictAfterCommit(run.getId());
+
+        log.info("{} snapshot created: runId={}, cases={}, bytes={}",
+                LOG_PREFIX, run.getId(), snapshot.totalCases(), payload.length);
+    }
+
+    /**
+     * Drops the snapshot of a run being reopened.
+     *
+     * @param runId the run ID
+     */
+    @Transactional
+    public void deleteSnapshot(Long runId) {
+        if (snapshotRepository.deleteByRunId(runId) > 0) {
+            log.info("{} snapshot deleted: runId={}", LOG_PREFIX, runId);
+        }
+        evictAfterCommit(runId);
+    }
+
+    /**
+     * Returns the stored snapshot of a run, decompressed and cached.
+     * A cached copy is served only while its creation time matches the stored row, so a snapshot dropped or
+     * rewritten by another instance (run reopened and closed again) is never served stale.
+     *
+     * @param runId the run ID
+     * @return the snapshot, or empty if the run has none (open, or closed before snapshots existed)
+     */
+    @Transactional(readOnly = true)
+    public Optional<RunSnapshotResponse> findSnapshot(Long runId) {
+        Optional<Instant> storedAt = snapshotRepository.findCreatedAt(runId);
+        if (storedAt.isEmpty()) {
+            cache.invalidate(runId);
+            return Optional.empty();
+        }
+        RunSnapshotResponse cached = cache.getIfPresent(runId);
+        if (cached != null && cached.createdAt().equals(storedAt.get())) {
+            return Optional.of(cached);
+        }
+
+        Optional<RunSnapshotResponse> snapshot = snapshotRepository.findByRunId(runId).map(this::decode);
+        snapshot.ifPresent(s -> cache.put(runId, s));
+        return snapshot;
+    }
+
+    /**
+     * Returns the stored snapshot of a closed run, or builds one from live rows without storing it.
+     *
+     * @param run the closed run
+     */
+    @Transactional(readOnly = true)
+    public RunSnapshotResponse getSnapshot(Run run) {
+        return findSnapshot(run.getId())
+                .orElseGet(() -> buildFromLive(run.getId(), run.getCreatedAt()));
+    }
+
+    /**
+     * Writes snapshots for closed runs that have none, e.g. runs closed before this feature existed.
+     * Each run is handled in its own transaction with the run row locked.
+     */
+    @Scheduled(cron = "${app.runs.snapshots.backfill-cron:0 0 4 * * *}")
+    public void backfillSnapshots() {
+        List<Long> runIds;
+        try {
+            runIds = snapshotRepository.findClosedRunIdsWithoutSnapshot(backfillBatchSize);
+        } catch (DataAccessException e) {
+            log.warn("{} backfill skipped: {}", LOG_PREFIX, e.getMessage());
+            return;
+        }
+
+        int created = 0;
+        for (Long runId : runIds) {
+            Boolean done = transactionTemplate.execute(status -> snapshotRepository.lockClosedRun(runId)
+                    .map(createdAt -> {
+                        createSnapshot(Run.builder().id(runId).createdAt(createdAt).build());
+                        return true;
+                    })
+                    .orElse(false));
+            if (Boolean.TRUE.equals(done)) {
+                created++;
+            }
+        }
+
+        if (created > 0) {
+            log.info("{} snapshots backfilled: count={}", LOG_PREFIX, created);
+        }
+    }
+
+    private RunSnapshotResponse buildFromLive(Long runId, Instant runCreatedAt) {
+        List<RunSnapshotItem> items = snapshotRepository.findSnapshotItems(
+                runId, earliestResultTime(runCreatedAt));
+        return toResponse(runId, Instant.now(), items);
+    }
+
+    private RunSnapshotResponse decode(StoredSnapshot stored) {
+        if (stored.formatVersion() != FORMAT_VERSION) {
+            throw new IllegalStateException("Unsupported run snapshot format: runId=" + stored.runId()
+                    + ", version=" + stored.formatVersion());
+        }
+        return toResponse(stored.runId(), stored.createdAt(), decompress(stored.payload()));
+    }
+
+    private static RunSnapshotResponse toResponse(Long runId, Instant createdAt, List<RunSnapshotItem> items) {
+        Map<Long, Long> counts = new LinkedHashMap<>();
+        long totalElapsed = 0;
+        for (RunSnapshotItem item : items) {
+            counts.merge(item.statusId(), 1L, Long::sum);
+            totalElapsed += item.elapsedSeconds() == null ? 0 : item.elapsedSeconds();
+        }
+
+        List<RunStatusCountResponse> statusCounts = counts.entrySet().stream()
+                .map(e -> new RunStatusCountResponse(runId, e.getKey(), e.getValue()))
+                .toList();
+        return new RunSnapshotResponse(runId, createdAt, items.size(), totalElapsed, statusCounts, List.copyOf(items));
+    }
+
+    private byte[] compress(List<RunSnapshotItem> items) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(out, items);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write run snapshot", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private List<RunSnapshotItem> decompress(byte[] payload) {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(payload))) {
+            return objectMapper.readValue(in, ITEMS_TYPE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read run snapshot", e);
+        }
+    }
+
+    private void evictAfterCommit(Long runId) {
+        cache.invalidate(runId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(runId);
+                }
+            });
+        }
+    }
+}
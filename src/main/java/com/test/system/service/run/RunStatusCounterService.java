@@ -0,0 +1,36 @@
+package com.test.system.service.run;
+
+import com.test.system.repository.run.TestRunBulkRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Maintenance of the per-run status counters behind run and milestone statistics.
+ * Counters are kept up to date by database triggers; this service only repairs drift
+ * (e.g. after manual data fixes) by periodically rebuilding them from run cases.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RunStatusCounterService {
+
+    private static final String LOG_PREFIX = "[RunStatusCounter]";
+
+    private final TestRunBulkRepository bulkRepository;
+
+    /**
+     * Rebuilds all run status counters from run cases.
+     */
+    @Scheduled(cron = "${app.runs.status-counters.repair-cron:0 30 3 * * *}")
+    @Transactional
+    public void rebuildRunStatusCounters() {
+        log.info("{} rebuilding run status counters", LOG_PREFIX);
+
+        int rows = bulkRepository.rebuildStatusCounters();
+
+        log.info("{} run status counters rebuilt: rows={}", LOG_PREFIX, rows);
+    }
+}
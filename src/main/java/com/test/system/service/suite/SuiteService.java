@@ -4,12 +4,12 @@ import com.test.system.dto.suite.SuiteCreateRequest;
 import com.test.system.dto.suite.SuiteResponse;
 import com.test.system.dto.suite.SuiteUpdateRequest;
 import com.test.system.exceptions.common.NotFoundException;
-import com.test.system.model.cases.TestCase;
 import com.test.system.model.suite.Suite;
 import com.test.system.repository.project.ProjectRepository;
 import com.test.system.repository.run.TestRunCaseRepository;
 import com.test.system.repository.suite.TestSuiteRepository;
 import com.test.system.repository.testcase.TestCaseRepository;
+import com.test.system.repository.testcase.TestCaseRepository.TestCaseSummary;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -174,7 +174,7 @@ public class SuiteService {
         List<Long> allCaseIds = testCaseRepository
                 .findAllActiveBySuiteIdIn(allSuiteIds)
                 .stream()
-                .map(TestCase::getId)
+                .map(TestCaseSummary::getId)
                 .toList();
 
         // 4. Delete run-case links in batch
@@ -207,9 +207,9 @@ public class SuiteService {
 
         // Remove run-case links for all active cases in this suite
         List<Long> caseIds = testCaseRepository
-                .findAllActiveBySuiteId(suite.getProjectId(), suite.getId())
+                .findSummariesActiveBySuiteId(suite.getProjectId(), suite.getId())
                 .stream()
-                .map(TestCase::getId)
+                .map(TestCaseSummary::getId)
                 .toList();
 
         if (!caseIds.isEmpty()) {
@@ -0,0 +1,154 @@
+package com.test.system.service.testcase;
+
+import com.test.system.repository.run.JobWatermarkRepository;
+import com.test.system.repository.run.JobWatermarkRepository.Watermark;
+import com.test.system.repository.testcase.CaseDurationRepository;
+import com.test.system.repository.testcase.CaseDurationRepository.CaseDuration;
+import com.test.system.repository.testcase.CaseDurationRepository.DurationRow;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Per-case execution time statistics.
+ * A background job reads only results past a watermark (see JobWatermarkRepository) and folds their elapsed time into
+ * a per-case window of the last K runs, storing the window median and 90th percentile, so readers such as
+ * shard planning and run ETAs get a case's expected duration with one primary-key lookup instead of
+ * aggregating result history.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CaseDurationService {
+
+    private static final String LOG_PREFIX = "[CaseDuration]";
+    private static final String WATERMARK = "case_duration_stats";
+    private static final int MAX_WINDOW_SIZE = 100;
+
+    private final CaseDurationRepository durationRepository;
+    private final JobWatermarkRepository watermarkRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.durations.window-size:10}")
+    private int windowSize;
+
+    @Value("${app.durations.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${app.durations.max-batches-per-tick:20}")
+    private int maxBatchesPerTick;
+
+    /**
+     * Processes results added since the last tick.
+     */
+    @Scheduled(fixedDelayString = "${app.durations.poll-ms:60000}")
+    public void processNewResults() {
+        int processed = 0;
+        for (int i = 0; i < maxBatchesPerTick; i++) {
+            Integer count = transactionTemplate.execute(status -> processBatch());
+            processed += count == null ? 0 : count;
+            if (count == null || count < batchSize) {
+                break;
+            }
+        }
+
+        if (processed > 0) {
+            log.info("{} results processed: count={}", LOG_PREFIX, processed);
+        }
+    }
+
+    /**
+     * Folds one batch of new results into the case summaries and advances the watermark, atomically.
+     *
+     * @return number of results read
+     */
+    private int processBatch() {
+        Watermark watermark = watermarkRepository.lock(WATERMARK);
+
+        List<DurationRow> rows = durationRepository.findNewDurations(watermark, batchSize);
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, List<DurationRow>> rowsByCaseId = rows.stream()
+                .collect(Collectors.groupingBy(DurationRow::caseId, LinkedHashMap::new, Collectors.toList()));
+        Map<Long, CaseDuration> existing = durationRepository.findByCaseIds(rowsByCaseId.keySet());
+
+        List<CaseDuration> updated = new ArrayList<>(rowsByCaseId.size());
+        rowsByCaseId.forEach((caseId, caseRows) -> updated.add(fold(existing.get(caseId), caseRows)));
+        durationRepository.upsertAll(updated);
+
+        DurationRow last = rows.get(rows.size() - 1);
+        watermarkRepository.save(WATERMARK, new Watermark(last.txid(), last.resultId()));
+
+        return rows.size();
+    }
+
+    /**
+     * Appends elapsed times (in stream order) to a case's window and recomputes its percentiles.
+     * One entry per run: a later result of the same run case replaces the previous entry.
+     */
+    private CaseDuration fold(CaseDuration current, List<DurationRow> rows) {
+        List<Integer> window = new ArrayList<>();
+        long lastRunCaseId = -1;
+        if (current != null) {
+            Arrays.stream(current.recentSeconds()).forEach(window::add);
+            lastRunCaseId = current.lastRunCaseId();
+        }
+
+        for (DurationRow row : rows) {
+            if (row.runCaseId() == lastRunCaseId && !window.isEmpty()) {
+                window.set(window.size() - 1, row.elapsedSeconds());
+            } else {
+                window.add(row.elapsedSeconds());
+            }
+            lastRunCaseId = row.runCaseId();
+        }
+
+        int size = Math.min(Math.max(windowSize, 1), MAX_WINDOW_SIZE);
+        if (window.size() > size) {
+            window.subList(0, window.size() - size).clear();
+        }
+
+        int[] recent = window.stream().mapToInt(Integer::intValue).toArray();
+        int[] sorted = recent.clone();
+        Arrays.sort(sorted);
+        DurationRow last = rows.get(rows.size() - 1);
+        return new CaseDuration(
+                last.caseId(),
+                last.projectId(),
+                recent,
+                median(sorted),
+                percentile(sorted, 0.9),
+                (current == null ? 0 : current.totalExecutions()) + rows.size(),
+                last.runCaseId(),
+                last.resultId(),
+                last.createdAt()
+        );
+    }
+
+    /**
+     * Lower median, so a single slow outlier in a two-run window does not double the estimate.
+     */
+    private static int median(int[] sorted) {
+        return sorted[(sorted.length - 1) / 2];
+    }
+
+    /**
+     * Nearest-rank percentile, matching percentile_disc of the V21 backfill.
+     */
+    private static int percentile(int[] sorted, double p) {
+        int rank = (int) Math.ceil(p * sorted.length);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+}
@@ -0,0 +1,172 @@
+package com.test.system.service.testcase;
+
+import com.test.system.component.dictionary.DictionaryCache;
+import com.test.system.dto.testcase.response.FlakyCaseResponse;
+import com.test.system.exceptions.common.NotFoundException;
+import com.test.system.repository.project.ProjectRepository;
+import com.test.system.repository.run.JobWatermarkRepository;
+import com.test.system.repository.run.JobWatermarkRepository.Watermark;
+import com.test.system.repository.testcase.CaseFlakinessRepository;
+import com.test.system.repository.testcase.CaseFlakinessRepository.CaseFlakiness;
+import com.test.system.repository.testcase.CaseFlakinessRepository.OutcomeRow;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Flaky test detection over result history.
+ * A background job reads only results past a watermark (see JobWatermarkRepository), appends their pass/fail outcome
+ * to a per-case sliding window and stores the window's flip rate, so cost follows ingest rate, not history size.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CaseFlakinessService {
+
+    private static final String LOG_PREFIX = "[CaseFlakiness]";
+    private static final String WATERMARK = "case_flakiness";
+    private static final int MAX_WINDOW_SIZE = 64;
+    private static final int MAX_LIMIT = 500;
+
+    private final CaseFlakinessRepository flakinessRepository;
+    private final JobWatermarkRepository watermarkRepository;
+    private final DictionaryCache dictionaryCache;
+    private final ProjectRepository projectRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.flaky.window-size:20}")
+    private int windowSize;
+
+    @Value("${app.flaky.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${app.flaky.max-batches-per-tick:20}")
+    private int maxBatchesPerTick;
+
+    @Value("${app.flaky.passing-statuses:passed}")
+    private List<String> passingStatuses;
+
+    @Value("${app.flaky.failing-statuses:failed}")
+    private List<String> failingStatuses;
+
+    /**
+     * Processes results added since the last tick.
+     */
+    @Scheduled(fixedDelayString = "${app.flaky.poll-ms:60000}")
+    public void processNewResults() {
+        List<Long> passingIds = dictionaryCache.statusIdsByNameForSql(passingStatuses);
+        List<Long> failingIds = dictionaryCache.statusIdsByNameForSql(failingStatuses);
+
+        int processed = 0;
+        for (int i = 0; i < maxBatchesPerTick; i++) {
+            Integer count = transactionTemplate.execute(status -> processBatch(passingIds, failingIds));
+            processed += count == null ? 0 : count;
+            if (count == null || count < batchSize) {
+                break;
+            }
+        }
+
+        if (processed > 0) {
+            log.info("{} results processed: count={}", LOG_PREFIX, processed);
+        }
+    }
+
+    /**
+     * Lists the flakiest cases of a project, highest flip rate first.
+     *
+     * @param projectId     the project ID
+     * @param minExecutions minimum executions in the window (default 5)
+     * @param minFlipRate   minimum flip rate, 0..1 (default 0.1)
+     * @param limit         maximum number of cases (default 100, max 500)
+     * @throws NotFoundException if project not found
+     */
+    @Transactional(readOnly = true)
+    public List<FlakyCaseResponse> listFlakyCases(Long projectId, Integer minExecutions, Float minFlipRate, Integer limit) {
+        log.info("{} listing flaky cases: projectId={}", LOG_PREFIX, projectId);
+
+        projectRepository.findActiveById(projectId)
+                .orElseThrow(() -> new NotFoundException("Project not found or not active: " + projectId));
+
+        int safeMinExecutions = minExecutions == null || minExecutions < 2 ? 5 : minExecutions;
+        float safeMinFlipRate = minFlipRate == null || minFlipRate < 0 ? 0.1f : minFlipRate;
+        int safeLimit = limit == null || limit < 1 ? 100 : Math.min(limit, MAX_LIMIT);
+
+        return flakinessRepository.findFlakyByProject(projectId, safeMinExecutions, safeMinFlipRate, safeLimit);
+    }
+
+    /**
+     * Folds one batch of new results into the case summaries and advances the watermark, atomically.
+     *
+     * @return number of results read
+     */
+    private int processBatch(List<Long> passingIds, List<Long> failingIds) {
+        Watermark watermark = watermarkRepository.lock(WATERMARK);
+
+        List<OutcomeRow> rows = flakinessRepository.findNewOutcomes(watermark, passingIds, failingIds, batchSize);
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, List<OutcomeRow>> outcomesByCaseId = rows.stream()
+                .filter(r -> r.outcome() != null)
+                .collect(Collectors.groupingBy(OutcomeRow::caseId, LinkedHashMap::new, Collectors.toList()));
+        Map<Long, CaseFlakiness> existing = flakinessRepository.findByCaseIds(outcomesByCaseId.keySet());
+
+        List<CaseFlakiness> updated = new ArrayList<>(outcomesByCaseId.size());
+        outcomesByCaseId.forEach((caseId, outcomes) -> updated.add(fold(existing.get(caseId), outcomes)));
+        flakinessRepository.upsertAll(updated);
+
+        OutcomeRow last = rows.get(rows.size() - 1);
+        watermarkRepository.save(WATERMARK, new Watermark(last.txid(), last.resultId()));
+
+        return rows.size();
+    }
+
+    /**
+     * Appends outcomes (in stream order) to a case's window and recomputes its statistics.
+     */
+    private CaseFlakiness fold(CaseFlakiness current, List<OutcomeRow> outcomes) {
+        StringBuilder window = new StringBuilder(current == null ? "" : current.recentOutcomes());
+        outcomes.forEach(o -> window.append(o.outcome()));
+
+        int size = Math.min(Math.max(windowSize, 2), MAX_WINDOW_SIZE);
+        if (window.length() > size) {
+            window.delete(0, window.length() - size);
+        }
+
+        int flips = 0;
+        int failures = 0;
+        for (int i = 0; i < window.length(); i++) {
+            if (window.charAt(i) == 'F') {
+                failures++;
+            }
+            if (i > 0 && window.charAt(i) != window.charAt(i - 1)) {
+                flips++;
+            }
+        }
+        float flipRate = window.length() > 1 ? (float) flips / (window.length() - 1) : 0f;
+
+        OutcomeRow last = outcomes.get(outcomes.size() - 1);
+        return new CaseFlakiness(
+                last.caseId(),
+                last.projectId(),
+                window.toString(),
+                flips,
+                failures,
+                flipRate,
+                (current == null ? 0 : current.totalExecutions()) + outcomes.size(),
+                last.resultId(),
+                last.createdAt()
+        );
+    }
+}
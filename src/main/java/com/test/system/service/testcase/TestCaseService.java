@@ -5,25 +5,50 @@ import com.test.system.component.testcase.mapper.TestCaseMapper;
 import com.test.system.component.testcase.validator.TestCaseValidator;
 import com.test.system.dto.testcase.mapper.LookupMaps;
 import com.test.system.dto.testcase.request.CreateTestCaseRequest;
+import com.test.system.dto.testcase.request.TestCaseFilter;
 import com.test.system.dto.testcase.request.UpdateTestCaseRequest;
+import com.test.system.dto.testcase.response.AutotestCaseMatch;
+import com.test.system.dto.testcase.response.AutotestLookupResponse;
+import com.test.system.dto.testcase.response.TestCaseCursorPageResponse;
 import com.test.system.dto.testcase.response.TestCasePageResponse;
 import com.test.system.dto.testcase.response.TestCaseResponse;
+import com.test.system.dto.testcase.response.TestCaseSuggestion;
+import com.test.system.dto.testcase.response.TestCaseSummaryResponse;
+import com.test.system.enums.testcase.TestCaseCountMode;
+import com.test.system.enums.testcase.TestCaseSearchMode;
 import com.test.system.exceptions.common.NotFoundException;
+import com.test.system.exceptions.testcase.TestCaseValidationException;
 import com.test.system.model.cases.TestCase;
 import com.test.system.model.user.User;
 import com.test.system.provider.CurrentUserProvider;
 import com.test.system.provider.TimeProvider;
 import com.test.system.repository.run.TestRunCaseRepository;
+import com.test.system.repository.testcase.CaseAutotestRepository;
+import com.test.system.repository.testcase.CaseSuggestRepository;
+import com.test.system.repository.testcase.TestCaseFilterRepository;
 import com.test.system.repository.testcase.TestCaseRepository;
+import com.test.system.repository.testcase.TestCaseRepository.TestCaseSummary;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service for test case operations.
@@ -39,6 +64,9 @@ public class TestCaseService {
     // Repositories
     private final TestCaseRepository testCaseRepository;
     private final TestRunCaseRepository runCaseRepository;
+    private final CaseAutotestRepository caseAutotestRepository;
+    private final CaseSuggestRepository caseSuggestRepository;
+    private final TestCaseFilterRepository testCaseFilterRepository;
 
     // Components
     private final TestCaseValidator validator;
@@ -49,6 +77,9 @@ public class TestCaseService {
     private final CurrentUserProvider currentUserProvider;
     private final TimeProvider timeProvider;
 
+    /** Minimum word similarity of a title to a typeahead query. */
+    @Value("${app.cases.suggest.threshold:0.5}")
+    private double suggestThreshold;
 
     /**
      * Create new test case.
@@ -77,50 +108,109 @@ public class TestCaseService {
 
     /**
      * List test cases by project and optional suite.
+     * Cases are loaded as summaries without steps, attachments and long text fields; see {@link #getTestCase}.
      */
     @Transactional(readOnly = true)
-    public List<TestCaseResponse> listTestCasesByProject(Long projectId, Long suiteId) {
+    public List<TestCaseSummaryResponse> listTestCasesByProject(Long projectId, Long suiteId) {
         log.info("{} list: projectId={}, suiteId={}", LOG_PREFIX, projectId, suiteId);
 
-        // 1. Load test cases
-        List<TestCase> cases = (suiteId == null)
-                ? testCaseRepository.findAllActiveByProjectId(projectId)
-                : testCaseRepository.findAllActiveBySuiteId(projectId, suiteId);
+        // 1. Load case summaries
+        List<TestCaseSummary> cases = (suiteId == null)
+                ? testCaseRepository.findSummariesActiveByProjectId(projectId)
+                : testCaseRepository.findSummariesActiveBySuiteId(projectId, suiteId);
 
-        // 2. Batch load lookups
-        LookupMaps lookups = lookupResolver.resolve(cases);
-
-        // 3. Map to responses
-        List<TestCaseResponse> result = cases.stream()
-                .map(tc -> mapper.toResponse(tc, lookups))
-                .toList();
+        // 2. Batch load lookups and map to responses
+        List<TestCaseSummaryResponse> result = toSummaryResponses(cases);
 
         log.info("{} list done: projectId={}, count={}", LOG_PREFIX, projectId, result.size());
         return result;
     }
 
     /**
-     * List test cases with server-side pagination and optional title filter.
+     * List test cases with server-side pagination and optional search.
+     * In TITLE mode q filters by title substring and cases keep their sort order; in FULLTEXT mode q is matched
+     * against title, preconditions, expected result and steps through the search_vector GIN index and cases
+     * are ranked by relevance.
      */
     @Transactional(readOnly = true)
-    public TestCasePageResponse listTestCasesPageByProject(Long projectId, Long suiteId, String query, Integer page, Integer size) {
+    public TestCasePageResponse listTestCasesPageByProject(Long projectId,
+                                                           Long suiteId,
+                                                           String query,
+                                                           String mode,
+                                                           Integer page,
+                                                           Integer size) {
         int safePage = page == null || page < 0 ? 0 : page;
         int safeSize = size == null || size < 1 ? 100 : Math.min(size, 200);
         String q = query == null ? "" : query.trim();
+        TestCaseSearchMode searchMode = parseSearchMode(mode);
 
-        var pageable = PageRequest.of(
-                safePage,
-                safeSize,
-                Sort.by(Sort.Order.asc("sortIndex"), Sort.Order.asc("createdAt"))
-        );
-        var paged = testCaseRepository.findPageActiveByProjectWithFilters(projectId, suiteId, q, pageable);
+        List<TestCaseSummary> cases;
+        long total;
+        if (searchMode == TestCaseSearchMode.FULLTEXT && !q.isEmpty()) {
+            Page<Long> ids = testCaseRepository.searchPageIdsActiveByProject(projectId, suiteId, q, PageRequest.of(safePage, safeSize));
+            cases = loadSummariesInOrder(ids.getContent());
+            total = ids.getTotalElements();
+        } else {
+            // The query orders by sortIndex, createdAt itself
+            Page<TestCaseSummary> paged = testCaseRepository.findPageActiveByProjectWithFilters(
+                    projectId, suiteId, q, PageRequest.of(safePage, safeSize));
+            cases = paged.getContent();
+            total = paged.getTotalElements();
+        }
 
-        LookupMaps lookups = lookupResolver.resolve(paged.getContent());
-        List<TestCaseResponse> items = paged.getContent().stream()
-                .map(tc -> mapper.toResponse(tc, lookups))
-                .toList();
+        return new TestCasePageResponse(toSummaryResponses(cases), safePage, safeSize, total);
+    }
+
+    /**
+     * List one keyset page of test cases ordered by (sortIndex, createdAt, id), with optional suite and title filter.
+     */
+    @Transactional(readOnly = true)
+    public TestCaseCursorPageResponse listTestCasesByProjectAfter(Long projectId,
+                                                                  Long suiteId,
+                                                                  String query,
+                                                                  String cursor,
+                                                                  Integer size,
+                                                                  String count) {
+        return filterTestCases(projectId, TestCaseFilter.bySuiteAndTitle(suiteId, query), cursor, size, count);
+    }
+
+    /**
+     * List one keyset page of test cases matching a filter, ordered by (sortIndex, createdAt, id).
+     * The filter is evaluated by a single indexed query; each page is a range scan starting after the cursor,
+     * so deep pages cost the same as the first one, and the total is only computed when asked for,
+     * exactly or as a planner estimate.
+     */
+    @Transactional(readOnly = true)
+    public TestCaseCursorPageResponse filterTestCases(Long projectId,
+                                                      TestCaseFilter filter,
+                                                      String cursor,
+                                                      Integer size,
+                                                      String count) {
+        log.info("{} filter: projectId={}, filter={}, cursor={}", LOG_PREFIX, projectId, filter, cursor);
+
+        int safeSize = size == null || size < 1 ? 100 : Math.min(size, 200);
+        TestCaseCountMode countMode = parseCountMode(count);
+
+        List<Long> ids;
+        if (cursor == null || cursor.isBlank()) {
+            ids = testCaseFilterRepository.findPageIds(projectId, filter, null, null, null, safeSize + 1);
+        } else {
+            CaseCursor after = decodeCaseCursor(cursor);
+            ids = testCaseFilterRepository.findPageIds(
+                    projectId, filter, after.sortIndex(), after.createdAt(), after.id(), safeSize + 1);
+        }
+
+        boolean hasMore = ids.size() > safeSize;
+        List<TestCaseSummary> cases = loadSummariesInOrder(hasMore ? ids.subList(0, safeSize) : ids);
+        String nextCursor = hasMore && !cases.isEmpty() ? encodeCaseCursor(cases.get(cases.size() - 1)) : null;
+
+        Long total = switch (countMode) {
+            case NONE -> null;
+            case ESTIMATE -> testCaseFilterRepository.estimate(projectId, filter);
+            case EXACT -> testCaseFilterRepository.count(projectId, filter);
+        };
 
-        return new TestCasePageResponse(items, safePage, safeSize, paged.getTotalElements());
+        return new TestCaseCursorPageResponse(toSummaryResponses(cases), safeSize, nextCursor, total, countMode == TestCaseCountMode.ESTIMATE);
     }
 
     /**
@@ -142,6 +232,71 @@ public class TestCaseService {
                 .map(tc -> mapper.toResponse(tc, lookups))
                 .toList();
     }
+
+    /**
+     * Suggest active cases whose titles best match a partial, possibly misspelled query (typeahead).
+     */
+    @Transactional(readOnly = true)
+    public List<TestCaseSuggestion> suggestTestCases(Long projectId, String query, Integer limit) {
+        log.debug("{} suggest: projectId={}, q={}", LOG_PREFIX, projectId, query);
+
+        String clean = query == null ? "" : query.trim();
+        if (clean.isEmpty()) {
+            return List.of();
+        }
+        int safeLimit = limit == null || limit < 1 ? 10 : Math.min(limit, 50);
+
+        return caseSuggestRepository.suggest(projectId, clean, suggestThreshold, safeLimit);
+    }
+
+    /**
+     * Find active test cases addressed by an autotest key ("testClass#testMethod" or scenario).
+     */
+    @Transactional(readOnly = true)
+    public List<AutotestCaseMatch> findByAutotestKey(Long projectId, String key) {
+        log.info("{} find by autotest key: projectId={}, key={}", LOG_PREFIX, projectId, key);
+
+        String clean = key == null ? "" : key.trim();
+        if (clean.isEmpty()) {
+            throw new TestCaseValidationException("key must not be blank");
+        }
+
+        return caseAutotestRepository.findByKeys(projectId, List.of(clean));
+    }
+
+    /**
+     * Resolve many autotest keys in a single query.
+     */
+    @Transactional(readOnly = true)
+    public AutotestLookupResponse findByAutotestKeys(Long projectId, List<String> keys) {
+        log.info("{} find by autotest keys: projectId={}, requested={}", LOG_PREFIX, projectId, keys.size());
+
+        Set<String> uniqueKeys = keys.stream()
+                .map(String::trim)
+                .filter(k -> !k.isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (uniqueKeys.isEmpty()) {
+            return new AutotestLookupResponse(List.of(), List.of());
+        }
+
+        Map<String, List<AutotestCaseMatch>> byKey = caseAutotestRepository.findByKeys(projectId, uniqueKeys).stream()
+                .collect(Collectors.groupingBy(AutotestCaseMatch::key));
+
+        List<AutotestCaseMatch> matches = new ArrayList<>();
+        List<String> unmatched = new ArrayList<>();
+        for (String key : uniqueKeys) {
+            List<AutotestCaseMatch> found = byKey.get(key);
+            if (found == null) {
+                unmatched.add(key);
+            } else {
+                matches.addAll(found);
+            }
+        }
+
+        log.info("{} autotest keys resolved: projectId={}, matches={}, unmatched={}",
+                LOG_PREFIX, projectId, matches.size(), unmatched.size());
+        return new AutotestLookupResponse(matches, unmatched);
+    }
 
     /**
      * Get test case by ID.
@@ -252,4 +407,79 @@ public class TestCaseService {
         return testCaseRepository.findActiveById(id)
                 .orElseThrow(() -> new NotFoundException("Case not found"));
     }
+
+    /**
+     * Loads case summaries by primary key, keeping the order of the given IDs.
+     */
+    private List<TestCaseSummary> loadSummariesInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, TestCaseSummary> byId = testCaseRepository.findSummariesByIdIn(ids).stream()
+                .collect(Collectors.toMap(TestCaseSummary::getId, Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private List<TestCaseSummaryResponse> toSummaryResponses(List<TestCaseSummary> cases) {
+        LookupMaps lookups = lookupResolver.resolveSummaries(cases);
+        return cases.stream()
+                .map(tc -> mapper.toSummaryResponse(tc, lookups))
+                .toList();
+    }
+
+    /**
+     * Keyset position of a case in list order.
+     */
+    private record CaseCursor(int sortIndex, Instant createdAt, long id) {}
+
+    /**
+     * Encodes the list position of a case as an opaque cursor; createdAt is kept to the microsecond,
+     * the database precision.
+     */
+    private static String encodeCaseCursor(TestCaseSummary tc) {
+        long micros = ChronoUnit.MICROS.between(Instant.EPOCH, tc.getCreatedAt());
+        String raw = tc.getSortIndex() + ":" + micros + ":" + tc.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a case cursor.
+     *
+     * @throws TestCaseValidationException if the cursor is malformed
+     */
+    private static CaseCursor decodeCaseCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Expected 3 parts");
+            }
+            return new CaseCursor(
+                    Integer.parseInt(parts[0]),
+                    Instant.EPOCH.plus(Long.parseLong(parts[1]), ChronoUnit.MICROS),
+                    Long.parseLong(parts[2])
+            );
+        } catch (IllegalArgumentException | ArithmeticException | DateTimeException e) {
+            throw new TestCaseValidationException("Invalid cursor");
+        }
+    }
+
+    private static TestCaseCountMode parseCountMode(String count) {
+        try {
+            return TestCaseCountMode.parse(count);
+        } catch (IllegalArgumentException e) {
+            throw new TestCaseValidationException("Unknown count mode: " + count);
+        }
+    }
+
+    private static TestCaseSearchMode parseSearchMode(String mode) {
+        try {
+            return TestCaseSearchMode.parse(mode);
+        } catch (IllegalArgumentException e) {
+            throw new TestCaseValidationException("Unknown search mode: " + mode);
+        }
+    }
 }
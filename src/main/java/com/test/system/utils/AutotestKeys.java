@@ -0,0 +1,63 @@
+package com.test.system.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Canonical lookup keys derived from a test case autotest mapping.
+ * A case is addressable by "testClass#testMethod" (or just the class/method when only one is set)
+ * and by its scenario name. Must stay in sync with the SQL function autotest_method_key (V18 migration).
+ */
+public final class AutotestKeys {
+
+    public static final String TEST_CLASS = "testClass";
+    public static final String TEST_METHOD = "testMethod";
+    public static final String SCENARIO = "scenario";
+
+    private static final String SEPARATOR = "#";
+
+    private AutotestKeys() {
+        // Utility class
+    }
+
+    /**
+     * Builds the method key ("testClass#testMethod"), skipping missing parts.
+     *
+     * @return the method key, or null if both parts are missing
+     */
+    public static String methodKey(String testClass, String testMethod) {
+        if (testClass == null && testMethod == null) {
+            return null;
+        }
+        if (testClass == null) {
+            return testMethod;
+        }
+        return testMethod == null ? testClass : testClass + SEPARATOR + testMethod;
+    }
+
+    /**
+     * Returns all keys a case with the given mapping parts can be addressed by.
+     */
+    public static List<String> keysOf(String testClass, String testMethod, String scenario) {
+        List<String> keys = new ArrayList<>(2);
+        String methodKey = methodKey(testClass, testMethod);
+        if (methodKey != null && !methodKey.isEmpty()) {
+            keys.add(methodKey);
+        }
+        if (scenario != null && !scenario.isEmpty()) {
+            keys.add(scenario);
+        }
+        return keys;
+    }
+
+    /**
+     * Returns all keys a case with the given autotest mapping can be addressed by.
+     */
+    public static List<String> keysOf(Map<String, String> mapping) {
+        if (mapping == null || mapping.isEmpty()) {
+            return List.of();
+        }
+        return keysOf(mapping.get(TEST_CLASS), mapping.get(TEST_METHOD), mapping.get(SCENARIO));
+    }
+}
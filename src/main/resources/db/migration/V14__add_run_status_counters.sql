@@ -0,0 +1,138 @@
+-- Incrementally maintained per-run status counters.
+-- Replaces the GROUP BY over runs/run_cases/cases behind /runs/stats and /milestones/stats.
+-- Counts only run cases with a status whose test case is not archived (same semantics as the old query).
+
+CREATE TABLE run_status_counters (
+    run_id BIGINT NOT NULL REFERENCES runs(id) ON DELETE CASCADE,
+    status_id BIGINT NOT NULL REFERENCES statuses(id) ON DELETE CASCADE,
+    total BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT pk_run_status_counters PRIMARY KEY (run_id, status_id) INCLUDE (total)
+);
+
+-- Applies one aggregated delta. Negative deltas only update an existing row so that
+-- cascading deletes of a run never try to re-insert a counter row.
+CREATE OR REPLACE FUNCTION apply_run_status_delta(p_run_id BIGINT, p_status_id BIGINT, p_delta BIGINT)
+RETURNS VOID AS $$
+BEGIN
+    IF p_delta > 0 THEN
+        INSERT INTO run_status_counters (run_id, status_id, total)
+        VALUES (p_run_id, p_status_id, p_delta)
+        ON CONFLICT (run_id, status_id) DO UPDATE
+            SET total = run_status_counters.total + EXCLUDED.total;
+    ELSIF p_delta < 0 THEN
+        UPDATE run_status_counters
+        SET total = total + p_delta
+        WHERE run_id = p_run_id
+          AND status_id = p_status_id;
+    END IF;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Statement-level trigger on run_cases: deltas are aggregated per (run, status) once per statement,
+-- so bulk INSERT ... SELECT / UPDATE ... FROM (VALUES ...) stay set-based.
+CREATE OR REPLACE FUNCTION sync_run_status_counters()
+RETURNS TRIGGER AS $$
+DECLARE
+    d RECORD;
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        FOR d IN
+            SELECT n.run_id, n.current_status_id AS status_id, COUNT(*) AS delta
+            FROM new_rows n
+            WHERE n.current_status_id IS NOT NULL
+              AND NOT EXISTS (SELECT 1 FROM cases c WHERE c.id = n.case_id AND c.is_archived)
+            GROUP BY n.run_id, n.current_status_id
+        LOOP
+            PERFORM apply_run_status_delta(d.run_id, d.status_id, d.delta);
+        END LOOP;
+    ELSIF TG_OP = 'DELETE' THEN
+        FOR d IN
+            SELECT o.run_id, o.current_status_id AS status_id, -COUNT(*) AS delta
+            FROM old_rows o
+            WHERE o.current_status_id IS NOT NULL
+              AND NOT EXISTS (SELECT 1 FROM cases c WHERE c.id = o.case_id AND c.is_archived)
+            GROUP BY o.run_id, o.current_status_id
+        LOOP
+            PERFORM apply_run_status_delta(d.run_id, d.status_id, d.delta);
+        END LOOP;
+    ELSE
+        FOR d IN
+            SELECT changes.run_id, changes.status_id, SUM(changes.delta) AS delta
+            FROM (
+                SELECT o.run_id, o.current_status_id AS status_id, o.case_id, -1 AS delta
+                FROM old_rows o
+                WHERE o.current_status_id IS NOT NULL
+                UNION ALL
+                SELECT n.run_id, n.current_status_id, n.case_id, 1
+                FROM new_rows n
+                WHERE n.current_status_id IS NOT NULL
+            ) changes
+            WHERE NOT EXISTS (SELECT 1 FROM cases c WHERE c.id = changes.case_id AND c.is_archived)
+            GROUP BY changes.run_id, changes.status_id
+            HAVING SUM(changes.delta) <> 0
+        LOOP
+            PERFORM apply_run_status_delta(d.run_id, d.status_id, d.delta);
+        END LOOP;
+    END IF;
+
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trigger_run_status_counters_insert
+AFTER INSERT ON run_cases
+REFERENCING NEW TABLE AS new_rows
+FOR EACH STATEMENT
+EXECUTE FUNCTION sync_run_status_counters();
+
+CREATE TRIGGER trigger_run_status_counters_update
+AFTER UPDATE ON run_cases
+REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+FOR EACH STATEMENT
+EXECUTE FUNCTION sync_run_status_counters();
+
+CREATE TRIGGER trigger_run_status_counters_delete
+AFTER DELETE ON run_cases
+REFERENCING OLD TABLE AS old_rows
+FOR EACH STATEMENT
+EXECUTE FUNCTION sync_run_status_counters();
+
+-- Archiving / restoring a case removes / re-adds its run cases from the counters.
+CREATE OR REPLACE FUNCTION sync_run_status_counters_on_case_archive()
+RETURNS TRIGGER AS $$
+DECLARE
+    d RECORD;
+    direction INT;
+BEGIN
+    direction := CASE WHEN NEW.is_archived THEN -1 ELSE 1 END;
+
+    FOR d IN
+        SELECT rc.run_id, rc.current_status_id AS status_id, direction * COUNT(*) AS delta
+        FROM run_cases rc
+        WHERE rc.case_id = NEW.id
+          AND rc.current_status_id IS NOT NULL
+        GROUP BY rc.run_id, rc.current_status_id
+    LOOP
+        PERFORM apply_run_status_delta(d.run_id, d.status_id, d.delta);
+    END LOOP;
+
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trigger_run_status_counters_case_archive
+AFTER UPDATE OF is_archived ON cases
+FOR EACH ROW
+WHEN (OLD.is_archived IS DISTINCT FROM NEW.is_archived)
+EXECUTE FUNCTION sync_run_status_counters_on_case_archive();
+
+-- Initial fill
+INSERT INTO run_status_counters (run_id, status_id, total)
+SELECT rc.run_id, rc.current_status_id, COUNT(*)
+FROM run_cases rc
+JOIN cases c ON c.id = rc.case_id
+WHERE rc.current_status_id IS NOT NULL
+  AND c.is_archived = FALSE
+GROUP BY rc.run_id, rc.current_status_id;
+
+COMMENT ON TABLE run_status_counters IS 'Per-run case counts by current status, maintained by triggers on run_cases and cases. Rebuilt by RunStatusCounterService.';
@@ -0,0 +1,79 @@
+-- Turn results into a monthly range-partitioned table on created_at.
+-- Partitions are named results_yYYYYmMM; ResultPartitionService creates upcoming months
+-- and applies retention (detach / archive) to old ones.
+
+ALTER TABLE results RENAME TO results_legacy;
+ALTER INDEX idx_results_run_case RENAME TO idx_results_legacy_run_case;
+ALTER INDEX idx_results_status RENAME TO idx_results_legacy_status;
+ALTER INDEX idx_results_created_by RENAME TO idx_results_legacy_created_by;
+ALTER INDEX idx_results_created_at RENAME TO idx_results_legacy_created_at;
+ALTER TABLE results_legacy RENAME CONSTRAINT chk_results_elapsed TO chk_results_legacy_elapsed;
+
+-- The primary key of a partitioned table must contain the partition key;
+-- ids still come from the single results_id_seq sequence and stay unique.
+CREATE TABLE results (
+    id BIGINT NOT NULL DEFAULT nextval('results_id_seq'),
+    run_case_id BIGINT NOT NULL REFERENCES run_cases(id) ON DELETE CASCADE,
+    status_id BIGINT NOT NULL REFERENCES statuses(id),
+    comment TEXT,
+    defects_json TEXT,
+    elapsed_seconds INT,
+    created_by BIGINT REFERENCES users(id) ON DELETE SET NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    CONSTRAINT pk_results PRIMARY KEY (id, created_at),
+    CONSTRAINT chk_results_elapsed CHECK (elapsed_seconds IS NULL OR elapsed_seconds >= 0)
+) PARTITION BY RANGE (created_at);
+
+ALTER SEQUENCE results_id_seq OWNED BY results.id;
+
+-- Per-case history is read in created_at order; created_at alone is served by pruning
+CREATE INDEX idx_results_run_case ON results(run_case_id, created_at);
+CREATE INDEX idx_results_status ON results(status_id);
+CREATE INDEX idx_results_created_by ON results(created_by);
+
+-- Catches rows outside every monthly partition (clock skew, far-future timestamps)
+CREATE TABLE results_default PARTITION OF results DEFAULT;
+
+-- Creates the monthly partition containing p_month if it does not exist yet
+CREATE OR REPLACE FUNCTION ensure_results_partition(p_month DATE)
+RETURNS TEXT AS $$
+DECLARE
+    month_start DATE := date_trunc('month', p_month)::DATE;
+    partition_name TEXT := 'results_' || to_char(month_start, '"y"YYYY"m"MM');
+BEGIN
+    IF to_regclass(partition_name) IS NULL THEN
+        EXECUTE format(
+            'CREATE TABLE %I PARTITION OF results FOR VALUES FROM (%L) TO (%L)',
+            partition_name,
+            month_start::TIMESTAMPTZ,
+            (month_start + INTERVAL '1 month')::TIMESTAMPTZ
+        );
+    END IF;
+    RETURN partition_name;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Partitions for existing data and the next months
+DO $$
+DECLARE
+    m DATE;
+BEGIN
+    FOR m IN
+        SELECT generate_series(
+            date_trunc('month', LEAST(COALESCE((SELECT MIN(created_at) FROM results_legacy), NOW()), NOW())),
+            date_trunc('month', NOW()) + INTERVAL '2 months',
+            INTERVAL '1 month'
+        )::DATE
+    LOOP
+        PERFORM ensure_results_partition(m);
+    END LOOP;
+END;
+$$;
+
+INSERT INTO results (id, run_case_id, status_id, comment, defects_json, elapsed_seconds, created_by, created_at)
+SELECT id, run_case_id, status_id, comment, defects_json, elapsed_seconds, created_by, created_at
+FROM results_legacy;
+
+DROP TABLE results_legacy;
+
+COMMENT ON TABLE results IS 'Execution results, range-partitioned by month on created_at. Partitions are maintained by ResultPartitionService.';
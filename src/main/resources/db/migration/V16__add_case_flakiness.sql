@@ -0,0 +1,28 @@
+-- Flaky test detection: per-case sliding window of pass/fail outcomes, maintained incrementally
+-- by CaseFlakinessService from new results only (watermark on results.id).
+
+-- Generic progress markers for incremental background jobs
+CREATE TABLE job_watermarks (
+    name VARCHAR(64) PRIMARY KEY,
+    last_id BIGINT NOT NULL DEFAULT 0,
+    last_created_at TIMESTAMPTZ,
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
+
+CREATE TABLE case_flakiness (
+    case_id BIGINT PRIMARY KEY REFERENCES cases(id) ON DELETE CASCADE,
+    project_id BIGINT NOT NULL REFERENCES projects(id) ON DELETE CASCADE,
+    -- Last N outcomes, oldest first: 'P' = passed, 'F' = failed
+    recent_outcomes VARCHAR(64) NOT NULL DEFAULT '',
+    window_flips INT NOT NULL DEFAULT 0,
+    window_failures INT NOT NULL DEFAULT 0,
+    flip_rate REAL NOT NULL DEFAULT 0,
+    total_executions BIGINT NOT NULL DEFAULT 0,
+    last_result_id BIGINT NOT NULL,
+    last_executed_at TIMESTAMPTZ NOT NULL,
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
+
+CREATE INDEX idx_case_flakiness_project_rate ON case_flakiness(project_id, flip_rate DESC);
+
+COMMENT ON TABLE case_flakiness IS 'Per-case pass/fail flip rate over the last N executions; updated incrementally from results.';
@@ -0,0 +1,18 @@
+-- Immutable snapshot of a closed run, written by RunSnapshotService when the run is closed
+-- and deleted if it is reopened. Reads of closed runs are served from here instead of
+-- joining run_cases, cases and results.
+
+CREATE TABLE run_snapshots (
+    run_id BIGINT PRIMARY KEY REFERENCES runs(id) ON DELETE CASCADE,
+    format_version SMALLINT NOT NULL,
+    total_cases INT NOT NULL,
+    total_elapsed_seconds BIGINT NOT NULL DEFAULT 0,
+    -- gzip-compressed JSON array of per-case rows (final status, elapsed time, defects, case fields)
+    payload BYTEA NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
+
+-- Payload is already compressed; keep it out of TOAST compression
+ALTER TABLE run_snapshots ALTER COLUMN payload SET STORAGE EXTERNAL;
+
+COMMENT ON TABLE run_snapshots IS 'Frozen contents of closed runs; see RunSnapshotService.';
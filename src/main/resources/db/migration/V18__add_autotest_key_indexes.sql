@@ -0,0 +1,21 @@
+-- Indexed lookup of test cases by autotest key (see AutotestKeys).
+-- A case is addressable by its method key ("testClass#testMethod", or whichever part is set)
+-- and by its scenario. Expression indexes keep the lookup in sync with every write path
+-- (create, update, import, raw SQL) without a side table. Keys are indexed by md5 so that
+-- long scenario names never exceed the btree entry size; queries recheck the full key.
+
+-- Must match AutotestKeys.methodKey
+CREATE FUNCTION autotest_method_key(mapping JSONB) RETURNS TEXT
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE AS $$
+    SELECT CASE
+               WHEN mapping ->> 'testClass' IS NULL THEN NULLIF(mapping ->> 'testMethod', '')
+               WHEN mapping ->> 'testMethod' IS NULL THEN NULLIF(mapping ->> 'testClass', '')
+               ELSE (mapping ->> 'testClass') || '#' || (mapping ->> 'testMethod')
+           END
+$$;
+
+CREATE INDEX idx_cases_autotest_method_key ON cases (project_id, md5(autotest_method_key(autotest_mapping)))
+    WHERE is_archived = false AND autotest_method_key(autotest_mapping) IS NOT NULL;
+
+CREATE INDEX idx_cases_autotest_scenario ON cases (project_id, md5(autotest_mapping ->> 'scenario'))
+    WHERE is_archived = false AND (autotest_mapping ->> 'scenario') IS NOT NULL;
@@ -0,0 +1,11 @@
+-- Work-queue leases: CI agents claim untested run cases with FOR UPDATE SKIP LOCKED
+-- (see RunCaseLeaseService). A lease is free when lease_expires_at is NULL or in the past;
+-- posting a result clears it.
+
+ALTER TABLE run_cases
+    ADD COLUMN lease_owner VARCHAR(255),
+    ADD COLUMN lease_expires_at TIMESTAMPTZ;
+
+-- Reaper scan
+CREATE INDEX idx_run_cases_lease_expires ON run_cases(lease_expires_at)
+    WHERE lease_expires_at IS NOT NULL;
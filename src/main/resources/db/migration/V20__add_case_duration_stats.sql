@@ -0,0 +1,17 @@
+-- Per-case execution time statistics for shard planning, maintained incrementally by CaseDurationService
+-- from new results only (watermark on results.id, same scheme as case_flakiness).
+
+CREATE TABLE case_duration_stats (
+    case_id BIGINT PRIMARY KEY REFERENCES cases(id) ON DELETE CASCADE,
+    project_id BIGINT NOT NULL REFERENCES projects(id) ON DELETE CASCADE,
+    -- Elapsed seconds of the last K runs of the case, oldest first; a rerun within the same run replaces its entry
+    recent_seconds INT[] NOT NULL DEFAULT '{}',
+    median_seconds INT NOT NULL,
+    total_executions BIGINT NOT NULL DEFAULT 0,
+    last_run_case_id BIGINT NOT NULL,
+    last_result_id BIGINT NOT NULL,
+    last_executed_at TIMESTAMPTZ NOT NULL,
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
+
+COMMENT ON TABLE case_duration_stats IS 'Per-case median elapsed time over the last K runs; updated incrementally from results.';
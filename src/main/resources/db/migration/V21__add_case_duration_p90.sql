@@ -0,0 +1,10 @@
+-- 90th percentile of the duration window, for conservative run ETAs (see RunEtaService)
+
+ALTER TABLE case_duration_stats ADD COLUMN p90_seconds INT;
+
+UPDATE case_duration_stats
+   SET p90_seconds = (SELECT percentile_disc(0.9) WITHIN GROUP (ORDER BY s) FROM unnest(recent_seconds) AS s);
+
+UPDATE case_duration_stats SET p90_seconds = median_seconds WHERE p90_seconds IS NULL;
+
+ALTER TABLE case_duration_stats ALTER COLUMN p90_seconds SET NOT NULL;
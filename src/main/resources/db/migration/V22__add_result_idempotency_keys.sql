@@ -0,0 +1,18 @@
+-- Idempotency keys of result submissions: a retried request with the same key replays the stored outcome
+-- instead of inserting another result. Keys are scoped to a run and purged after a TTL by RunCaseResultService.
+
+CREATE TABLE result_idempotency_keys (
+    run_id BIGINT NOT NULL REFERENCES runs(id) ON DELETE CASCADE,
+    idempotency_key VARCHAR(255) NOT NULL,
+    run_case_id BIGINT NOT NULL,
+    case_id BIGINT NOT NULL,
+    status_id BIGINT NOT NULL,
+    -- Set for single submissions; batch inserts do not read generated IDs back.
+    -- No FK: results is partitioned and keyed by (id, created_at).
+    result_id BIGINT,
+    result_created_at TIMESTAMPTZ,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    CONSTRAINT pk_result_idempotency_keys PRIMARY KEY (run_id, idempotency_key)
+);
+
+CREATE INDEX idx_result_idempotency_keys_created_at ON result_idempotency_keys(created_at);
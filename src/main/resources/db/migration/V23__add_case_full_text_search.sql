@@ -0,0 +1,20 @@
+-- Full-text search over test cases (TestCaseSearchMode.FULLTEXT).
+-- The document is a stored generated column, so every write path (create, update, import, raw SQL)
+-- keeps it in sync without triggers. Weights rank title matches above preconditions / expected result,
+-- and those above step text. Must match the text search configuration used by TestCaseRepository.
+
+-- Concatenated action / expected / notes of every step
+CREATE FUNCTION case_steps_text(steps JSONB) RETURNS TEXT
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE AS $$
+    SELECT string_agg(concat_ws(' ', s ->> 'action', s ->> 'expected', s ->> 'notes'), ' ')
+    FROM jsonb_array_elements(CASE WHEN jsonb_typeof(steps) = 'array' THEN steps ELSE '[]'::jsonb END) AS s
+$$;
+
+ALTER TABLE cases
+    ADD COLUMN search_vector TSVECTOR GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(preconditions, '') || ' ' || coalesce(expected_result, '')), 'B') ||
+        setweight(to_tsvector('english', coalesce(case_steps_text(steps), '')), 'C')
+    ) STORED;
+
+CREATE INDEX idx_cases_search_vector ON cases USING GIN (search_vector);
@@ -0,0 +1,9 @@
+-- Typeahead over case titles (CaseSuggestRepository).
+-- btree_gin lets project_id share the trigram GIN index, so a lookup only visits the project's
+-- posting lists instead of filtering trigram matches of every project afterwards.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+
+CREATE INDEX idx_cases_title_trgm ON cases USING GIN (project_id, title gin_trgm_ops)
+    WHERE is_archived = false;
@@ -0,0 +1,9 @@
+-- Keyset pagination of the case list (TestCaseRepository keyset queries).
+-- Column order must match the ORDER BY (sort_index, created_at, id) so that a page is an index range scan
+-- starting right after the cursor, at any depth. The suite variant serves suite-filtered lists.
+
+CREATE INDEX idx_cases_project_order ON cases (project_id, sort_index, created_at, id)
+    WHERE is_archived = false;
+
+CREATE INDEX idx_cases_suite_order ON cases (suite_id, sort_index, created_at, id)
+    WHERE is_archived = false;
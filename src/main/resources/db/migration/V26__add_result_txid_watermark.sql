@@ -0,0 +1,16 @@
+-- Visibility-safe watermark for incremental jobs over results (CaseFlakinessService, CaseDurationService).
+-- results.id is assigned at INSERT, not at commit, so a job that resumes after the last id it saw skips rows
+-- of transactions that were still in flight. Each result now records the id of the transaction that wrote it;
+-- jobs read in (txid, id) order and only below the snapshot xmin, where every writer has already finished.
+
+-- Constant default first so existing rows are not rewritten; they keep txid 0 and sort before new rows
+ALTER TABLE results ADD COLUMN txid BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE results ALTER COLUMN txid SET DEFAULT pg_current_xact_id()::text::BIGINT;
+
+CREATE INDEX idx_results_txid ON results (txid, id);
+
+-- Existing positions stay valid: last_id was an id watermark over rows that now all have txid 0
+ALTER TABLE job_watermarks ADD COLUMN last_txid BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE job_watermarks DROP COLUMN last_created_at;
+
+COMMENT ON COLUMN results.txid IS 'Id of the writing transaction; incremental jobs read results in (txid, id) order below the snapshot xmin.';
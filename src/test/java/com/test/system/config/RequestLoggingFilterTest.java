@@ -0,0 +1,61 @@
+package com.test.system.config;
+
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestLoggingFilterTest {
+
+    private final RequestLoggingFilter filter = new RequestLoggingFilter();
+
+    @Test
+    void streamedRequestIsPassedUnwrappedWithRequestId() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/runs/42/events");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<String> requestId = new AtomicReference<>();
+
+        filter.doFilter(request, response, (req, res) -> {
+            assertThat(req).isSameAs(request);
+            assertThat(res).isSameAs(response);
+            requestId.set(MDC.get("requestId"));
+        });
+
+        assertThat(requestId.get()).isNotBlank();
+        assertThat(MDC.get("requestId")).isNull();
+    }
+
+    @Test
+    void regularRequestIsWrappedAndItsBodyCopied() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/runs/42");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> {
+            assertWrapped(req, res);
+            res.getWriter().write("body");
+        });
+
+        assertThat(response.getContentAsString()).isEqualTo("body");
+    }
+
+    @Test
+    void acceptHeaderDoesNotBypassWrapping() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/runs/42");
+        request.addHeader("Accept", "text/event-stream");
+
+        filter.doFilter(request, new MockHttpServletResponse(), RequestLoggingFilterTest::assertWrapped);
+    }
+
+    private static void assertWrapped(ServletRequest request, ServletResponse response) {
+        assertThat(request).isInstanceOf(ContentCachingRequestWrapper.class);
+        assertThat(response).isInstanceOf(ContentCachingResponseWrapper.class);
+    }
+}
@@ -0,0 +1,156 @@
+package com.test.system.repository.run;
+
+import com.test.system.model.run.Result;
+import com.test.system.repository.run.JobWatermarkRepository.Watermark;
+import com.test.system.repository.testcase.CaseFlakinessRepository;
+import com.test.system.repository.testcase.CaseFlakinessRepository.OutcomeRow;
+import com.test.system.support.PostgresRepositoryTest;
+import com.test.system.support.TestFixtures;
+import com.test.system.support.TestFixtures.RunFixture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.test.system.support.TestFixtures.FAILED;
+import static com.test.system.support.TestFixtures.PASSED;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Watermark progression over the results stream, read the way CaseFlakinessService reads it.
+ * Results are written in their own committed transactions, so visibility works as in production.
+ */
+@Import({JobWatermarkRepository.class, CaseFlakinessRepository.class, TestRunBulkRepository.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JobWatermarkRepositoryTest extends PostgresRepositoryTest {
+
+    private static final int READ_LIMIT = 10_000;
+
+    @Autowired
+    private JobWatermarkRepository watermarkRepository;
+
+    @Autowired
+    private CaseFlakinessRepository flakinessRepository;
+
+    @Autowired
+    private TestRunBulkRepository bulkRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbc;
+
+    private final String job = "test-" + UUID.randomUUID();
+
+    private long projectId;
+    private List<Long> caseIds;
+    private RunFixture run;
+
+    @BeforeEach
+    void setUp() {
+        projectId = fixtures.createProject();
+        caseIds = fixtures.createCases(projectId, 3, i -> i);
+        run = fixtures.createRun(projectId, caseIds);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbc.update("DELETE FROM job_watermarks WHERE name = :name", new MapSqlParameterSource("name", job));
+        fixtures.deleteProject(projectId);
+    }
+
+    @Test
+    void eachCommittedResultIsReadOnceAcrossSavedWatermarks() {
+        Watermark start = transactionTemplate.execute(status -> watermarkRepository.lock(job));
+        assertThat(start).isEqualTo(new Watermark(0, 0));
+
+        write(caseIds.get(0), PASSED);
+        write(caseIds.get(1), FAILED);
+        List<OutcomeRow> firstRead = flakinessRepository.findNewOutcomes(start, List.of(PASSED), List.of(FAILED), READ_LIMIT);
+        assertThat(mine(firstRead)).extracting(OutcomeRow::caseId).containsExactly(caseIds.get(0), caseIds.get(1));
+        assertThat(mine(firstRead)).extracting(OutcomeRow::outcome).containsExactly('P', 'F');
+
+        OutcomeRow last = firstRead.get(firstRead.size() - 1);
+        Watermark saved = new Watermark(last.txid(), last.resultId());
+        transactionTemplate.executeWithoutResult(status -> {
+            watermarkRepository.lock(job);
+            watermarkRepository.save(job, saved);
+        });
+        Watermark resumed = transactionTemplate.execute(status -> watermarkRepository.lock(job));
+        assertThat(resumed).isEqualTo(saved);
+
+        write(caseIds.get(2), PASSED);
+        List<OutcomeRow> secondRead = mine(flakinessRepository.findNewOutcomes(resumed, List.of(PASSED), List.of(FAILED), READ_LIMIT));
+        assertThat(secondRead).extracting(OutcomeRow::caseId).containsExactly(caseIds.get(2));
+        assertThat(secondRead).allSatisfy(row -> assertThat(row.resultId()).isGreaterThan(last.resultId()));
+    }
+
+    @Test
+    void resultsCommittedBehindAnOpenTransactionAreHeldBackUntilItEnds() throws Exception {
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+
+        // The slow writer takes the lower result ID but commits last
+        CompletableFuture<Void> slowWriter = CompletableFuture.runAsync(() ->
+                transactionTemplate.executeWithoutResult(status -> {
+                    bulkRepository.insertResults(List.of(result(caseIds.get(0), FAILED)));
+                    written.countDown();
+                    await(commit);
+                }));
+        assertThat(written.await(10, TimeUnit.SECONDS)).isTrue();
+
+        try {
+            write(caseIds.get(1), PASSED);
+            assertThat(mine(flakinessRepository.findNewOutcomes(new Watermark(0, 0), List.of(PASSED), List.of(FAILED), READ_LIMIT)))
+                    .isEmpty();
+        } finally {
+            commit.countDown();
+        }
+        slowWriter.get(10, TimeUnit.SECONDS);
+
+        assertThat(mine(flakinessRepository.findNewOutcomes(new Watermark(0, 0), List.of(PASSED), List.of(FAILED), READ_LIMIT)))
+                .extracting(OutcomeRow::caseId)
+                .containsExactly(caseIds.get(0), caseIds.get(1));
+    }
+
+    private void write(long caseId, long statusId) {
+        transactionTemplate.executeWithoutResult(status -> bulkRepository.insertResults(List.of(result(caseId, statusId))));
+    }
+
+    private Result result(long caseId, long statusId) {
+        return Result.builder()
+                .runCaseId(run.runCaseId(caseId))
+                .statusId(statusId)
+                .createdAt(Instant.now())
+                .build();
+    }
+
+    private List<OutcomeRow> mine(List<OutcomeRow> rows) {
+        return rows.stream().filter(row -> row.projectId() == projectId).toList();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.test.system.repository.run;
+
+import com.test.system.repository.run.RunAssignmentRepository.UntestedCase;
+import com.test.system.repository.run.RunAssignmentRepository.Workload;
+import com.test.system.support.PostgresRepositoryTest;
+import com.test.system.support.TestFixtures;
+import com.test.system.support.TestFixtures.RunFixture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.test.system.support.TestFixtures.PASSED;
+import static com.test.system.support.TestFixtures.UNTESTED;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Import({RunAssignmentRepository.class, TestRunBulkRepository.class})
+class RunAssignmentRepositoryTest extends PostgresRepositoryTest {
+
+    private static final int DEFAULT_SECONDS = 60;
+    private static final List<Long> UNTESTED_STATUSES = List.of(UNTESTED);
+
+    @Autowired
+    private RunAssignmentRepository assignmentRepository;
+
+    @Autowired
+    private TestRunBulkRepository bulkRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbc;
+
+    private List<Long> caseIds;
+    private RunFixture run;
+    private long alice;
+    private long bob;
+
+    @BeforeEach
+    void setUp() {
+        long projectId = fixtures.createProject();
+        caseIds = fixtures.createCases(projectId, 4, i -> i);
+        jdbc.update("UPDATE cases SET estimate_seconds = 120 WHERE id = :id", new MapSqlParameterSource("id", caseIds.get(0)));
+        run = fixtures.createRun(projectId, caseIds);
+        bulkRepository.updateCurrentStatuses(Map.of(run.runCaseId(caseIds.get(3)), PASSED), Instant.now());
+        alice = fixtures.createUser();
+        bob = fixtures.createUser();
+    }
+
+    @Test
+    void assignCountsOnlyRealChanges() {
+        Map<Long, Long> assignees = Map.of(caseIds.get(0), alice, caseIds.get(1), alice, caseIds.get(2), bob,
+                caseIds.get(3), bob, -1L, bob);
+
+        assertThat(assignmentRepository.assign(run.runId(), assignees, Instant.now())).isEqualTo(4);
+        assertThat(assignmentRepository.assign(run.runId(), assignees, Instant.now())).isZero();
+
+        Map<Long, Long> unassign = new HashMap<>();
+        unassign.put(caseIds.get(2), null);
+        assertThat(assignmentRepository.assign(run.runId(), unassign, Instant.now())).isEqualTo(1);
+        assertThat(jdbc.queryForObject("SELECT assignee_id FROM run_cases WHERE id = :id",
+                new MapSqlParameterSource("id", run.runCaseId(caseIds.get(2))), Long.class)).isNull();
+    }
+
+    @Test
+    void workloadSumsRemainingExpectedSecondsPerAssignee() {
+        Map<Long, Long> assignees = Map.of(caseIds.get(0), alice, caseIds.get(1), alice, caseIds.get(3), bob);
+        assignmentRepository.assign(run.runId(), assignees, Instant.now());
+
+        List<Workload> workload = assignmentRepository.findWorkload(run.runId(), UNTESTED_STATUSES, null, DEFAULT_SECONDS);
+
+        assertThat(workload).containsExactly(
+                new Workload(null, 1, 1, DEFAULT_SECONDS),
+                new Workload(alice, 2, 2, 120 + DEFAULT_SECONDS),
+                new Workload(bob, 1, 0, 0));
+        assertThat(assignmentRepository.findWorkload(run.runId(), UNTESTED_STATUSES, List.of(bob), DEFAULT_SECONDS))
+                .containsExactly(new Workload(bob, 1, 0, 0));
+    }
+
+    @Test
+    void untestedCasesFollowRunOrder() {
+        assignmentRepository.assign(run.runId(), Map.of(caseIds.get(0), alice), Instant.now());
+
+        assertThat(assignmentRepository.findUntestedCases(run.runId(), UNTESTED_STATUSES, false, 2, DEFAULT_SECONDS))
+                .containsExactly(new UntestedCase(caseIds.get(0), 120), new UntestedCase(caseIds.get(1), DEFAULT_SECONDS));
+        assertThat(assignmentRepository.findUntestedCases(run.runId(), UNTESTED_STATUSES, true, 10, DEFAULT_SECONDS))
+                .extracting(UntestedCase::caseId)
+                .containsExactly(caseIds.get(1), caseIds.get(2));
+    }
+}
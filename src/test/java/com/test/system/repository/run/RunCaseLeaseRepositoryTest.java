@@ -0,0 +1,113 @@
+package com.test.system.repository.run;
+
+import com.test.system.dto.run.response.ClaimedRunCase;
+import com.test.system.support.PostgresRepositoryTest;
+import com.test.system.support.TestFixtures;
+import com.test.system.support.TestFixtures.RunFixture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.test.system.support.TestFixtures.UNTESTED;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Claims run in their own committed transactions, so the rows of one claim are really locked while another runs.
+ */
+@Import(RunCaseLeaseRepository.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RunCaseLeaseRepositoryTest extends PostgresRepositoryTest {
+
+    private static final Duration LEASE = Duration.ofMinutes(5);
+
+    @Autowired
+    private RunCaseLeaseRepository leaseRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private long projectId;
+    private List<Long> caseIds;
+    private RunFixture run;
+
+    @BeforeEach
+    void setUp() {
+        projectId = fixtures.createProject();
+        caseIds = fixtures.createCases(projectId, 10, i -> i);
+        run = fixtures.createRun(projectId, caseIds);
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixtures.deleteProject(projectId);
+    }
+
+    @Test
+    void concurrentClaimsSkipLockedRowsAndGetDisjointCases() throws Exception {
+        CountDownLatch claimed = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // First agent claims and keeps its transaction open until the second one has claimed too
+        CompletableFuture<List<ClaimedRunCase>> first = CompletableFuture.supplyAsync(() ->
+                transactionTemplate.execute(status -> {
+                    List<ClaimedRunCase> cases = claim("agent-1", 3);
+                    claimed.countDown();
+                    await(release);
+                    return cases;
+                }));
+        assertThat(claimed.await(10, TimeUnit.SECONDS)).isTrue();
+
+        List<ClaimedRunCase> second;
+        try {
+            second = transactionTemplate.execute(status -> claim("agent-2", 3));
+        } finally {
+            release.countDown();
+        }
+
+        assertThat(caseIdsOf(first.get(10, TimeUnit.SECONDS))).containsExactlyElementsOf(caseIds.subList(0, 3));
+        assertThat(caseIdsOf(second)).containsExactlyElementsOf(caseIds.subList(3, 6));
+    }
+
+    @Test
+    void committedLeasesAreNotClaimedAgainUntilReleased() {
+        List<ClaimedRunCase> first = transactionTemplate.execute(status -> claim("agent-1", 4));
+        List<ClaimedRunCase> second = transactionTemplate.execute(status -> claim("agent-2", 4));
+        assertThat(caseIdsOf(second)).doesNotContainAnyElementsOf(caseIdsOf(first));
+
+        assertThat(leaseRepository.release(run.runId(), "agent-1")).isEqualTo(4);
+        List<ClaimedRunCase> third = transactionTemplate.execute(status -> claim("agent-3", 4));
+        assertThat(caseIdsOf(third)).containsExactlyElementsOf(caseIdsOf(first));
+    }
+
+    private List<ClaimedRunCase> claim(String agent, int limit) {
+        Instant now = Instant.now();
+        return leaseRepository.claim(run.runId(), List.of(UNTESTED), agent, limit, now, now.plus(LEASE));
+    }
+
+    private static List<Long> caseIdsOf(List<ClaimedRunCase> cases) {
+        return cases.stream().map(ClaimedRunCase::caseId).toList();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.test.system.repository.run;
+
+import com.test.system.dto.run.request.CaseSelectionFilter;
+import com.test.system.dto.run.response.RunCasePageItem;
+import com.test.system.model.run.Result;
+import com.test.system.repository.run.TestRunBulkRepository.StatusChange;
+import com.test.system.support.PostgresRepositoryTest;
+import com.test.system.support.TestFixtures;
+import com.test.system.support.TestFixtures.RunFixture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static com.test.system.support.TestFixtures.FAILED;
+import static com.test.system.support.TestFixtures.PASSED;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Import(TestRunBulkRepository.class)
+class TestRunBulkRepositoryTest extends PostgresRepositoryTest {
+
+    @Autowired
+    private TestRunBulkRepository bulkRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbc;
+
+    private long projectId;
+    private List<Long> caseIds;
+    private RunFixture run;
+
+    @BeforeEach
+    void setUp() {
+        projectId = fixtures.createProject();
+        // Few distinct sort indexes, so pages have to break ties on the case ID
+        caseIds = fixtures.createCases(projectId, 23, i -> i % 4);
+        run = fixtures.createRun(projectId, caseIds);
+    }
+
+    @Test
+    void insertResultsWritesWholeBatch() {
+        Instant now = Instant.now();
+        List<Result> results = new ArrayList<>();
+        for (Long caseId : caseIds) {
+            results.add(result(run.runCaseId(caseId), PASSED, now));
+            results.add(result(run.runCaseId(caseId), FAILED, now));
+        }
+
+        bulkRepository.insertResults(results);
+
+        Long written = jdbc.queryForObject("""
+                SELECT COUNT(*) FROM results r JOIN run_cases rc ON rc.id = r.run_case_id WHERE rc.run_id = :runId
+                """, new MapSqlParameterSource("runId", run.runId()), Long.class);
+        assertThat(written).isEqualTo(caseIds.size() * 2L);
+    }
+
+    @Test
+    void updateCurrentStatusesReportsOnlyRealChangesAndCompletesLeases() {
+        long first = run.runCaseId(caseIds.get(0));
+        long second = run.runCaseId(caseIds.get(1));
+        Instant now = Instant.now();
+        jdbc.update("UPDATE run_cases SET lease_owner = 'agent', lease_expires_at = :expiresAt WHERE id = :id",
+                new MapSqlParameterSource()
+                        .addValue("id", first)
+                        .addValue("expiresAt", Timestamp.from(now.plusSeconds(60))));
+
+        assertThat(bulkRepository.updateCurrentStatuses(Map.of(first, PASSED, second, FAILED), now))
+                .containsExactlyInAnyOrder(first, second);
+        assertThat(bulkRepository.updateCurrentStatuses(Map.of(first, PASSED, second, PASSED), now))
+                .containsExactly(second);
+
+        Map<String, Object> row = jdbc.queryForMap(
+                "SELECT current_status_id, lease_owner, lease_expires_at FROM run_cases WHERE id = :id",
+                new MapSqlParameterSource("id", first));
+        assertThat(row.get("current_status_id")).isEqualTo(PASSED);
+        assertThat(row.get("lease_owner")).isNull();
+        assertThat(row.get("lease_expires_at")).isNull();
+    }
+
+    @Test
+    void runCasePagesFollowKeysetWithoutGapsOrRepeats() {
+        List<Long> expected = bulkRepository.findRunCasePage(run.runId(), null, null, null, 1000).stream()
+                .map(RunCasePageItem::caseId)
+                .toList();
+
+        List<Long> paged = new ArrayList<>();
+        Integer afterSortIndex = null;
+        Long afterCaseId = null;
+        List<RunCasePageItem> page;
+        do {
+            page = bulkRepository.findRunCasePage(run.runId(), null, afterSortIndex, afterCaseId, 5);
+            page.forEach(item -> paged.add(item.caseId()));
+            if (!page.isEmpty()) {
+                RunCasePageItem last = page.get(page.size() - 1);
+                afterSortIndex = last.sortIndex();
+                afterCaseId = last.caseId();
+            }
+        } while (page.size() == 5);
+
+        assertThat(expected).hasSameElementsAs(caseIds);
+        assertThat(expected).isEqualTo(IntStream.range(0, caseIds.size()).boxed()
+                .sorted((a, b) -> a % 4 != b % 4 ? Integer.compare(a % 4, b % 4) : Integer.compare(a, b))
+                .map(caseIds::get)
+                .toList());
+        assertThat(paged).isEqualTo(expected);
+    }
+
+    @Test
+    void transitionStatusesMovesOnlyMatchingRunCases() {
+        long passed = run.runCaseId(caseIds.get(0));
+        long failed = run.runCaseId(caseIds.get(1));
+        long taggedUntested = run.runCaseId(caseIds.get(2));
+        Instant now = Instant.now();
+        bulkRepository.updateCurrentStatuses(Map.of(passed, PASSED, failed, FAILED), now);
+        jdbc.update("UPDATE cases SET tags = ARRAY['smoke'] WHERE id IN (:ids)",
+                new MapSqlParameterSource("ids", List.of(caseIds.get(0), caseIds.get(1), caseIds.get(2))));
+        CaseSelectionFilter smoke = new CaseSelectionFilter(null, null, List.of("smoke"), null, null);
+
+        List<StatusChange> changed = bulkRepository.transitionStatuses(run.runId(), projectId, PASSED, "retested",
+                null, List.of(FAILED), true, null, smoke, now);
+
+        assertThat(changed).extracting(StatusChange::runCaseId).containsExactlyInAnyOrder(failed, taggedUntested);
+        assertThat(jdbc.queryForList("""
+                SELECT r.run_case_id FROM results r JOIN run_cases rc ON rc.id = r.run_case_id
+                WHERE rc.run_id = :runId AND r.comment = 'retested'
+                """, new MapSqlParameterSource("runId", run.runId()), Long.class))
+                .containsExactlyInAnyOrder(failed, taggedUntested);
+        assertThat(jdbc.queryForList("""
+                SELECT id FROM run_cases WHERE run_id = :runId AND current_status_id = :statusId
+                """, new MapSqlParameterSource().addValue("runId", run.runId()).addValue("statusId", PASSED), Long.class))
+                .containsExactlyInAnyOrder(passed, failed, taggedUntested);
+
+        // Already in the target status: nothing matches a second time
+        assertThat(bulkRepository.transitionStatuses(run.runId(), projectId, PASSED, "retested",
+                null, List.of(FAILED), true, null, smoke, now)).isEmpty();
+    }
+
+    private static Result result(long runCaseId, long statusId, Instant now) {
+        return Result.builder()
+                .runCaseId(runCaseId)
+                .statusId(statusId)
+                .createdAt(now)
+                .build();
+    }
+}
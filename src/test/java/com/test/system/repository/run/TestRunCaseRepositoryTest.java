@@ -0,0 +1,117 @@
+package com.test.system.repository.run;
+
+import com.test.system.repository.run.TestRunCaseRepository.RunStatusAggregate;
+import com.test.system.support.PostgresRepositoryTest;
+import com.test.system.support.TestFixtures;
+import com.test.system.support.TestFixtures.RunFixture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static com.test.system.support.TestFixtures.FAILED;
+import static com.test.system.support.TestFixtures.PASSED;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Run status counters (see V14 migration) read through {@link TestRunCaseRepository}, checked after every kind of
+ * run case write against a GROUP BY over the live rows.
+ */
+@Import(TestRunBulkRepository.class)
+class TestRunCaseRepositoryTest extends PostgresRepositoryTest {
+
+    private static final String LIVE_COUNTS_SQL = """
+            SELECT rc.current_status_id AS status_id, COUNT(*) AS total
+            FROM run_cases rc
+            JOIN cases c ON c.id = rc.case_id
+            WHERE rc.run_id = :runId
+              AND rc.current_status_id IS NOT NULL
+              AND c.is_archived = false
+            GROUP BY rc.current_status_id
+            """;
+
+    @Autowired
+    private TestRunCaseRepository runCaseRepository;
+
+    @Autowired
+    private TestRunBulkRepository bulkRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbc;
+
+    private long projectId;
+    private List<Long> caseIds;
+    private RunFixture run;
+
+    @BeforeEach
+    void setUp() {
+        projectId = fixtures.createProject();
+        caseIds = fixtures.createCases(projectId, 6, i -> i);
+        run = fixtures.createRun(projectId, caseIds);
+    }
+
+    @Test
+    void countersFollowStatusUpdatesArchivingAndRemoval() {
+        assertThat(counters()).isEmpty();
+
+        bulkRepository.updateCurrentStatuses(Map.of(
+                runCaseId(0), PASSED, runCaseId(1), PASSED, runCaseId(2), PASSED,
+                runCaseId(3), FAILED, runCaseId(4), FAILED), Instant.now());
+        assertThat(counters()).isEqualTo(Map.of(PASSED, 3L, FAILED, 2L)).isEqualTo(liveCounts());
+
+        bulkRepository.updateCurrentStatuses(Map.of(runCaseId(0), FAILED), Instant.now());
+        assertThat(counters()).isEqualTo(Map.of(PASSED, 2L, FAILED, 3L)).isEqualTo(liveCounts());
+
+        setArchived(caseIds.get(1), true);
+        assertThat(counters()).isEqualTo(Map.of(PASSED, 1L, FAILED, 3L)).isEqualTo(liveCounts());
+        setArchived(caseIds.get(1), false);
+        assertThat(counters()).isEqualTo(Map.of(PASSED, 2L, FAILED, 3L)).isEqualTo(liveCounts());
+
+        bulkRepository.deleteRunCases(run.runId(), List.of(caseIds.get(3), caseIds.get(5)));
+        assertThat(counters()).isEqualTo(Map.of(PASSED, 2L, FAILED, 2L)).isEqualTo(liveCounts());
+    }
+
+    @Test
+    void rebuildMatchesIncrementalCounters() {
+        bulkRepository.updateCurrentStatuses(Map.of(runCaseId(0), PASSED, runCaseId(1), FAILED), Instant.now());
+        Map<Long, Long> incremental = counters();
+
+        bulkRepository.rebuildStatusCounters();
+
+        assertThat(counters()).isEqualTo(incremental).isEqualTo(liveCounts());
+    }
+
+    private long runCaseId(int caseIndex) {
+        return run.runCaseId(caseIds.get(caseIndex));
+    }
+
+    private Map<Long, Long> counters() {
+        return runCaseRepository.countRunStatusCountsByProjectId(projectId).stream()
+                .collect(Collectors.toMap(RunStatusAggregate::getStatusId, RunStatusAggregate::getTotal));
+    }
+
+    private Map<Long, Long> liveCounts() {
+        Map<Long, Long> counts = new HashMap<>();
+        jdbc.query(LIVE_COUNTS_SQL, new MapSqlParameterSource("runId", run.runId()),
+                rs -> {
+                    counts.put(rs.getLong("status_id"), rs.getLong("total"));
+                });
+        return counts;
+    }
+
+    private void setArchived(long caseId, boolean archived) {
+        jdbc.update("UPDATE cases SET is_archived = :archived WHERE id = :id",
+                new MapSqlParameterSource().addValue("id", caseId).addValue("archived", archived));
+    }
+}
@@ -0,0 +1,96 @@
+package com.test.system.repository.run;
+
+import com.test.system.model.run.Run;
+import com.test.system.support.PostgresRepositoryTest;
+import com.test.system.support.TestFixtures;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The run row lock protocol: result writes hold the run FOR SHARE, closing holds it FOR UPDATE.
+ * Each side runs in its own committed transaction; a short lock_timeout turns "would block" into an error.
+ */
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TestRunRepositoryTest extends PostgresRepositoryTest {
+
+    @Autowired
+    private TestRunRepository runRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbc;
+
+    private long projectId;
+    private long runId;
+
+    @BeforeEach
+    void setUp() {
+        projectId = fixtures.createProject();
+        runId = fixtures.createRun(projectId);
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixtures.deleteProject(projectId);
+    }
+
+    @Test
+    void writersShareTheRunButCloseWaitsForThem() throws Exception {
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() ->
+                transactionTemplate.executeWithoutResult(status -> {
+                    assertThat(runRepository.findActiveByIdForShare(runId)).isPresent();
+                    locked.countDown();
+                    await(release);
+                }));
+        assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+
+        try {
+            assertThat(lockWithShortTimeout(runRepository::findActiveByIdForShare)).isPresent();
+            assertThatThrownBy(() -> lockWithShortTimeout(runRepository::findActiveByIdForUpdate))
+                    .isInstanceOf(PessimisticLockingFailureException.class);
+        } finally {
+            release.countDown();
+        }
+        writer.get(10, TimeUnit.SECONDS);
+
+        assertThat(lockWithShortTimeout(runRepository::findActiveByIdForUpdate)).isPresent();
+    }
+
+    private Optional<Run> lockWithShortTimeout(Function<Long, Optional<Run>> lock) {
+        return transactionTemplate.execute(status -> {
+            jdbc.getJdbcTemplate().execute("SET LOCAL lock_timeout = '500ms'");
+            return lock.apply(runId);
+        });
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.test.system.repository.testcase;
+
+import com.test.system.dto.testcase.response.TestCaseSuggestion;
+import com.test.system.support.PostgresRepositoryTest;
+import com.test.system.support.TestFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Import(CaseSuggestRepository.class)
+class CaseSuggestRepositoryTest extends PostgresRepositoryTest {
+
+    private static final double THRESHOLD = 0.3;
+
+    @Autowired
+    private CaseSuggestRepository suggestRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbc;
+
+    private long projectId;
+    private List<Long> caseIds;
+
+    @BeforeEach
+    void setUp() {
+        projectId = fixtures.createProject();
+        caseIds = fixtures.createCases(projectId, 4, i -> i);
+        setTitle(caseIds.get(0), "Password reset via email");
+        setTitle(caseIds.get(1), "Reset password from the admin panel");
+        setTitle(caseIds.get(2), "Checkout with saved card");
+        setTitle(caseIds.get(3), "Password reset link expires");
+        jdbc.update("UPDATE cases SET is_archived = true WHERE id = :id", new MapSqlParameterSource("id", caseIds.get(3)));
+
+        long otherProject = fixtures.createProject();
+        setTitle(fixtures.createCases(otherProject, 1, i -> i).get(0), "Password reset via email");
+    }
+
+    @Test
+    void substringsAndTyposMatchWithinTheProject() {
+        assertThat(suggest("pasword rset")).extracting(TestCaseSuggestion::id)
+                .containsExactlyInAnyOrder(caseIds.get(0), caseIds.get(1));
+        assertThat(suggest("checkout")).extracting(TestCaseSuggestion::id).containsExactly(caseIds.get(2));
+        assertThat(suggest("saved crd")).extracting(TestCaseSuggestion::id).containsExactly(caseIds.get(2));
+        assertThat(suggest("zzzz")).isEmpty();
+    }
+
+    @Test
+    void bestMatchComesFirstAndLimitApplies() {
+        List<TestCaseSuggestion> suggestions = suggest("password reset via email");
+
+        assertThat(suggestions.get(0).id()).isEqualTo(caseIds.get(0));
+        assertThat(suggestions.get(0).score()).isEqualTo(1.0f);
+        assertThat(suggestions).extracting(TestCaseSuggestion::score).isSortedAccordingTo((a, b) -> Float.compare(b, a));
+        assertThat(suggestRepository.suggest(projectId, "password", THRESHOLD, 1)).hasSize(1);
+    }
+
+    private List<TestCaseSuggestion> suggest(String query) {
+        return suggestRepository.suggest(projectId, query, THRESHOLD, 10);
+    }
+
+    private void setTitle(long caseId, String title) {
+        jdbc.update("UPDATE cases SET title = :title WHERE id = :id",
+                new MapSqlParameterSource().addValue("id", caseId).addValue("title", title));
+    }
+}
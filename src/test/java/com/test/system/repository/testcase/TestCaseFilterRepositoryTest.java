@@ -0,0 +1,133 @@
+package com.test.system.repository.testcase;
+
+import com.test.system.dto.testcase.request.TestCaseFilter;
+import com.test.system.dto.testcase.request.TestCaseFilter.TagMatch;
+import com.test.system.enums.testcase.TestCaseSeverity;
+import com.test.system.support.PostgresRepositoryTest;
+import com.test.system.support.TestFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Import(TestCaseFilterRepository.class)
+class TestCaseFilterRepositoryTest extends PostgresRepositoryTest {
+
+    @Autowired
+    private TestCaseFilterRepository filterRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbc;
+
+    @Test
+    void pagesFollowKeysetWithoutGapsOrRepeats() {
+        long projectId = fixtures.createProject();
+        // Created in one transaction, so created_at ties too and only the ID breaks them
+        List<Long> caseIds = fixtures.createCases(projectId, 17, i -> i % 3);
+
+        List<Long> expected = filterRepository.findPageIds(projectId, null, null, null, null, 1000);
+        List<Long> paged = new ArrayList<>();
+        List<Long> page;
+        Long afterId = null;
+        do {
+            Key key = afterId == null ? null : keyOf(afterId);
+            page = filterRepository.findPageIds(projectId, null,
+                    key == null ? null : key.sortIndex(),
+                    key == null ? null : key.createdAt(),
+                    afterId,
+                    4);
+            paged.addAll(page);
+            afterId = page.isEmpty() ? null : page.get(page.size() - 1);
+        } while (page.size() == 4);
+
+        assertThat(expected).hasSameElementsAs(caseIds);
+        assertThat(paged).isEqualTo(expected);
+        assertThat(filterRepository.count(projectId, null)).isEqualTo(caseIds.size());
+    }
+
+    @Test
+    void filterCriteriaCombineWithAnd() {
+        long projectId = fixtures.createProject();
+        List<Long> caseIds = fixtures.createCases(projectId, 6, i -> i);
+        long parentSuite = createSuite(projectId, null);
+        long childSuite = createSuite(projectId, parentSuite);
+        long assignee = fixtures.createUser();
+        updateCase(caseIds.get(0), "suite_id = :value", parentSuite);
+        updateCase(caseIds.get(1), "suite_id = :value", childSuite);
+        updateCase(caseIds.get(0), "tags = CAST(:value AS text[])", "{smoke,login}");
+        updateCase(caseIds.get(1), "tags = CAST(:value AS text[])", "{smoke}");
+        updateCase(caseIds.get(3), "tags = CAST(:value AS text[])", "{login}");
+        updateCase(caseIds.get(4), "severity = :value", TestCaseSeverity.CRITICAL.name());
+        updateCase(caseIds.get(0), "assigned_to = :value", assignee);
+        updateCase(caseIds.get(5), "title = :value", "Upload 100%_done");
+
+        assertThat(ids(projectId, filter(List.of(parentSuite), null, null, null, null, null, null, null)))
+                .containsExactly(caseIds.get(0), caseIds.get(1));
+        assertThat(ids(projectId, filter(List.of(parentSuite), false, null, null, null, null, null, null)))
+                .containsExactly(caseIds.get(0));
+        assertThat(ids(projectId, filter(null, null, null, List.of("smoke", "login"), null, null, null, null)))
+                .containsExactly(caseIds.get(0), caseIds.get(1), caseIds.get(3));
+        assertThat(ids(projectId, filter(null, null, null, List.of("smoke", "login"), TagMatch.ALL, null, null, null)))
+                .containsExactly(caseIds.get(0));
+        assertThat(ids(projectId, filter(null, null, null, null, null, List.of(TestCaseSeverity.CRITICAL), null, null)))
+                .containsExactly(caseIds.get(4));
+        assertThat(ids(projectId, filter(null, null, null, null, null, null, List.of(assignee), null)))
+                .containsExactly(caseIds.get(0));
+        assertThat(ids(projectId, filter(null, null, null, null, null, null, null, true)))
+                .containsExactlyElementsOf(caseIds.subList(1, 6));
+        assertThat(ids(projectId, filter(null, null, null, null, null, null, List.of(assignee), true)))
+                .containsExactlyElementsOf(caseIds);
+        // LIKE wildcards in the query match literally
+        assertThat(ids(projectId, filter(null, null, "0%_D", null, null, null, null, null)))
+                .containsExactly(caseIds.get(5));
+
+        TestCaseFilter smokeUnderParent = filter(List.of(parentSuite), null, null, List.of("smoke"), null, null, null, true);
+        assertThat(ids(projectId, smokeUnderParent)).containsExactly(caseIds.get(1));
+        assertThat(filterRepository.count(projectId, smokeUnderParent)).isEqualTo(1);
+    }
+
+    private List<Long> ids(long projectId, TestCaseFilter filter) {
+        return filterRepository.findPageIds(projectId, filter, null, null, null, 100);
+    }
+
+    private static TestCaseFilter filter(List<Long> suiteIds, Boolean includeSubsuites, String q, List<String> tags,
+                                         TagMatch tagMatch, List<TestCaseSeverity> severities, List<Long> assigneeIds,
+                                         Boolean unassigned) {
+        return new TestCaseFilter(suiteIds, includeSubsuites, q, tags, tagMatch, severities, null, null, null, null,
+                assigneeIds, unassigned, null);
+    }
+
+    private long createSuite(long projectId, Long parentId) {
+        return jdbc.queryForObject("""
+                INSERT INTO suites (project_id, name, parent_id, depth) VALUES (:projectId, 'Suite', :parentId, :depth)
+                RETURNING id
+                """, new MapSqlParameterSource()
+                .addValue("projectId", projectId)
+                .addValue("parentId", parentId)
+                .addValue("depth", parentId == null ? 0 : 1), Long.class);
+    }
+
+    private void updateCase(long caseId, String assignment, Object value) {
+        jdbc.update("UPDATE cases SET " + assignment + " WHERE id = :id",
+                new MapSqlParameterSource().addValue("id", caseId).addValue("value", value));
+    }
+
+    private record Key(int sortIndex, Instant createdAt) {}
+
+    private Key keyOf(long caseId) {
+        return jdbc.queryForObject("SELECT sort_index, created_at FROM cases WHERE id = :id",
+                new MapSqlParameterSource("id", caseId),
+                (rs, n) -> new Key(rs.getInt("sort_index"), rs.getTimestamp("created_at").toInstant()));
+    }
+}
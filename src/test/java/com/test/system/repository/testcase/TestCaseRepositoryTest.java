@@ -0,0 +1,113 @@
+package com.test.system.repository.testcase;
+
+import com.test.system.model.cases.TestCase.AutomationStatus;
+import com.test.system.model.cases.TestCase.Severity;
+import com.test.system.repository.testcase.TestCaseRepository.TestCaseSummary;
+import com.test.system.support.PostgresRepositoryTest;
+import com.test.system.support.TestFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TestCaseRepositoryTest extends PostgresRepositoryTest {
+
+    @Autowired
+    private TestCaseRepository testCaseRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbc;
+
+    private long projectId;
+    private List<Long> caseIds;
+
+    @BeforeEach
+    void setUp() {
+        projectId = fixtures.createProject();
+        caseIds = fixtures.createCases(projectId, 5, i -> i);
+    }
+
+    @Test
+    void searchRanksTitleAbovePreconditionsAboveSteps() {
+        updateCase(caseIds.get(0), "steps = CAST(:value AS jsonb)",
+                "[{\"action\": \"Open the login form\", \"expected\": \"Form shown\"}]");
+        updateCase(caseIds.get(1), "preconditions = :value", "Login page is reachable");
+        updateCase(caseIds.get(2), "title = :value", "Login with password");
+        updateCase(caseIds.get(3), "title = :value", "Logout");
+
+        // Stemming: "logins" matches "login"
+        assertThat(search("logins")).containsExactly(caseIds.get(2), caseIds.get(1), caseIds.get(0));
+        assertThat(search("login -password")).containsExactly(caseIds.get(1), caseIds.get(0));
+        assertThat(search("\"login with password\"")).containsExactly(caseIds.get(2));
+    }
+
+    @Test
+    void searchSkipsArchivedCasesAndToleratesBrokenSyntax() {
+        updateCase(caseIds.get(0), "title = :value", "Checkout with coupon");
+        updateCase(caseIds.get(1), "title = :value", "Checkout as guest");
+        updateCase(caseIds.get(1), "is_archived = :value", true);
+
+        assertThat(search("checkout")).containsExactly(caseIds.get(0));
+        assertThat(search("coupon) (checkout")).containsExactly(caseIds.get(0));
+        assertThat(search("-")).isEmpty();
+    }
+
+    @Test
+    void summariesCarryListColumns() {
+        long assignee = fixtures.createUser();
+        updateCase(caseIds.get(1), "title = :value", "Login with password");
+        updateCase(caseIds.get(1), "tags = CAST(:value AS text[])", "{smoke,auth}");
+        updateCase(caseIds.get(1), "severity = :value", Severity.CRITICAL.name());
+        updateCase(caseIds.get(1), "estimate_seconds = :value", 90);
+        updateCase(caseIds.get(1), "assigned_to = :value", assignee);
+        updateCase(caseIds.get(4), "is_archived = :value", true);
+
+        TestCaseSummary summary = testCaseRepository.findSummariesByIdIn(List.of(caseIds.get(1))).get(0);
+        assertThat(summary.getId()).isEqualTo(caseIds.get(1));
+        assertThat(summary.getProjectId()).isEqualTo(projectId);
+        assertThat(summary.getTitle()).isEqualTo("Login with password");
+        assertThat(summary.getTags()).containsExactly("smoke", "auth");
+        assertThat(summary.getSeverity()).isEqualTo(Severity.CRITICAL);
+        assertThat(summary.getAutomationStatus()).isEqualTo(AutomationStatus.NOT_AUTOMATED);
+        assertThat(summary.getEstimateSeconds()).isEqualTo(90);
+        assertThat(summary.getAssignedTo()).isEqualTo(assignee);
+        assertThat(summary.getCreatedAt()).isNotNull();
+
+        assertThat(testCaseRepository.findSummariesActiveByProjectId(projectId)).extracting(TestCaseSummary::getId)
+                .containsExactlyElementsOf(caseIds.subList(0, 4));
+    }
+
+    @Test
+    void summaryPagesFilterByTitleAndCount() {
+        updateCase(caseIds.get(0), "title = :value", "Login with password");
+        updateCase(caseIds.get(2), "title = :value", "SSO login");
+        updateCase(caseIds.get(3), "title = :value", "Login audit");
+
+        Page<TestCaseSummary> page = testCaseRepository.findPageActiveByProjectWithFilters(
+                projectId, null, "LOGIN", PageRequest.of(0, 2));
+
+        assertThat(page.getContent()).extracting(TestCaseSummary::getId).containsExactly(caseIds.get(0), caseIds.get(2));
+        assertThat(page.getTotalElements()).isEqualTo(3);
+    }
+
+    private List<Long> search(String query) {
+        Page<Long> page = testCaseRepository.searchPageIdsActiveByProject(projectId, null, query, PageRequest.of(0, 20));
+        assertThat(page.getTotalElements()).isEqualTo(page.getContent().size());
+        return page.getContent();
+    }
+
+    private void updateCase(long caseId, String assignment, Object value) {
+        jdbc.update("UPDATE cases SET " + assignment + " WHERE id = :id",
+                new MapSqlParameterSource().addValue("id", caseId).addValue("value", value));
+    }
+}
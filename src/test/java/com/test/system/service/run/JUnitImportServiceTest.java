@@ -0,0 +1,126 @@
+package com.test.system.service.run;
+
+import com.test.system.component.dictionary.DictionaryCache;
+import com.test.system.component.run.junit.JUnitXmlReader;
+import com.test.system.dto.testresult.JUnitImportResponse;
+import com.test.system.exceptions.results.ResultRunClosedException;
+import com.test.system.exceptions.run.InvalidRunRequestException;
+import com.test.system.repository.run.TestRunBulkRepository;
+import com.test.system.support.PostgresRepositoryTest;
+import com.test.system.support.TestFixtures;
+import com.test.system.support.TestFixtures.RunFixture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static com.test.system.support.TestFixtures.PASSED;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Import({JUnitImportService.class, JUnitXmlReader.class, TestRunBulkRepository.class, DictionaryCache.class})
+class JUnitImportServiceTest extends PostgresRepositoryTest {
+
+    private static final long SKIPPED = 6L;
+
+    private static final String REPORT = """
+            <testsuites>
+              <testsuite name="login">
+                <testcase classname="com.acme.LoginTest" name="ok" time="1.4"/>
+                <testcase classname="com.acme.LoginTest" name="bad"><failure message="boom"/></testcase>
+                <testcase classname="com.acme.LoginTest" name="bad" time="2"/>
+              </testsuite>
+              <testsuite name="features">
+                <testcase classname="features" name="checkout flow"><skipped/></testcase>
+                <testcase classname="com.acme.Unknown" name="missing"/>
+                <testcase classname="features" name="shared"/>
+              </testsuite>
+            </testsuites>
+            """;
+
+    @Autowired
+    private JUnitImportService importService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbc;
+
+    private List<Long> caseIds;
+    private RunFixture run;
+
+    @BeforeEach
+    void setUp() {
+        long projectId = fixtures.createProject();
+        caseIds = fixtures.createCases(projectId, 5, i -> i);
+        map(caseIds.get(0), "{\"testClass\": \"com.acme.LoginTest\", \"testMethod\": \"ok\"}");
+        map(caseIds.get(1), "{\"testClass\": \"com.acme.LoginTest\", \"testMethod\": \"bad\"}");
+        map(caseIds.get(2), "{\"scenario\": \"checkout flow\"}");
+        map(caseIds.get(3), "{\"scenario\": \"shared\"}");
+        map(caseIds.get(4), "{\"scenario\": \"shared\"}");
+        run = fixtures.createRun(projectId, caseIds);
+    }
+
+    @Test
+    void reportIsWrittenInBatchesWithTheLastOutcomePerCase() {
+        // Two results per batch, so the rerun of "bad" lands in a later batch than its failure
+        ReflectionTestUtils.setField(importService, "batchSize", 2);
+
+        JUnitImportResponse response = importService.importJUnit(run.runId(), report(REPORT));
+
+        assertThat(response.total()).isEqualTo(6);
+        assertThat(response.created()).isEqualTo(4);
+        assertThat(response.unmatched()).isEqualTo(1);
+        assertThat(response.ambiguous()).isEqualTo(1);
+        assertThat(response.unresolvedKeys()).containsExactly("com.acme.Unknown#missing", "features#shared");
+        assertThat(resultCount()).isEqualTo(4);
+        assertThat(currentStatus(caseIds.get(0))).isEqualTo(PASSED);
+        assertThat(currentStatus(caseIds.get(1))).isEqualTo(PASSED);
+        assertThat(currentStatus(caseIds.get(2))).isEqualTo(SKIPPED);
+        assertThat(currentStatus(caseIds.get(3))).isNull();
+    }
+
+    @Test
+    void closedRunIsRejected() {
+        jdbc.update("UPDATE runs SET is_closed = true WHERE id = :id", new MapSqlParameterSource("id", run.runId()));
+
+        assertThatThrownBy(() -> importService.importJUnit(run.runId(), report(REPORT)))
+                .isInstanceOf(ResultRunClosedException.class);
+        assertThat(resultCount()).isZero();
+    }
+
+    @Test
+    void malformedReportIsRejected() {
+        assertThatThrownBy(() -> importService.importJUnit(run.runId(), report("<testsuite><testcase name=")))
+                .isInstanceOf(InvalidRunRequestException.class);
+    }
+
+    private void map(long caseId, String mapping) {
+        jdbc.update("UPDATE cases SET autotest_mapping = CAST(:mapping AS jsonb) WHERE id = :id",
+                new MapSqlParameterSource().addValue("id", caseId).addValue("mapping", mapping));
+    }
+
+    private static InputStream report(String xml) {
+        return new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private long resultCount() {
+        return jdbc.queryForObject("""
+                SELECT COUNT(*) FROM results r JOIN run_cases rc ON rc.id = r.run_case_id WHERE rc.run_id = :runId
+                """, new MapSqlParameterSource("runId", run.runId()), Long.class);
+    }
+
+    private Long currentStatus(long caseId) {
+        return jdbc.queryForObject("SELECT current_status_id FROM run_cases WHERE id = :id",
+                new MapSqlParameterSource("id", run.runCaseId(caseId)), Long.class);
+    }
+}
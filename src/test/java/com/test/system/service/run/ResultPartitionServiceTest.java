@@ -0,0 +1,120 @@
+package com.test.system.service.run;
+
+import com.test.system.repository.run.ResultPartitionRepository;
+import com.test.system.repository.run.ResultPartitionRepository.MonthlyPartition;
+import com.test.system.support.PostgresRepositoryTest;
+import com.test.system.support.TestFixtures;
+import com.test.system.support.TestFixtures.RunFixture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static com.test.system.support.TestFixtures.PASSED;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Retention over partitions of a month long before any real data, so only the partition created here is affected.
+ */
+@Import({ResultPartitionService.class, ResultPartitionRepository.class})
+class ResultPartitionServiceTest extends PostgresRepositoryTest {
+
+    private static final LocalDate OLD_MONTH = LocalDate.of(1990, 1, 1);
+    private static final Instant OLD_RESULT_TIME = Instant.parse("1990-01-15T12:00:00Z");
+
+    @Autowired
+    private ResultPartitionService partitionService;
+
+    @Autowired
+    private ResultPartitionRepository partitionRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbc;
+
+    private String partition;
+
+    @BeforeEach
+    void setUp() {
+        partition = partitionRepository.ensurePartition(OLD_MONTH);
+
+        long projectId = fixtures.createProject();
+        List<Long> caseIds = fixtures.createCases(projectId, 1, i -> i);
+        RunFixture run = fixtures.createRun(projectId, caseIds);
+        jdbc.update("""
+                INSERT INTO results (run_case_id, status_id, comment, created_at)
+                VALUES (:runCaseId, :statusId, 'old', :createdAt)
+                """, new MapSqlParameterSource()
+                .addValue("runCaseId", run.runCaseId(caseIds.get(0)))
+                .addValue("statusId", PASSED)
+                .addValue("createdAt", Timestamp.from(OLD_RESULT_TIME)));
+    }
+
+    @Test
+    void detachModeKeepsOldPartitionAsStandaloneTable() {
+        ReflectionTestUtils.setField(partitionService, "retentionMode", "detach");
+
+        partitionService.applyRetention(OLD_MONTH.plusMonths(1));
+
+        assertThat(attachedPartitions()).doesNotContain(partition);
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM " + partition, new MapSqlParameterSource(), Long.class))
+                .isEqualTo(1L);
+    }
+
+    @Test
+    void archiveModeWritesRowsToFileAndDropsPartition(@TempDir Path archiveDir) throws IOException {
+        ReflectionTestUtils.setField(partitionService, "retentionMode", "archive");
+        ReflectionTestUtils.setField(partitionService, "archiveDir", archiveDir.toString());
+
+        partitionService.applyRetention(OLD_MONTH.plusMonths(1));
+
+        assertThat(attachedPartitions()).doesNotContain(partition);
+        assertThat(jdbc.queryForObject("SELECT to_regclass(:name)::text",
+                new MapSqlParameterSource("name", partition), String.class)).isNull();
+        Path file = archiveDir.resolve(partition + ".jsonl.gz");
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            List<String> lines = reader.lines().toList();
+            assertThat(lines).hasSize(1);
+            assertThat(lines.get(0)).contains("\"comment\":\"old\"", "\"createdAt\":\"" + OLD_RESULT_TIME + "\"");
+        }
+    }
+
+    @Test
+    void partitionsFromTheCutoffOnAreKept() {
+        ReflectionTestUtils.setField(partitionService, "retentionMode", "detach");
+
+        partitionService.applyRetention(OLD_MONTH);
+
+        assertThat(attachedPartitions()).contains(partition);
+    }
+
+    @Test
+    void earliestResultTimeStaysBeforeTheOwner() {
+        Instant ownerCreatedAt = Instant.parse("2024-03-01T00:00:00Z");
+
+        assertThat(ResultPartitionService.earliestResultTime(ownerCreatedAt)).isBefore(ownerCreatedAt);
+    }
+
+    private List<String> attachedPartitions() {
+        return partitionRepository.findMonthlyPartitions().stream().map(MonthlyPartition::name).toList();
+    }
+}
@@ -0,0 +1,140 @@
+package com.test.system.service.run;
+
+import com.test.system.dto.testresult.QueuedResultResponse.State;
+import com.test.system.exceptions.results.IdempotencyKeyConflictException;
+import com.test.system.exceptions.results.ResultRunClosedException;
+import com.test.system.repository.run.ResultIdempotencyRepository;
+import com.test.system.repository.run.TestRunBulkRepository;
+import com.test.system.service.run.ResultWriteBuffer.PendingResult;
+import com.test.system.support.PostgresRepositoryTest;
+import com.test.system.support.TestFixtures;
+import com.test.system.support.TestFixtures.RunFixture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static com.test.system.support.TestFixtures.FAILED;
+import static com.test.system.support.TestFixtures.PASSED;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The buffer flushes on its own thread and commits, so these tests commit too. A long flush interval makes
+ * results submitted back to back land in one batch.
+ */
+@Import({ResultWriteBuffer.class, TestRunBulkRepository.class, ResultIdempotencyRepository.class})
+@TestPropertySource(properties = "app.results.buffer.flush-interval-ms=200")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ResultWriteBufferTest extends PostgresRepositoryTest {
+
+    @Autowired
+    private ResultWriteBuffer buffer;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbc;
+
+    private long projectId;
+    private List<Long> caseIds;
+    private RunFixture run;
+
+    @BeforeEach
+    void setUp() {
+        projectId = fixtures.createProject();
+        caseIds = fixtures.createCases(projectId, 3, i -> i);
+        run = fixtures.createRun(projectId, caseIds);
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixtures.deleteProject(projectId);
+    }
+
+    @Test
+    void batchIsWrittenAndResentKeysAreReplayed() throws Exception {
+        CompletableFuture<State> first = submit(run, caseIds.get(0), PASSED, "k-0");
+        CompletableFuture<State> second = submit(run, caseIds.get(1), FAILED, "k-1");
+        CompletableFuture<State> sameKeyInBatch = submit(run, caseIds.get(0), PASSED, "k-0");
+        assertThat(await(first)).isEqualTo(State.WRITTEN);
+        assertThat(await(second)).isEqualTo(State.WRITTEN);
+        assertThat(await(sameKeyInBatch)).isEqualTo(State.REPLAYED);
+
+        assertThat(await(submit(run, caseIds.get(1), FAILED, "k-1"))).isEqualTo(State.REPLAYED);
+        assertThatThrownBy(() -> await(submit(run, caseIds.get(1), PASSED, "k-1")))
+                .hasCauseInstanceOf(IdempotencyKeyConflictException.class);
+
+        assertThat(resultCount()).isEqualTo(2);
+        assertThat(currentStatus(caseIds.get(0))).isEqualTo(PASSED);
+        assertThat(currentStatus(caseIds.get(1))).isEqualTo(FAILED);
+    }
+
+    @Test
+    void resultsOfAClosedRunAreRejectedWithoutFailingTheBatch() throws Exception {
+        RunFixture closedRun = fixtures.createRun(projectId, caseIds);
+        jdbc.update("UPDATE runs SET is_closed = true WHERE id = :id", new MapSqlParameterSource("id", closedRun.runId()));
+
+        CompletableFuture<State> open = submit(run, caseIds.get(0), PASSED, null);
+        CompletableFuture<State> closed = submit(closedRun, caseIds.get(0), PASSED, null);
+
+        assertThat(await(open)).isEqualTo(State.WRITTEN);
+        assertThatThrownBy(() -> await(closed)).hasCauseInstanceOf(ResultRunClosedException.class);
+        assertThat(resultCount()).isEqualTo(1);
+    }
+
+    @Test
+    void failedBatchIsRetriedItemByItem() throws Exception {
+        CompletableFuture<State> before = submit(run, caseIds.get(0), PASSED, null);
+        // The run case no longer exists, so the batch insert fails on the foreign key
+        CompletableFuture<State> removed = submit(pending(run.runId(), caseIds.get(1), -1L, FAILED, null));
+        CompletableFuture<State> after = submit(run, caseIds.get(2), FAILED, null);
+
+        assertThat(await(before)).isEqualTo(State.WRITTEN);
+        assertThat(await(after)).isEqualTo(State.WRITTEN);
+        assertThatThrownBy(() -> await(removed)).isInstanceOf(ExecutionException.class);
+        assertThat(resultCount()).isEqualTo(2);
+    }
+
+    private CompletableFuture<State> submit(RunFixture target, long caseId, long statusId, String key) {
+        return submit(pending(target.runId(), caseId, target.runCaseId(caseId), statusId, key));
+    }
+
+    private CompletableFuture<State> submit(PendingResult result) {
+        buffer.submit(result);
+        return result.done();
+    }
+
+    private static PendingResult pending(long runId, long caseId, long runCaseId, long statusId, String key) {
+        return new PendingResult(runId, caseId, runCaseId, statusId, null, null, null, key, Instant.now(),
+                new CompletableFuture<>());
+    }
+
+    private static State await(CompletableFuture<State> done) throws Exception {
+        return done.get(10, TimeUnit.SECONDS);
+    }
+
+    private long resultCount() {
+        return jdbc.queryForObject("""
+                SELECT COUNT(*) FROM results r JOIN run_cases rc ON rc.id = r.run_case_id WHERE rc.run_id = :runId
+                """, new MapSqlParameterSource("runId", run.runId()), Long.class);
+    }
+
+    private Long currentStatus(long caseId) {
+        return jdbc.queryForObject("SELECT current_status_id FROM run_cases WHERE id = :id",
+                new MapSqlParameterSource("id", run.runCaseId(caseId)), Long.class);
+    }
+}
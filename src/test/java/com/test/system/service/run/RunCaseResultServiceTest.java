@@ -0,0 +1,140 @@
+package com.test.system.service.run;
+
+import com.test.system.component.dictionary.DictionaryCache;
+import com.test.system.dto.testresult.BatchTestResultItem;
+import com.test.system.dto.testresult.BatchTestResultItemResponse;
+import com.test.system.dto.testresult.BatchTestResultItemResponse.Outcome;
+import com.test.system.dto.testresult.BatchTestResultRequest;
+import com.test.system.dto.testresult.BatchTestResultResponse;
+import com.test.system.repository.run.ResultIdempotencyRepository;
+import com.test.system.repository.run.TestRunBulkRepository;
+import com.test.system.support.PostgresRepositoryTest;
+import com.test.system.support.TestFixtures;
+import com.test.system.support.TestFixtures.RunFixture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.List;
+
+import static com.test.system.support.TestFixtures.FAILED;
+import static com.test.system.support.TestFixtures.PASSED;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Import({RunCaseResultService.class, ResultWriteBuffer.class, TestRunBulkRepository.class,
+        ResultIdempotencyRepository.class, DictionaryCache.class})
+class RunCaseResultServiceTest extends PostgresRepositoryTest {
+
+    @Autowired
+    private RunCaseResultService resultService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbc;
+
+    private List<Long> caseIds;
+    private RunFixture run;
+
+    @BeforeEach
+    void setUp() {
+        long projectId = fixtures.createProject();
+        caseIds = fixtures.createCases(projectId, 3, i -> i);
+        run = fixtures.createRun(projectId, caseIds);
+    }
+
+    @Test
+    void batchWritesEveryResolvableItemAndRejectsTheRest() {
+        BatchTestResultResponse response = submit(
+                item(caseIds.get(0), PASSED, null),
+                item(caseIds.get(1), FAILED, null),
+                item(-1L, PASSED, null),
+                item(caseIds.get(2), 999L, null));
+
+        assertThat(response.created()).isEqualTo(2);
+        assertThat(response.rejected()).isEqualTo(2);
+        assertThat(response.items()).extracting(BatchTestResultItemResponse::outcome)
+                .containsExactly(Outcome.CREATED, Outcome.CREATED, Outcome.REJECTED, Outcome.REJECTED);
+        assertThat(resultCount()).isEqualTo(2);
+        assertThat(currentStatus(caseIds.get(0))).isEqualTo(PASSED);
+        assertThat(currentStatus(caseIds.get(1))).isEqualTo(FAILED);
+        assertThat(currentStatus(caseIds.get(2))).isNull();
+    }
+
+    @Test
+    void laterItemForTheSameCaseWinsInsideABatch() {
+        BatchTestResultResponse response = submit(
+                item(caseIds.get(0), PASSED, null),
+                item(caseIds.get(0), FAILED, null),
+                item(caseIds.get(1), FAILED, null),
+                item(caseIds.get(1), PASSED, null));
+
+        assertThat(response.created()).isEqualTo(4);
+        assertThat(resultCount()).isEqualTo(4);
+        assertThat(currentStatus(caseIds.get(0))).isEqualTo(FAILED);
+        assertThat(currentStatus(caseIds.get(1))).isEqualTo(PASSED);
+    }
+
+    @Test
+    void resentBatchIsReplayedWithoutWriting() {
+        BatchTestResultItem[] items = {
+                item(caseIds.get(0), PASSED, "ci-1:0"),
+                item(caseIds.get(1), FAILED, "ci-1:1")
+        };
+        assertThat(submit(items).created()).isEqualTo(2);
+
+        BatchTestResultResponse replay = submit(items);
+
+        assertThat(replay.created()).isZero();
+        assertThat(replay.replayed()).isEqualTo(2);
+        assertThat(replay.items()).extracting(BatchTestResultItemResponse::runCaseId)
+                .containsExactly(run.runCaseId(caseIds.get(0)), run.runCaseId(caseIds.get(1)));
+        assertThat(resultCount()).isEqualTo(2);
+    }
+
+    @Test
+    void repeatedKeyInsideABatchReplaysItsFirstOccurrence() {
+        BatchTestResultResponse response = submit(
+                item(caseIds.get(0), PASSED, "ci-2:0"),
+                item(caseIds.get(0), PASSED, "ci-2:0"));
+
+        assertThat(response.items()).extracting(BatchTestResultItemResponse::outcome)
+                .containsExactly(Outcome.CREATED, Outcome.REPLAYED);
+        assertThat(resultCount()).isEqualTo(1);
+    }
+
+    @Test
+    void keyReusedForADifferentResultIsRejected() {
+        submit(item(caseIds.get(0), PASSED, "ci-3:0"));
+
+        BatchTestResultResponse response = submit(item(caseIds.get(0), FAILED, "ci-3:0"));
+
+        assertThat(response.rejected()).isEqualTo(1);
+        assertThat(response.items().get(0).error()).contains("Idempotency key already used");
+        assertThat(resultCount()).isEqualTo(1);
+        assertThat(currentStatus(caseIds.get(0))).isEqualTo(PASSED);
+    }
+
+    private BatchTestResultResponse submit(BatchTestResultItem... items) {
+        return resultService.addRunCaseResultsBatch(run.runId(), new BatchTestResultRequest(List.of(items)));
+    }
+
+    private static BatchTestResultItem item(long caseId, long statusId, String idempotencyKey) {
+        return new BatchTestResultItem(caseId, null, statusId, null, null, null, idempotencyKey);
+    }
+
+    private long resultCount() {
+        return jdbc.queryForObject("""
+                SELECT COUNT(*) FROM results r JOIN run_cases rc ON rc.id = r.run_case_id WHERE rc.run_id = :runId
+                """, new MapSqlParameterSource("runId", run.runId()), Long.class);
+    }
+
+    private Long currentStatus(long caseId) {
+        return jdbc.queryForObject("SELECT current_status_id FROM run_cases WHERE id = :id",
+                new MapSqlParameterSource("id", run.runCaseId(caseId)), Long.class);
+    }
+}
@@ -0,0 +1,121 @@
+package com.test.system.service.run;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.test.system.dto.run.response.RunSnapshotItem;
+import com.test.system.dto.run.response.RunSnapshotResponse;
+import com.test.system.dto.run.response.RunStatusCountResponse;
+import com.test.system.model.run.Result;
+import com.test.system.model.run.Run;
+import com.test.system.repository.run.RunSnapshotRepository;
+import com.test.system.repository.run.TestRunBulkRepository;
+import com.test.system.support.PostgresRepositoryTest;
+import com.test.system.support.TestFixtures;
+import com.test.system.support.TestFixtures.RunFixture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static com.test.system.support.TestFixtures.FAILED;
+import static com.test.system.support.TestFixtures.PASSED;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@Import({RunSnapshotService.class, RunSnapshotRepository.class, TestRunBulkRepository.class})
+class RunSnapshotServiceTest extends PostgresRepositoryTest {
+
+    @Autowired
+    private RunSnapshotService snapshotService;
+
+    @Autowired
+    private RunSnapshotRepository snapshotRepository;
+
+    @Autowired
+    private TestRunBulkRepository bulkRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbc;
+
+    private List<Long> caseIds;
+    private RunFixture runFixture;
+    private Run run;
+
+    @BeforeEach
+    void setUp() {
+        long projectId = fixtures.createProject();
+        caseIds = fixtures.createCases(projectId, 3, i -> i);
+        runFixture = fixtures.createRun(projectId, caseIds);
+        Instant createdAt = jdbc.queryForObject("SELECT created_at FROM runs WHERE id = :id",
+                new MapSqlParameterSource("id", runFixture.runId()), Timestamp.class).toInstant();
+        run = Run.builder().id(runFixture.runId()).createdAt(createdAt).build();
+    }
+
+    @Test
+    void storedSnapshotFreezesLatestResults() {
+        writeResult(caseIds.get(0), PASSED, 5);
+        writeResult(caseIds.get(0), FAILED, 7);
+        writeResult(caseIds.get(1), PASSED, 3);
+
+        snapshotService.createSnapshot(run);
+        RunSnapshotResponse snapshot = snapshotService.findSnapshot(run.getId()).orElseThrow();
+
+        assertThat(snapshot.totalCases()).isEqualTo(3);
+        assertThat(snapshot.totalElapsedSeconds()).isEqualTo(10);
+        assertThat(snapshot.items()).extracting(RunSnapshotItem::caseId).containsExactlyElementsOf(caseIds);
+        assertThat(snapshot.items()).extracting(RunSnapshotItem::statusId).containsExactly(FAILED, PASSED, null);
+        assertThat(snapshot.items()).extracting(RunSnapshotItem::resultCount).containsExactly(2, 1, 0);
+        assertThat(snapshot.statusCounts()).extracting(RunStatusCountResponse::statusId, RunStatusCountResponse::count)
+                .containsExactlyInAnyOrder(
+                        tuple(FAILED, 1L),
+                        tuple(PASSED, 1L),
+                        tuple(null, 1L));
+    }
+
+    @Test
+    void snapshotRewrittenElsewhereIsNotServedFromCache() {
+        writeResult(caseIds.get(0), PASSED, 1);
+        snapshotService.createSnapshot(run);
+        assertThat(snapshotService.findSnapshot(run.getId()).orElseThrow().items().get(0).statusId())
+                .isEqualTo(PASSED);
+
+        // Another instance reopens the run, a result comes in and the run is closed again
+        RunSnapshotService otherInstance = new RunSnapshotService(snapshotRepository, objectMapper, transactionTemplate, 32);
+        otherInstance.deleteSnapshot(run.getId());
+        assertThat(snapshotService.findSnapshot(run.getId())).isEmpty();
+
+        writeResult(caseIds.get(0), FAILED, 1);
+        otherInstance.createSnapshot(run);
+
+        assertThat(snapshotService.findSnapshot(run.getId()).orElseThrow().items().get(0).statusId())
+                .isEqualTo(FAILED);
+    }
+
+    private void writeResult(long caseId, long statusId, int elapsedSeconds) {
+        long runCaseId = runFixture.runCaseId(caseId);
+        Instant now = Instant.now();
+        bulkRepository.insertResults(List.of(Result.builder()
+                .runCaseId(runCaseId)
+                .statusId(statusId)
+                .elapsedSeconds(elapsedSeconds)
+                .createdAt(now)
+                .build()));
+        bulkRepository.updateCurrentStatuses(Map.of(runCaseId, statusId), now);
+    }
+}
@@ -0,0 +1,81 @@
+package com.test.system.support;
+
+import org.junit.jupiter.api.extension.ConditionEvaluationResult;
+import org.junit.jupiter.api.extension.ExecutionCondition;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * Base of repository and service tests that need a real PostgreSQL (SKIP LOCKED, snapshots, partitioned results).
+ * The schema comes from the Flyway migrations.
+ * <p>
+ * Runs against TEST_DATABASE_URL (with TEST_DATABASE_USERNAME / TEST_DATABASE_PASSWORD) when it is set,
+ * otherwise against a throwaway Testcontainers PostgreSQL; skipped when neither is available.
+ * Each test runs in a rolled-back transaction unless the subclass opts out.
+ * Every cached test context keeps its own pool, so pools are kept small to stay under max_connections.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import(TestFixtures.class)
+@ExtendWith(PostgresRepositoryTest.DatabaseAvailable.class)
+public abstract class PostgresRepositoryTest {
+
+    private static final String DATABASE_URL = System.getenv("TEST_DATABASE_URL");
+    private static final int POOL_SIZE = 4;
+
+    private static PostgreSQLContainer<?> container;
+
+    /**
+     * Skips the tests before the context is loaded when there is no database to run them against.
+     */
+    static class DatabaseAvailable implements ExecutionCondition {
+
+        @Override
+        public ConditionEvaluationResult evaluateExecutionCondition(ExtensionContext context) {
+            if (DATABASE_URL != null || DockerClientFactory.instance().isDockerAvailable()) {
+                return ConditionEvaluationResult.enabled("PostgreSQL available");
+            }
+            return ConditionEvaluationResult.disabled("Neither TEST_DATABASE_URL nor Docker is available");
+        }
+    }
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> POOL_SIZE);
+        registry.add("spring.datasource.hikari.minimum-idle", () -> 1);
+        if (DATABASE_URL != null) {
+            registry.add("spring.datasource.url", () -> DATABASE_URL);
+            registry.add("spring.datasource.username", () -> env("TEST_DATABASE_USERNAME", "postgres"));
+            registry.add("spring.datasource.password", () -> env("TEST_DATABASE_PASSWORD", ""));
+            return;
+        }
+
+        PostgreSQLContainer<?> postgres = startContainer();
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    private static synchronized PostgreSQLContainer<?> startContainer() {
+        if (container == null) {
+            container = new PostgreSQLContainer<>("postgres:16-alpine");
+            container.start();
+        }
+        return container;
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value == null ? defaultValue : value;
+    }
+}
@@ -0,0 +1,122 @@
+package com.test.system.support;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Inserts the minimal rows the tests work on: an owner, a group, a project, cases and runs.
+ * Every project gets its own owner and group, so {@link #deleteProject} removes everything a test created.
+ */
+@TestComponent
+@RequiredArgsConstructor
+public class TestFixtures {
+
+    public static final long UNTESTED = 1L;
+    public static final long PASSED = 2L;
+    public static final long FAILED = 3L;
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    /**
+     * A run and its run case IDs by case ID, in case order.
+     */
+    public record RunFixture(long runId, Map<Long, Long> runCaseIdByCaseId) {
+
+        public long runCaseId(long caseId) {
+            return runCaseIdByCaseId.get(caseId);
+        }
+    }
+
+    /**
+     * Creates a project with its own owner and group.
+     *
+     * @return the project ID
+     */
+    public long createProject() {
+        String unique = UUID.randomUUID().toString();
+        long userId = createUser();
+        Long groupId = jdbc.queryForObject("""
+                INSERT INTO groups (name, owner_id, group_type) VALUES (:name, :ownerId, 'SHARED') RETURNING id
+                """, new MapSqlParameterSource().addValue("name", unique).addValue("ownerId", userId), Long.class);
+        return jdbc.queryForObject("""
+                INSERT INTO projects (group_id, name, code) VALUES (:groupId, :name, :code) RETURNING id
+                """, new MapSqlParameterSource()
+                .addValue("groupId", groupId)
+                .addValue("name", unique)
+                .addValue("code", unique.substring(0, 8)), Long.class);
+    }
+
+    /**
+     * Creates a user with a unique email.
+     *
+     * @return the user ID
+     */
+    public long createUser() {
+        return jdbc.queryForObject("""
+                INSERT INTO users (email, password, full_name, role)
+                VALUES (:email, 'x', 'Test User', 'ROLE_USER')
+                RETURNING id
+                """, new MapSqlParameterSource("email", UUID.randomUUID() + "@test.local"), Long.class);
+    }
+
+    /**
+     * Creates cases in a project.
+     *
+     * @param sortIndex sort index of the i-th case
+     * @return case IDs in creation order
+     */
+    public List<Long> createCases(long projectId, int count, IntUnaryOperator sortIndex) {
+        List<Long> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(jdbc.queryForObject("""
+                    INSERT INTO cases (project_id, title, sort_index) VALUES (:projectId, :title, :sortIndex)
+                    RETURNING id
+                    """, new MapSqlParameterSource()
+                    .addValue("projectId", projectId)
+                    .addValue("title", "Case " + i)
+                    .addValue("sortIndex", sortIndex.applyAsInt(i)), Long.class));
+        }
+        return ids;
+    }
+
+    /**
+     * Creates an open run containing the given cases.
+     */
+    public RunFixture createRun(long projectId, List<Long> caseIds) {
+        long runId = createRun(projectId);
+        Map<Long, Long> runCaseIdByCaseId = new LinkedHashMap<>();
+        for (Long caseId : caseIds) {
+            runCaseIdByCaseId.put(caseId, jdbc.queryForObject("""
+                    INSERT INTO run_cases (run_id, case_id) VALUES (:runId, :caseId) RETURNING id
+                    """, new MapSqlParameterSource().addValue("runId", runId).addValue("caseId", caseId), Long.class));
+        }
+        return new RunFixture(runId, runCaseIdByCaseId);
+    }
+
+    public long createRun(long projectId) {
+        return jdbc.queryForObject("INSERT INTO runs (project_id, name) VALUES (:projectId, 'Run') RETURNING id",
+                new MapSqlParameterSource("projectId", projectId), Long.class);
+    }
+
+    /**
+     * Deletes a project created by {@link #createProject()} with everything under it.
+     * Needed only by tests that commit.
+     */
+    public void deleteProject(long projectId) {
+        MapSqlParameterSource params = new MapSqlParameterSource("projectId", projectId);
+        Long ownerId = jdbc.queryForObject("""
+                SELECT g.owner_id FROM projects p JOIN groups g ON g.id = p.group_id WHERE p.id = :projectId
+                """, params, Long.class);
+        jdbc.update("DELETE FROM groups WHERE id = (SELECT group_id FROM projects WHERE id = :projectId)", params);
+        jdbc.update("DELETE FROM users WHERE id = :id", new MapSqlParameterSource("id", ownerId));
+    }
+}